@@ -24,10 +24,12 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.net.URL;
 import java.nio.channels.FileChannel;
 import java.util.HashMap;
 import java.util.Map;
 
+import javax.xml.XMLConstants;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.transform.OutputKeys;
@@ -36,12 +38,18 @@ import javax.xml.transform.Source;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMResult;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
+import javax.xml.validation.SchemaFactory;
+import javax.xml.validation.Validator;
 
 import jmt.jmva.analytical.SolverDispatcher;
 import jmt.common.exception.InputDataException;
 import jmt.common.exception.SolverException;
+import jmt.common.xml.XSDSchemaLoader;
+import jmt.engine.dataAnalysis.XMLSimulationOutput;
+import jmt.engine.simDispatcher.DispatcherJSIMreplications;
 import jmt.engine.simDispatcher.DispatcherJSIMschema;
 import jmt.gui.common.xml.XMLArchiver;
 import jmt.gui.jsimgraph.mainGui.JSIMGraphMain;
@@ -51,11 +59,18 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
 
 public class Jmt {
 
 	private static final String OPTION_SEED = "-seed";
 	private static final String OPTION_MAXTIME = "-maxtime";
+	private static final String OPTION_REPLICATIONS = "-replications";
+	private static final String OPTION_THREADS = "-threads";
+	private static final String OPTION_SAMPLES = "-samples";
+	private static final String OPTION_ACCELERATE = "-accelerate";
 
 	public static void printDocument(Document doc, OutputStream out) throws IOException, TransformerException {
 		TransformerFactory tf = TransformerFactory.newInstance();
@@ -73,10 +88,14 @@ public class Jmt {
 	public static void help() {
 		System.err.println("Usage: jmt.commandline.Jmt [mva|sim|jsimw|jsimg] [modelfilename] [options]");
 		System.err.println("mva options:");
-		System.err.println("  <none>");
+		System.err.println("  -threads 8 : solves up to 8 what-if iterations concurrently (default: number of processors)");
+		System.err.println("  -accelerate : accelerates the approximate MVA solvers and warm starts them in what-if analyses");
 		System.err.println("sim options:");
 		System.err.println("  -seed 1234 : sets the simulation seed to 1234");
 		System.err.println("  -maxtime 60 : sets the maximum simulation time to 60 seconds");
+		System.err.println("  -replications 30 : runs up to 30 independent replications until the requested precision is reached");
+		System.err.println("  -samples 100000 : analyzes 100000 samples of each measure in each replication (default: 100000)");
+		System.err.println("  -threads 8 : runs 8 replications concurrently (default: number of processors), requires -replications");
 		System.err.println("jsimw options:");
 		System.err.println("  <none>");
 		System.err.println("jsimg options:");
@@ -122,7 +141,8 @@ public class Jmt {
 		}
 		if (args[0].equals("mva")) {
 			File result = new File(args[1] + "-result.jmva");
-			mva(model, result);
+			Map<String, String> options = parseParameters(args, 2);
+			mva(model, result, options);
 		} else if (args[0].equals("sim")) {
 			File result = new File(args[1] + "-result.jsim");
 			Map<String, String> options = parseParameters(args, 2);
@@ -137,19 +157,37 @@ public class Jmt {
 	}
 
 	public static void mva(File model, File result) throws InputDataException, SolverException, IOException {
+		mva(model, result, new HashMap<String, String>());
+	}
+
+	public static void mva(File model, File result, Map<String, String> options) throws InputDataException, SolverException, IOException {
 		SolverDispatcher dispatcher = new SolverDispatcher();
+		if (options.containsKey(OPTION_THREADS)) {
+			try {
+				dispatcher.setThreads(Integer.parseInt(options.get(OPTION_THREADS)));
+			} catch (NumberFormatException ex) {
+				System.err.println("Invalid number of threads. Should be a number.");
+				System.exit(1);
+			}
+		}
+		if (options.containsKey(OPTION_ACCELERATE)) {
+			dispatcher.setAccelerated(true);
+		}
 		// Starts the solution
 		dispatcher.solve(model);
 		copyFile(model, result);
 	}
 
 	public static boolean sim(File model, File result) throws Exception {
+		return sim(model, result, new HashMap<String, String>());
+	}
+
+	public static boolean sim(File model, File result, Map<String, String> options) throws Exception {
 		DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+		// the schema validator needs the namespace information of the nodes
+		dbf.setNamespaceAware(true);
 		DocumentBuilder db = dbf.newDocumentBuilder();
 
-		File temp = File.createTempFile("tempfileSim", ".jsim");
-		temp.deleteOnExit();
-
 		Document doc = db.parse(model);
 		Element sim = XMLArchiver.getSimFromArchiveDocument(doc);
 
@@ -159,53 +197,121 @@ public class Jmt {
 		attributes.removeNamedItem("xsi:noNamespaceSchemaLocation");
 		doc2.appendChild(dup);
 
-		/*
-		 * save to a temp file
-		 */
-		TransformerFactory tranFactory = TransformerFactory.newInstance();
-		Transformer aTransformer = tranFactory.newTransformer();
-		Source src = new DOMSource(doc2);
-		Result dest = new StreamResult(temp);
-		aTransformer.transform(src, dest);
+		if (!options.containsKey(OPTION_REPLICATIONS) && (options.containsKey(OPTION_THREADS) || options.containsKey(OPTION_SAMPLES))) {
+			// a single simulation runs on a single thread
+			System.err.println("The " + OPTION_THREADS + " and " + OPTION_SAMPLES + " options require " + OPTION_REPLICATIONS + ".");
+			System.exit(1);
+		}
+
+		if (options.containsKey(OPTION_REPLICATIONS)) {
+			/*
+			 * save to a temp file, as each replication loads its own copy of the model
+			 */
+			File temp = File.createTempFile("tempfileSim", ".jsim");
+			temp.deleteOnExit();
+			TransformerFactory tranFactory = TransformerFactory.newInstance();
+			Transformer aTransformer = tranFactory.newTransformer();
+			Source src = new DOMSource(doc2);
+			Result dest = new StreamResult(temp);
+			aTransformer.transform(src, dest);
+			return simReplications(temp, result, options);
+		}
 
-		DispatcherJSIMschema dispatcher = new DispatcherJSIMschema(temp);
+		// The extracted model is passed to the simulator in memory and the results are
+		// written directly to the result file. As the simulator does not validate models
+		// in memory, the model is validated here, like when it was read from a file.
+		DispatcherJSIMschema dispatcher = new DispatcherJSIMschema(validateSimModel(doc2, db));
 		dispatcher.setTerminalSimulation(true);
+		dispatcher.setOutputEnabled(false);
+		// Sets simulation seed if required
+		if (options.containsKey(OPTION_SEED)) {
+			try {
+				dispatcher.setSimulationSeed(Long.parseLong(options.get(OPTION_SEED)));
+			} catch (NumberFormatException ex) {
+				System.err.println("Invalid simulation seed. Should be a number.");
+				System.exit(1);
+			}
+		}
+
+		if (options.containsKey(OPTION_MAXTIME)) {
+			try {
+				dispatcher.setSimulationMaxDuration(Long.parseLong(options.get(OPTION_MAXTIME)) * 1000);
+			} catch (NumberFormatException ex) {
+				System.err.println("Invalid maximum simulation time. Should be a number.");
+				System.exit(1);
+			}
+		}
 
 		// Starts the simulation
 		boolean success = dispatcher.solveModel();
-		File output = dispatcher.getOutputFile();
-		copyFile(output, result);
-		output.delete();
-		return success;
+		if (dispatcher.getSimulation() == null) {
+			System.err.println("Simulation model could not be loaded.");
+			return false;
+		}
+		XMLSimulationOutput output = new XMLSimulationOutput(dispatcher.getSimulation());
+		return output.writeAllMeasures(result) && success;
 	}
 
-	public static boolean sim(File model, File result, Map<String, String> options) throws Exception {
-		DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-		DocumentBuilder db = dbf.newDocumentBuilder();
+	/**
+	 * Validates a simulation model against the schema, like the simulator does when it parses
+	 * a model file: validation errors are reported and the attributes omitted from the model
+	 * get their default values.
+	 * @param model the simulation model, with the <em>sim</em> element as root
+	 * @param db the builder used to create the validated model
+	 * @return the validated model
+	 * @throws SAXException if the model is not well formed or the schema cannot be loaded
+	 * @throws IOException if the schema cannot be read
+	 */
+	private static Document validateSimModel(Document model, DocumentBuilder db) throws SAXException, IOException {
+		SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+		URL schemaURL = new URL(XSDSchemaLoader.loadSchema(XSDSchemaLoader.JSIM_MODEL_DEFINITION));
+		Validator validator = schemaFactory.newSchema(schemaURL).newValidator();
+		validator.setErrorHandler(new ErrorHandler() {
+			public void warning(SAXParseException e) {
+				System.err.println("[Warning] " + e.getMessage());
+			}
 
-		File temp = File.createTempFile("tempfileSim", ".jsim");
-		temp.deleteOnExit();
+			public void error(SAXParseException e) {
+				System.err.println("[Error] " + e.getMessage());
+			}
 
-		Document doc = db.parse(model);
-		Element sim = XMLArchiver.getSimFromArchiveDocument(doc);
+			public void fatalError(SAXParseException e) throws SAXException {
+				throw e;
+			}
+		});
+		Document validated = db.newDocument();
+		validator.validate(new DOMSource(model), new DOMResult(validated));
+		return validated;
+	}
 
-		Document doc2 = db.newDocument();
-		Node dup = doc2.importNode(sim, true);
-		NamedNodeMap attributes = dup.getAttributes();
-		attributes.removeNamedItem("xsi:noNamespaceSchemaLocation");
-		doc2.appendChild(dup);
+	private static boolean simReplications(File model, File result, Map<String, String> options) throws Exception {
+		DispatcherJSIMreplications dispatcher = new DispatcherJSIMreplications(model);
+		dispatcher.setTerminalSimulation(true);
+		try {
+			dispatcher.setMaxReplications(Integer.parseInt(options.get(OPTION_REPLICATIONS)));
+		} catch (NumberFormatException ex) {
+			System.err.println("Invalid number of replications. Should be a number.");
+			System.exit(1);
+		}
+
+		if (options.containsKey(OPTION_THREADS)) {
+			try {
+				dispatcher.setThreads(Integer.parseInt(options.get(OPTION_THREADS)));
+			} catch (NumberFormatException ex) {
+				System.err.println("Invalid number of threads. Should be a number.");
+				System.exit(1);
+			}
+		}
 
-		/*
-		 * save to a temp file
-		 */
-		TransformerFactory tranFactory = TransformerFactory.newInstance();
-		Transformer aTransformer = tranFactory.newTransformer();
-		Source src = new DOMSource(doc2);
-		Result dest = new StreamResult(temp);
-		aTransformer.transform(src, dest);
+		if (options.containsKey(OPTION_SAMPLES)) {
+			try {
+				dispatcher.setReplicationSamples(Integer.parseInt(options.get(OPTION_SAMPLES)));
+			} catch (NumberFormatException ex) {
+				System.err.println("Invalid number of samples. Should be a number.");
+				System.exit(1);
+			}
+		}
 
-		DispatcherJSIMschema dispatcher = new DispatcherJSIMschema(temp);
-		dispatcher.setTerminalSimulation(true);
 		// Sets simulation seed if required
 		if (options.containsKey(OPTION_SEED)) {
 			try {
@@ -225,7 +331,7 @@ public class Jmt {
 			}
 		}
 
-		// Starts the simulation
+		// Starts the replications
 		boolean success = dispatcher.solveModel();
 		File output = dispatcher.getOutputFile();
 		copyFile(output, result);
@@ -26,7 +26,6 @@ import jmt.common.exception.LoadException;
 import jmt.engine.NetStrategies.ForkStrategy;
 import jmt.engine.QueueNet.JobClass;
 import jmt.engine.QueueNet.NetNode;
-import jmt.engine.QueueNet.NetSystem;
 import jmt.engine.QueueNet.NodeListWithJobNum;
 import jmt.engine.QueueNet.NodeSection;
 import jmt.engine.random.Empirical;
@@ -62,8 +61,7 @@ public class CombFork extends ForkStrategy {
 	}
 	@Override
 	public NodeListWithJobNum getOutNodes(NetNode ownerNode, JobClass jobClass) {
-		NetSystem netSystem = ownerNode.getNetSystem();
-		RandomEngine engine = netSystem.getEngine();
+		RandomEngine engine = ownerNode.getRandomEngine();
 		NodeListWithJobNum nl = new NodeListWithJobNum();
 
 		if (nodes == null) {
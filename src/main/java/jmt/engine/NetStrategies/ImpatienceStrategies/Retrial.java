@@ -3,7 +3,7 @@ package jmt.engine.NetStrategies.ImpatienceStrategies;
 import jmt.common.exception.IncorrectDistributionParameterException;
 import jmt.engine.NetStrategies.ImpatienceStrategies.ImpatienceMeasurement.DoubleValueImpatienceMeasurement;
 import jmt.engine.NetStrategies.ImpatienceStrategies.ImpatienceMeasurement.ImpatienceMeasurement;
-import jmt.engine.QueueNet.NetSystem;
+import jmt.engine.QueueNet.NetNode;
 import jmt.engine.random.Distribution;
 import jmt.engine.random.Exponential;
 import jmt.engine.random.ExponentialPar;
@@ -27,7 +27,7 @@ public class Retrial implements Impatience {
   private RandomEngine randEngine;
 
 
-  public Retrial(NetSystem netSystem, Double retrialRate) {
+  public Retrial(NetNode ownerNode, Double retrialRate) {
     retrialRate = retrialRate;
     try {
       parameter = new ExponentialPar(retrialRate);
@@ -35,7 +35,7 @@ public class Retrial implements Impatience {
       e.printStackTrace();
     }
     exponential = new Exponential();
-    randEngine = netSystem.getEngine();
+    randEngine = ownerNode.getRandomEngine();
     exponential.setRandomEngine(randEngine);
     this.impatienceType = ImpatienceType.RETRIAL;
     this.distribution = exponential;
@@ -18,6 +18,7 @@
 
 package jmt.engine.NetStrategies.QueuePutStrategies;
 
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 
@@ -29,6 +30,7 @@ import jmt.engine.QueueNet.Job;
 import jmt.engine.QueueNet.JobInfo;
 import jmt.engine.QueueNet.JobInfoList;
 import jmt.engine.QueueNet.NodeSection;
+import jmt.engine.QueueNet.OrderedJobInfoList;
 
 /**
  * This class implements a specific queue put strategy: all arriving jobs
@@ -43,6 +45,11 @@ public class LJFStrategy extends QueuePutStrategy {
 		double serviceTime = strategies[job.getJobClass().getId()].wait(server, job.getJobClass());
 		job.setServiceTime(serviceTime);
 
+		if (queue instanceof OrderedJobInfoList) {
+			queue.add(new JobInfo(job));
+			return;
+		}
+
 		List<JobInfo> list = queue.getInternalJobInfoList();
 		if (list.size() == 0) {
 			queue.addFirst(new JobInfo(job));
@@ -63,4 +70,15 @@ public class LJFStrategy extends QueuePutStrategy {
 		queue.addLast(new JobInfo(job));
 	}
 
+	@Override
+	public Comparator<JobInfo> getOrder(NodeSection nodeSection) {
+		return new Comparator<JobInfo>() {
+			public int compare(JobInfo jobInfo1, JobInfo jobInfo2) {
+				double serviceTime1 = jobInfo1.getJob().getServiceTime();
+				double serviceTime2 = jobInfo2.getJob().getServiceTime();
+				return serviceTime1 > serviceTime2 ? -1 : (serviceTime1 < serviceTime2 ? 1 : 0);
+			}
+		};
+	}
+
 }
@@ -35,7 +35,7 @@ public class RandStrategy extends QueuePutStrategy {
 
 
 	public void put(Job job, JobInfoList queue, NodeSection callingSection) throws NetException {
-		RandomEngine randomEngine = job.getNetSystem().getEngine();
+		RandomEngine randomEngine = callingSection.getOwnerNode().getRandomEngine();
 		queue.add((int) (randomEngine.raw() * (queue.size() + 1)), new JobInfo(job));
 	}
 
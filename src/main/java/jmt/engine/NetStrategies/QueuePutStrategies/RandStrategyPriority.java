@@ -38,7 +38,7 @@ import jmt.engine.random.engine.RandomEngine;
 public class RandStrategyPriority extends QueuePutStrategy {
 	
 	public void put(Job job, JobInfoList queue, NodeSection callingSection) throws NetException {
-		RandomEngine randomEngine = job.getNetSystem().getEngine();
+		RandomEngine randomEngine = callingSection.getOwnerNode().getRandomEngine();
 
 		int priority = job.getJobClass().getPriority();
 
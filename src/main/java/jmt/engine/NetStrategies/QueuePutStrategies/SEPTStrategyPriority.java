@@ -18,6 +18,7 @@
 
 package jmt.engine.NetStrategies.QueuePutStrategies;
 
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 
@@ -26,9 +27,12 @@ import jmt.engine.NetStrategies.QueuePutStrategy;
 import jmt.engine.NetStrategies.ServiceStrategy;
 import jmt.engine.NodeSections.Server;
 import jmt.engine.QueueNet.Job;
+import jmt.engine.QueueNet.JobClass;
+import jmt.engine.QueueNet.JobClassList;
 import jmt.engine.QueueNet.JobInfo;
 import jmt.engine.QueueNet.JobInfoList;
 import jmt.engine.QueueNet.NodeSection;
+import jmt.engine.QueueNet.OrderedJobInfoList;
 
 /**
  * This class implements a specific queue put strategy: all arriving jobs
@@ -39,6 +43,11 @@ import jmt.engine.QueueNet.NodeSection;
 public class SEPTStrategyPriority extends QueuePutStrategy {
 
 	public void put(Job job, JobInfoList queue, NodeSection nodeSection) throws NetException {
+		if (queue instanceof OrderedJobInfoList) {
+			queue.add(new JobInfo(job));
+			return;
+		}
+
 		int priority = job.getJobClass().getPriority();
 		Server server = (Server) nodeSection.getOwnerNode().getSection(NodeSection.SERVICE);
 		ServiceStrategy[] strategies = (ServiceStrategy[]) server.getServiceStrategies();
@@ -88,4 +97,32 @@ public class SEPTStrategyPriority extends QueuePutStrategy {
 		queue.addLast(new JobInfo(job));
 	}
 
+	@Override
+	public Comparator<JobInfo> getOrder(NodeSection nodeSection) throws NetException {
+		NodeSection serviceSection = nodeSection.getOwnerNode().getSection(NodeSection.SERVICE);
+		if (!(serviceSection instanceof Server)) {
+			return null;
+		}
+		Server server = (Server) serviceSection;
+		ServiceStrategy[] strategies = server.getServiceStrategies();
+		JobClassList jobClasses = nodeSection.getJobClasses();
+		final double[] serviceMeans = new double[jobClasses.size()];
+		for (int i = 0; i < jobClasses.size(); i++) {
+			JobClass jobClass = jobClasses.get(i);
+			serviceMeans[jobClass.getId()] = strategies[jobClass.getId()].expect(server, jobClass);
+		}
+		return new Comparator<JobInfo>() {
+			public int compare(JobInfo jobInfo1, JobInfo jobInfo2) {
+				int priority1 = jobInfo1.getJob().getJobClass().getPriority();
+				int priority2 = jobInfo2.getJob().getJobClass().getPriority();
+				if (priority1 != priority2) {
+					return priority1 > priority2 ? -1 : 1;
+				}
+				double serviceMean1 = serviceMeans[jobInfo1.getJob().getJobClass().getId()];
+				double serviceMean2 = serviceMeans[jobInfo2.getJob().getJobClass().getId()];
+				return serviceMean1 < serviceMean2 ? -1 : (serviceMean1 > serviceMean2 ? 1 : 0);
+			}
+		};
+	}
+
 }
@@ -18,9 +18,12 @@
 
 package jmt.engine.NetStrategies;
 
+import java.util.Comparator;
+
 import jmt.common.AutoCheck;
 import jmt.common.exception.NetException;
 import jmt.engine.QueueNet.Job;
+import jmt.engine.QueueNet.JobInfo;
 import jmt.engine.QueueNet.JobInfoList;
 import jmt.engine.QueueNet.NodeSection;
 
@@ -40,6 +43,18 @@ public abstract class QueuePutStrategy implements AutoCheck {
 	 */
 	public abstract void put(Job job, JobInfoList queue, NodeSection nodeSection) throws NetException;
 
+	/**
+	 * This method should be overridden by strategies which keep the queue sorted.
+	 * If all the job classes of a queue use the same strategy, the queue keeps its
+	 * jobs in an ordered job list, so they can be added without scanning the queue.
+	 * @param nodeSection Node section which applies this strategy.
+	 * @return the order of the jobs in the queue, or null if there is no such order.
+	 * @throws NetException
+	 */
+	public Comparator<JobInfo> getOrder(NodeSection nodeSection) throws NetException {
+		return null;
+	}
+
 	public boolean check() {
 		return true;
 	}
@@ -63,7 +63,7 @@ public class ClassSwitchStrategy extends RoutingStrategy {
     public NetNode getOutNode(NetNode ownerNode, Job job) {
         JobClass jobClass = job.getJobClass();
 
-        RandomEngine randomEngine = ownerNode.getNetSystem().getEngine();
+        RandomEngine randomEngine = ownerNode.getRandomEngine();
         NodeList nodeList = ownerNode.getOutputNodes();
         if (nodeList.size() == 0) {
             return null;
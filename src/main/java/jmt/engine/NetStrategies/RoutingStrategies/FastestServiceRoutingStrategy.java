@@ -52,7 +52,7 @@ public class FastestServiceRoutingStrategy extends RoutingStrategy {
 	 */
 	@Override
 	public NetNode getOutNode(NetNode ownerNode, JobClass jobClass) {	
-		RandomEngine random = ownerNode.getNetSystem().getEngine();
+		RandomEngine random = ownerNode.getRandomEngine();
 
 		NodeList nodeList = ownerNode.getOutputNodes();
 		if (nodeList.size() == 0) {
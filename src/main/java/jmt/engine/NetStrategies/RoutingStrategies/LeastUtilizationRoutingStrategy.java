@@ -49,7 +49,7 @@ public class LeastUtilizationRoutingStrategy extends RoutingStrategy {
 	 */
 	@Override
 	public NetNode getOutNode(NetNode ownerNode, JobClass jobClass) {
-		RandomEngine random = ownerNode.getNetSystem().getEngine();
+		RandomEngine random = ownerNode.getRandomEngine();
 		NodeList nodeList = ownerNode.getOutputNodes();
 		if (nodeList.size() == 0) {
 			return null;
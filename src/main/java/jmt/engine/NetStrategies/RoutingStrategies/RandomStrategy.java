@@ -47,7 +47,7 @@ public class RandomStrategy extends RoutingStrategy {
 	 */
 	@Override
 		public NetNode getOutNode(NetNode ownerNode, JobClass jobClass) {
-		RandomEngine randomEngine = ownerNode.getNetSystem().getEngine();
+		RandomEngine randomEngine = ownerNode.getRandomEngine();
 		NodeList nodeList = ownerNode.getOutputNodes();
 		if (nodeList.size() == 0) {
 			return null;
@@ -18,6 +18,7 @@
 
 package jmt.engine.NetStrategies.ServiceStrategies;
 
+import jmt.engine.math.parser.CompiledExpression;
 import jmt.engine.math.parser.Parser;
 import jmt.engine.random.Distribution;
 import jmt.engine.random.Parameter;
@@ -39,6 +40,7 @@ public class LDParameter implements Comparable<Object> {
 	private Parameter parameter;
 	private String function;
 	private Parser parser;
+	private CompiledExpression expression;
 	private RandomEngine randomEngine;
 
 	
@@ -110,6 +112,19 @@ public class LDParameter implements Comparable<Object> {
 		return parser;
 	}
 
+	/**
+	 * Gets the compiled expression that must be used to evaluate mean value. The expression
+	 * is compiled on the first call, so parse errors are raised only when it is used.
+	 * @return expression to be used to evaluate mean value or null if not present
+	 * @throws jmt.engine.math.parser.ParseError if the function is malformed
+	 */
+	public CompiledExpression getExpression() {
+		if (expression == null && parser != null) {
+			expression = parser.compile();
+		}
+		return expression;
+	}
+
 	/**
 	 * Compares this object with the specified object for order.  Returns a
 	 * negative integer, zero, or a positive integer as this object is less
@@ -26,10 +26,7 @@ import jmt.common.exception.NetException;
 import jmt.engine.NetStrategies.ServiceStrategy;
 import jmt.engine.QueueNet.JobClass;
 import jmt.engine.QueueNet.NodeSection;
-import jmt.engine.math.DirectCircularList;
-import jmt.engine.math.parser.Parser;
-import jmt.engine.random.Distribution;
-import jmt.engine.random.Parameter;
+import jmt.engine.math.parser.CompiledExpression;
 
 /**
  * <p>Title: Load Dependent Service Time Strategy</p>
@@ -44,11 +41,13 @@ import jmt.engine.random.Parameter;
 public class LoadDependentStrategy extends ServiceStrategy {
 
 	private static final String VAR = "n";
-	private static final int CACHESIZE = 1024;
+	private static final int TABLESIZE = 1024;
 
 	private LDParameter[] parameters;
-	// Used to cache mean values. This structure has O(1) access time.
-	DirectCircularList<MeanCache> cache;
+	// Range and mean value for each number of jobs, with O(1) access time. A null range means
+	// that the entry was not evaluated yet.
+	private LDParameter[] ranges;
+	private double[] means;
 
 	/**
 	 * Creates a new Load Dependent Service Time Strategy
@@ -57,7 +56,69 @@ public class LoadDependentStrategy extends ServiceStrategy {
 	public LoadDependentStrategy(LDParameter[] parameters) {
 		Arrays.sort(parameters);
 		this.parameters = parameters;
-		cache = new DirectCircularList<MeanCache>(CACHESIZE);
+		ranges = new LDParameter[TABLESIZE];
+		means = new double[TABLESIZE];
+		precompute();
+	}
+
+	/**
+	 * Evaluates the mean values of the first TABLESIZE numbers of jobs, so that service
+	 * starts need a single lookup. Functions with random values are evaluated lazily instead,
+	 * to draw their random numbers in the same order of the simulation.
+	 */
+	private void precompute() {
+		for (LDParameter parameter : parameters) {
+			try {
+				if (parameter.getFunction() != null && parameter.getParser().getParsedFunctions().contains("rand")) {
+					return;
+				}
+			} catch (RuntimeException e) {
+				// Parse errors are reported when the function is used
+				return;
+			}
+		}
+		try {
+			for (int jobs = 0; jobs < TABLESIZE; jobs++) {
+				evaluate(jobs);
+			}
+		} catch (ExpressionParseException e) {
+			// Evaluation errors are reported when the function is used
+		}
+	}
+
+	/**
+	 * Retrieves the right LDParameter for a number of jobs and evaluates its mean value
+	 * @param jobs number of jobs in the station
+	 * @throws ExpressionParseException if function cannot be parsed correctly
+	 */
+	private void evaluate(int jobs) throws ExpressionParseException {
+		if (jobs >= ranges.length) {
+			int size = Math.max(jobs + 1, 2 * ranges.length);
+			ranges = Arrays.copyOf(ranges, size);
+			means = Arrays.copyOf(means, size);
+		}
+
+		int index = Arrays.binarySearch(parameters, new Integer(jobs));
+		if (index < 0) {
+			index = -index - 2;
+		}
+
+		// Polling server switchover time could happen with 0 jobs in the lists
+		if (index < 0) {
+			index = 0;
+		}
+
+		LDParameter parameter = parameters[index];
+		if (parameter.getFunction() != null) {
+			try {
+				CompiledExpression expression = parameter.getExpression();
+				expression.setVariable(VAR, jobs);
+				means[jobs] = expression.getValue();
+			} catch (RuntimeException e) {
+				throw new ExpressionParseException(e.getMessage());
+			}
+		}
+		ranges[jobs] = parameter;
 	}
 
 	/**
@@ -75,31 +136,17 @@ public class LoadDependentStrategy extends ServiceStrategy {
 			int jobs = nodeSection.getOwnerNode().getSection(NodeSection.INPUT).getIntSectionProperty(NodeSection.PROPERTY_ID_RESIDENT_JOBS)
 					+ nodeSection.getOwnerNode().getSection(NodeSection.SERVICE).getIntSectionProperty(NodeSection.PROPERTY_ID_RESIDENT_JOBS);
 
-			// Search in cache for corresponding item
-			MeanCache item = cache.get(jobs);
-			if (item == null) {
-				// Item is not in cache, so retrieves right LDParameter and perform parsing of function
-				int index = Arrays.binarySearch(parameters, new Integer(jobs));
-				if (index < 0) {
-					index = -index - 2;
-				}
-
-				// Polling server switchover time could happen with 0 jobs in the lists
-				if (index < 0) {
-					index = 0;
-				}
-
-				LDParameter parameter = parameters[index];
-				item = new MeanCache(parameter, jobs);
-				cache.set(jobs, item);
+			// Evaluates the mean value the first time this number of jobs is found
+			if (jobs >= ranges.length || ranges[jobs] == null) {
+				evaluate(jobs);
 			}
-			// At this point item is retrieved from cache or parsed.
-			if (item.valid) {
-				// Note: this is needed as parameter is shared among all items of the same LDParameter
-				item.parameter.setMean(item.mean);
+			LDParameter parameter = ranges[jobs];
+			if (parameter.getFunction() != null) {
+				// Note: this is needed as parameter is shared among all numbers of jobs of the same LDParameter
+				parameter.getDistrParameter().setMean(means[jobs]);
 			}
 
-			return item.distribution.nextRand(item.parameter);
+			return parameter.getDistribution().nextRand(parameter.getDistrParameter());
 		} catch (NetException e) {
 			throw new NetException("Error in LoadDependentStrategy: " + e.getMessage());
 		} catch (ExpressionParseException e) {
@@ -129,40 +176,4 @@ public class LoadDependentStrategy extends ServiceStrategy {
 		return parameters;
 	}
 
-	/**
-	 * Inner class used to cache mean values and distributions to avoid parsing a function
-	 * at each call of this strategy
-	 */
-	private class MeanCache {
-		/** distribution used to evaluate service times */
-		public Distribution distribution;
-		/** parameter of distribution used to evaluate service times */
-		public Parameter parameter;
-		/** mean value */
-		public double mean;
-		/** tells if mean field is valid */
-		public boolean valid;
-
-		/**
-		 * Creates a new MeanCache object by parsing mean value in given LDParameter
-		 * @param ldp LDParameter of right range
-		 * @param n current queue length value
-		 * @throws ExpressionParseException if function cannot be parsed correctly
-		 */
-		public MeanCache(LDParameter ldp, int n) throws ExpressionParseException {
-			distribution = ldp.getDistribution();
-			parameter = ldp.getDistrParameter();
-			if (ldp.getFunction() != null) {
-				try {
-					Parser p = ldp.getParser();
-					p.setVariable(VAR, n);
-					mean = p.getValue();
-					valid = true;
-				} catch (RuntimeException e) {
-					throw new ExpressionParseException(e.getMessage());
-				}
-			}
-		}
-	}
-
 }
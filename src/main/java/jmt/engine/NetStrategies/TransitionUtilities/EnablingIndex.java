@@ -0,0 +1,181 @@
+/**
+ * Copyright (C) 2016, Laboratorio di Valutazione delle Prestazioni - Politecnico di Milano
+
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+
+package jmt.engine.NetStrategies.TransitionUtilities;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Title: Enabling Index</p>
+ * <p>Description: This class implements an indexed representation of the enabling and
+ * inhibiting conditions of a transition. Places are identified by integer indices and each
+ * place knows the modes whose conditions refer to it, so that a change in a place marks
+ * only those modes as pending and only pending modes need to be re-evaluated.</p>
+ */
+public class EnablingIndex {
+
+	private Map<String, Integer> placeIndices;
+	/** Number of jobs of each class stored by each place */
+	private int[][] storageEntries;
+	/** Place, class and required number of jobs of each condition of each mode */
+	private int[][] enablingEntries;
+	private int[][] inhibitingEntries;
+	/** Modes whose conditions refer to each place, in increasing order */
+	private int[][] dependentModes;
+	private boolean[] pendingModes;
+
+	public EnablingIndex(TransitionMatrix[] enablingConditions, TransitionMatrix[] inhibitingConditions, int classNumber) {
+		placeIndices = new HashMap<String, Integer>();
+		String[] placeNames = enablingConditions.length == 0 ? new String[0]
+				: enablingConditions[0].keySet().toArray(new String[0]);
+		for (int i = 0; i < placeNames.length; i++) {
+			placeIndices.put(placeNames[i], i);
+		}
+		storageEntries = new int[placeNames.length][classNumber];
+
+		List<List<Integer>> dependencies = new ArrayList<List<Integer>>();
+		for (int i = 0; i < placeNames.length; i++) {
+			dependencies.add(new ArrayList<Integer>());
+		}
+		enablingEntries = new int[enablingConditions.length][];
+		inhibitingEntries = new int[enablingConditions.length][];
+		for (int i = 0; i < enablingConditions.length; i++) {
+			enablingEntries[i] = getEntries(enablingConditions[i], placeNames, classNumber, dependencies, i);
+			inhibitingEntries[i] = getEntries(inhibitingConditions[i], placeNames, classNumber, dependencies, i);
+		}
+		dependentModes = new int[placeNames.length][];
+		for (int i = 0; i < placeNames.length; i++) {
+			List<Integer> modes = dependencies.get(i);
+			dependentModes[i] = new int[modes.size()];
+			for (int j = 0; j < modes.size(); j++) {
+				dependentModes[i][j] = modes.get(j).intValue();
+			}
+		}
+		pendingModes = new boolean[enablingConditions.length];
+		Arrays.fill(pendingModes, true);
+	}
+
+	/**
+	 * Flattens the non-zero entries of a condition into (place, class, number) triples
+	 * and records the mode as dependent on the places of these entries.
+	 */
+	private int[] getEntries(TransitionMatrix condition, String[] placeNames, int classNumber,
+			List<List<Integer>> dependencies, int modeIndex) {
+		int[] entries = new int[0];
+		int size = 0;
+		for (int i = 0; i < placeNames.length; i++) {
+			TransitionVector vector = condition.getVector(placeNames[i]);
+			if (vector == null || vector.getTotal() <= 0) {
+				continue;
+			}
+			for (int j = 0; j < classNumber; j++) {
+				if (vector.getEntry(j) > 0) {
+					if (size == entries.length) {
+						entries = Arrays.copyOf(entries, size * 2 + 3);
+					}
+					entries[size++] = i;
+					entries[size++] = j;
+					entries[size++] = vector.getEntry(j);
+				}
+			}
+			List<Integer> modes = dependencies.get(i);
+			if (modes.isEmpty() || modes.get(modes.size() - 1).intValue() != modeIndex) {
+				modes.add(modeIndex);
+			}
+		}
+		return Arrays.copyOf(entries, size);
+	}
+
+	/**
+	 * Updates the number of jobs stored by a place and marks the modes depending on it as pending.
+	 * @param storageVector the number of jobs of each class stored by the place.
+	 */
+	public void update(TransitionVector storageVector) {
+		Integer placeIndex = placeIndices.get(storageVector.getKey());
+		if (placeIndex == null) {
+			return;
+		}
+		int[] entries = storageEntries[placeIndex.intValue()];
+		for (int i = 0; i < entries.length; i++) {
+			entries[i] = storageVector.getEntry(i);
+		}
+		int[] modes = dependentModes[placeIndex.intValue()];
+		for (int i = 0; i < modes.length; i++) {
+			pendingModes[modes[i]] = true;
+		}
+	}
+
+	/**
+	 * Marks a mode as pending, so that it is re-evaluated even if no place it depends on changes.
+	 * @param modeIndex the index of the mode.
+	 */
+	public void invalidate(int modeIndex) {
+		pendingModes[modeIndex] = true;
+	}
+
+	/**
+	 * Tells if a mode must be re-evaluated.
+	 * @param modeIndex the index of the mode.
+	 * @return true if the enabling degree of the mode may have changed since it was last computed.
+	 */
+	public boolean isPending(int modeIndex) {
+		return pendingModes[modeIndex];
+	}
+
+	/**
+	 * Computes the enabling degree of a mode and marks it as not pending.
+	 * @param modeIndex the index of the mode.
+	 * @return the enabling degree of the mode, or -1 if the mode has no enabling conditions
+	 * and is not inhibited.
+	 */
+	public int computeEnablingDegree(int modeIndex) {
+		pendingModes[modeIndex] = false;
+		int[] entries = inhibitingEntries[modeIndex];
+		for (int i = 0; i < entries.length; i += 3) {
+			if (storageEntries[entries[i]][entries[i + 1]] >= entries[i + 2]) {
+				return 0;
+			}
+		}
+		int enablingDegree = -1;
+		entries = enablingEntries[modeIndex];
+		for (int i = 0; i < entries.length; i += 3) {
+			int degree = storageEntries[entries[i]][entries[i + 1]] / entries[i + 2];
+			if (enablingDegree < 0 || degree < enablingDegree) {
+				enablingDegree = degree;
+				if (enablingDegree == 0) {
+					return 0;
+				}
+			}
+		}
+		return enablingDegree;
+	}
+
+	/**
+	 * Gets the number of modes.
+	 * @return the number of modes.
+	 */
+	public int getModeNumber() {
+		return pendingModes.length;
+	}
+
+}
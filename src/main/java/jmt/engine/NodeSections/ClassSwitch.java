@@ -115,7 +115,7 @@ public class ClassSwitch extends ServiceSection {
 			sum += row[i];
 		}
 
-        RandomEngine engine = this.getNetSytem().getEngine();
+        RandomEngine engine = getOwnerNode().getRandomEngine();
 		random = (float) (engine.raw() * sum);
 		for (i = 0; i < row.length; i++) {
 			random -= row[i];
@@ -23,6 +23,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import jmt.common.exception.NetException;
+import jmt.engine.NetStrategies.TransitionUtilities.EnablingIndex;
 import jmt.engine.NetStrategies.TransitionUtilities.EnablingPacket;
 import jmt.engine.NetStrategies.TransitionUtilities.FiringPacket;
 import jmt.engine.NetStrategies.TransitionUtilities.TransitionMatrix;
@@ -57,7 +58,7 @@ public class Enabling extends InputSection {
 	private JobClassList jobClasses;
 	private JobInfoList nodeJobsList;
 	private GlobalJobInfoList netJobsList;
-	private TransitionMatrix storageSituation;
+	private EnablingIndex enablingIndex;
 	private int[] enablingDegrees;
 	private int currentModeIndex;
 	private String currentModeName;
@@ -78,10 +79,7 @@ public class Enabling extends InputSection {
 		firingOutcomes = ((Firing) node.getSection(NodeSection.OUTPUT)).getFiringOutcomes();
 		jobClasses = getJobClasses();
 		nodeJobsList = node.getJobInfoList();
-		storageSituation = new TransitionMatrix(jobClasses.size());
-		for (String nodeName : enablingConditions[0].keySet()) {
-			storageSituation.setVector(new TransitionVector(nodeName, jobClasses.size()));
-		}
+		enablingIndex = new EnablingIndex(enablingConditions, inhibitingConditions, jobClasses.size());
 		enablingDegrees = new int[enablingConditions.length];
 		Arrays.fill(enablingDegrees, 0);
 		currentModeIndex = -1;
@@ -125,49 +123,17 @@ public class Enabling extends InputSection {
 
 		case NetEvent.EVENT_JOB_CHANGE:
 		{
+			// Only the modes depending on the changed place are re-evaluated
 			if (data != null) {
-				TransitionVector storageVector = (TransitionVector) data;
-				for (int i = 0; i < jobClasses.size(); i++) {
-					storageSituation.setEntry(storageVector.getKey(), i, storageVector.getEntry(i));
-				}
+				enablingIndex.update((TransitionVector) data);
 			}
 
 			for (int i = 0; i < enablingConditions.length; i++) {
-				if (i == currentModeIndex) {
+				if (i == currentModeIndex || !enablingIndex.isPending(i)) {
 					continue;
 				}
 
-				int enablingDegree = -1;
-				OUTER_LOOP:
-				for (String nodeName : enablingConditions[i].keySet()) {
-					if (enablingConditions[i].getTotal(nodeName) > 0) {
-						for (int j = 0; j < jobClasses.size(); j++) {
-							int availableJobNumber = storageSituation.getEntry(nodeName, j);
-							int requiredJobNumber = enablingConditions[i].getEntry(nodeName, j);
-							if (requiredJobNumber > 0) {
-								if (enablingDegree < 0) {
-									enablingDegree = availableJobNumber / requiredJobNumber;
-								} else {
-									enablingDegree = Math.min(enablingDegree, availableJobNumber / requiredJobNumber);
-								}
-								if (enablingDegree == 0) {
-									break OUTER_LOOP;
-								}
-							}
-						}
-					}
-					if (inhibitingConditions[i].getTotal(nodeName) > 0) {
-						for (int j = 0; j < jobClasses.size(); j++) {
-							int availableJobNumber = storageSituation.getEntry(nodeName, j);
-							int requiredJobNumber = inhibitingConditions[i].getEntry(nodeName, j);
-							if (requiredJobNumber > 0 && availableJobNumber >= requiredJobNumber) {
-								enablingDegree = 0;
-								break OUTER_LOOP;
-							}
-						}
-					}
-				}
-
+				int enablingDegree = enablingIndex.computeEnablingDegree(i);
 				if (enablingDegree != enablingDegrees[i]) {
 					enablingDegrees[i] = enablingDegree;
 					EnablingPacket packet = new EnablingPacket(i, enablingDegree);
@@ -188,6 +154,8 @@ public class Enabling extends InputSection {
 				return MSG_NOT_PROCESSED;
 			} else {
 				enablingDegrees[modeIndex]--;
+				// The enabling degree must be computed again once the firing is complete
+				enablingIndex.invalidate(modeIndex);
 				currentModeIndex = modeIndex;
 				currentModeName = modeName;
 				for (String nodeName : enablingConditions[modeIndex].keySet()) {
@@ -120,7 +120,7 @@ public class Firing extends OutputSection {
 					for (int j = 0; j < releasedJobNumberForClass; j++) {
 						pickedForkJobInfos[j] = forkJobInfoLists[i].get(j);
 					}
-					RandomEngine randomEngine = this.getNetSytem().getEngine();
+					RandomEngine randomEngine = getOwnerNode().getRandomEngine();
 					for (int j = releasedJobNumberForClass; j < forkJobInfoLists[i].size(); j++) {
 						int k = (int) Math.floor(randomEngine.raw() * (j + 1));
 						if (k < releasedJobNumberForClass) {
@@ -159,7 +159,7 @@ public class Firing extends OutputSection {
 				}
 
 				if (forkJobInfoLists[i].size() > 0) {
-					RandomEngine randomEngine = this.getNetSytem().getEngine();
+					RandomEngine randomEngine = getOwnerNode().getRandomEngine();
 					// Durstenfeld Shuffle
 					for (int j = newJobLists[i].size() - 1; j > 0; j--) {
 						int k = (int) Math.floor(randomEngine.raw() * (j + 1));
@@ -171,7 +171,7 @@ public class Firing extends OutputSection {
 				newJobIterators[i] = newJobLists[i].iterator();
 			}
 
-			RandomEngine randomEngine = this.getNetSytem().getEngine();
+			RandomEngine randomEngine = getOwnerNode().getRandomEngine();
 			// Durstenfeld Shuffle
 			for (int i = nodeNamePermutation.length - 1; i > 0; i--) {
 				int j = (int) Math.floor(randomEngine.raw() * (i + 1));
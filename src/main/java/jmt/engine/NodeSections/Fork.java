@@ -165,7 +165,7 @@ public class Fork extends OutputSection {
 			}
 
 			ForkJobInfo newJobInfo = new ForkJobInfo(job, totalOutNum, getOwnerNode());
-			RandomEngine randomEngine = this.getNetSytem().getEngine();
+			RandomEngine randomEngine = getOwnerNode().getRandomEngine();
 			// Durstenfeld Shuffle
 			NetNode[] outNodePermutation = outNodeList.toArray();
 			for (int i = outNodePermutation.length - 1; i > 0; i--) {
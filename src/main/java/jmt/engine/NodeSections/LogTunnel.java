@@ -20,8 +20,7 @@ package jmt.engine.NodeSections;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 
 import jmt.common.exception.NetException;
 import jmt.engine.QueueNet.Job;
@@ -64,6 +63,16 @@ public class LogTunnel extends ServiceTunnel {
 
 	public static final String[] COLUMNS = {COLUMN_LOGGERNAME, COLUMN_TIMESTAMP, COLUMN_JOBID, COLUMN_CLASSID, 
 			COLUMN_INTERARRIVAL_SAMECLASS, COLUMN_INTERARRIVAL_ANYCLASS, COLUMN_START_TIME};
+	public static final String[] STRING_COLUMNS = {COLUMN_LOGGERNAME, COLUMN_CLASSID, COLUMN_START_TIME};
+
+	// Positions of the columns in a row
+	private static final int LOGGERNAME = 0;
+	private static final int TIMESTAMP = 1;
+	private static final int JOBID = 2;
+	private static final int CLASSID = 3;
+	private static final int INTERARRIVAL_SAMECLASS = 4;
+	private static final int INTERARRIVAL_ANYCLASS = 5;
+	private static final int START_TIME = 6;
 
 	private String chDelimiter;
 	private String decimalSeparator;
@@ -72,7 +81,10 @@ public class LogTunnel extends ServiceTunnel {
 	private LoggerParameters lp;
 
 	private CSVLogger logger;
-	private Map<String, String> defaultValues;
+	// The row of the log, reused for every line: disabled columns are NaN, so they are left empty
+	private double[] row;
+	// The indexes in the logger strings of the names of the job classes
+	private int[] classNames;
 
 	/**
 	 *  Creates a new instance of LogTunnel; called by simulator engine.
@@ -104,56 +116,57 @@ public class LogTunnel extends ServiceTunnel {
 				break;
 
 			case NetEvent.EVENT_STOP:
-				if (logger != null) {
-					logger.close();
-				}
+				closeLogger();
 				break;
 
 			case NetEvent.EVENT_JOB:
 				Job job = message.getJob();
-				// Build logger and default values if needed
+				// Build logger and constant values if needed
 				if (logger == null) {
 					initLoggerParameters();
 					logger = JSimLoggerFactory.getCSVLogger(
 							new File(lp.path, lp.name), 
 							COLUMNS, 
+							STRING_COLUMNS, 
 							intReplacePolicy == LoggerParameters.LOGGER_AR_APPEND, 
 							chDelimiter, 
 							decimalSeparator
 							);
-					defaultValues = new HashMap<String, String>();
-					if (lp.boolExecTimestamp.booleanValue()) {
-						defaultValues.put(COLUMN_START_TIME, strTimestampValue);
+					row = new double[COLUMNS.length];
+					Arrays.fill(row, Double.NaN);
+					if (lp.boolExecTimestamp.booleanValue() && strTimestampValue != null) {
+						row[START_TIME] = logger.getStringIndex(strTimestampValue);
 					}
 					if (lp.boolLoggername.booleanValue()) {
-						defaultValues.put(COLUMN_LOGGERNAME, message.getSource().getName());
+						row[LOGGERNAME] = logger.getStringIndex(message.getSource().getName());
+					}
+					classNames = new int[getJobClasses().size()];
+					for (int i = 0; i < classNames.length; i++) {
+						classNames[i] = logger.getStringIndex(getJobClasses().get(i).getName());
 					}
 				}
 				// Fills the values for the log column
-				Map<String, Object> values = new HashMap<String, Object>();
 				if (lp.boolTimeStamp.booleanValue()) {
-					values.put(COLUMN_TIMESTAMP, message.getTime());
+					row[TIMESTAMP] = message.getTime();
 				}
 
 				if (lp.boolJobID.booleanValue()) {
-					values.put(COLUMN_JOBID, job.getId());
+					row[JOBID] = job.getId();
 				}
 
 				if (lp.boolJobClass.booleanValue()) {
-					values.put(COLUMN_CLASSID, job.getJobClass().getName());
+					row[CLASSID] = classNames[job.getJobClass().getId()];
 				}
 
 				if (lp.boolTimeSameClass.booleanValue()) {
-					double interarrivalSame = message.getTime() - jobsList.getLastJobOutTimePerClass(job.getJobClass());
-					values.put(COLUMN_INTERARRIVAL_SAMECLASS, interarrivalSame);
+					row[INTERARRIVAL_SAMECLASS] = message.getTime() - jobsList.getLastJobOutTimePerClass(job.getJobClass());
 				}
 
 				if (lp.boolTimeAnyClass.booleanValue()) {
-					double interarrivalAny = message.getTime() - jobsList.getLastJobOutTime();
-					values.put(COLUMN_INTERARRIVAL_ANYCLASS, interarrivalAny);
+					row[INTERARRIVAL_ANYCLASS] = message.getTime() - jobsList.getLastJobOutTime();
 				}
 				// Finally logs the line
-				logger.log(values, defaultValues);
+				logger.log(row);
 				// Do not break here
 
 			default:
@@ -172,12 +185,22 @@ public class LogTunnel extends ServiceTunnel {
 		}
 	}
 
-	@Override
-	protected void finalize() throws Throwable {
+	/**
+	 * Closes the log, writing the lines which are still pending. This method has no effect
+	 * if the log is already closed.
+	 * @throws IOException if a problem occurs writing the log file
+	 */
+	public void closeLogger() throws IOException {
 		if (logger != null) {
-			logger.close();
+			CSVLogger closing = logger;
 			logger = null;
+			closing.close();
 		}
 	}
 
+	@Override
+	protected void finalize() throws Throwable {
+		closeLogger();
+	}
+
 }
@@ -20,6 +20,7 @@ package jmt.engine.NodeSections;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
 
 import java.util.List;
@@ -43,11 +44,19 @@ import jmt.engine.QueueNet.NetSystem;
 import jmt.engine.QueueNet.PSJobInfo;
 import jmt.engine.QueueNet.PSJobInfoList;
 import jmt.engine.simEngine.RemoveToken;
+import jmt.framework.data.SortedList;
 
 /**
  * <p><b>Name:</b> PSServer</p> 
  * <p><b>Description:</b> 
  * This class implements a multi-class processor sharing server.
+ * <br>
+ * By default the residual service time of every job is updated at each event. With the
+ * VIRTUAL_TIME_SERVICE mode, as all the jobs of a class receive the same service rate, the server
+ * keeps a virtual time per class, i.e. the service received by each job of the class, and stores
+ * for each job the virtual time at which it completes its service. Jobs of each class are sorted
+ * by this finish tag, so arrivals and departures take O(log n) time. Results are the same up to
+ * rounding errors.
  * </p>
  * <p><b>Date:</b> 04/ott/2009
  * <b>Time:</b> 13.45.37</p>
@@ -56,6 +65,18 @@ import jmt.engine.simEngine.RemoveToken;
  */
 public class PSServer extends ServiceSection {
 
+	/** Service is performed by updating the residual service time of every job (default) */
+	public static final int EXACT_SERVICE = 0;
+	/** Service is performed by advancing a virtual time per class */
+	public static final int VIRTUAL_TIME_SERVICE = 1;
+
+	/** Sorts the jobs by finish tag, keeping the arrival order for equal tags */
+	private static final Comparator<PSJobInfo> FINISH_TAG_ORDER = new Comparator<PSJobInfo>() {
+		public int compare(PSJobInfo jobInfo1, PSJobInfo jobInfo2) {
+			return Double.compare(jobInfo1.getFinishTag(), jobInfo2.getFinishTag());
+		}
+	};
+
 	private int numberOfServers;
 	private ServiceStrategy[] serviceStrategies;
 	private PSStrategy[] psStrategies;
@@ -69,6 +90,14 @@ public class PSServer extends ServiceSection {
 	private JobClassList jobClasses;
 	private PSJobInfoList psJobsList;
 	private double[] serviceFractions;
+	// True if the VIRTUAL_TIME_SERVICE mode is used
+	private boolean virtualTimeService;
+	// The virtual time of each class
+	private double[] virtualTimes;
+	// The jobs of each class sorted by finish tag
+	private SortedList<PSJobInfo>[] finishOrders;
+	// The number of jobs which can renege
+	private int renegingJobs;
 
 	private RemoveToken messageToken;
 	private PSJobInfo messageJobInfo;
@@ -178,6 +207,7 @@ public class PSServer extends ServiceSection {
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	protected void nodeLinked(NetNode node) throws NetException {
 		jobClasses = getJobClasses();
 		jobsList = psJobsList = new PSJobInfoList(jobClasses.size());
@@ -186,6 +216,15 @@ public class PSServer extends ServiceSection {
 		psJobsList.setNumberOfServers(numberOfServers);
 		serviceFractions = new double[jobClasses.size()];
 		Arrays.fill(serviceFractions, 0.0);
+		virtualTimeService = node.getSimParameters() != null && node.getSimParameters().getPSService() == VIRTUAL_TIME_SERVICE;
+		if (virtualTimeService) {
+			virtualTimes = new double[jobClasses.size()];
+			finishOrders = new SortedList[jobClasses.size()];
+			for (int i = 0; i < jobClasses.size(); i++) {
+				finishOrders[i] = new SortedList<PSJobInfo>(FINISH_TAG_ORDER);
+			}
+			renegingJobs = 0;
+		}
 
 		// Retrieve the nodeJobsList from the owner NetNode
 		ownerNode = node;
@@ -227,7 +266,12 @@ public class PSServer extends ServiceSection {
 					handleJobInfoList(jobInfo, PSEvent.JOB_IN);
 					double serviceTime = serviceStrategies[job.getJobClass().getId()].wait(this, job.getJobClass());
 					jobInfo.setServiceTime(serviceTime);
-					jobInfo.setResidualServiceTime(serviceTime);
+					if (virtualTimeService) {
+						jobInfo.setFinishTag(virtualTimes[job.getJobClass().getId()] + serviceTime);
+						finishOrders[job.getJobClass().getId()].add(jobInfo);
+					} else {
+						jobInfo.setResidualServiceTime(serviceTime);
+					}
 					sendBackward(NetEvent.EVENT_ACK, job, 0.0);
 				}
 				updateServiceFractions();
@@ -247,6 +291,9 @@ public class PSServer extends ServiceSection {
 
 				// Add the extra information (impatienceType and timeLeftToRenege) to the PSJobInfo of jobReceived
 				PSJobInfo psJobInfo = (PSJobInfo) psJobsList.lookFor(jobReceived);
+				if (!psJobInfo.hasImpatienceType(ImpatienceType.RENEGING)) {
+					renegingJobs++;
+				}
 				psJobInfo.setImpatienceType(ImpatienceType.RENEGING);
 				psJobInfo.setRenegingDelay(timeLeftToRenege);
 				break;
@@ -269,6 +316,16 @@ public class PSServer extends ServiceSection {
 	}
 
 	private void performServiceTimes(double startTime) {
+		if (virtualTimeService) {
+			// Perform service for all the jobs, advancing the virtual time of each class
+			for (int i = 0; i < jobClasses.size(); i++) {
+				virtualTimes[i] += (getTime() - startTime) * numberOfServers * serviceFractions[i];
+			}
+			if (renegingJobs <= 0) {
+				return;
+			}
+		}
+
 		Iterator<JobInfo> it = psJobsList.getInternalJobInfoList().iterator();
 		double waitingTime = 0.0;
 
@@ -289,7 +346,9 @@ public class PSServer extends ServiceSection {
 
 			// Perform service for the job
 			double serviceTime = (getTime() - startTime) * numberOfServers * serviceFractions[jobClassID];
-			jobInfo.performServiceTime(serviceTime);
+			if (!virtualTimeService) {
+				jobInfo.performServiceTime(serviceTime);
+			}
 
 			waitingTime += serviceTime;
 		}
@@ -306,6 +365,9 @@ public class PSServer extends ServiceSection {
 			JobInfo jobInfoInNetNode = getJobInfoFromBuffer(job, nodeJobsList);
 
 			// Renege jobs from jobsInQueue (Queue item), nodeJobsList (NetNode item) and netJobsList (Global item)
+			if (virtualTimeService) {
+				removeFromFinishOrder((PSJobInfo) jobInfoInPSJobsList);
+			}
 			psJobsList.renegeJob(jobInfoInPSJobsList);
 			nodeJobsList.renegeJob(jobInfoInNetNode);
 			netJobsList.renegeJob(job);
@@ -330,6 +392,25 @@ public class PSServer extends ServiceSection {
 			psJobsList.psUpdateQueueTime(jobClass, queueTime);
 			psJobsList.psUpdateUtilization(jobClass, serviceFractions);
 			psJobsList.remove(jobInfo);
+			if (virtualTimeService) {
+				removeFromFinishOrder(jobInfo);
+			}
+		}
+	}
+
+	/**
+	 * Removes a job from the jobs of its class sorted by finish tag.
+	 * @param jobInfo the job to be removed.
+	 */
+	private void removeFromFinishOrder(PSJobInfo jobInfo) {
+		int jobClassID = jobInfo.getJob().getJobClass().getId();
+		finishOrders[jobClassID].remove(jobInfo);
+		if (jobInfo.hasImpatienceType(ImpatienceType.RENEGING)) {
+			renegingJobs--;
+		}
+		// Restarts the virtual time of an idle class to preserve its precision
+		if (finishOrders[jobClassID].size() <= 0) {
+			virtualTimes[jobClassID] = 0.0;
 		}
 	}
 
@@ -371,7 +452,23 @@ public class PSServer extends ServiceSection {
 	}
 
 	private void serviceJobs() {
-		if (psJobsList.size() > 0) {
+		if (psJobsList.size() > 0 && virtualTimeService) {
+			double minWaitTime = Double.MAX_VALUE;
+			for (int i = 0; i < jobClasses.size(); i++) {
+				if (finishOrders[i].size() > 0) {
+					// The first job of each class has the least residual service time
+					PSJobInfo jobInfo = finishOrders[i].get(0);
+					double residualServiceTime = Math.max(jobInfo.getFinishTag() - virtualTimes[i], 0.0);
+					double waitTime = residualServiceTime / (numberOfServers * serviceFractions[i]);
+					if (waitTime < minWaitTime) {
+						messageJobInfo = jobInfo;
+						minWaitTime = waitTime;
+					}
+				}
+			}
+			messageToken = sendMe(messageJobInfo.getJob(), minWaitTime);
+			messageSendTime = getTime();
+		} else if (psJobsList.size() > 0) {
 			double minWaitTime = Double.MAX_VALUE;
 			Iterator<JobInfo> it = psJobsList.getInternalJobInfoList().iterator();
 			while (it.hasNext()) {
@@ -365,6 +365,18 @@ public class Queue extends InputSection {
 			Arrays.fill(putStrategies, new TailStrategy());
 		}
 
+		// Keeps the jobs sorted if all the classes use the same size-based put strategy
+		Comparator<JobInfo> order = putStrategies.length > 0 ? putStrategies[0].getOrder(this) : null;
+		for (int i = 1; i < putStrategies.length && order != null; i++) {
+			if (putStrategies[i].getClass() != putStrategies[0].getClass()) {
+				order = null;
+			}
+		}
+		if (order != null) {
+			jobsList = new OrderedJobInfoList(jobClasses.size(), order);
+			jobsList.setNetSystem(node.getNetSystem());
+		}
+
 		if (getStrategy instanceof PollingGetStrategy) {
 			((PollingGetStrategy) getStrategy).setPollingQueues(jobClasses);
 		}
@@ -99,7 +99,7 @@ public class Terminal extends InputSection {
 			//distributions and strategies) used to mix the order of
 			//leaving jobs, otherwise they leave in order of class
 			//(i.e. c1, c1, c1, ...c2, c2, c2, ... c3....)
-			RandomEngine randomEng = this.getNetSystem().getEngine();
+			RandomEngine randomEng = getOwnerNode().getRandomEngine();
 
 			//delay used to mix leaving order
 			double mixRandomDelay = 0.0;
@@ -136,7 +136,7 @@ public class Timing extends ServiceSection {
 					}
 				}
 			}
-			RandomEngine randomEngine = this.getNetSytem().getEngine();
+			RandomEngine randomEngine = getOwnerNode().getRandomEngine();
 			if (deltaTimingEvents >= 0) {
 				for (int i = 0; i < deltaTimingEvents; i++) {
 					double firingDelay = timingStrategies[modeIndex].wait(this, null);
@@ -163,7 +163,7 @@ public class Timing extends ServiceSection {
 			timingTokenLists[modeIndex].remove(token);
 			FiringPacket firingPacket = new FiringPacket(modeIndex, modeNames[modeIndex], null, null);
 			sendBackward(NetEvent.EVENT_FIRING, firingPacket, 0.0);
-	        RandomEngine randomEngine = this.getNetSytem().getEngine();
+	        RandomEngine randomEngine = getOwnerNode().getRandomEngine();
 			if (extraEnablingDegrees[modeIndex] != 0) {
 				double firingDelay = timingStrategies[modeIndex].wait(this, null);
 				TimingPacket timingPacket = new TimingPacket(modeIndex, firingDelay, firingPriorities[modeIndex],
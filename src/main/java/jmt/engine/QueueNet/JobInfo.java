@@ -30,6 +30,8 @@ public class JobInfo {
 	private Job job;
 	private double enteringTime;
 	private String jobId;
+	//insertion order in an OrderedJobInfoList
+	private long sequence;
 
 	/**
 	 * Creates a new instance of JobInfo object.
@@ -65,4 +67,20 @@ public class JobInfo {
 		return job.getNetSystem();
 	}
 
+	/**
+	 * Gets the insertion order of this JobInfo in an OrderedJobInfoList.
+	 * @return Sequence number assigned when the JobInfo was added.
+	 */
+	long getSequence() {
+		return sequence;
+	}
+
+	/**
+	 * Sets the insertion order of this JobInfo in an OrderedJobInfoList.
+	 * @param sequence Sequence number of the JobInfo.
+	 */
+	void setSequence(long sequence) {
+		this.sequence = sequence;
+	}
+
 }
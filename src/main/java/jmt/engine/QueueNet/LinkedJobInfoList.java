@@ -39,9 +39,9 @@ public class LinkedJobInfoList implements JobInfoList {
 	protected int numberOfJobClasses;
 
 	//contain JobInfo objects
-	protected LinkedList<JobInfo> list;
+	protected List<JobInfo> list;
 
-	protected LinkedList<JobInfo> listPerClass[];
+	protected List<JobInfo> listPerClass[];
 
 	//arrivals and completions
 	protected Map<Integer, List<Double>> retrialOrbit = new HashMap<>();
@@ -171,7 +171,7 @@ public class LinkedJobInfoList implements JobInfoList {
 	public LinkedJobInfoList(int numberOfJobClasses) {
 		this.numberOfJobClasses = numberOfJobClasses;
 		list = new LinkedList<JobInfo>();
-		listPerClass = new LinkedList[numberOfJobClasses];
+		listPerClass = new List[numberOfJobClasses];
 		retrialOrbitPerClass = new HashMap[numberOfJobClasses];
 		for (int i = 0; i < numberOfJobClasses; i++) {
 			listPerClass[i] = new LinkedList<JobInfo>();
@@ -403,7 +403,7 @@ public class LinkedJobInfoList implements JobInfoList {
 	 * @see jmt.engine.QueueNet.JobInfoList#lookFor(jmt.engine.QueueNet.Job)
 	 */
 	public JobInfo lookFor(Job job) {
-		ListIterator<JobInfo> it = list.listIterator();
+		Iterator<JobInfo> it = list.iterator();
 		JobInfo jobInfo = null;
 		while (it.hasNext()) {
 			jobInfo = it.next();
@@ -416,7 +416,7 @@ public class LinkedJobInfoList implements JobInfoList {
 
 	@Override
 	public JobInfo findJob(Job job) {
-		ListIterator<JobInfo> it = list.listIterator();
+		Iterator<JobInfo> it = list.iterator();
 		JobInfo jobInfo = null;
 		while (it.hasNext()) {
 			jobInfo = it.next();
@@ -442,12 +442,12 @@ public class LinkedJobInfoList implements JobInfoList {
 
 	@Override
 	public JobInfo getFirstJob() {
-		return list.getFirst();
+		return list.get(0);
 	}
 
 	@Override
 	public JobInfo getLastJob() {
-		return list.getLast();
+		return list.get(list.size() - 1);
 	}
 	/**---------------------------------------------------------------------
 	 *--------------------- "ADD" AND "REMOVE" METHODS ---------------------
@@ -467,8 +467,8 @@ public class LinkedJobInfoList implements JobInfoList {
 	 */
 	public void addFirst(JobInfo jobInfo) {
 		updateAdd(jobInfo);
-		list.addFirst(jobInfo);
-		listPerClass[jobInfo.getJob().getJobClass().getId()].addFirst(jobInfo);
+		list.add(0, jobInfo);
+		listPerClass[jobInfo.getJob().getJobClass().getId()].add(0, jobInfo);
 	}
 
 	/* (non-Javadoc)
@@ -476,8 +476,9 @@ public class LinkedJobInfoList implements JobInfoList {
 	 */
 	public void addLast(JobInfo jobInfo) {
 		updateAdd(jobInfo);
-		list.addLast(jobInfo);
-		listPerClass[jobInfo.getJob().getJobClass().getId()].addLast(jobInfo);
+		List<JobInfo> listOfClass = listPerClass[jobInfo.getJob().getJobClass().getId()];
+		list.add(list.size(), jobInfo);
+		listOfClass.add(listOfClass.size(), jobInfo);
 	}
 
 	/* (non-Javadoc)
@@ -502,11 +503,12 @@ public class LinkedJobInfoList implements JobInfoList {
 	 */
 	public void add(int index, JobInfo jobInfo, boolean isPerClassHead) {
 		updateAdd(jobInfo);
+		List<JobInfo> listOfClass = listPerClass[jobInfo.getJob().getJobClass().getId()];
 		list.add(index, jobInfo);
 		if (isPerClassHead) {
-			listPerClass[jobInfo.getJob().getJobClass().getId()].addFirst(jobInfo);
+			listOfClass.add(0, jobInfo);
 		} else {
-			listPerClass[jobInfo.getJob().getJobClass().getId()].addLast(jobInfo);
+			listOfClass.add(listOfClass.size(), jobInfo);
 		}
 	}
 
@@ -560,7 +562,7 @@ public class LinkedJobInfoList implements JobInfoList {
 	 * @see jmt.engine.QueueNet.JobInfoList#removeFirst()
 	 */
 	public JobInfo removeFirst() {
-		JobInfo jobInfo = list.getFirst();
+		JobInfo jobInfo = list.get(0);
 		if (jobInfo != null) {
 			doRemove(jobInfo, 1, 1);
 			return jobInfo;
@@ -574,7 +576,7 @@ public class LinkedJobInfoList implements JobInfoList {
 	 */
 	public JobInfo removeFirst(JobClass jobClass) {
 		int c = jobClass.getId();
-		JobInfo jobInfo = listPerClass[c].getFirst();
+		JobInfo jobInfo = listPerClass[c].get(0);
 		if (jobInfo != null) {
 			doRemove(jobInfo, 0, 1);
 			return jobInfo;
@@ -587,7 +589,7 @@ public class LinkedJobInfoList implements JobInfoList {
 	 * @see jmt.engine.QueueNet.JobInfoList#removeLast()
 	 */
 	public JobInfo removeLast() {
-		JobInfo jobInfo = list.getLast();
+		JobInfo jobInfo = list.get(list.size() - 1);
 		if (jobInfo != null) {
 			doRemove(jobInfo, 2, 2);
 			return jobInfo;
@@ -601,7 +603,7 @@ public class LinkedJobInfoList implements JobInfoList {
 	 */
 	public JobInfo removeLast(JobClass jobClass) {
 		int c = jobClass.getId();
-		JobInfo jobInfo = listPerClass[c].getLast();
+		JobInfo jobInfo = listPerClass[c].get(listPerClass[c].size() - 1);
 		if (jobInfo != null) {
 			doRemove(jobInfo, 0, 2);
 			return jobInfo;
@@ -633,13 +635,13 @@ public class LinkedJobInfoList implements JobInfoList {
 		lastJobSojournTimePerClass[c] = getTime() - jobInfo.getEnteringTime();
 	}
 
-	protected void finalRemove(JobInfo what, LinkedList<JobInfo> list, int position) {
+	protected void finalRemove(JobInfo what, List<JobInfo> list, int position) {
 		switch (position) {
 		case 1:
-			list.removeFirst();
+			list.remove(0);
 			break;
 		case 2:
-			list.removeLast();
+			list.remove(list.size() - 1);
 			break;
 		default:
 			list.remove(what);
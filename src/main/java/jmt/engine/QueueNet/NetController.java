@@ -46,7 +46,8 @@ class NetController {
 	//WARNING: this samples number must be a multiple of refreshPeriod!!
 	private int reachabilityTest = refreshPeriod * 10;
 
-	private boolean blocked = false;
+	//read at every tick without locking, the monitor is acquired only to wait while paused
+	private volatile boolean blocked = false;
 
 	//set to true when when the first abort measures is called due to max simulated time
 	//in order to prevent further calls while the system is still processing enqueued events
@@ -73,43 +74,57 @@ class NetController {
 		SimSystem simSystem = netSystem.getSimSystem();
 		simSystem.runStart();
 		startTime = netSystem.getElapsedTime();
+		netSystem.publishMeasureSnapshots();
 
 		while (simSystem.runTick()) {
-			synchronized (this) {
-				//the presence of this "if" allows pause control
-				if (blocked) {
-					wait();
-				}
-				n++;
-
-				if (n % refreshPeriod == 0) {
-					//User may have defined measures that will not receive any sample
-					if (n % reachabilityTest == 0) {
-						//stop measures which have not collected samples yet
-						netSystem.stopNoSamplesMeasures();
-					}
-					//refresh measures
-					netSystem.checkMeasures();
+			//the presence of this "if" allows pause control
+			if (blocked) {
+				waitWhileBlocked();
+			}
+			n++;
+
+			if (n % refreshPeriod == 0) {
+				//User may have defined measures that will not receive any sample
+				if (n % reachabilityTest == 0) {
+					//stop measures which have not collected samples yet
+					netSystem.stopNoSamplesMeasures();
 				}
-				//check if a positive max simulated time is set and has been reached for the first time
-				if (maxSimulatedTime > 0 && simSystem.getClock() > maxSimulatedTime && !aborting) {
-					ListIterator<QueueNetwork> nets = netSystem.getNetworkList().listIterator();
-					QueueNetwork network;
-					while (nets.hasNext()) {
-						network = nets.next();
-						network.abortAllMeasures();
-						aborting = true;
-					}
-					netSystem.checkMeasures(); //refresh measures, this triggers a simulation stop because all measures have been aborted
+				//abort measures requested by the user
+				netSystem.abortRequestedMeasures();
+				//refresh measures
+				netSystem.checkMeasures();
+				//publish measures, so that they can be read without pausing the simulation
+				netSystem.publishMeasureSnapshots();
+			}
+			//check if a positive max simulated time is set and has been reached for the first time
+			if (maxSimulatedTime > 0 && simSystem.getClock() > maxSimulatedTime && !aborting) {
+				ListIterator<QueueNetwork> nets = netSystem.getNetworkList().listIterator();
+				QueueNetwork network;
+				while (nets.hasNext()) {
+					network = nets.next();
+					network.abortAllMeasures();
+					aborting = true;
 				}
+				netSystem.checkMeasures(); //refresh measures, this triggers a simulation stop because all measures have been aborted
 			}
 		}
 		//sim is finished: get stop time
 		stopTime = netSystem.getElapsedTime();
 		simSystem.runStop();
+		netSystem.publishMeasureSnapshots();
 		running = false;
 	}
 
+	/**
+	 * Waits until the simulation is unblocked
+	 * @throws InterruptedException
+	 */
+	private synchronized void waitWhileBlocked() throws InterruptedException {
+		while (blocked) {
+			wait();
+		}
+	}
+
 	public void start() {
 		running = true;
 	}
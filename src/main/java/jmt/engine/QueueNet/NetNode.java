@@ -27,6 +27,7 @@ import jmt.engine.dataAnalysis.InverseMeasure;
 import jmt.engine.dataAnalysis.Measure;
 import jmt.engine.dataAnalysis.SimParameters;
 import jmt.engine.log.JSimLogger;
+import jmt.engine.random.engine.RandomEngine;
 import jmt.engine.simEngine.*;
 
 import java.util.ListIterator;
@@ -99,7 +100,11 @@ public class NetNode extends SimEntity {
 
 	private SimEvent receiveBuffer;
 
+	/** Predicate used to look for abort events in the deferred queue */
+	private static final SimTypeP ABORT_PREDICATE = new SimTypeP(NetEvent.EVENT_ABORT);
+
 	//temp variables to contain message and message event type
+	//(the message is reused for every received event, as all its fields are set by receive())
 	private NetMessage message;
 	private int eventType;
 
@@ -111,6 +116,8 @@ public class NetNode extends SimEntity {
 
 	private SimParameters simParameters;
 
+	private RandomEngine randomEngine;
+
 	/**
 	 * Creates a new instance of NetNode.
 	 * @param name Name of the NetNode.
@@ -121,6 +128,7 @@ public class NetNode extends SimEntity {
 		OutputNodes = new NodeList();
 		inputSection = serviceSection = outputSection = null;
 		receiveBuffer = new SimEvent();
+		message = new NetMessage();
 		stopped = false;
 	}
 
@@ -473,7 +481,6 @@ public class NetNode extends SimEntity {
 	 */
 	@Override
 	public final void body() {
-		message = new NetMessage();
 		try {
 			receiveBuffer = getEvbuf();
 
@@ -483,7 +490,7 @@ public class NetNode extends SimEntity {
 
 			//if the deferred queue (where we put messages when the node is busy)
 			//contains an abort event then poison the node.
-			if (simWaiting(new SimTypeP(NetEvent.EVENT_ABORT)) > 0) {
+			if (simHasDeferred() && simWaiting(ABORT_PREDICATE) > 0) {
 				poison();
 			}
 
@@ -900,4 +907,16 @@ public class NetNode extends SimEntity {
 	public NetSystem getNetSystem(){
 		return network.getNetSystem();
 	}
+
+	/**
+	 * Gets the random engine used by the sections and the strategies of this node: the
+	 * stream of this node if random streams are used, the shared engine otherwise
+	 * @return the random engine
+	 */
+	public RandomEngine getRandomEngine() {
+		if (randomEngine == null) {
+			randomEngine = getNetSystem().getEngine("node/" + getName());
+		}
+		return randomEngine;
+	}
 }
@@ -21,9 +21,9 @@ package jmt.engine.QueueNet;
 import java.util.ListIterator;
 
 import jmt.common.exception.NetException;
-import jmt.engine.dataAnalysis.Measure;
 import jmt.engine.random.engine.MersenneTwister;
 import jmt.engine.random.engine.RandomEngine;
+import jmt.engine.random.engine.RandomStreamFactory;
 import jmt.engine.simEngine.SimSystem;
 
 /**
@@ -55,9 +55,15 @@ public class NetSystem {
 	
 	private RandomEngine engine;
 
+	private long seed;
+
+	//factory of the named random streams, null if all the components share the same engine
+	private RandomStreamFactory streamFactory;
+
 	public NetSystem() {
 		simSystem = new SimSystem();
-		engine = new MersenneTwister(); 
+		seed = (long) (Math.random() * Long.MAX_VALUE);
+		engine = new MersenneTwister(seed);
 		jobCounter = 0;
 	};
 
@@ -248,21 +254,12 @@ public class NetSystem {
 	void checkMeasures() {
 		ListIterator<QueueNetwork> networks = networkList.listIterator();
 		QueueNetwork network;
-		ListIterator<Measure> measures;
 		int count, num;
-		Measure measure;
 		while (networks.hasNext()) {
 			network = networks.next();
 			num = network.getMeasures().size();
 			if (num > 0) {
-				measures = network.getMeasures().listIterator();
-				count = 0;
-				while (measures.hasNext()) {
-					measure = measures.next();
-					if (measure.hasFinished()) {
-						count++;
-					}
-				}
+				count = network.getFinishedMeasures();
 
 				switch (network.getBehaviour()) {
 				case QueueNetwork.BEHAVIOUR_ABORT:
@@ -287,7 +284,29 @@ public class NetSystem {
 	}
 
 	/**
-	 * Checks simulation progress, showing a percentage of completed works
+	 * Aborts the measures requested by other threads for all the networks
+	 */
+	void abortRequestedMeasures() {
+		ListIterator<QueueNetwork> networks = networkList.listIterator();
+		while (networks.hasNext()) {
+			networks.next().abortRequestedMeasures();
+		}
+	}
+
+	/**
+	 * Publishes the snapshots of the measures of all the networks, so that they can be read
+	 * without pausing the simulation
+	 */
+	void publishMeasureSnapshots() {
+		ListIterator<QueueNetwork> networks = networkList.listIterator();
+		while (networks.hasNext()) {
+			networks.next().publishMeasureSnapshots();
+		}
+	}
+
+	/**
+	 * Checks simulation progress, showing a percentage of completed works,
+	 * as published by the simulation at the last refresh of the measures
 	 * <br>Author: Bertoli Marco
 	 * @param network network to be checked for progress
 	 * @return estimated simulation progress
@@ -297,22 +316,7 @@ public class NetSystem {
 		if (network == null) {
 			throw new NetException("Cannot measure progress of a network which does not exist.");
 		}
-
-		// We estimate on the slowest not completed measure
-		ListIterator<Measure> measures;
-		double slowest = 1;
-		Measure measure;
-		measures = network.getMeasures().listIterator();
-		while (measures.hasNext()) {
-			measure = measures.next();
-			if (!measure.hasFinished()) {
-				// find slowest measure
-				if (measure.getSamplesAnalyzedPercentage() < slowest) {
-					slowest = measure.getSamplesAnalyzedPercentage();
-				}
-			}
-		}
-		return slowest;
+		return network.getProgress();
 	}
 
 	public double getTempMeasures(QueueNetwork network) throws NetException {
@@ -320,41 +324,16 @@ public class NetSystem {
 			throw new NetException("Cannot get measures of a network which does not exist.");
 		}
 
-		ListIterator<Measure> measures;
-		int count = 0;
-		Measure measure;
+		//count finished measures
+		int count = network.getFinishedMeasures();
 		int num = network.getMeasures().size();
-		if (num > 0) {
-			measures = network.getMeasures().listIterator();
-			while (measures.hasNext()) {
-				measure = measures.next();
-				//count finished measures
-				if (measure.hasFinished()) {
-					count++;
-				}
-			}
-		}
 		return (double) count / (double) num;
 	}
 
 	void stopNoSamplesMeasures() {
 		ListIterator<QueueNetwork> networks = networkList.listIterator();
-		QueueNetwork network;
-		ListIterator<Measure> measures;
-		int num;
-		Measure measure;
 		while (networks.hasNext()) {
-			network = networks.next();
-			num = network.getMeasures().size();
-			if (num > 0) {
-				measures = network.getMeasures().listIterator();
-				while (measures.hasNext()) {
-					measure = measures.next();
-					if (!measure.hasFinished()) {
-						measure.testDeadMeasure();
-					}
-				}
-			}
+			networks.next().stopNoSamplesMeasures();
 		}
 	}
 
@@ -389,4 +368,41 @@ public class NetSystem {
 	public RandomEngine getEngine() {
 		return engine;
 	}
+
+	/**
+	 * Gets the random engine used for a given purpose: a dedicated stream if random
+	 * streams are used, the engine shared by all the components otherwise
+	 * @param streamName the name of the stream, prefixed by the kind of its owner
+	 * ("node/", "param/" or "system/") so that names of different owners cannot collide
+	 * @return the random engine
+	 */
+	public RandomEngine getEngine(String streamName) {
+		if (streamFactory != null) {
+			return streamFactory.getStream(streamName);
+		} else {
+			return engine;
+		}
+	}
+
+	/**
+	 * Sets the seed of the random engine and of all the random streams
+	 * @param seed the simulation seed
+	 */
+	public void setSeed(long seed) {
+		this.seed = seed;
+		engine.setNewSeed(seed);
+		if (streamFactory != null) {
+			streamFactory.setSeed(seed);
+		}
+	}
+
+	/**
+	 * Uses a dedicated random stream for each component created from now on, instead of a
+	 * single engine shared by all the components. Must be called before the nodes are created.
+	 * @param antithetic true if the streams must return the complements of the numbers
+	 */
+	public void useRandomStreams(boolean antithetic) {
+		streamFactory = new RandomStreamFactory(seed, antithetic);
+		simSystem.setTimingEngine(getEngine("system/timing"));
+	}
 }
@@ -0,0 +1,72 @@
+/**
+ * Copyright (C) 2016, Laboratorio di Valutazione delle Prestazioni - Politecnico di Milano
+
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+
+package jmt.engine.QueueNet;
+
+import java.util.Comparator;
+
+import jmt.framework.data.SortedList;
+
+/**
+ * This class implements a job info list which keeps the jobs sorted by a given order,
+ * as required by size-based queue put strategies. Jobs added with <tt>add(JobInfo)</tt>
+ * are placed after all the jobs that do not follow them, in O(log n) time.
+ * <br>
+ * Jobs that are equal according to the given order are sorted by insertion sequence,
+ * so that each job has a unique key and can be found and removed in O(log n) time.
+ */
+public class OrderedJobInfoList extends LinkedJobInfoList {
+
+	//sequence number of the next job added
+	private long sequence;
+
+	/**
+	 * Creates a new OrderedJobInfoList instance.
+	 * @param numberOfJobClasses number of job classes.
+	 * @param order order of the jobs.
+	 */
+	public OrderedJobInfoList(int numberOfJobClasses, final Comparator<JobInfo> order) {
+		super(numberOfJobClasses);
+		Comparator<JobInfo> uniqueOrder = new Comparator<JobInfo>() {
+			public int compare(JobInfo jobInfo1, JobInfo jobInfo2) {
+				int result = order.compare(jobInfo1, jobInfo2);
+				if (result != 0) {
+					return result;
+				}
+				long sequence1 = jobInfo1.getSequence();
+				long sequence2 = jobInfo2.getSequence();
+				return sequence1 < sequence2 ? -1 : (sequence1 > sequence2 ? 1 : 0);
+			}
+		};
+		list = new SortedList<JobInfo>(uniqueOrder);
+		for (int i = 0; i < numberOfJobClasses; i++) {
+			listPerClass[i] = new SortedList<JobInfo>(uniqueOrder);
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see jmt.engine.QueueNet.LinkedJobInfoList#add(jmt.engine.QueueNet.JobInfo)
+	 */
+	@Override
+	public void add(JobInfo jobInfo) {
+		jobInfo.setSequence(sequence++);
+		super.add(jobInfo);
+	}
+
+}
@@ -29,6 +29,7 @@ public class PSJobInfo extends JobInfo {
 
 	private double serviceTime;
 	private double residualServiceTime;
+	private double finishTag;
 	private double renegingDelay;
 	private ImpatienceType impatienceType;
 
@@ -80,6 +81,22 @@ public class PSJobInfo extends JobInfo {
 		residualServiceTime -= serviceTime;
 	}
 
+	/**
+	 * Gets the virtual time of the job class at which the job completes its service.
+	 * @return Virtual time at which the job completes its service.
+	 */
+	public double getFinishTag() {
+		return finishTag;
+	}
+
+	/**
+	 * Sets the virtual time of the job class at which the job completes its service.
+	 * @param finishTag Virtual time at which the job completes its service.
+	 */
+	public void setFinishTag(double finishTag) {
+		this.finishTag = finishTag;
+	}
+
 	public void setImpatienceType(ImpatienceType impatienceType) {
 		this.impatienceType = impatienceType;
 	}
@@ -20,6 +20,7 @@ package jmt.engine.QueueNet;
 
 import java.util.LinkedList;
 import java.util.ListIterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import jmt.common.exception.NetException;
 import jmt.engine.NodeSections.BlockingQueue;
@@ -30,6 +31,7 @@ import jmt.engine.NodeSections.Fork;
 import jmt.engine.NodeSections.Queue;
 import jmt.engine.NodeSections.Storage;
 import jmt.engine.dataAnalysis.Measure;
+import jmt.engine.dataAnalysis.MeasureSnapshot;
 import jmt.engine.dataAnalysis.TempMeasure;
 
 /**
@@ -97,6 +99,23 @@ public class QueueNetwork {
 	
 	private NetSystem netSystem;
 
+	//last snapshots of the measures published by the simulation thread
+	private volatile MeasureSnapshot[] measureSnapshots;
+
+	//progress of the slowest measure, published together with the snapshots
+	private volatile double progress = 0.0;
+
+	//measures to be aborted by the simulation thread at the next refresh
+	private ConcurrentLinkedQueue<Measure> measuresToAbort = new ConcurrentLinkedQueue<Measure>();
+
+	//number of measures which have finished, updated by the measures themselves
+	private int finishedMeasures = 0;
+
+	//measures not finished at the last publication of the snapshots, as indexes in measureArray
+	private Measure[] measureArray;
+	private int[] runningMeasures;
+	private int runningCount;
+
 	/** Creates a new instance of QueueNetwork. */
 	public QueueNetwork(String name) {
 		nodes = new NodeList();
@@ -279,6 +298,118 @@ public class QueueNetwork {
 		}
 	}
 
+	/**
+	 * Notifies that a measure of this network has finished. This is called by the measure itself,
+	 * only once.
+	 * @param measure the finished measure
+	 */
+	public synchronized void measureFinished(Measure measure) {
+		finishedMeasures++;
+	}
+
+	/**
+	 * Gets the number of measures of this network which have finished
+	 * @return the number of finished measures
+	 */
+	synchronized int getFinishedMeasures() {
+		return finishedMeasures;
+	}
+
+	/**
+	 * Initializes the list of running measures with all the measures
+	 */
+	private void initRunningMeasures() {
+		if (measureArray == null) {
+			measureArray = measures.toArray(new Measure[measures.size()]);
+			runningMeasures = new int[measureArray.length];
+			for (int i = 0; i < runningMeasures.length; i++) {
+				runningMeasures[i] = i;
+			}
+			runningCount = runningMeasures.length;
+		}
+	}
+
+	/**
+	 * Takes a snapshot of the measures which had not finished at the last publication (the snapshots of
+	 * the others cannot change) and publishes it, together with the progress of the slowest measure.
+	 * This is called by the simulation thread.
+	 */
+	void publishMeasureSnapshots() {
+		initRunningMeasures();
+		MeasureSnapshot[] snapshots;
+		if (measureSnapshots == null) {
+			snapshots = new MeasureSnapshot[measureArray.length];
+		} else {
+			snapshots = measureSnapshots.clone();
+		}
+
+		// We estimate progress on the slowest not completed measure
+		double slowest = 1;
+		int count = 0;
+		for (int i = 0; i < runningCount; i++) {
+			int index = runningMeasures[i];
+			MeasureSnapshot snapshot = new MeasureSnapshot(measureArray[index]);
+			snapshots[index] = snapshot;
+			if (!snapshot.hasFinished()) {
+				runningMeasures[count++] = index;
+				if (snapshot.getSamplesAnalyzedPercentage() < slowest) {
+					slowest = snapshot.getSamplesAnalyzedPercentage();
+				}
+			}
+		}
+		runningCount = count;
+		progress = slowest;
+		measureSnapshots = snapshots;
+	}
+
+	/**
+	 * Stops the measures which have not received samples for a long time, checking only the measures
+	 * which had not finished at the last publication of the snapshots. This is called by the simulation thread.
+	 */
+	void stopNoSamplesMeasures() {
+		initRunningMeasures();
+		for (int i = 0; i < runningCount; i++) {
+			Measure measure = measureArray[runningMeasures[i]];
+			if (!measure.hasFinished()) {
+				measure.testDeadMeasure();
+			}
+		}
+	}
+
+	/**
+	 * Gets the last snapshots of the measures, that can be read by any thread while the simulation is running
+	 * @return the snapshots, in the same order of the measures, or null if they were not published yet
+	 */
+	public MeasureSnapshot[] getMeasureSnapshots() {
+		return measureSnapshots;
+	}
+
+	/**
+	 * Gets the progress of the slowest not completed measure, published together with the snapshots
+	 * @return estimated simulation progress
+	 */
+	public double getProgress() {
+		return progress;
+	}
+
+	/**
+	 * Requests a measure to be aborted by the simulation thread at the next refresh of the measures
+	 * @param measure the measure to be aborted
+	 */
+	public void abortMeasureAtRefresh(Measure measure) {
+		measuresToAbort.add(measure);
+	}
+
+	/**
+	 * Aborts the measures requested with <code>abortMeasureAtRefresh</code>. This is called by the simulation thread.
+	 */
+	void abortRequestedMeasures() {
+		Measure measure;
+		while ((measure = measuresToAbort.poll()) != null) {
+			measure.abortMeasure();
+		}
+	}
+
 	public boolean isTerminalSimulation() {
 		return isTerminalSimulation;
 	}
@@ -73,6 +73,9 @@ public class Measure {
 	/** A measure output object is used to print a measure values */
 	private MeasureOutput output;
 
+	/** becomes true when the measure output has been finalized */
+	private boolean outputClosed;
+
 	private JSimLogger logger = JSimLogger.getLogger(JSimLogger.STD_LOGGER);
 
 	//these informations were already contained in the SimMeasure class, but were no longer
@@ -146,8 +149,26 @@ public class Measure {
 	 */
 
 	public Measure(String Name, double alfa, double precision, int maxSamples, boolean Verbose, double[] quantiles) {
+		this(Name, alfa, precision, maxSamples, Verbose, quantiles, 0);
+	}
+
+	/** Creates a new instance of measure class.
+	 * @param Name name of the measure.
+	 * @param alfa    the quantile required for the confidence interval
+	 * @param precision   indicator of maximum amplitude of confidence interval
+	 *                      (precision = maxamplitude / mean)
+	 * @param maxSamples  maximum number of data to be analyzed
+	 * @param Verbose   True, if each measure should be sent on output
+	 * @param quantiles the quantiles to be computed (null, if no quantiles should be computed)
+	 * @param quantileSketchSize if greater than zero, quantiles are estimated in bounded memory
+	 * by a streaming sketch storing this number of samples per level, instead of storing all the samples
+	 */
+	public Measure(String Name, double alfa, double precision, int maxSamples, boolean Verbose, double[] quantiles, int quantileSketchSize) {
 		this.name = Name;
-		if (quantiles != null && quantiles.length > 0) {
+		if (quantiles != null && quantiles.length > 0 && quantileSketchSize > 0) {
+			//quantile calculation is requested too, with a streaming sketch
+			analyzer = new QuantileDataAnalyzer(alfa, precision, maxSamples, quantiles, quantileSketchSize);
+		} else if (quantiles != null && quantiles.length > 0) {
 			//quantile calculation is requested too
 			analyzer = new QuantileDataAnalyzer(alfa, precision, maxSamples, quantiles);
 		} else {
@@ -234,6 +255,17 @@ public class Measure {
 		this.output = output;
 	}
 
+	/**
+	 * Finalizes the output object, writing the samples which are still pending. This method
+	 * has no effect if the output has already been finalized.
+	 */
+	public synchronized void closeOutput() {
+		if (output != null && !outputClosed) {
+			outputClosed = true;
+			output.finalizeMeasure();
+		}
+	}
+
 	/**
 	 * Returns true if the analysis measure is successful
 	 * @return true if the analysis measure respects all users requests
@@ -398,12 +430,12 @@ public class Measure {
 			//data analysis finished
 			if (!finish) {
 				//simulation not finished yet
-				finish = true;
+				markFinished();
 				if (output != null) {
 					//writes the new sample
 					output.write(sample, weight);
 					//writes the final measure
-					output.finalizeMeasure();
+					closeOutput();
 				}
 			}
 			//simulation already finished
@@ -472,6 +504,18 @@ public class Measure {
 		return finish;
 	}
 
+	/**
+	 * Marks this measure as finished and notifies the network it belongs to
+	 */
+	private void markFinished() {
+		if (!finish) {
+			finish = true;
+			if (network != null) {
+				network.measureFinished(this);
+			}
+		}
+	}
+
 	/**
 	 * gets all requested quantiles
 	 *
@@ -608,7 +652,7 @@ public class Measure {
 		} else {
 			//abort measure
 			aborted = true;
-			finish = true;
+			markFinished();
 			//stops analyzer
 			stopMeasure();
 		}
@@ -640,7 +684,7 @@ public class Measure {
 	}
 
 	public void stop_NoSamples() {
-		finish = true;
+		markFinished();
 		noSamplesTest = true;
 		//stop measure with success
 		stopMeasure(true);
@@ -668,9 +712,7 @@ public class Measure {
 			double log_mean = getEstimatedMeanValue();
 			boolean log_success = analyzer.getSuccess();
 			logger.debug("Measure " + name + " finished. Mean value: " + log_mean + " Success = " + log_success);
-			if (output != null) {
-				output.finalizeMeasure();
-			}
+			closeOutput();
 		}
 	}
 
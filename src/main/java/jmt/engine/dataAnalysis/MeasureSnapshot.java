@@ -0,0 +1,131 @@
+/**
+ * Copyright (C) 2016, Laboratorio di Valutazione delle Prestazioni - Politecnico di Milano
+
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package jmt.engine.dataAnalysis;
+
+/**
+ * An immutable copy of the values of a measure, taken by the simulation thread at a refresh
+ * of the measures. Snapshots are published through a volatile reference, so they can be read by
+ * other threads (e.g. the GUI poller) without pausing the simulation.
+ */
+public class MeasureSnapshot {
+
+	private final int analyzedSamples;
+	private final int discardedSamples;
+	private final double meanValue;
+	private final double upperLimit;
+	private final double lowerLimit;
+	private final double lastIntervalAvgValue;
+	private final double samplesAnalyzedPercentage;
+	private final String jobId;
+	private final int arrival;
+	private final int departure;
+	private final double simTime;
+	private final boolean finished;
+	private final boolean success;
+	private final boolean noSamples;
+
+	/**
+	 * Takes a snapshot of a measure. Must be called by the simulation thread.
+	 * @param measure the measure
+	 */
+	public MeasureSnapshot(Measure measure) {
+		analyzedSamples = measure.getAnalyzedSamples();
+		discardedSamples = measure.getDiscardedSamples();
+		meanValue = measure.getEstimatedMeanValue();
+		upperLimit = measure.getUpperLimit();
+		lowerLimit = measure.getLowerLimit();
+		lastIntervalAvgValue = measure.getLastIntervalAvgValue();
+		samplesAnalyzedPercentage = measure.getSamplesAnalyzedPercentage();
+		jobId = measure.getJobId();
+		arrival = measure.getArrival();
+		departure = measure.getDeparture();
+		simTime = measure.getSimTime();
+		finished = measure.hasFinished();
+		if (finished) {
+			success = measure.getSuccess();
+			noSamples = measure.receivedNoSamples();
+		} else {
+			success = false;
+			noSamples = false;
+		}
+	}
+
+	public int getAnalyzedSamples() {
+		return analyzedSamples;
+	}
+
+	public int getDiscardedSamples() {
+		return discardedSamples;
+	}
+
+	public double getEstimatedMeanValue() {
+		return meanValue;
+	}
+
+	public double getUpperLimit() {
+		return upperLimit;
+	}
+
+	public double getLowerLimit() {
+		return lowerLimit;
+	}
+
+	public double getLastIntervalAvgValue() {
+		return lastIntervalAvgValue;
+	}
+
+	public double getSamplesAnalyzedPercentage() {
+		return samplesAnalyzedPercentage;
+	}
+
+	public String getJobId() {
+		return jobId;
+	}
+
+	public int getArrival() {
+		return arrival;
+	}
+
+	public int getDeparture() {
+		return departure;
+	}
+
+	public double getSimTime() {
+		return simTime;
+	}
+
+	public boolean hasFinished() {
+		return finished;
+	}
+
+	/**
+	 * @return true if the measure has finished successfully. Valid only if the measure has finished.
+	 */
+	public boolean getSuccess() {
+		return success;
+	}
+
+	/**
+	 * @return true if the measure has not received any sample. Valid only if the measure has finished.
+	 */
+	public boolean receivedNoSamples() {
+		return noSamples;
+	}
+
+}
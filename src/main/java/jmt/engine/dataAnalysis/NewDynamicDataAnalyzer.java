@@ -93,6 +93,14 @@ public class NewDynamicDataAnalyzer implements DynamicDataAnalyzer {
 	// Used to store transient data to perform MSER-m rule and initialize spectral analysis
 	private BatchCircularList batches = new BatchCircularList(batchSize, maxRuleSamples);
 
+	// Number of samples added to batches
+	private int batchedSamples = 0;
+
+	// MSER-m rule considers completed batches only, so it is applied again only when a new
+	// batch is completed: number of completed batches of the last application and its result
+	int mserBatches = -1;
+	private int mserCut = 0;
+
 	/**minimum length (number of samples) of transient period */
 	int minSamples = 0;
 	// ---------------------------------------------------------------------------------------------
@@ -268,6 +276,7 @@ public class NewDynamicDataAnalyzer implements DynamicDataAnalyzer {
 		if (!deleted) {
 			//transient not deleted
 			batches.add(newSample, weight);
+			batchedSamples++;
 		}
 
 		// Execute heuristic
@@ -649,6 +658,59 @@ public class NewDynamicDataAnalyzer implements DynamicDataAnalyzer {
 	 */
 	protected boolean deleteTransient() {
 
+		// number of batches to be discarded, computed again only on new completed batches
+		int completed = batchedSamples / batchSize;
+		if (completed != mserBatches) {
+			mserCut = findTruncation();
+			mserBatches = completed;
+		}
+		int d = mserCut;
+
+		if (d - 1 <= nSamples / (batches.getBatchSize() * batches.getBatchSize())) {
+			//the initial warm up period is short
+			//cannot apply the algorithm to a sequence too polarized...
+			deleted = true;
+			batches.deleteFirstBatches(d);
+
+			nSamples = batches.getNumBatches() * batches.getBatchSize();
+
+			//heuristic to build the "optimal" number of batches.
+			//numBatches is nearest 2 power to sqrt(nSamples)
+			numBatch = 1 << ((int) Math.ceil((Math.log(Math.sqrt(nSamples))) / Math.log(2)));
+			if (numBatch < 64) {
+				numBatch = 64;
+			}
+			batchLen = batches.getBatchSize() * (int) Math.ceil(batches.getNumBatches() / (double) numBatch);
+
+			int k = 0;
+			batchMean = new double[numBatch];
+			weightBatchMean = new double[numBatch];
+			for (int i = 0; i < batches.getNumBatches(); i++) {
+				batchMean[k] += batches.getBatchSample(i);
+				weightBatchMean[k] += batches.getBatchWeight(i);
+				if (((i + 1) % (batchLen / batches.getBatchSize())) == 0) {
+					batchMean[k] /= weightBatchMean[k];
+					k++;
+				}
+			}
+			batch = k;
+
+			batches.clean();
+			return deleted;
+		} else {
+			//transient cannot be deleted
+			deleted = false;
+			minSamples += batches.getDiscarded();
+			return deleted;
+		}
+	}
+
+	/**
+	 * Applies the MSER-m rule to the completed batches.
+	 * @return the number of batches to be discarded
+	 */
+	private int findTruncation() {
+
 		double sumB;
 		double sumW;
 		double min = Double.MAX_VALUE;
@@ -704,43 +766,7 @@ public class NewDynamicDataAnalyzer implements DynamicDataAnalyzer {
 			}
 		}
 
-		if (d - 1 <= nSamples / (batches.getBatchSize() * batches.getBatchSize())) {
-			//the initial warm up period is short
-			//cannot apply the algorithm to a sequence too polarized...
-			deleted = true;
-			batches.deleteFirstBatches(d);
-
-			nSamples = batches.getNumBatches() * batches.getBatchSize();
-
-			//heuristic to build the "optimal" number of batches.
-			//numBatches is nearest 2 power to sqrt(nSamples)
-			numBatch = 1 << ((int) Math.ceil((Math.log(Math.sqrt(nSamples))) / Math.log(2)));
-			if (numBatch < 64) {
-				numBatch = 64;
-			}
-			batchLen = batches.getBatchSize() * (int) Math.ceil(batches.getNumBatches() / (double) numBatch);
-
-			int k = 0;
-			batchMean = new double[numBatch];
-			weightBatchMean = new double[numBatch];
-			for (int i = 0; i < batches.getNumBatches(); i++) {
-				batchMean[k] += batches.getBatchSample(i);
-				weightBatchMean[k] += batches.getBatchWeight(i);
-				if (((i + 1) % (batchLen / batches.getBatchSize())) == 0) {
-					batchMean[k] /= weightBatchMean[k];
-					k++;
-				}
-			}
-			batch = k;
-
-			batches.clean();
-			return deleted;
-		} else {
-			//transient cannot be deleted
-			deleted = false;
-			minSamples += batches.getDiscarded();
-			return deleted;
-		}
+		return d;
 	}
 
 	// ---------------------------------------------------------------------------------------------
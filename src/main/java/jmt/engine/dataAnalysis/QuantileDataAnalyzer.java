@@ -21,6 +21,7 @@ package jmt.engine.dataAnalysis;
 import jmt.engine.dataAnalysis.sorting.HeapSort;
 import jmt.engine.dataAnalysis.sorting.SortAlgorithm;
 import jmt.engine.math.DoubleArrayList;
+import jmt.engine.math.QuantileSketch;
 import jmt.engine.math.SampleMeanVar;
 
 /**
@@ -42,6 +43,9 @@ public class QuantileDataAnalyzer extends DynamicDataAnalyzerImpl {
 
 	SortAlgorithm sorter;
 
+	/** Streaming estimator used instead of storing all the data, if not null */
+	QuantileSketch sketch;
+
 	/**
 	 * Creates a QuantileDataAnalyzer.
 	 * @param  alfa    the quantile required for the confidence interval
@@ -76,6 +80,24 @@ public class QuantileDataAnalyzer extends DynamicDataAnalyzerImpl {
 		sorter = new HeapSort();
 	}
 
+	/**
+	 * Creates a QuantileDataAnalyzer which estimates the quantiles with a
+	 * bounded-memory streaming sketch instead of storing all the data.
+	 * See QuantileSketch for the error bounds.
+	 * @param  alfa    the quantile required for the confidence interval
+	 * @param  precision   maximum amplitude of confidence interval
+	 *                      (precision = maxamplitude / mean)
+	 * @param maxData  maximum number of data to be analyzed
+	 *
+	 * @param quantile Requested quantiles
+	 * @param sketchSize number of data stored by each level of the sketch
+	 */
+	public QuantileDataAnalyzer(double alfa, double precision, int maxData, double[] quantile, int sketchSize) {
+		super(alfa, precision, maxData);
+		this.quantile = quantile;
+		sketch = new QuantileSketch(sketchSize);
+	}
+
 	/**
 	 * Adds the new sample to the statistic.
 	 * @param newSample the new sample
@@ -86,8 +108,12 @@ public class QuantileDataAnalyzer extends DynamicDataAnalyzerImpl {
 	@Override
 	public boolean addSample(double newSample, double Weight) {
 		if (initialized) {
-			data.add(newSample * Weight);
-			ordered = false;
+			if (sketch != null) {
+				sketch.add(newSample * Weight);
+			} else {
+				data.add(newSample * Weight);
+				ordered = false;
+			}
 		}
 		return super.addSample(newSample, Weight);
 	}
@@ -99,6 +125,9 @@ public class QuantileDataAnalyzer extends DynamicDataAnalyzerImpl {
 	 * @return the estimated quantile
 	 */
 	public double getQuantile(double prob) {
+		if (sketch != null) {
+			return sketch.getQuantile(prob);
+		}
 		if (ordered) {
 			return data.get((int) (data.getSize() * prob));
 		} else {
@@ -131,6 +160,9 @@ public class QuantileDataAnalyzer extends DynamicDataAnalyzerImpl {
 	 * @return estimated probability
 	 */
 	public double getProbability(double quantile) {
+		if (sketch != null) {
+			return sketch.getProbability(quantile);
+		}
 		if (ordered) {
 			return search(quantile);
 		}
@@ -170,8 +202,10 @@ public class QuantileDataAnalyzer extends DynamicDataAnalyzerImpl {
 	 */
 	@Override
 	protected boolean HWtest() {
-		sort();
-		ordered = true;
+		if (sketch == null) {
+			sort();
+			ordered = true;
+		}
 		return super.HWtest();
 	}
 
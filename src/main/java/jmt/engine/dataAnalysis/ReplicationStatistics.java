@@ -0,0 +1,187 @@
+/**
+ * Copyright (C) 2016, Laboratorio di Valutazione delle Prestazioni - Politecnico di Milano
+
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package jmt.engine.dataAnalysis;
+
+import jmt.engine.math.SampleMeanVar;
+import jmt.engine.math.TStudent;
+
+/**
+ * <p><b>Name:</b> ReplicationStatistics</p>
+ * <p><b>Description:</b>
+ * Merges the mean values of a measure obtained by several independent replications of the same model.
+ * The replication means are independent and identically distributed, so a confidence interval is computed
+ * with the t-Student distribution with (n - 1) degrees of freedom, where n is the number of replications.
+ * As the initial transient is already discarded by the analyzer of each replication, this is the classical
+ * replication/deletion approach. The alfa and the relative precision are the ones requested for the measure.
+ * </p>
+ * @version 1.0
+ */
+public class ReplicationStatistics {
+
+	//the mean values of the replications
+	private SampleMeanVar replicationMeans;
+	//number of replications
+	private int replications;
+	//number of replications whose analyzer was successful
+	private int successfulReplications;
+	//total number of analyzed samples
+	private long analyzedSamples;
+	//total number of discarded samples
+	private long discardedSamples;
+
+	//requested confidence interval
+	private double alfa;
+	//requested relative precision
+	private double precision;
+
+	/**
+	 * Creates a new ReplicationStatistics object.
+	 * @param alfa the requested confidence level is 1 - alfa
+	 * @param precision the requested relative precision of the confidence interval
+	 */
+	public ReplicationStatistics(double alfa, double precision) {
+		this.alfa = alfa;
+		this.precision = precision;
+		replicationMeans = new SampleMeanVar();
+	}
+
+	/**
+	 * Adds the result of a replication.
+	 * @param mean the mean value estimated by the replication
+	 * @param success true if the analyzer of the replication was successful
+	 * @param analyzed number of samples analyzed by the replication
+	 * @param discarded number of samples discarded by the replication
+	 */
+	public void addReplication(double mean, boolean success, int analyzed, int discarded) {
+		replicationMeans.putNewSample(mean);
+		replications++;
+		if (success) {
+			successfulReplications++;
+		}
+		analyzedSamples += analyzed;
+		discardedSamples += discarded;
+	}
+
+	/**
+	 * Adds the result of a replication.
+	 * @param measure the measure computed by the replication
+	 */
+	public void addReplication(Measure measure) {
+		addReplication(measure.getEstimatedMeanValue(), measure.getSuccess(), measure.getAnalyzedSamples(), measure.getDiscardedSamples());
+	}
+
+	/**
+	 * @return the number of replications
+	 */
+	public int getReplications() {
+		return replications;
+	}
+
+	/**
+	 * @return the number of replications whose analyzer was successful
+	 */
+	public int getSuccessfulReplications() {
+		return successfulReplications;
+	}
+
+	/**
+	 * @return the total number of samples analyzed by all the replications
+	 */
+	public long getAnalyzedSamples() {
+		return analyzedSamples;
+	}
+
+	/**
+	 * @return the total number of samples discarded by all the replications
+	 */
+	public long getDiscardedSamples() {
+		return discardedSamples;
+	}
+
+	public double getAlfa() {
+		return alfa;
+	}
+
+	public double getPrecision() {
+		return precision;
+	}
+
+	/**
+	 * @return the grand mean of the replication means
+	 */
+	public double getMean() {
+		return replicationMeans.getMean();
+	}
+
+	/**
+	 * @return the sample variance of the replication means
+	 */
+	public double getVariance() {
+		return replicationMeans.getVar();
+	}
+
+	/**
+	 * Gets the half width of the confidence interval of the grand mean.
+	 * @return the half width, or positive infinity if less than two replications were run
+	 */
+	public double getConfInt() {
+		if (replications < 2) {
+			return Double.POSITIVE_INFINITY;
+		}
+		// the number of samples is passed, as TStudent.ICDF uses (n - 1) degrees of freedom
+		double t = TStudent.ICDF(alfa, replications);
+		return t * Math.sqrt(replicationMeans.getVar() / replications);
+	}
+
+	/**
+	 * @return the lower limit of the confidence interval
+	 */
+	public double getLowerLimit() {
+		double lower = getMean() - getConfInt();
+		if (lower > 0.0) {
+			return lower;
+		} else {
+			return 0.0;
+		}
+	}
+
+	/**
+	 * @return the upper limit of the confidence interval
+	 */
+	public double getUpperLimit() {
+		return getMean() + getConfInt();
+	}
+
+	/**
+	 * Tells if the confidence interval has reached the requested relative precision.
+	 * @return true if the requested precision was reached
+	 */
+	public boolean getSuccess() {
+		if (replications < 2) {
+			return false;
+		}
+		double confInt = getConfInt();
+		if (confInt == 0.0) {
+			// all the replications returned the same value (for example a null measure)
+			return true;
+		}
+		return confInt <= precision * Math.abs(getMean());
+	}
+
+}
@@ -18,6 +18,9 @@
 
 package jmt.engine.dataAnalysis;
 
+import jmt.engine.NodeSections.PSServer;
+import jmt.engine.simEngine.SimSystem;
+
 /**
  * This class contains parameters that are shared by all DynamicDataAnalyzer objects.
  * If other values are not set, default ones are used.
@@ -57,6 +60,15 @@ public class SimParameters {
 
 	private boolean disableStatisticStop = false;
 
+	//implementation of the future event queue used by the simulation engine
+	private int eventQueue = SimSystem.HYBRID_EVENT_QUEUE;
+
+	//how processor sharing servers perform the service of their jobs
+	private int psService = PSServer.EXACT_SERVICE;
+
+	//true if verbose measure outputs are written in binary format instead of CSV
+	private boolean binaryLog = false;
+
 	// logging attributes: path, replacement, delimiter, execution time
 	String logfilepath;
 	String logreplacemode;
@@ -212,6 +224,54 @@ public class SimParameters {
 		this.disableStatisticStop = disableStatisticStop;
 	}
 
+	/**
+	 * Gets the implementation of the future event queue used by the simulation engine
+	 * @return SimSystem.HYBRID_EVENT_QUEUE or SimSystem.INDEXED_EVENT_QUEUE
+	 */
+	public int getEventQueue() {
+		return eventQueue;
+	}
+
+	/**
+	 * Sets the implementation of the future event queue used by the simulation engine
+	 * @param eventQueue SimSystem.HYBRID_EVENT_QUEUE or SimSystem.INDEXED_EVENT_QUEUE
+	 */
+	public void setEventQueue(int eventQueue) {
+		this.eventQueue = eventQueue;
+	}
+
+	/**
+	 * Gets how processor sharing servers perform the service of their jobs
+	 * @return PSServer.EXACT_SERVICE or PSServer.VIRTUAL_TIME_SERVICE
+	 */
+	public int getPSService() {
+		return psService;
+	}
+
+	/**
+	 * Sets how processor sharing servers perform the service of their jobs
+	 * @param psService PSServer.EXACT_SERVICE or PSServer.VIRTUAL_TIME_SERVICE
+	 */
+	public void setPSService(int psService) {
+		this.psService = psService;
+	}
+
+	/**
+	 * Tells if verbose measure outputs are written in binary format instead of CSV
+	 * @return true for binary format, false for CSV
+	 */
+	public boolean isBinaryLog() {
+		return binaryLog;
+	}
+
+	/**
+	 * Sets the format of verbose measure outputs
+	 * @param binaryLog true for binary format, false for CSV
+	 */
+	public void setBinaryLog(boolean binaryLog) {
+		this.binaryLog = binaryLog;
+	}
+
 	public void setLogPath(String logfilepath) {
 		this.logfilepath = logfilepath;
 	}
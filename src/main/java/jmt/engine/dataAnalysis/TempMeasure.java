@@ -127,26 +127,42 @@ public class TempMeasure {
 		}
 	}
 
+	/**
+	 * Refreshes the values reading them directly from the measure. This must be done
+	 * by the simulation thread, or when the simulation is not running.
+	 */
 	public void refreshMeasure() {
+		if (finished) {
+			//no need to refresh measure
+			return;
+		}
+		refreshMeasure(new MeasureSnapshot(measure));
+	}
+
+	/**
+	 * Refreshes the values from a snapshot of the measure, published by the simulation thread
+	 * @param snapshot the snapshot of the measure
+	 */
+	public void refreshMeasure(MeasureSnapshot snapshot) {
 		if (finished) {
 			//no need to refresh measure
 			return;
 		} else {
 			//refresh
-			nsamples = measure.getAnalyzedSamples();
-			discarded = measure.getDiscardedSamples();
-			tempMean = measure.getEstimatedMeanValue();
-			upperBound = measure.getUpperLimit();
-			lowerBound = measure.getLowerLimit();
-			lastIntervalAvgValue = measure.getLastIntervalAvgValue();
-			jobId = measure.getJobId();
-			arrival = measure.getArrival();
-			departure = measure.getDeparture();
-			simulationTime= measure.getSimTime(); 
-			finished = measure.hasFinished();
+			nsamples = snapshot.getAnalyzedSamples();
+			discarded = snapshot.getDiscardedSamples();
+			tempMean = snapshot.getEstimatedMeanValue();
+			upperBound = snapshot.getUpperLimit();
+			lowerBound = snapshot.getLowerLimit();
+			lastIntervalAvgValue = snapshot.getLastIntervalAvgValue();
+			jobId = snapshot.getJobId();
+			arrival = snapshot.getArrival();
+			departure = snapshot.getDeparture();
+			simulationTime = snapshot.getSimTime();
+			finished = snapshot.hasFinished();
 			if (finished) {
-				success = measure.getSuccess();
-				noSamplesTest = measure.receivedNoSamples();
+				success = snapshot.getSuccess();
+				noSamplesTest = snapshot.receivedNoSamples();
 			}
 		}
 	}
@@ -0,0 +1,73 @@
+/**
+ * Copyright (C) 2016, Laboratorio di Valutazione delle Prestazioni - Politecnico di Milano
+
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package jmt.engine.dataAnalysis;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import jmt.engine.simEngine.Simulation;
+
+import org.w3c.dom.Element;
+
+/**
+ * <p><b>Name:</b> XMLReplicationOutput</p>
+ * <p><b>Description:</b>
+ * Saves the results merged from several independent replications of a model in a xml file
+ * with the same format of the XMLSimulationOutput. The number of analyzed and discarded samples
+ * are the totals over all the replications.
+ * </p>
+ * @version 1.0
+ */
+public class XMLReplicationOutput extends XMLSimulationOutput {
+
+	private Map<Measure, ReplicationStatistics> statistics = new IdentityHashMap<Measure, ReplicationStatistics>();
+
+	/**
+	 * Creates a new XMLReplicationOutput.
+	 * @param simulation one of the replications, used to read the model and the measure definitions
+	 * @param replicationStatistics the merged statistics, in the same order of the measures of the network
+	 */
+	public XMLReplicationOutput(Simulation simulation, ReplicationStatistics[] replicationStatistics) {
+		super(simulation);
+		for (int i = 0; i < measureList.length; i++) {
+			statistics.put(measureList[i], replicationStatistics[i]);
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see jmt.engine.dataAnalysis.XMLSimulationOutput#writeMeasureResults(org.w3c.dom.Element, jmt.engine.dataAnalysis.Measure)
+	 */
+	@Override
+	protected void writeMeasureResults(Element elem, Measure measure) {
+		ReplicationStatistics stat = statistics.get(measure);
+		elem.setAttribute("successful", Boolean.toString(stat.getSuccess()));
+		elem.setAttribute("analyzedSamples", Long.toString(Math.min(stat.getAnalyzedSamples(), Integer.MAX_VALUE)));
+		elem.setAttribute("discardedSamples", Long.toString(Math.min(stat.getDiscardedSamples(), Integer.MAX_VALUE)));
+		elem.setAttribute("replications", Integer.toString(stat.getReplications()));
+		elem.setAttribute("meanValue", Double.toString(stat.getMean()));
+		if (stat.getSuccess()) {
+			elem.setAttribute("upperLimit", Double.toString(stat.getUpperLimit()));
+			elem.setAttribute("lowerLimit", Double.toString(stat.getLowerLimit()));
+		} else {
+			elem.setAttribute("upperLimit", "0.0");
+			elem.setAttribute("lowerLimit", "0.0");
+		}
+	}
+
+}
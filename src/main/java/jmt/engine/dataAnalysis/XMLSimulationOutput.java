@@ -188,18 +188,7 @@ public class XMLSimulationOutput extends SimulationOutput {
 		elem.setAttribute("precision", Double.toString(analyzer.getPrecision()));
 		elem.setAttribute("alfa", Double.toString(analyzer.getAlfa()));
 
-		//analyzer has been successful?
-		boolean success = analyzer.getSuccess();
-		elem.setAttribute("successful", Boolean.toString(success));
-
-		//number of analyzed and discarded samples
-		elem.setAttribute("analyzedSamples", Integer.toString(measure.getAnalyzedSamples()));
-		elem.setAttribute("discardedSamples", Integer.toString(measure.getDiscardedSamples()));
-
-		//this is the estimated mean, but it may be wrong
-		elem.setAttribute("meanValue", Double.toString(measure.getEstimatedMeanValue()));
-		elem.setAttribute("upperLimit", Double.toString(measure.getUpperLimit()));
-		elem.setAttribute("lowerLimit", Double.toString(measure.getLowerLimit()));
+		writeMeasureResults(elem, measure);
 
 		//log file if verbose measure was selected
 		if (measure.getOutput() != null && measure.getOutput().getOutputFile() != null) {
@@ -229,20 +218,78 @@ public class XMLSimulationOutput extends SimulationOutput {
 		}
 	}
 
-	public File writeAllMeasures() {
+	/**
+	 * Writes the success flag, the number of samples, the mean value and the confidence
+	 * interval of the specified measure.
+	 * @param elem the measure element
+	 * @param measure the measure
+	 */
+	protected void writeMeasureResults(Element elem, Measure measure) {
+		//analyzer has been successful?
+		boolean success = measure.getAnalyzer().getSuccess();
+		elem.setAttribute("successful", Boolean.toString(success));
+
+		//number of analyzed and discarded samples
+		elem.setAttribute("analyzedSamples", Integer.toString(measure.getAnalyzedSamples()));
+		elem.setAttribute("discardedSamples", Integer.toString(measure.getDiscardedSamples()));
+
+		//this is the estimated mean, but it may be wrong
+		elem.setAttribute("meanValue", Double.toString(measure.getEstimatedMeanValue()));
+		elem.setAttribute("upperLimit", Double.toString(measure.getUpperLimit()));
+		elem.setAttribute("lowerLimit", Double.toString(measure.getLowerLimit()));
+	}
+
+	/**
+	 * Writes all the measures in the results Document, without saving it to a file.
+	 * @return the results Document
+	 */
+	public Document createDocument() {
 		for (Measure element : measureList) {
 			//writes all the measures in a Document
 			writeMeasure(element);
 		}
+		return doc;
+	}
+
+	/**
+	 * Writes all the measures directly to the specified file, instead of the
+	 * default results file placed next to the model definition.
+	 * @param file the file to be written
+	 * @return true if the file was written successfully
+	 */
+	public boolean writeAllMeasures(File file) {
+		createDocument();
+		try {
+			Transformer trans = createTransformer();
+			trans.transform(new DOMSource(doc), new StreamResult(file));
+			return true;
+		} catch (javax.xml.transform.TransformerException exc) {
+			exc.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * Creates the transformer used to save the results Document.
+	 * @return the transformer
+	 * @throws javax.xml.transform.TransformerConfigurationException if the transformer cannot be created
+	 */
+	private Transformer createTransformer() throws javax.xml.transform.TransformerConfigurationException {
+		TransformerFactory transfac = TransformerFactory.newInstance();
+		Transformer trans = transfac.newTransformer();
+		trans.setOutputProperty(OutputKeys.INDENT, "yes");
+		trans.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "no");
+		return trans;
+	}
+
+	public File writeAllMeasures() {
+		createDocument();
 
 		/////////////////
 		//Output the XML
 		try {
 			//set up a transformer
-			TransformerFactory transfac = TransformerFactory.newInstance();
-			Transformer trans = transfac.newTransformer();
-			trans.setOutputProperty(OutputKeys.INDENT, "yes");
-			trans.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "no");
+			Transformer trans = createTransformer();
 
 			//we want to save the xml results in the same directory of the model definition file
 			String parent = null;
@@ -20,17 +20,14 @@ package jmt.engine.dataAnalysis.measureOutputs;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
 
 import jmt.engine.NodeSections.LogTunnel;
-import jmt.engine.QueueNet.NetSystem;
 import jmt.engine.dataAnalysis.Measure;
 import jmt.engine.dataAnalysis.MeasureOutput;
 import jmt.engine.dataAnalysis.SimParameters;
-import jmt.engine.log.CSVLogger;
-import jmt.engine.log.JSimLoggerFactory;
+import jmt.engine.log.AsyncLogWriter;
+import jmt.engine.log.BinaryLogWriter;
+import jmt.engine.log.CSVLogWriter;
 
 /**
  * This class implements a csv output for measure class. <br>
@@ -40,6 +37,9 @@ import jmt.engine.log.JSimLoggerFactory;
  * <td>Sample</td>
  * <td>Weight</td>
  * </tr></table>
+ * Samples are formatted and written by a background thread. If binary logs are selected
+ * in the simulation parameters, the output is written in the binary format of
+ * BinaryLogWriter instead, which can be converted to CSV with BinaryLogReader.
  */
 public class VerboseCSVMeasureOutput extends MeasureOutput {
 
@@ -49,10 +49,10 @@ public class VerboseCSVMeasureOutput extends MeasureOutput {
 
 	public static final String[] COLUMNS = {COLUMN_TS, COLUMN_SAMPLEVALUE, COLUMN_WEIGHTVALUE};
 
-	private CSVLogger logger;
+	private AsyncLogWriter logger;
 	private File file;
 
-	private Map<String, Object> defaults = Collections.emptyMap();
+	private double[] row = new double[COLUMNS.length];
 
 	/**
 	 * Constructor of a NewCSVMeasureOutput object, using a file.
@@ -63,18 +63,25 @@ public class VerboseCSVMeasureOutput extends MeasureOutput {
 	 */
 	public VerboseCSVMeasureOutput(Measure Measure, SimParameters simParameters) throws IOException {
 		super(Measure);
-		file = new File(simParameters.getLogPath(), measure.getName() + ".csv");
-		logger = JSimLoggerFactory.getCSVLogger(file, COLUMNS, false, simParameters.getLogDelimiter(), simParameters.getLogDecimalSeparator());
+		if (simParameters.isBinaryLog()) {
+			file = new File(simParameters.getLogPath(), measure.getName() + BinaryLogWriter.EXTENSION);
+			logger = new BinaryLogWriter(file, COLUMNS);
+		} else {
+			file = new File(simParameters.getLogPath(), measure.getName() + ".csv");
+			logger = new CSVLogWriter(file, COLUMNS, false, simParameters.getLogDelimiter(), simParameters.getLogDecimalSeparator());
+		}
 	}
 
 	@Override
 	public void write(double sample, double weight) {
+		if (logger == null) {
+			return;
+		}
 		try {
-			Map<String, Object> values = new HashMap<String, Object>();
-			values.put(COLUMN_TS, measure.getNetSystem().getTime());
-			values.put(COLUMN_SAMPLEVALUE, sample);
-			values.put(COLUMN_WEIGHTVALUE, weight);
-			logger.log(values, defaults);
+			row[0] = measure.getNetSystem().getTime();
+			row[1] = sample;
+			row[2] = weight;
+			logger.write(row);
 		} catch (IOException exc) {
 			exc.printStackTrace();
 		}
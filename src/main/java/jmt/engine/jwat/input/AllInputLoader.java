@@ -1,55 +1,97 @@
 package jmt.engine.jwat.input;
 
+import java.io.BufferedWriter;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import jmt.engine.jwat.MatrixObservations;
 import jmt.engine.jwat.Observation;
 import jmt.framework.data.MacroReplacer;
 import jmt.gui.jwat.JWATConstants;
 
-import org.apache.oro.text.regex.PatternMatcherInput;
-import org.apache.oro.text.regex.Perl5Compiler;
-import org.apache.oro.text.regex.Perl5Matcher;
-
+/**
+ * Loads all the lines of the input file. The file is memory mapped and split into chunks of whole lines,
+ * which are parsed in parallel; the chunks are then merged in file order, so that the mappings of string
+ * and date variables, the observation IDs and the error log are the same of a sequential read.
+ * Line boundaries are searched on the bytes of the file, so the default charset must encode the line
+ * terminators as single bytes, like all the charsets used for log files do.
+ */
 public class AllInputLoader extends InputLoader implements JWATConstants {
 
+	/** Default size in bytes of the chunks parsed by each task */
+	private static final int DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+	/** The progress is measured on the bytes of the file read, in thousandths */
+	private static final int PROGRESS_MAX = 1000;
+
+	private String fileName;
+	private FileChannel channel;
+	private int chunkSize = DEFAULT_CHUNK_SIZE;
+
 	public AllInputLoader(Parameter param, String fileName, VariableMapping[] map, ProgressShow prg) throws FileNotFoundException {
 		super(param, fileName, map, prg);
+		this.fileName = fileName;
+	}
+
+	/**
+	 * Sets the size of the chunks parsed by each task
+	 * @param chunkSize the size in bytes
+	 */
+	void setChunkSize(int chunkSize) {
+		this.chunkSize = chunkSize;
 	}
 
 	@Override
 	public Object construct() {
-		int i;
-		boolean[] sel = param.getVarSelected();
-		FileWriter w = null;
-		PatternMatcherInput input = new PatternMatcherInput("");
-		Perl5Compiler myComp = new Perl5Compiler();
-		Perl5Matcher myMatch = new Perl5Matcher();
-		String line = "";
-		String[] regExp = param.getRegularExp();
-		String[] separator = param.getSeparator();
-		double[] lineValue = new double[param.getNumVarSelected()];
-		String[] lineToken = new String[param.getNumVar()];
-		String parseToken = null;
+		Writer w = null;
+		ExecutorService pool = null;
 		MatrixObservations m;
 
 		//Initialize the input log file.
 		try {
-			w = new FileWriter(MacroReplacer.replace(LOG_FILE_NAME));
+			w = new BufferedWriter(new FileWriter(MacroReplacer.replace(LOG_FILE_NAME)));
 		} catch (IOException e1) {
 			e1.printStackTrace();
 		}
 
 		try {
-			//Init the progress show
-			initShow(param.getOptions()[0] + 1);
+			//Init the progress show, the number of lines is not needed
+			initShow(PROGRESS_MAX + 1);
 			countObs = 0;
 			totalRaw = 0;
-			//Read the first line
-			line = reader.readLine();
-			while (line != null) {
+			//The file is read through its channel
+			reader.close();
+			channel = new FileInputStream(fileName).getChannel();
+			long size = channel.size();
+			ArrayList<Long> bounds = splitLines(size);
+
+			int threads = Runtime.getRuntime().availableProcessors();
+			pool = Executors.newFixedThreadPool(threads);
+			//Chunks being parsed, at most two for each thread to bound the memory used
+			LinkedList<Future<ParsedChunk>> pending = new LinkedList<Future<ParsedChunk>>();
+			int next = 0;
+			while (next < bounds.size() - 1 && pending.size() < 2 * threads) {
+				pending.add(pool.submit(new ChunkParser(bounds.get(next), bounds.get(next + 1))));
+				next++;
+			}
+
+			int[] selIndex = getSelectedIndexes();
+			double[] lineValue = new double[selIndex.length];
+			while (!pending.isEmpty()) {
 				//Check if user has pressed the cancel button
 				if (isCanceled()) {
 					try {
@@ -61,82 +103,38 @@ public class AllInputLoader extends InputLoader implements JWATConstants {
 					msg = INPUT_MSG_ABORT;
 					return null;
 				}
-				input.setInput(line);
-				totalRaw++;
-				countObs++;
-				//Update the progress show
-				if (totalRaw % getStep() == 0) {
-					updateInfos(totalRaw, "<HTML># observations read: " + totalRaw + "<p># errors: " + (totalRaw - countObs) + "</HTML>", false);
-				}
-				//Read strings and check format
-				for (i = 0; i < param.getNumVar(); i++) {
-					//Read tokens with separators (if defined) regardless of what's inside
-					if (separator[i] != null) {
-						parseToken = separator[i];
-					} else {
-						parseToken = regExp[i];
-					}
-
-					if (myMatch.contains(input, myComp.compile(parseToken))) {
-						if (sel[i]) {
-							//Get the token
-							lineToken[i] = myMatch.getMatch().toString();
-							if (separator[i] != null) {
-								// If the token has separators remove them
-								lineToken[i] = lineToken[i].substring(1, lineToken[i].length() - 1);
-								//Take what I need from what's left
-								if (myMatch.contains(lineToken[i], myComp.compile(regExp[i]))) {
-									lineToken[i] = myMatch.getMatch().toString();
-								} else {
-									//Wrong row, token dose not contains required data
-									countObs--;
-									try {
-										w.write("Error in row " + totalRaw + " : Element " + i + " is wrong\n");
-									} catch (IOException e) {
-										e.printStackTrace();
-									}
-									break;
-								}
-							}
-						}
-					} else {
-						//Wrong raw, element not found
-						countObs--;
-						try {
-							w.write("Error in row " + totalRaw + " : Line does not match format (element " + i + " not found)\n");
-						} catch (IOException e) {
-							e.printStackTrace();
-						}
-						break;
-					}
+				ParsedChunk chunk = getChunk(pending.removeFirst());
+				if (next < bounds.size() - 1) {
+					pending.add(pool.submit(new ChunkParser(bounds.get(next), bounds.get(next + 1))));
+					next++;
 				}
-				int j = 0;
-				//Correct raw
-				if (i == param.getNumVar()) {
-					if (input.endOfInput()) {
-						//Parse the string value in their correct formats
-						for (i = 0; i < param.getNumVar(); i++) {
-							if (sel[i]) {
-								if (map[i] == null) {
-									lineValue[j++] = Double.parseDouble(lineToken[i]);
-								} else {
-									lineValue[j++] = map[i].addNewValue(lineToken[i]);
-								}
+				//Merge the lines of the chunk in file order
+				for (int k = 0; k < chunk.lines; k++) {
+					totalRaw++;
+					countObs++;
+					if (chunk.errors[k] == null) {
+						//Parse the string values in their correct formats
+						for (int j = 0; j < selIndex.length; j++) {
+							if (chunk.tokens[j] != null) {
+								lineValue[j] = map[selIndex[j]].addNewValue(chunk.tokens[j][k]);
+							} else {
+								lineValue[j] = chunk.values[j][k];
 							}
 						}
 						valori.add(new Observation(lineValue, countObs));
 					} else {
-						//Worong row, the line was not processed completely
+						//Wrong row
 						countObs--;
 						try {
-							w.write("Error in row " + totalRaw + " : Too many fields\n");
+							w.write("Error in row " + totalRaw + " : " + chunk.errors[k] + "\n");
 						} catch (IOException e) {
 							e.printStackTrace();
 						}
 					}
 				}
-
-				line = reader.readLine();
+				//Update the progress show
+				updateInfos((int) (PROGRESS_MAX * chunk.end / size), "<HTML># observations read: " + totalRaw + "<p># errors: " + (totalRaw - countObs)
+						+ "</HTML>", false);
 			}
 			try {
 				w.close();
@@ -151,9 +149,9 @@ public class AllInputLoader extends InputLoader implements JWATConstants {
 				msg = INPUT_MSG_ABORT_WRONG_FORMAT;
 				return null;
 			}
-			updateInfos(totalRaw, "Calculating Statistics...", false);
+			updateInfos(PROGRESS_MAX, "Calculating Statistics...", false);
 			m = new MatrixObservations(valori.toArray(new Observation[valori.size()]), param.getSelName(), param.getSelType(), map);
-			updateInfos(totalRaw + 1, "Done", true);
+			updateInfos(PROGRESS_MAX + 1, "Done", true);
 			return m;
 
 		} catch (Exception e) {
@@ -176,6 +174,178 @@ public class AllInputLoader extends InputLoader implements JWATConstants {
 			valori = null;
 			msg = "Out of memory. Try with more memory";
 			return null;
+		} finally {
+			if (pool != null) {
+				pool.shutdownNow();
+			}
+			if (channel != null) {
+				try {
+					channel.close();
+				} catch (IOException e) {
+					e.printStackTrace();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Splits the file into chunks of about chunkSize bytes, each ending after a line feed or at the end of the file
+	 * @param size the size of the file
+	 * @return the offsets of the chunk bounds, starting from 0 and ending with the size of the file
+	 * @throws IOException if the file cannot be read
+	 */
+	private ArrayList<Long> splitLines(long size) throws IOException {
+		ArrayList<Long> bounds = new ArrayList<Long>();
+		ByteBuffer buffer = ByteBuffer.allocate(8192);
+		long position = 0;
+		bounds.add(position);
+		while (position < size) {
+			position = Math.min(position + chunkSize, size);
+			//Move the bound after the next line feed
+			boolean found = false;
+			while (!found && position < size) {
+				buffer.clear();
+				int read = channel.read(buffer, position);
+				for (int i = 0; i < read && !found; i++) {
+					found = buffer.get(i) == '\n';
+					position++;
+				}
+			}
+			bounds.add(position);
+		}
+		return bounds;
+	}
+
+	/**
+	 * @return the index of each selected variable
+	 */
+	private int[] getSelectedIndexes() {
+		boolean[] sel = param.getVarSelected();
+		int[] selIndex = new int[param.getNumVarSelected()];
+		int j = 0;
+		for (int i = 0; i < param.getNumVar(); i++) {
+			if (sel[i]) {
+				selIndex[j++] = i;
+			}
+		}
+		return selIndex;
+	}
+
+	/**
+	 * Waits for a chunk to be parsed
+	 * @param future the result of the parsing task
+	 * @return the parsed chunk
+	 * @throws Exception the exception thrown while parsing the chunk
+	 */
+	private static ParsedChunk getChunk(Future<ParsedChunk> future) throws Exception {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof OutOfMemoryError) {
+				throw (OutOfMemoryError) e.getCause();
+			} else if (e.getCause() instanceof Exception) {
+				throw (Exception) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * The lines of a chunk, split into the columns of the selected variables
+	 */
+	private static class ParsedChunk {
+		/** Offset of the end of the chunk */
+		private long end;
+		/** Number of lines */
+		private int lines;
+		/** Values of the numeric variables, null for the mapped ones */
+		private double[][] values;
+		/** Tokens of the mapped variables, null for the numeric ones */
+		private String[][] tokens;
+		/** Description of the error of each line, null if the line is correct */
+		private String[] errors;
+	}
+
+	/**
+	 * Parses the lines of a chunk. Line terminators are the same of BufferedReader.readLine().
+	 */
+	private class ChunkParser implements Callable<ParsedChunk> {
+		private long start;
+		private long end;
+
+		public ChunkParser(long start, long end) {
+			this.start = start;
+			this.end = end;
+		}
+
+		/* (non-Javadoc)
+		 * @see java.util.concurrent.Callable#call()
+		 */
+		public ParsedChunk call() throws Exception {
+			ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+			CharBuffer chars = Charset.defaultCharset().newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+					.onUnmappableCharacter(CodingErrorAction.REPLACE).decode(bytes);
+			char[] text = chars.array();
+			int from = chars.arrayOffset() + chars.position();
+			int to = from + chars.remaining();
+
+			ParsedChunk chunk = new ParsedChunk();
+			chunk.end = end;
+			for (int pos = from; pos < to; pos = nextLine(text, pos, to)) {
+				chunk.lines++;
+			}
+
+			int[] selIndex = getSelectedIndexes();
+			chunk.values = new double[selIndex.length][];
+			chunk.tokens = new String[selIndex.length][];
+			for (int j = 0; j < selIndex.length; j++) {
+				if (map[selIndex[j]] == null) {
+					chunk.values[j] = new double[chunk.lines];
+				} else {
+					chunk.tokens[j] = new String[chunk.lines];
+				}
+			}
+			chunk.errors = new String[chunk.lines];
+
+			LineParser parser = new LineParser(param);
+			String[] lineToken = new String[param.getNumVar()];
+			int pos = from;
+			for (int k = 0; k < chunk.lines; k++) {
+				int lineEnd = pos;
+				while (lineEnd < to && text[lineEnd] != '\n' && text[lineEnd] != '\r') {
+					lineEnd++;
+				}
+				chunk.errors[k] = parser.parse(new String(text, pos, lineEnd - pos), lineToken);
+				if (chunk.errors[k] == null) {
+					for (int j = 0; j < selIndex.length; j++) {
+						if (chunk.values[j] != null) {
+							chunk.values[j][k] = Double.parseDouble(lineToken[selIndex[j]]);
+						} else {
+							chunk.tokens[j][k] = lineToken[selIndex[j]];
+						}
+					}
+				}
+				pos = nextLine(text, pos, to);
+			}
+			return chunk;
+		}
+
+		/**
+		 * @return the start of the line following the one starting at pos
+		 */
+		private int nextLine(char[] text, int pos, int to) {
+			while (pos < to && text[pos] != '\n' && text[pos] != '\r') {
+				pos++;
+			}
+			if (pos < to && text[pos] == '\r') {
+				pos++;
+				if (pos < to && text[pos] == '\n') {
+					pos++;
+				}
+			} else if (pos < to) {
+				pos++;
+			}
+			return pos;
 		}
 	}
 }
@@ -5,11 +5,12 @@ import java.text.SimpleDateFormat;
 import java.util.Date;
 
 public class DataMapping extends VariableMapping {
+	private SimpleDateFormat f = new SimpleDateFormat("dd/MMM/yyyy:HH:mm:ss");
+
 	@Override
-	public double convertToDouble(String val) {
+	public synchronized double convertToDouble(String val) {
 		Date d;
 		try {
-			SimpleDateFormat f = new SimpleDateFormat("dd/MMM/yyyy:HH:mm:ss");
 			d = f.parse(val);
 		} catch (ParseException e) {
 			return -1;
@@ -3,19 +3,17 @@
  */
 package jmt.engine.jwat.input;
 
+import java.io.BufferedWriter;
 import java.io.FileNotFoundException;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
 
 import jmt.engine.jwat.MatrixObservations;
 import jmt.engine.jwat.Observation;
 import jmt.framework.data.MacroReplacer;
 import jmt.gui.jwat.JWATConstants;
 
-import org.apache.oro.text.regex.PatternMatcherInput;
-import org.apache.oro.text.regex.Perl5Compiler;
-import org.apache.oro.text.regex.Perl5Matcher;
-
 /**
  * @author Maevar
  *
@@ -44,24 +42,19 @@ public class IntervalInputLoader extends InputLoader implements JWATConstants {
 	public Object construct() {
 		int i, j;
 		boolean[] sel = param.getVarSelected();
-		FileWriter w = null;
+		Writer w = null;
 		try {
-			w = new FileWriter(MacroReplacer.replace(LOG_FILE_NAME));
+			w = new BufferedWriter(new FileWriter(MacroReplacer.replace(LOG_FILE_NAME)));
 		} catch (IOException e1) {
 			e1.printStackTrace();
 		}
-		PatternMatcherInput input = new PatternMatcherInput("");
-		Perl5Compiler myComp = new Perl5Compiler();
-		Perl5Matcher myMatch = new Perl5Matcher();
 		String line = "";
-		String[] regExp = param.getRegularExp();
-		String[] separator = param.getSeparator();
 		double[] lineValue = new double[param.getNumVarSelected()];
 		String[] lineToken = new String[param.getNumVar()];
-		String parseToken = null;
 		MatrixObservations m = null;
 
 		try {
+			LineParser parser = new LineParser(param);
 			initShow(maxInd - minInd + 1);
 			countObs = 0;
 			totalRaw = 0;
@@ -82,78 +75,33 @@ public class IntervalInputLoader extends InputLoader implements JWATConstants {
 					msg = INPUT_MSG_ABORT;
 					return null;
 				}
-				input.setInput(line);
 				totalRaw++;
 				countObs++;
 				if (totalRaw % getStep() == 0) {
 					updateInfos(totalRaw, "<HTML># observations read: " + totalRaw + "<p># errors: " + (totalRaw - countObs) + "</HTML>", false);
 				}
 				//Legge le stringhe e ne controlla il formato
-				for (i = 0; i < param.getNumVar(); i++) {
-					//Leggo il token con i separatori (se definiti) qualunque cosa ci sia dentro
-					if (separator[i] != null) {
-						parseToken = separator[i];
-					} else {
-						parseToken = regExp[i];
-					}
-
-					if (myMatch.contains(input, myComp.compile(parseToken))) {
+				String error = parser.parse(line, lineToken);
+				if (error == null) {
+					//Riga Corretta, converte i valori (stringa) letti
+					j = 0;
+					for (i = 0; i < param.getNumVar(); i++) {
 						if (sel[i]) {
-							//Prendo il token
-							lineToken[i] = myMatch.getMatch().toString();
-							if (separator[i] != null) {
-								//	Se il token aveva dei separatori li tolgo
-								lineToken[i] = lineToken[i].substring(1, lineToken[i].length() - 1);
-								//E prendo quello che mi interessa di cio che rimane
-								if (myMatch.contains(lineToken[i], myComp.compile(regExp[i]))) {
-									lineToken[i] = myMatch.getMatch().toString();
-								} else {
-									//Riga sbagliata, decremento il num di oss
-									countObs--;
-
-									try {
-										w.write("Error in row " + (totalRaw + minInd) + " : Element " + i + " is wrong\n");
-									} catch (IOException e) {
-										e.printStackTrace();
-									}
-									break;
-								}
+							if (map[i] == null) {
+								lineValue[j++] = Double.parseDouble(lineToken[i]);
+							} else {
+								lineValue[j++] = map[i].addNewValue(lineToken[i]);
 							}
 						}
-					} else {
-						//Riga sbagliata, decremento il num di oss
-						countObs--;
-						try {
-							w.write("Error in row " + (totalRaw + minInd) + " : Line does not match format (element " + i + " not found)\n");
-						} catch (IOException e) {
-							e.printStackTrace();
-						}
-						break;
 					}
-				}
-				j = 0;
-				//Riga Corretta
-				if (i == param.getNumVar()) {
-					if (input.endOfInput()) {
-						//Converte i valori (stringa) letti
-						for (i = 0; i < param.getNumVar(); i++) {
-							if (sel[i]) {
-								if (map[i] == null) {
-									lineValue[j++] = Double.parseDouble(lineToken[i]);
-								} else {
-									lineValue[j++] = map[i].addNewValue(lineToken[i]);
-								}
-							}
-						}
-						valori.add(new Observation(lineValue, countObs));
-					} else {
-						//Riga sbagliata, decremento il num di oss
-						countObs--;
-						try {
-							w.write("Error in row " + (totalRaw + minInd) + " : Too many fields\n");
-						} catch (IOException e) {
-							e.printStackTrace();
-						}
+					valori.add(new Observation(lineValue, countObs));
+				} else {
+					//Riga sbagliata, decremento il num di oss
+					countObs--;
+					try {
+						w.write("Error in row " + (totalRaw + minInd) + " : " + error + "\n");
+					} catch (IOException e) {
+						e.printStackTrace();
 					}
 				}
 				line = reader.readLine();
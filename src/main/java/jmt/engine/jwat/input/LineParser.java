@@ -0,0 +1,105 @@
+/**
+ * Copyright (C) 2016, Laboratorio di Valutazione delle Prestazioni - Politecnico di Milano
+
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package jmt.engine.jwat.input;
+
+import org.apache.oro.text.regex.MalformedPatternException;
+import org.apache.oro.text.regex.Pattern;
+import org.apache.oro.text.regex.PatternMatcherInput;
+import org.apache.oro.text.regex.Perl5Compiler;
+import org.apache.oro.text.regex.Perl5Matcher;
+
+/**
+ * Splits the lines of an input file into the tokens of the variables described by a Parameter.
+ * The regular expressions are compiled only once, when the parser is created. The matcher is
+ * not thread safe, so each thread must use its own parser.
+ */
+class LineParser {
+
+	private int numVar;
+	private boolean[] sel;
+	// Patterns of the tokens, including separators (if defined)
+	private Pattern[] tokenPatterns;
+	// Patterns of the values inside separators, null if the variable has no separators
+	private Pattern[] valuePatterns;
+	private Perl5Matcher matcher;
+	private PatternMatcherInput input;
+
+	/**
+	 * Creates a new parser
+	 * @param param the format of the input file
+	 * @throws MalformedPatternException if a regular expression is not valid
+	 */
+	public LineParser(Parameter param) throws MalformedPatternException {
+		Perl5Compiler compiler = new Perl5Compiler();
+		String[] regExp = param.getRegularExp();
+		String[] separator = param.getSeparator();
+		numVar = param.getNumVar();
+		sel = param.getVarSelected();
+		tokenPatterns = new Pattern[numVar];
+		valuePatterns = new Pattern[numVar];
+		for (int i = 0; i < numVar; i++) {
+			//Read tokens with separators (if defined) regardless of what's inside
+			if (separator[i] != null) {
+				tokenPatterns[i] = compiler.compile(separator[i]);
+				valuePatterns[i] = compiler.compile(regExp[i]);
+			} else {
+				tokenPatterns[i] = compiler.compile(regExp[i]);
+			}
+		}
+		matcher = new Perl5Matcher();
+		input = new PatternMatcherInput("");
+	}
+
+	/**
+	 * Reads the tokens of the selected variables from a line
+	 * @param line the line to parse
+	 * @param lineToken the array filled with the token of each selected variable
+	 * @return null if the line is correct, the description of the error otherwise
+	 */
+	public String parse(String line, String[] lineToken) {
+		input.setInput(line);
+		for (int i = 0; i < numVar; i++) {
+			if (!matcher.contains(input, tokenPatterns[i])) {
+				//Wrong row, element not found
+				return "Line does not match format (element " + i + " not found)";
+			}
+			if (sel[i]) {
+				//Get the token
+				lineToken[i] = matcher.getMatch().toString();
+				if (valuePatterns[i] != null) {
+					// If the token has separators remove them
+					lineToken[i] = lineToken[i].substring(1, lineToken[i].length() - 1);
+					//Take what I need from what's left
+					if (matcher.contains(lineToken[i], valuePatterns[i])) {
+						lineToken[i] = matcher.getMatch().toString();
+					} else {
+						//Wrong row, token does not contain required data
+						return "Element " + i + " is wrong";
+					}
+				}
+			}
+		}
+		if (!input.endOfInput()) {
+			//Wrong row, the line was not processed completely
+			return "Too many fields";
+		}
+		return null;
+	}
+
+}
@@ -18,11 +18,11 @@
 
 package jmt.engine.jwat.input;
 
-import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
 
 import jmt.engine.jwat.JwatSession;
 import jmt.engine.jwat.ProgressStatusListener;
@@ -31,13 +31,36 @@ import jmt.gui.jwat.JWATConstants;
 
 public class Loader implements JWATConstants {
 
+	/**
+	 * Counts the lines of a file, with the same line terminators of BufferedReader.readLine().
+	 * The bytes of the file are scanned without decoding them, so the charset must encode
+	 * the line terminators as single bytes.
+	 * @param filePath the path of the file
+	 * @return the number of lines
+	 */
 	public static int calcNumOfObs(String filePath) throws FileNotFoundException, IOException {
 		int numObs = 0;
-		BufferedReader reader = new BufferedReader(new FileReader(filePath));
-		while (reader.readLine() != null) {
+		byte last = '\n';
+		byte[] buffer = new byte[64 * 1024];
+		InputStream in = new FileInputStream(filePath);
+		try {
+			int read;
+			while ((read = in.read(buffer)) >= 0) {
+				for (int i = 0; i < read; i++) {
+					// A line feed after a carriage return ends the same line
+					if (buffer[i] == '\r' || (buffer[i] == '\n' && last != '\r')) {
+						numObs++;
+					}
+					last = buffer[i];
+				}
+			}
+		} finally {
+			in.close();
+		}
+		// The last line may have no terminator
+		if (last != '\n' && last != '\r') {
 			numObs++;
 		}
-		reader.close();
 		return numObs;
 	}
 
@@ -0,0 +1,233 @@
+/**
+ * Copyright (C) 2016, Laboratorio di Valutazione delle Prestazioni - Politecnico di Milano
+
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+
+package jmt.engine.log;
+
+import java.io.IOException;
+
+/**
+ * <p><b>Name:</b> AsyncLogWriter</p> 
+ * <p><b>Description:</b> 
+ * Base class of the writers of numeric log rows. Rows are copied by the simulation thread into a
+ * pre-allocated ring buffer and a background thread formats and writes them, so the simulation
+ * thread never performs formatting or IO. If the ring buffer is full, the simulation thread waits
+ * for the background thread to free some space, so no row is ever lost. The output stream is
+ * flushed whenever the background thread has been idle for a while, so that the output can be read
+ * while the simulation is running.
+ * </p>
+ * @version 1.0
+ */
+public abstract class AsyncLogWriter {
+
+	/** Default number of rows stored by the ring buffer */
+	public static final int DEFAULT_CAPACITY = 8192;
+
+	/** Milliseconds of idle time after which the output stream is flushed */
+	private static final long FLUSH_MILLIS = 500;
+
+	/** Number of columns of each row */
+	protected final int columns;
+
+	private final int capacity;
+	private final double[] ring;
+	/** Number of rows added and written so far */
+	private long head;
+	private long tail;
+	private boolean producerWaiting;
+	private boolean consumerWaiting;
+	private boolean closed;
+	private IOException error;
+	private Thread thread;
+
+	/**
+	 * Creates a new writer.
+	 * @param columns the number of columns of each row.
+	 * @param capacity the number of rows stored by the ring buffer.
+	 */
+	protected AsyncLogWriter(int columns, int capacity) {
+		this.columns = columns;
+		this.capacity = capacity;
+		ring = new double[columns * capacity];
+	}
+
+	/**
+	 * Adds a row to the output. The row is copied, so the caller can reuse the array.
+	 * @param row the values of the row, one for each column.
+	 * @throws IOException if the writer is closed or the background thread failed to write
+	 */
+	public synchronized void write(double[] row) throws IOException {
+		if (error != null) {
+			throw error;
+		}
+		if (closed) {
+			throw new IOException("The log writer is closed");
+		}
+		if (thread == null) {
+			thread = new Thread(new Runnable() {
+				public void run() {
+					consume();
+				}
+			}, getClass().getSimpleName());
+			thread.setDaemon(true);
+			thread.start();
+		}
+		while (head - tail == capacity && error == null) {
+			producerWaiting = true;
+			try {
+				wait();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted while waiting for the log writer");
+			} finally {
+				producerWaiting = false;
+			}
+		}
+		if (error != null) {
+			throw error;
+		}
+		System.arraycopy(row, 0, ring, (int) (head % capacity) * columns, columns);
+		head++;
+		if (consumerWaiting) {
+			notifyAll();
+		}
+	}
+
+	/**
+	 * Writes all the pending rows and closes the output stream. This method has no effect if the
+	 * writer is already closed.
+	 * @throws IOException if the background thread failed to write
+	 */
+	public void close() throws IOException {
+		Thread consumer;
+		synchronized (this) {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			consumer = thread;
+			notifyAll();
+		}
+		if (consumer != null) {
+			try {
+				consumer.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		} else {
+			closeStream();
+		}
+		synchronized (this) {
+			if (error != null) {
+				throw error;
+			}
+		}
+	}
+
+	/**
+	 * Body of the background thread: writes the rows in the ring buffer until the writer is closed.
+	 */
+	private void consume() {
+		boolean dirty = false;
+		try {
+			while (true) {
+				long from;
+				long to;
+				synchronized (this) {
+					while (head == tail && !closed) {
+						consumerWaiting = true;
+						try {
+							wait(FLUSH_MILLIS);
+						} finally {
+							consumerWaiting = false;
+						}
+						if (head == tail && dirty) {
+							break;
+						}
+					}
+					from = tail;
+					to = head;
+				}
+				if (from == to) {
+					if (closed) {
+						break;
+					}
+					flushStream();
+					dirty = false;
+					continue;
+				}
+				// Rows between from and to are not touched by the producer until tail is moved
+				while (from < to) {
+					int start = (int) (from % capacity);
+					int rows = (int) Math.min(to - from, capacity - start);
+					writeRows(ring, start * columns, rows);
+					from += rows;
+				}
+				dirty = true;
+				synchronized (this) {
+					tail = to;
+					if (producerWaiting) {
+						notifyAll();
+					}
+				}
+			}
+			closeStream();
+		} catch (IOException e) {
+			fail(e);
+		} catch (InterruptedException e) {
+			fail(new IOException("Log writer interrupted"));
+		}
+	}
+
+	/**
+	 * Stores an error raised by the background thread and releases the simulation thread.
+	 * @param e the error
+	 */
+	private synchronized void fail(IOException e) {
+		error = e;
+		tail = head;
+		notifyAll();
+		try {
+			closeStream();
+		} catch (IOException ex) {
+			// The first error is reported
+		}
+	}
+
+	/**
+	 * Writes some consecutive rows. Called by the background thread.
+	 * @param buffer the buffer holding the rows, column values of each row are consecutive.
+	 * @param offset the position in the buffer of the first value of the first row.
+	 * @param rows the number of rows to be written.
+	 * @throws IOException if a problem occurs writing
+	 */
+	protected abstract void writeRows(double[] buffer, int offset, int rows) throws IOException;
+
+	/**
+	 * Flushes the output stream. Called by the background thread when it is idle.
+	 * @throws IOException if a problem occurs flushing
+	 */
+	protected abstract void flushStream() throws IOException;
+
+	/**
+	 * Flushes and closes the output stream.
+	 * @throws IOException if a problem occurs closing
+	 */
+	protected abstract void closeStream() throws IOException;
+
+}
@@ -0,0 +1,166 @@
+/**
+ * Copyright (C) 2016, Laboratorio di Valutazione delle Prestazioni - Politecnico di Milano
+
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+
+package jmt.engine.log;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+/**
+ * <p><b>Name:</b> BinaryLogReader</p> 
+ * <p><b>Description:</b> 
+ * Reads the rows of a log file written by BinaryLogWriter and converts it to a CSV file.
+ * It can be run from the command line with the binary file, the CSV file and optionally
+ * the column and digit separators as arguments.
+ * </p>
+ * @version 1.0
+ */
+public class BinaryLogReader {
+
+	private DataInputStream in;
+	private String[] columns;
+	private double[] block = new double[0];
+	private int blockRows;
+	private int blockRow;
+
+	/**
+	 * Opens a binary log file and reads its header.
+	 * @param file the binary log file
+	 * @throws IOException if the file cannot be read or is not a binary log file
+	 */
+	public BinaryLogReader(File file) throws IOException {
+		in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 65536));
+		try {
+			if (in.readInt() != BinaryLogWriter.MAGIC) {
+				throw new IOException(file + " is not a binary log file");
+			}
+			int version = in.readInt();
+			if (version != BinaryLogWriter.VERSION) {
+				throw new IOException("Unsupported binary log version " + version);
+			}
+			columns = new String[in.readInt()];
+			for (int i = 0; i < columns.length; i++) {
+				columns[i] = in.readUTF();
+			}
+		} catch (IOException e) {
+			in.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * @return the names of the columns.
+	 */
+	public String[] getColumns() {
+		return columns;
+	}
+
+	/**
+	 * Reads the next row.
+	 * @param row the array that will hold the values of the row, one for each column
+	 * @return true if a row was read, false if the end of the file was reached
+	 * @throws IOException if a problem occurs reading the file
+	 */
+	public boolean readRow(double[] row) throws IOException {
+		if (blockRow == blockRows && !readBlock()) {
+			return false;
+		}
+		for (int i = 0; i < columns.length; i++) {
+			row[i] = block[i * blockRows + blockRow];
+		}
+		blockRow++;
+		return true;
+	}
+
+	/**
+	 * Reads the next block of rows.
+	 * @return true if a block was read, false if the end of the file was reached
+	 * @throws IOException if a problem occurs reading the file
+	 */
+	private boolean readBlock() throws IOException {
+		int rows;
+		try {
+			rows = in.readInt();
+		} catch (EOFException e) {
+			return false;
+		}
+		if (block.length < rows * columns.length) {
+			block = new double[rows * columns.length];
+		}
+		for (int i = 0; i < rows * columns.length; i++) {
+			block[i] = in.readDouble();
+		}
+		blockRows = rows;
+		blockRow = 0;
+		return rows > 0 || readBlock();
+	}
+
+	/**
+	 * Closes the file.
+	 * @throws IOException if a problem occurs closing the file
+	 */
+	public void close() throws IOException {
+		in.close();
+	}
+
+	/**
+	 * Converts a binary log file to a CSV file, in the same format of CSVLogger.
+	 * @param binaryFile the binary log file
+	 * @param csvFile the CSV file to be written
+	 * @param colSep the column separator
+	 * @param digitSep the decimal digit separator
+	 * @return the number of rows converted
+	 * @throws IOException if a problem occurs reading or writing
+	 */
+	public static long exportCSV(File binaryFile, File csvFile, String colSep, String digitSep) throws IOException {
+		BinaryLogReader reader = new BinaryLogReader(binaryFile);
+		long count = 0;
+		try {
+			CSVLogWriter writer = new CSVLogWriter(csvFile, reader.getColumns(), false, colSep, digitSep);
+			double[] row = new double[reader.getColumns().length];
+			try {
+				while (reader.readRow(row)) {
+					writer.write(row);
+					count++;
+				}
+			} finally {
+				writer.close();
+			}
+		} finally {
+			reader.close();
+		}
+		return count;
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			System.err.println("Usage: BinaryLogReader <binary log file> <csv file> [column separator] [decimal separator]");
+			System.exit(1);
+		}
+		String colSep = args.length > 2 ? args[2] : ";";
+		String digitSep = args.length > 3 ? args[3] : ".";
+		long rows = exportCSV(new File(args[0]), new File(args[1]), colSep, digitSep);
+		System.out.println(rows + " rows written to " + args[1]);
+	}
+
+}
@@ -0,0 +1,114 @@
+/**
+ * Copyright (C) 2016, Laboratorio di Valutazione delle Prestazioni - Politecnico di Milano
+
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+
+package jmt.engine.log;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * <p><b>Name:</b> BinaryLogWriter</p> 
+ * <p><b>Description:</b> 
+ * Writes numeric log rows on a file in a compact binary columnar format, which can be converted
+ * offline to CSV with BinaryLogReader. The file is made of a header (the magic number, the
+ * format version, the number of columns and the name of each column) followed by blocks of rows.
+ * Each block holds the number of its rows followed by the values of each column in turn.
+ * </p>
+ * @version 1.0
+ */
+public class BinaryLogWriter extends AsyncLogWriter {
+
+	/** Extension of the binary log files */
+	public static final String EXTENSION = ".jlog";
+
+	static final int MAGIC = 0x4A4C4F47;
+	static final int VERSION = 1;
+
+	private File file;
+	private DataOutputStream out;
+
+	/**
+	 * Creates a new BinaryLogWriter that writes to the given file, replacing it if it exists.
+	 * @param file the file we should write to
+	 * @param columns the columns for the log file
+	 * @throws IOException if a problem is risen opening or writing to the log file
+	 */
+	public BinaryLogWriter(File file, String[] columns) throws IOException {
+		this(file, columns, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a new BinaryLogWriter that writes to the given file, replacing it if it exists.
+	 * @param file the file we should write to
+	 * @param columns the columns for the log file
+	 * @param capacity the number of rows stored by the ring buffer
+	 * @throws IOException if a problem is risen opening or writing to the log file
+	 */
+	public BinaryLogWriter(File file, String[] columns, int capacity) throws IOException {
+		super(columns.length, capacity);
+		this.file = file;
+		out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 65536));
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		out.writeInt(columns.length);
+		for (String column : columns) {
+			out.writeUTF(column);
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see jmt.engine.log.AsyncLogWriter#writeRows(double[], int, int)
+	 */
+	@Override
+	protected void writeRows(double[] buffer, int offset, int rows) throws IOException {
+		out.writeInt(rows);
+		for (int i = 0; i < columns; i++) {
+			for (int j = 0; j < rows; j++) {
+				out.writeDouble(buffer[offset + j * columns + i]);
+			}
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see jmt.engine.log.AsyncLogWriter#flushStream()
+	 */
+	@Override
+	protected void flushStream() throws IOException {
+		out.flush();
+	}
+
+	/* (non-Javadoc)
+	 * @see jmt.engine.log.AsyncLogWriter#closeStream()
+	 */
+	@Override
+	protected void closeStream() throws IOException {
+		out.close();
+	}
+
+	/**
+	 * @return the file this writer is writing on.
+	 */
+	public File getFile() {
+		return file;
+	}
+
+}
@@ -0,0 +1,122 @@
+/**
+ * Copyright (C) 2016, Laboratorio di Valutazione delle Prestazioni - Politecnico di Milano
+
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+
+package jmt.engine.log;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.text.NumberFormat;
+
+/**
+ * <p><b>Name:</b> CSVLogWriter</p> 
+ * <p><b>Description:</b> 
+ * Writes numeric log rows on a CSV file, in the same format of CSVLogger. Numbers are formatted
+ * by the background thread of the writer instead of the simulation thread.
+ * </p>
+ * @version 1.0
+ */
+public class CSVLogWriter extends AsyncLogWriter {
+
+	private File file;
+	private String colSep;
+	private NumberFormat numberFormat;
+	private BufferedWriter writer;
+	private StringBuilder logLine = new StringBuilder(100);
+
+	/**
+	 * Creates a new CSVLogWriter that writes to the given file
+	 * @param file the file we should write to
+	 * @param columns the columns for the log file
+	 * @param append true to append to an existing file. False to create a new file
+	 * @param colSep the column separator
+	 * @param digitSep the decimal digit separator
+	 * @throws IOException if a problem is risen opening or writing to the log file
+	 */
+	public CSVLogWriter(File file, String[] columns, boolean append, String colSep, String digitSep) throws IOException {
+		super(columns.length, DEFAULT_CAPACITY);
+		this.file = file;
+		this.colSep = colSep;
+		numberFormat = CSVLogger.createNumberFormat(digitSep);
+
+		boolean needHeader = !(append && file.exists() && file.length() > 0);
+		writer = new BufferedWriter(new FileWriter(file, append), 65536);
+		if (needHeader) {
+			for (int i = 0; i < columns.length; i++) {
+				if (i > 0) {
+					writer.write(colSep);
+				}
+				writer.write(columns[i]);
+			}
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see jmt.engine.log.AsyncLogWriter#writeRows(double[], int, int)
+	 */
+	@Override
+	protected void writeRows(double[] buffer, int offset, int rows) throws IOException {
+		for (int j = 0; j < rows; j++) {
+			logLine.setLength(0);
+			for (int i = 0; i < columns; i++) {
+				if (i > 0) {
+					logLine.append(colSep);
+				}
+				appendValue(logLine, i, buffer[offset + j * columns + i]);
+			}
+			writer.newLine();
+			writer.append(logLine);
+		}
+	}
+
+	/**
+	 * Appends the text of a value to a line. Called by the background thread.
+	 * @param logLine the line being built
+	 * @param column the column of the value
+	 * @param value the value
+	 */
+	protected void appendValue(StringBuilder logLine, int column, double value) {
+		logLine.append(numberFormat.format(value));
+	}
+
+	/* (non-Javadoc)
+	 * @see jmt.engine.log.AsyncLogWriter#flushStream()
+	 */
+	@Override
+	protected void flushStream() throws IOException {
+		writer.flush();
+	}
+
+	/* (non-Javadoc)
+	 * @see jmt.engine.log.AsyncLogWriter#closeStream()
+	 */
+	@Override
+	protected void closeStream() throws IOException {
+		writer.close();
+	}
+
+	/**
+	 * @return the file this writer is writing on.
+	 */
+	public File getFile() {
+		return file;
+	}
+
+}
@@ -1,12 +1,13 @@
 package jmt.engine.log;
 
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.text.NumberFormat;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
@@ -15,6 +16,9 @@ import java.util.Map;
  * <p><b>Description:</b> 
  * A logger implementation that writes its output on a given CSV file. This class is thread-safe, so multiple 
  * threads may concurrently write on the same output file sharing the same CSVLogger instance.
+ * Each line is a row of numbers, which is copied in the ring buffer of a CSVLogWriter and formatted and
+ * written by its background thread. The values of string columns are the indexes of strings registered
+ * with <code>getStringIndex</code>, and NaN values leave their cell empty.
  * </p>
  * <p><b>Date:</b> 11/dic/2009
  * <b>Time:</b> 17.16.14</p>
@@ -23,13 +27,17 @@ import java.util.Map;
  */
 public class CSVLogger {
 	private File file;
-	private boolean initialized;
+	private volatile boolean initialized;
 	private boolean append;
 	private String[] columns;
+	private boolean[] stringColumns;
 	private String colSep;
-	private NumberFormat numberFormat;
-	private BufferedWriter writer;
-	
+	private String digitSep;
+	private CSVLogWriter writer;
+	/** Registered strings, replaced by a longer copy when a string is added */
+	private volatile String[] strings = new String[0];
+	private Map<String, Integer> stringIndexes = new HashMap<String, Integer>();
+
 	/**
 	 * Creates a new CSVLogger that writes to the given file
 	 * @param file the file we should write to
@@ -39,74 +47,97 @@ public class CSVLogger {
 	 * @param digitSep the decimal digit separator
 	 */
 	public CSVLogger(File file, String[] columns, boolean append, String colSep, String digitSep) {
+		this(file, columns, new String[0], append, colSep, digitSep);
+	}
+
+	/**
+	 * Creates a new CSVLogger that writes to the given file
+	 * @param file the file we should write to
+	 * @param columns the columns for the log file
+	 * @param stringColumns the columns whose values are indexes of registered strings
+	 * @param append true to append to an existing file. False to create a new file
+	 * @param colSep the column separator
+	 * @param digitSep the decimal digit separator
+	 */
+	public CSVLogger(File file, String[] columns, String[] stringColumns, boolean append, String colSep, String digitSep) {
 		this.file = file;
 		this.initialized = false;
 		this.append = append;
 		this.columns = columns;
 		this.colSep = colSep;
-		
+		this.digitSep = digitSep;
+		List<String> stringColumnList = Arrays.asList(stringColumns);
+		this.stringColumns = new boolean[columns.length];
+		for (int i=0; i<columns.length; i++) {
+			this.stringColumns[i] = stringColumnList.contains(columns[i]);
+		}
+	}
+
+	/**
+	 * Creates the format used to write numbers in CSV logs, which preserves all the digits of a number.
+	 * @param digitSep the decimal digit separator
+	 * @return the number format
+	 */
+	static NumberFormat createNumberFormat(String digitSep) {
 		DecimalFormatSymbols dfs = new DecimalFormatSymbols(Locale.US);
 		dfs.setDecimalSeparator(digitSep.charAt(0));
-		numberFormat = new DecimalFormat("#.#", dfs);
+		NumberFormat numberFormat = new DecimalFormat("#.#", dfs);
 		numberFormat.setMaximumFractionDigits(340);
 		numberFormat.setMaximumIntegerDigits(340);
+		return numberFormat;
+	}
+
+	/**
+	 * Returns the index of a string, to be used as the value of a string column.
+	 * The string is registered if this is the first request for it.
+	 * @param value the string
+	 * @return the index of the string
+	 */
+	public synchronized int getStringIndex(String value) {
+		Integer index = stringIndexes.get(value);
+		if (index == null) {
+			index = strings.length;
+			String[] newStrings = Arrays.copyOf(strings, index + 1);
+			newStrings[index] = value;
+			strings = newStrings;
+			stringIndexes.put(value, index);
+		}
+		return index;
 	}
-		
+
 	/**
-	 * Logs the given values. Only the actual writing to the stream is synchronized. This method is designed
-	 * so that each log line will never be mixed with another one.
-	 * @param values a map with the value for each column
-	 * @param defaultValues a map with default values for the log. Whenever a value is not found
-	 * in values map, it is looked in defaultValues map.
+	 * Logs the given values. The row is copied, so the caller can reuse the array. Values are formatted
+	 * and written by a background thread. This method is designed so that each log line will never be
+	 * mixed with another one.
+	 * @param row the value of each column: NaN for an empty cell, or the index of a string for a string column
 	 * @throws IOException if a problem is risen opening or writing to the log file
 	 */
-	public void log(Map<String, ?> values, Map<String, ?> defaultValues) throws IOException {
+	public void log(double[] row) throws IOException {
 		if (!isInitialized()) {
 			init();
 		}
-		StringBuilder logLine = new StringBuilder(100);
-		for (int i=0; i<columns.length; i++) {
-			if (i > 0) {
-				logLine.append(colSep);
-			}
-			Object value = values.get(columns[i]);
-			if (isEmpty(value)) {
-				value = defaultValues.get(columns[i]);
-			}
-			if (!isEmpty(value)) {
-				logLine.append(toString(value));
-			}
-		}
-		
-		// Finally writes to the stream
-		synchronized(this) {
-			writer.newLine();
-			writer.append(logLine);
-		}
+		writer.write(row);
 	}
-	
+
 	/**
 	 * Initialize this logger. This method has no effect if the logger is already initialized.
 	 * @throws IOException if an IO problem is risen opening the log file.
 	 */
 	private synchronized void init() throws IOException {
 		if (!isInitialized()) {
-			boolean needHeader = true;
-			if (append && file.exists() && file.length() > 0) {
-				needHeader = false;
-			}
-			initialized = true;
-			writer = new BufferedWriter(new FileWriter(file, append));
-			
-			// Write header if needed
-			if (needHeader) {
-				for (int i=0; i<columns.length; i++) {
-					if (i > 0) {
-						writer.write(colSep);
+			writer = new CSVLogWriter(file, columns, append, colSep, digitSep) {
+				@Override
+				protected void appendValue(StringBuilder logLine, int column, double value) {
+					if (Double.isNaN(value)) {
+						return;
+					} else if (stringColumns[column]) {
+						logLine.append(strings[(int) value]);
+					} else {
+						super.appendValue(logLine, column, value);
 					}
-					writer.write(columns[i]);
 				}
-			}
+			};
+			initialized = true;
 		}
 	}
 
@@ -117,19 +148,18 @@ public class CSVLogger {
 	public synchronized void close() throws IOException {
 		JSimLoggerFactory.remove(this);
 	}
-	
+
 	/**
-	 * Disposes this logger object, closing the writer.
-	 * @throws IOException if an IO problem is risen closing the log file.
+	 * Disposes this logger object, waiting for the pending lines to be written and closing the writer.
+	 * @throws IOException if an IO problem is risen writing or closing the log file.
 	 */
 	synchronized void dispose() throws IOException {
 		if (isInitialized()) {
-			writer.flush();
-			writer.close();
 			initialized = false;
+			writer.close();
 		}
 	}
-	
+
 	/**
 	 * @return the file this logger is writing on.
 	 */
@@ -144,39 +174,11 @@ public class CSVLogger {
 	protected void finalize() throws Throwable {
 		close();
 	}
-	
+
 	/**
 	 * @return true if this logger was initialized and running. False otherwise.
 	 */
 	public boolean isInitialized() {
 		return initialized;
 	}
-	
-	/**
-	 * Tells if the given object is a null or empty string
-	 * @param obj the object
-	 * @return true if obj is null or an empty string.
-	 */
-	private boolean isEmpty(Object obj) {
-		if (obj == null) {
-			return true;
-		} else if (obj instanceof CharSequence) {
-			return ((CharSequence)obj).length() == 0;
-		} else {
-			return false;
-		}
-	}
-	
-	/**
-	 * Converts the given object to a string with the correct digit separator.
-	 * @param obj the object, may not be null
-	 * @return the string
-	 */
-	private String toString(Object obj) {
-		if (obj instanceof Number) {
-			return numberFormat.format(((Number) obj).doubleValue());
-		} else {
-			return String.valueOf(obj);
-		}
-	}
 }
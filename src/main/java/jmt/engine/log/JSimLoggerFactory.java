@@ -40,18 +40,19 @@ public class JSimLoggerFactory {
 	 * Returns an instance of CSVLogger on a given file 
 	 * @param file the file we should write to
 	 * @param columns the columns for the log file
+	 * @param stringColumns the columns whose values are indexes of registered strings
 	 * @param append true to append to an existing file. False to create a new file
 	 * @param colSep the column separator
 	 * @param digitSep the decimal digit separator
 	 * @return the logger instance
 	 */
-	public static CSVLogger getCSVLogger(File file, String[] columns, boolean append, String colSep, String digitSep) {
+	public static CSVLogger getCSVLogger(File file, String[] columns, String[] stringColumns, boolean append, String colSep, String digitSep) {
 		CSVLogger ret = csvLoggerCache.get(file);
 		if (ret == null) {
 			synchronized (JSimLoggerFactory.class) {
 				ret = csvLoggerCache.get(file);
 				if (ret == null) {
-					ret = new CSVLogger(file, columns, append, colSep, digitSep);
+					ret = new CSVLogger(file, columns, stringColumns, append, colSep, digitSep);
 					csvLoggerCache.put(file, ret);
 				}
 			}
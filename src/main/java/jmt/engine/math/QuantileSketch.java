@@ -0,0 +1,219 @@
+/**
+ * Copyright (C) 2016, Laboratorio di Valutazione delle Prestazioni - Politecnico di Milano
+
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+
+package jmt.engine.math;
+
+import java.util.Arrays;
+
+/**
+ * A bounded-memory streaming estimator of the quantiles of a sequence of samples.
+ * <br>
+ * Samples are stored in a hierarchy of buffers of <tt>k</tt> samples, where each sample of level
+ * <tt>h</tt> represents <tt>2^h</tt> original samples. When a buffer is full it is sorted and every
+ * other sample (alternately starting from the first or the second one) is promoted to the next level.
+ * <br>
+ * After <tt>n</tt> samples the sketch stores at most <tt>k * (log2(n / k) + 2)</tt> values and
+ * each sample costs O(log k) amortized time. The rank of an estimated quantile differs from the
+ * requested one by at most <tt>n * (log2(n / k) + 1) / k</tt> samples; this is a worst case bound
+ * and the alternate promotion makes the actual error much smaller. Up to <tt>k - 1</tt> samples
+ * the quantiles are exact.
+ *
+ * @version 1.0
+ */
+public class QuantileSketch {
+
+	/** Default number of samples stored by each level */
+	public static final int DEFAULT_SIZE = 1024;
+
+	private int k;
+	private double[][] levels;
+	private int[] sizes;
+	private boolean[] promoteOdd;
+	private int levelCount;
+	private long count;
+	private double min;
+	private double max;
+
+	/** Values and cumulative weights of all the stored samples, built when needed */
+	private double[] sortedValues;
+	private long[] cumulativeWeights;
+
+	/**
+	 * Creates a new sketch storing the default number of samples in each level.
+	 */
+	public QuantileSketch() {
+		this(DEFAULT_SIZE);
+	}
+
+	/**
+	 * Creates a new sketch.
+	 * @param k the number of samples stored by each level, rounded up to an even number
+	 * greater than or equal to 2.
+	 */
+	public QuantileSketch(int k) {
+		this.k = Math.max(2, k + (k & 1));
+		levels = new double[4][];
+		sizes = new int[4];
+		promoteOdd = new boolean[4];
+		levelCount = 0;
+		count = 0;
+	}
+
+	/**
+	 * Adds a new sample.
+	 * @param value the sample.
+	 */
+	public void add(double value) {
+		if (count == 0 || value < min) {
+			min = value;
+		}
+		if (count == 0 || value > max) {
+			max = value;
+		}
+		count++;
+		insert(0, value);
+		sortedValues = null;
+	}
+
+	/**
+	 * Stores a sample in a level, promoting half of the level to the next one if it is full.
+	 * @param level the level.
+	 * @param value the sample.
+	 */
+	private void insert(int level, double value) {
+		if (level == levelCount) {
+			if (level == levels.length) {
+				levels = Arrays.copyOf(levels, level * 2);
+				sizes = Arrays.copyOf(sizes, level * 2);
+				promoteOdd = Arrays.copyOf(promoteOdd, level * 2);
+			}
+			levels[level] = new double[k];
+			levelCount++;
+		}
+		double[] buffer = levels[level];
+		buffer[sizes[level]++] = value;
+		if (sizes[level] == k) {
+			Arrays.sort(buffer);
+			sizes[level] = 0;
+			int start = promoteOdd[level] ? 1 : 0;
+			promoteOdd[level] = !promoteOdd[level];
+			for (int i = start; i < k; i += 2) {
+				insert(level + 1, buffer[i]);
+			}
+		}
+	}
+
+	/**
+	 * Builds the sorted values and the cumulative weights of all the stored samples.
+	 */
+	private void build() {
+		double[] values = new double[0];
+		long[] weights = new long[0];
+		for (int h = 0; h < levelCount; h++) {
+			double[] level = Arrays.copyOf(levels[h], sizes[h]);
+			Arrays.sort(level);
+			// Merges the sorted samples of the level, each representing 2^h samples
+			double[] mergedValues = new double[values.length + level.length];
+			long[] mergedWeights = new long[mergedValues.length];
+			int i = 0, j = 0;
+			for (int m = 0; m < mergedValues.length; m++) {
+				if (j >= level.length || (i < values.length && values[i] <= level[j])) {
+					mergedValues[m] = values[i];
+					mergedWeights[m] = weights[i];
+					i++;
+				} else {
+					mergedValues[m] = level[j];
+					mergedWeights[m] = 1L << h;
+					j++;
+				}
+			}
+			values = mergedValues;
+			weights = mergedWeights;
+		}
+		for (int m = 1; m < weights.length; m++) {
+			weights[m] += weights[m - 1];
+		}
+		sortedValues = values;
+		cumulativeWeights = weights;
+	}
+
+	/**
+	 * Returns the estimated quantile with the given probability, i.e. the sample which
+	 * would be in position <tt>(int) (n * prob)</tt> if all the samples were sorted.
+	 * @param prob the probability of the quantile.
+	 * @return the estimated quantile, or NaN if there are no samples.
+	 */
+	public double getQuantile(double prob) {
+		if (count == 0) {
+			return Double.NaN;
+		}
+		long rank = (long) (count * prob);
+		if (rank <= 0) {
+			return min;
+		}
+		if (rank >= count - 1) {
+			return max;
+		}
+		if (sortedValues == null) {
+			build();
+		}
+		int l = 0, r = cumulativeWeights.length - 1;
+		while (l < r) {
+			int x = (l + r) >>> 1;
+			if (cumulativeWeights[x] > rank) {
+				r = x;
+			} else {
+				l = x + 1;
+			}
+		}
+		return sortedValues[l];
+	}
+
+	/**
+	 * Returns the estimated fraction of samples which are less than or equal to the given value.
+	 * @param value the value.
+	 * @return the estimated fraction, or NaN if there are no samples.
+	 */
+	public double getProbability(double value) {
+		if (count == 0) {
+			return Double.NaN;
+		}
+		if (sortedValues == null) {
+			build();
+		}
+		int l = 0, r = sortedValues.length;
+		while (l < r) {
+			int x = (l + r) >>> 1;
+			if (sortedValues[x] <= value) {
+				l = x + 1;
+			} else {
+				r = x;
+			}
+		}
+		return l > 0 ? (double) cumulativeWeights[l - 1] / count : 0.0;
+	}
+
+	/**
+	 * @return the number of samples added to the sketch.
+	 */
+	public long getCount() {
+		return count;
+	}
+
+}
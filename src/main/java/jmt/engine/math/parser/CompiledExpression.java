@@ -0,0 +1,285 @@
+/**
+  * Copyright 2006 Bertoli Marco
+
+  *  Licensed under the Apache License, Version 2.0 (the "License");
+  *  you may not use this file except in compliance with the License.
+  *  You may obtain a copy of the License at
+
+  *  http://www.apache.org/licenses/LICENSE-2.0
+
+  *  Unless required by applicable law or agreed to in writing, software
+  *  distributed under the License is distributed on an "AS IS" BASIS,
+  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  *  See the License for the specific language governing permissions and
+  *  limitations under the License.
+  */
+package jmt.engine.math.parser;
+
+import java.util.ArrayList;
+
+/**
+ * <p><b>Name:</b> CompiledExpression</p> 
+ * <p><b>Description:</b> 
+ * An expression tree compiled into a flat postfix program, evaluated on a preallocated stack.
+ * Evaluation does not allocate memory nor walk the tree, so it is suited to expressions that
+ * are evaluated many times, like load dependent functions during a simulation. Subtrees without
+ * variables and random functions are folded into constants. Operations are performed in the same
+ * order of the tree, so the value is exactly the same returned by <code>Parser.getValue()</code>.
+ * </p>
+ * @see Parser#compile()
+ */
+public class CompiledExpression {
+	// Instructions of the program
+	private static final int PUSH_CONSTANT = 0;
+	private static final int PUSH_VARIABLE = 1;
+	private static final int PUSH_RAND = 2;
+	private static final int ADD = 3;
+	private static final int SUBTRACT = 4;
+	private static final int MULTIPLY = 5;
+	private static final int DIVIDE = 6;
+	private static final int MODULO = 7;
+	private static final int POWER = 8;
+	private static final int FUNCTION = 9;
+
+	/** Pairs of instruction and argument */
+	private int[] program;
+	private double[] constants;
+	private String[] names;
+	private double[] values;
+	private boolean[] initialized;
+	private boolean error;
+	private double[] stack;
+	private Parser parser;
+
+	// Used only while compiling
+	private int length;
+	private ArrayList<Double> constantList;
+	private ArrayList<String> nameList;
+	private int depth;
+
+	/**
+	 * Compiles an expression tree
+	 * @param root root node of the tree
+	 * @param parser parser that built the tree, providing the engine of random functions
+	 * @param error if true, an exception is raised when value is get
+	 * from a variable not initialized. If false, that variable is
+	 * considered as zero.
+	 */
+	CompiledExpression(ExpressionNode root, Parser parser, boolean error) {
+		this.parser = parser;
+		this.error = error;
+		// Each node needs at most two instructions
+		program = new int[4 * root.count()];
+		constantList = new ArrayList<Double>();
+		nameList = new ArrayList<String>();
+		int maxDepth = compile(root);
+		stack = new double[maxDepth];
+
+		int[] trimmed = new int[length];
+		System.arraycopy(program, 0, trimmed, 0, length);
+		program = trimmed;
+		constants = new double[constantList.size()];
+		for (int i = 0; i < constants.length; i++) {
+			constants[i] = constantList.get(i).doubleValue();
+		}
+		names = nameList.toArray(new String[nameList.size()]);
+		values = new double[names.length];
+		initialized = new boolean[names.length];
+		constantList = null;
+		nameList = null;
+	}
+
+	/**
+	 * Appends the program of a subtree
+	 * @param node root of the subtree
+	 * @return the stack depth needed to evaluate the subtree
+	 */
+	private int compile(ExpressionNode node) {
+		if (node.getType() != ExpressionNode.CONSTANT_NODE && isConstant(node)) {
+			emit(PUSH_CONSTANT, addConstant(node.getValue()));
+			return 1;
+		}
+		ExpressionNode[] children = node.getChildrenNodes();
+		switch (node.getType()) {
+			case ExpressionNode.CONSTANT_NODE:
+				emit(PUSH_CONSTANT, addConstant(node.getValue()));
+				return 1;
+			case ExpressionNode.VARIABLE_NODE:
+				int index = nameList.indexOf(node.getSubtype());
+				if (index < 0) {
+					index = nameList.size();
+					nameList.add(node.getSubtype());
+				}
+				emit(PUSH_VARIABLE, index);
+				return 1;
+			case ExpressionNode.OPERATOR_NODE:
+				int left = compile(children[0]);
+				int right = compile(children[1]);
+				emit(getInstruction(node.getSubtype().charAt(0)), 0);
+				return Math.max(left, right + 1);
+			case ExpressionNode.FUNCTION_NODE:
+				int function = getFunction(node.getSubtype());
+				if (function == FunctionNode.RAND) {
+					// The random number is drawn before the argument is evaluated, like in FunctionNode
+					emit(PUSH_RAND, 0);
+					int argument = compile(children[0]);
+					emit(MULTIPLY, 0);
+					return argument + 1;
+				}
+				int argument = compile(children[0]);
+				emit(FUNCTION, function);
+				return argument;
+		}
+		throw new IllegalArgumentException("Unrecognized node type");
+	}
+
+	/**
+	 * Tells if a subtree can be evaluated at compile time
+	 * @param node root of the subtree
+	 * @return true if the subtree has no variables nor random functions
+	 */
+	private boolean isConstant(ExpressionNode node) {
+		if (node.getType() == ExpressionNode.VARIABLE_NODE) {
+			return false;
+		}
+		if (node.getType() == ExpressionNode.FUNCTION_NODE && getFunction(node.getSubtype()) == FunctionNode.RAND) {
+			return false;
+		}
+		for (ExpressionNode child : node.getChildrenNodes()) {
+			if (!isConstant(child)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void emit(int instruction, int argument) {
+		program[length++] = instruction;
+		program[length++] = argument;
+	}
+
+	private int addConstant(double value) {
+		constantList.add(Double.valueOf(value));
+		return constantList.size() - 1;
+	}
+
+	private static int getInstruction(char operation) {
+		switch (operation) {
+			case '+':
+				return ADD;
+			case '-':
+				return SUBTRACT;
+			case '*':
+				return MULTIPLY;
+			case '/':
+				return DIVIDE;
+			case '%':
+				return MODULO;
+			case '^':
+				return POWER;
+		}
+		throw new IllegalArgumentException("Unrecognized operation");
+	}
+
+	private static int getFunction(String name) {
+		for (int i = 0; i < FunctionNode.FUNCTIONS.length; i++) {
+			if (FunctionNode.FUNCTIONS[i].equals(name)) {
+				return i;
+			}
+		}
+		throw new IllegalArgumentException("Unrecognized function");
+	}
+
+	/**
+	 * Returns the index of a variable, to set its value without searching it by name
+	 * @param name name of the variable (case sensitive)
+	 * @return index of the variable, or -1 if the expression does not use it
+	 */
+	public int getVariableIndex(String name) {
+		for (int i = 0; i < names.length; i++) {
+			if (names[i].equals(name)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Sets the value for a given variable
+	 * @param name name of the variable to be set (case sensitive)
+	 * @param value value for the variable
+	 */
+	public void setVariable(String name, double value) {
+		int index = getVariableIndex(name);
+		if (index >= 0) {
+			setVariable(index, value);
+		}
+	}
+
+	/**
+	 * Sets the value for a given variable
+	 * @param index index of the variable to be set
+	 * @param value value for the variable
+	 * @see #getVariableIndex(String)
+	 */
+	public void setVariable(int index, double value) {
+		values[index] = value;
+		initialized[index] = true;
+	}
+
+	/**
+	 * Returns the value for evaluated expression
+	 * @return value of expression
+	 * @throws EvaluationException if one variable was not initialized and parser was 
+	 * created with <code>error = true</code>
+	 */
+	public double getValue() throws EvaluationException {
+		int top = -1;
+		for (int pc = 0; pc < program.length; pc += 2) {
+			switch (program[pc]) {
+				case PUSH_CONSTANT:
+					stack[++top] = constants[program[pc + 1]];
+					break;
+				case PUSH_VARIABLE:
+					int index = program[pc + 1];
+					if (error && !initialized[index]) {
+						throw new EvaluationException("Variable '" + names[index] + "' was not initialized.");
+					}
+					stack[++top] = values[index];
+					break;
+				case PUSH_RAND:
+					stack[++top] = parser.getEngine().raw();
+					break;
+				case ADD:
+					top--;
+					stack[top] = stack[top] + stack[top + 1];
+					break;
+				case SUBTRACT:
+					top--;
+					stack[top] = stack[top] - stack[top + 1];
+					break;
+				case MULTIPLY:
+					top--;
+					stack[top] = stack[top] * stack[top + 1];
+					break;
+				case DIVIDE:
+					top--;
+					stack[top] = stack[top] / stack[top + 1];
+					break;
+				case MODULO:
+					top--;
+					stack[top] = stack[top] % stack[top + 1];
+					break;
+				case POWER:
+					top--;
+					stack[top] = Math.pow(stack[top], stack[top + 1]);
+					break;
+				case FUNCTION:
+					stack[top] = FunctionNode.apply(program[pc + 1], stack[top]);
+					break;
+			}
+		}
+		return stack[0];
+	}
+
+}
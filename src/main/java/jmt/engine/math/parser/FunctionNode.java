@@ -32,6 +32,8 @@ public class FunctionNode implements ExpressionNode {
 	/** List of supported functions */
 	public static final String[] FUNCTIONS = new String[] { "-", "sin", "cos", "tan", "asin", "acos", "atan", "sinh", "cosh", "tanh", "asinh",
 			"acosh", "atanh", "ln", "log", "abs", "rand", "sqrt", "erf", "erfc", "gamma", "exp", "cot", "log2" };
+	/** Position of the random function in <code>FUNCTIONS</code> array */
+	static final int RAND = 16;
 	/** Child node */
 	protected ExpressionNode child;
 	/** Function of this node */
@@ -107,55 +109,66 @@ public class FunctionNode implements ExpressionNode {
 	 * @see jmt.engine.math.parser.ExpressionNode#getValue()
 	 */
 	public double getValue() {
+		if (function == RAND) {
+			return parser.getEngine().raw() * child.getValue();
+		}
+		return apply(function, child.getValue());
+	}
+
+	/**
+	 * Evaluates a function on a value. Random functions are not supported, as they need a parser.
+	 * @param function function to be evaluated. This is the index in <code>FUNCTIONS</code> array
+	 * @param x value of the argument
+	 * @return value of the function
+	 */
+	static double apply(int function, double x) {
 		switch (function) {
 			case 0:
-				return -child.getValue();
+				return -x;
 			case 1:
-				return Math.sin(child.getValue());
+				return Math.sin(x);
 			case 2:
-				return Math.cos(child.getValue());
+				return Math.cos(x);
 			case 3:
-				return Math.tan(child.getValue());
+				return Math.tan(x);
 			case 4:
-				return Math.asin(child.getValue());
+				return Math.asin(x);
 			case 5:
-				return Math.acos(child.getValue());
+				return Math.acos(x);
 			case 6:
-				return Math.atan(child.getValue());
+				return Math.atan(x);
 			case 7:
-				return Sfun.sinh(child.getValue());
+				return Sfun.sinh(x);
 			case 8:
-				return Sfun.cosh(child.getValue());
+				return Sfun.cosh(x);
 			case 9:
-				return Sfun.tanh(child.getValue());
+				return Sfun.tanh(x);
 			case 10:
-				return Sfun.asinh(child.getValue());
+				return Sfun.asinh(x);
 			case 11:
-				return Sfun.acosh(child.getValue());
+				return Sfun.acosh(x);
 			case 12:
-				return Sfun.atanh(child.getValue());
+				return Sfun.atanh(x);
 			case 13:
-				return Math.log(child.getValue());
+				return Math.log(x);
 			case 14:
-				return Math.log(child.getValue()) * 0.43429448190325182765;
+				return Math.log(x) * 0.43429448190325182765;
 			case 15:
-				return Math.abs(child.getValue());
-			case 16:
-				return parser.getEngine().raw() * child.getValue();
+				return Math.abs(x);
 			case 17:
-				return Math.sqrt(child.getValue());
+				return Math.sqrt(x);
 			case 18:
-				return Sfun.erf(child.getValue());
+				return Sfun.erf(x);
 			case 19:
-				return Sfun.erfc(child.getValue());
+				return Sfun.erfc(x);
 			case 20:
-				return Sfun.gamma(child.getValue());
+				return Sfun.gamma(x);
 			case 21:
-				return Math.exp(child.getValue());
+				return Math.exp(x);
 			case 22:
-				return Sfun.cot(child.getValue());
+				return Sfun.cot(x);
 			case 23:
-				return Math.log(child.getValue()) * 1.442695040888963407360;
+				return Math.log(x) * 1.442695040888963407360;
 		}
 		// This is never reached
 		return 0;
@@ -462,6 +462,17 @@ public class Parser {
 		return root.getValue();
 	}
 
+	/**
+	 * Compiles the parsed expression into a flat program, that is faster to evaluate many times.
+	 * The compiled expression has its own variables, and draws random numbers from the engine of this parser.
+	 * @return the compiled expression
+	 * @throws ParseError if parsed input string was malformed
+	 */
+	public CompiledExpression compile() throws ParseError {
+		getTree();
+		return new CompiledExpression(root, this, error);
+	}
+
 	/**
 	 * Returns a string representation of parsed expression with the right parenthesis
 	 * @return a string representation of parsed expression with the right parenthesis
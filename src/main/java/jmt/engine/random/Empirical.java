@@ -153,14 +153,12 @@ public class Empirical extends AbstractDistribution implements Distribution {
 	public double nextRand(Parameter p) throws IncorrectDistributionParameterException {
 		if (p.check()) {
 			double rand = engine.raw();
-			double[] cdf = ((EmpiricalPar) p).getCDF();
-			for (int ptn = 0; ptn < cdf.length - 1; ptn++) {
-				if (cdf[ptn + 1] >= rand) {
-					return ptn;
-				}
+			int ptn = ((EmpiricalPar) p).getGuideTable().search(rand);
+			if (ptn >= 0) {
+				return ptn;
 			}
 			double[] pdf = ((EmpiricalPar) p).getPDF();
-			for (int ptn = pdf.length - 1; ptn > 0; ptn--) {
+			for (ptn = pdf.length - 1; ptn > 0; ptn--) {
 				if (pdf[ptn] > 0.0) {
 					return ptn;
 				}
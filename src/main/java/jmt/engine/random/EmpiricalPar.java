@@ -36,6 +36,8 @@ public class EmpiricalPar extends AbstractParameter implements Parameter {
 	protected double[] cdf;
 	/** probability distribution function*/
 	protected double[] pdf;
+	/** guide table used to sample the distribution*/
+	protected GuideTable guideTable;
 
 	/** values of the parameter*/
 	protected Object[] values;
@@ -117,6 +119,16 @@ public class EmpiricalPar extends AbstractParameter implements Parameter {
 		return cdf;
 	}
 
+	/**
+	 * It returns the guide table used to sample the empirical distribution, built from
+	 * the same probabilities of the cumulative distribution function.
+	 *
+	 * @return the guide table of the probability distribution function.
+	 */
+	public GuideTable getGuideTable() {
+		return guideTable;
+	}
+
 	/**
 	 * It allows the user to change the value of the parameter of the empirical distribution.
 	 * Takes an existent array of pdf and tries to convert it in a pdf for an empirical
@@ -161,6 +173,7 @@ public class EmpiricalPar extends AbstractParameter implements Parameter {
 		for (int ptn = 0; ptn < nBins; ptn++) {
 			this.cdf[ptn + 1] = cdf[ptn] + pdf[ptn];
 		}
+		this.guideTable = new GuideTable(pdf);
 	}
 
 	/**
@@ -0,0 +1,112 @@
+/**
+ * Copyright (C) 2016, Laboratorio di Valutazione delle Prestazioni - Politecnico di Milano
+
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+
+package jmt.engine.random;
+
+/**
+ * 
+ * This class samples a discrete distribution given by a vector of probabilities
+ * with the guide table (indexed search) method. The cumulative probabilities are
+ * summed once in the given order, and a guide table tells for each interval of
+ * width 1/n where the search should start, so each search takes a constant number
+ * of steps on average.
+ * <br>
+ * A search returns the first index whose cumulative probability is greater than or
+ * equal to the given random number, exactly like a linear scan of the probabilities,
+ * so the sampled values do not depend on the method used.
+ * 
+ */
+public class GuideTable {
+
+	/** cumulative probabilities, summed in order */
+	private double[] cumulative;
+	/** index where the search starts for each interval of [0, 1] */
+	private int[] guide;
+
+	/**
+	 * Creates a new guide table for the given probabilities.
+	 *
+	 * @param probabilities the probabilities of the values of the distribution,
+	 * which may sum up to less than one.
+	 *
+	 */
+	public GuideTable(double[] probabilities) {
+		int n = probabilities.length;
+		cumulative = new double[n];
+		boolean sorted = true;
+		double sum = 0.0;
+		for (int i = 0; i < n; i++) {
+			sum += probabilities[i];
+			cumulative[i] = sum;
+			if (i > 0 && !(cumulative[i] >= cumulative[i - 1])) {
+				sorted = false;
+			}
+		}
+
+		// Negative or invalid probabilities (e.g. rounding errors of a solver) are searched linearly
+		if (n > 0 && sorted) {
+			guide = new int[n];
+			int index = 0;
+			for (int j = 0; j < n; j++) {
+				double start = (double) j / n;
+				while (index < n - 1 && cumulative[index] < start) {
+					index++;
+				}
+				guide[j] = index;
+			}
+		}
+	}
+
+	/**
+	 * Finds the first value whose cumulative probability is greater than or equal
+	 * to the given random number.
+	 *
+	 * @param rand a random number in [0, 1].
+	 * @return the index of the value, or -1 if all the cumulative probabilities are less
+	 * than the random number.
+	 *
+	 */
+	public int search(double rand) {
+		int n = cumulative.length;
+		int index = 0;
+		if (guide != null) {
+			int j = (int) (rand * n);
+			index = guide[j < 0 ? 0 : (j >= n ? n - 1 : j)];
+			// The guide table is built with rounded bounds, so it may start one value too far
+			while (index > 0 && cumulative[index - 1] >= rand) {
+				index--;
+			}
+		}
+		while (index < n && !(cumulative[index] >= rand)) {
+			index++;
+		}
+		return index < n ? index : -1;
+	}
+
+	/**
+	 * It returns the cumulative probabilities.
+	 *
+	 * @return array of double with the cumulative probabilities, summed in order.
+	 *
+	 */
+	public double[] getCumulative() {
+		return cumulative;
+	}
+
+} // end GuideTable
@@ -112,43 +112,27 @@ public class MAPDistr extends AbstractDistribution implements Distribution {
 	 */
 	public double nextRand(Parameter p) throws IncorrectDistributionParameterException {
 		double sample = 0.0;
-		double[] pi = ((MAPPar) p).getPi();
 		double[] lambda = ((MAPPar) p).getLambda();
-		double[][] P0 = ((MAPPar) p).getP0();
-		double[][] P1 = ((MAPPar) p).getP1();
+		GuideTable[] PTables = ((MAPPar) p).getPTables();
+		int order = lambda.length;
 
 		if (curState < 0) {
-			double rand = engine.raw();
-			double sum = 0.0;
-			for (int i = 0; i < pi.length; i++) {
-				sum += pi[i];
-				if (sum >= rand) {
-					curState = i;
-					break;
-				}
+			int nextState = ((MAPPar) p).getPiTable().search(engine.raw());
+			if (nextState >= 0) {
+				curState = nextState;
 			}
 		}
 
-		OUTER_LOOP:
 		while (true) {
 			expPar.setLambda(lambda[curState]);
 			sample += expDistr.nextRand(expPar);
 
-			double rand = engine.raw();
-			double sum = 0.0;
-			for (int i = 0; i < P0[curState].length; i++) {
-				sum += P0[curState][i];
-				if (sum >= rand) {
-					curState = i;
-					continue OUTER_LOOP;
-				}
-			}
-			for (int i = 0; i < P1[curState].length; i++) {
-				sum += P1[curState][i];
-				if (sum >= rand) {
-					curState = i;
-					break OUTER_LOOP;
-				}
+			int transition = PTables[curState].search(engine.raw());
+			if (transition >= order) {
+				curState = transition - order;
+				break;
+			} else if (transition >= 0) {
+				curState = transition;
 			}
 		}
 
@@ -41,6 +41,8 @@ public class MAPPar extends AbstractParameter implements Parameter {
 	private double[] lambda;
 	private double[][] P0;
 	private double[][] P1;
+	private GuideTable piTable;
+	private GuideTable[] PTables;
 
 	/**
 	 * It creates a new MAP parameter based on the data provided by the user.
@@ -107,6 +109,14 @@ public class MAPPar extends AbstractParameter implements Parameter {
 				P1[i][j] = this.D1[i][j] / lambda[i];
 			}
 		}
+		piTable = new GuideTable(this.pi);
+		PTables = new GuideTable[order];
+		for (int i = 0; i < order; i++) {
+			double[] row = new double[2 * order];
+			System.arraycopy(P0[i], 0, row, 0, order);
+			System.arraycopy(P1[i], 0, row, order, order);
+			PTables[i] = new GuideTable(row);
+		}
 	}
 
 	/**
@@ -275,4 +285,26 @@ public class MAPPar extends AbstractParameter implements Parameter {
 		return P1;
 	}
 
+	/**
+	 * It returns the guide table used to sample the initial phase from pi.
+	 *
+	 * @return the guide table of pi.
+	 *
+	 */
+	public GuideTable getPiTable() {
+		return piTable;
+	}
+
+	/**
+	 * It returns the guide tables used to sample the next transition from each row
+	 * of P0 followed by the same row of P1. Indices less than the order are hidden
+	 * transitions, the other ones are observable transitions.
+	 *
+	 * @return array of the guide tables of the rows of [P0 P1].
+	 *
+	 */
+	public GuideTable[] getPTables() {
+		return PTables;
+	}
+
 } // end MAPPar
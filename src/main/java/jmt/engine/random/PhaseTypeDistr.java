@@ -106,39 +106,27 @@ public class PhaseTypeDistr extends AbstractDistribution implements Distribution
 	 */
 	public double nextRand(Parameter p) throws IncorrectDistributionParameterException {
 		double sample = 0.0;
-		double[] alpha = ((PhaseTypePar) p).getAlpha();
 		double[] lambda = ((PhaseTypePar) p).getLambda();
-		double[][] P = ((PhaseTypePar) p).getP();
-
-		double rand = engine.raw();
-		double sum = 0.0;
-		for (int i = 0; i < alpha.length; i++) {
-			sum += alpha[i];
-			if (sum >= rand) {
-				curState = i;
-				break;
-			}
+		GuideTable[] PTables = ((PhaseTypePar) p).getPTables();
+
+		int nextState = ((PhaseTypePar) p).getAlphaTable().search(engine.raw());
+		if (nextState >= 0) {
+			curState = nextState;
 		}
 
 		if (expDistr.engine == null) {
 			expDistr.setRandomEngine(engine);
 		}
 		
-		OUTER_LOOP:
 		while (true) {
 			expPar.setLambda(lambda[curState]);
 			sample += expDistr.nextRand(expPar);
 
-			rand = engine.raw();
-			sum = 0.0;
-			for (int i = 0; i < alpha.length; i++) {
-				sum += P[curState][i];
-				if (sum >= rand) {
-					curState = i;
-					continue OUTER_LOOP;
-				}
+			nextState = PTables[curState].search(engine.raw());
+			if (nextState < 0) {
+				break;
 			}
-			break;
+			curState = nextState;
 		}
 
 		return sample;
@@ -39,6 +39,8 @@ public class PhaseTypePar extends AbstractParameter implements Parameter {
 	private double var;
 	private double[] lambda;
 	private double[][] P;
+	private GuideTable alphaTable;
+	private GuideTable[] PTables;
 
 	/**
 	 * It creates a new phase-type parameter based on the data provided by the user.
@@ -88,6 +90,11 @@ public class PhaseTypePar extends AbstractParameter implements Parameter {
 				}
 			}
 		}
+		alphaTable = new GuideTable(this.alpha);
+		PTables = new GuideTable[order];
+		for (int i = 0; i < order; i++) {
+			PTables[i] = new GuideTable(P[i]);
+		}
 	}
 
 	/**
@@ -220,4 +227,25 @@ public class PhaseTypePar extends AbstractParameter implements Parameter {
 		return P;
 	}
 
+	/**
+	 * It returns the guide table used to sample the initial phase from alpha.
+	 *
+	 * @return the guide table of alpha.
+	 *
+	 */
+	public GuideTable getAlphaTable() {
+		return alphaTable;
+	}
+
+	/**
+	 * It returns the guide tables used to sample the next phase from each row of P.
+	 * If no phase is found, the sample is complete.
+	 *
+	 * @return array of the guide tables of the rows of P.
+	 *
+	 */
+	public GuideTable[] getPTables() {
+		return PTables;
+	}
+
 } // end PhaseTypePar
@@ -92,6 +92,14 @@ public class MersenneTwister extends RandomEngine {
 		init_genrand(seed);
 	}
 
+	/**
+	 * Sets a new seed given by an array, e.g. to initialize independent streams
+	 * @param key the array of keys (only the lower 32 bits of each element are used)
+	 */
+	public void setNewSeed(long[] key) {
+		init_by_array(key, key.length);
+	}
+
 	/** initializes mt[N] with a seed */
 	void init_genrand(long s) {
 		long internal = s & 0xffffffffL;
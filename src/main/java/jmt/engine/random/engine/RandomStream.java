@@ -0,0 +1,129 @@
+/**
+ * Copyright (C) 2016, Laboratorio di Valutazione delle Prestazioni - Politecnico di Milano
+
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package jmt.engine.random.engine;
+
+/**
+ * A stream of uniform random numbers with a name. Each stream is a Mersenne Twister
+ * initialized by an array with the simulation seed and the name of the stream, so the
+ * same stream is generated in every simulation with the same seed, regardless of the
+ * other streams used by the model (common random numbers).
+ * <br>
+ * An antithetic stream returns the complement of each number of the stream, i.e.
+ * 1 - u instead of u.
+ */
+public class RandomStream extends RandomEngine {
+
+	/** Largest value returned by nextDouble */
+	private static final double MAX_DOUBLE = 1.0 - 1.0 / 9007199254740992.0;
+
+	private String name;
+	private MersenneTwister generator;
+	private boolean antithetic;
+
+	/**
+	 * Creates a new stream
+	 * @param name the name of the stream
+	 * @param seed the simulation seed
+	 * @param antithetic true if the complements of the numbers must be returned
+	 */
+	public RandomStream(String name, long seed, boolean antithetic) {
+		this.name = name;
+		this.antithetic = antithetic;
+		generator = new MersenneTwister(MersenneTwister.DEFAULT_SEED);
+		setNewSeed(seed);
+	}
+
+	/**
+	 * Gets the name of this stream
+	 * @return the name of this stream
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Tells if this stream returns the complements of the numbers
+	 * @return true for an antithetic stream
+	 */
+	public boolean isAntithetic() {
+		return antithetic;
+	}
+
+	/**
+	 * Restarts this stream from the beginning for a new simulation seed
+	 * @param seed the simulation seed
+	 */
+	@Override
+	public void setNewSeed(long seed) {
+		long[] key = new long[name.length() + 3];
+		key[0] = seed & 0xffffffffL;
+		key[1] = seed >>> 32;
+		key[2] = name.length();
+		for (int i = 0; i < name.length(); i++) {
+			key[i + 3] = name.charAt(i);
+		}
+		generator.setNewSeed(key);
+	}
+
+	/* (non-Javadoc)
+	 * @see jmt.engine.random.engine.RandomEngine#nextDouble()
+	 */
+	@Override
+	public double nextDouble() {
+		double u = generator.nextDouble();
+		return antithetic ? MAX_DOUBLE - u : u;
+	}
+
+	/* (non-Javadoc)
+	 * @see jmt.engine.random.engine.RandomEngine#nextInt()
+	 */
+	@Override
+	public int nextInt() {
+		int i = generator.nextInt();
+		return antithetic ? ~i : i;
+	}
+
+	/* (non-Javadoc)
+	 * @see jmt.engine.random.engine.RandomEngine#nextLong64()
+	 */
+	@Override
+	public long nextLong64() {
+		long l = generator.nextLong64();
+		return antithetic ? ~l : l;
+	}
+
+	/* (non-Javadoc)
+	 * @see jmt.engine.random.engine.RandomEngine#raw()
+	 */
+	@Override
+	public double raw() {
+		double u = generator.raw();
+		return antithetic ? 1.0 - u : u;
+	}
+
+	/* (non-Javadoc)
+	 * @see jmt.engine.random.engine.RandomEngine#raw2()
+	 */
+	@Override
+	public double raw2() {
+		double u = generator.raw2();
+		return antithetic ? 1.0 - u : u;
+	}
+
+}
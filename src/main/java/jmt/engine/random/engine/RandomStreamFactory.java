@@ -0,0 +1,88 @@
+/**
+ * Copyright (C) 2016, Laboratorio di Valutazione delle Prestazioni - Politecnico di Milano
+
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package jmt.engine.random.engine;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Creates the named random streams of a simulation (e.g. one per station, job class and
+ * purpose). Streams are independent from each other and depend only on the simulation seed
+ * and on their name, so that two simulations with the same seed use the same random numbers
+ * for the same purpose even if their models are different (common random numbers), or
+ * their complements (antithetic variates).
+ */
+public class RandomStreamFactory {
+
+	private long seed;
+	private boolean antithetic;
+	private Map<String, RandomStream> streams = new HashMap<String, RandomStream>();
+
+	/**
+	 * Creates a new factory
+	 * @param seed the simulation seed
+	 * @param antithetic true if the streams must return the complements of the numbers
+	 */
+	public RandomStreamFactory(long seed, boolean antithetic) {
+		this.seed = seed;
+		this.antithetic = antithetic;
+	}
+
+	/**
+	 * Gets the stream with the given name, creating it the first time
+	 * @param name the name of the stream
+	 * @return the stream
+	 */
+	public RandomStream getStream(String name) {
+		RandomStream stream = streams.get(name);
+		if (stream == null) {
+			stream = new RandomStream(name, seed, antithetic);
+			streams.put(name, stream);
+		}
+		return stream;
+	}
+
+	/**
+	 * Sets the simulation seed, restarting all the streams created so far
+	 * @param seed the simulation seed
+	 */
+	public void setSeed(long seed) {
+		this.seed = seed;
+		for (RandomStream stream : streams.values()) {
+			stream.setNewSeed(seed);
+		}
+	}
+
+	/**
+	 * Gets the simulation seed
+	 * @return the simulation seed
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Tells if the streams return the complements of the numbers
+	 * @return true for antithetic streams
+	 */
+	public boolean isAntithetic() {
+		return antithetic;
+	}
+
+}
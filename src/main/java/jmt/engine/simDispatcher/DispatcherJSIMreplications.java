@@ -0,0 +1,439 @@
+/**
+ * Copyright (C) 2016, Laboratorio di Valutazione delle Prestazioni - Politecnico di Milano
+
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package jmt.engine.simDispatcher;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import jmt.engine.dataAnalysis.Measure;
+import jmt.engine.dataAnalysis.ReplicationStatistics;
+import jmt.engine.dataAnalysis.XMLReplicationOutput;
+import jmt.engine.log.JSimLogger;
+import jmt.engine.random.engine.MersenneTwister;
+import jmt.engine.simEngine.SimLoader;
+import jmt.engine.simEngine.Simulation;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+/**
+ * Solves a model described using the SIMmodeldefinition.xsd schema with the method of
+ * independent replications. Each replication is a distinct Simulation object, with its own
+ * random engine seed, and the replications are run concurrently on a pool of threads.
+ * <br>
+ * Each replication analyzes a fixed number of samples for each measure, with the statistical
+ * stop of its analyzers disabled: only the confidence interval obtained by merging the mean
+ * values of the replications (see ReplicationStatistics) is compared with the precision
+ * requested in the model. A new replication is started as soon as a thread is free, until all
+ * the measures reach the requested precision or the maximum number of replications is reached.
+ * The replications are merged in the order of their seeds, so that the results only depend
+ * on the simulation seed and not on the number of threads.
+ * <br>
+ * The merged results are saved in a xml file with the same format of the output of the
+ * DispatcherJSIMschema.
+ */
+public class DispatcherJSIMreplications {
+
+	private static final int DEFAULT_MIN_REPLICATIONS = 2;
+	private static final int DEFAULT_MAX_REPLICATIONS = 100;
+	private static final int DEFAULT_REPLICATION_SAMPLES = 100000;
+	//the data analyzers need at least this number of samples
+	private static final int MIN_REPLICATION_SAMPLES = 5000;
+
+	//xml file containing model definition
+	private File simModelDefinition;
+	private String simModelDefinitionPath;
+
+	//if true, the simulation seed is generated randomly
+	private boolean automaticSeed = true;
+	//the seed used to generate the seeds of all the replications
+	private long simulationSeed;
+
+	//number of threads used to run the replications
+	private int threads;
+	//minimum and maximum number of replications
+	private int minReplications = DEFAULT_MIN_REPLICATIONS;
+	private int maxReplications = DEFAULT_MAX_REPLICATIONS;
+	//number of samples analyzed by each replication for each measure
+	private int replicationSamples = DEFAULT_REPLICATION_SAMPLES;
+
+	private long maxDuration = -1;
+	private boolean isTerminalSimulation;
+
+	//the replications that are currently running
+	private List<Simulation> running = new LinkedList<Simulation>();
+	//true if the maximum duration has expired
+	private volatile boolean timeout = false;
+	//true when no more replications are needed
+	private volatile boolean stopped = false;
+
+	private ReplicationStatistics[] statistics;
+	private File outputFile;
+
+	private JSimLogger logger = JSimLogger.getLogger(JSimLogger.STD_LOGGER);
+
+	/**
+	 * This constructor receives the absolute path of the xml file containing
+	 * the model to be solved.
+	 * The model must be described using the SIMmodeldefinition.xsd schema
+	 *
+	 * @param absolutePath absolute path of the xml file containing the
+	 * model to be solved
+	 */
+	public DispatcherJSIMreplications(String absolutePath) {
+		this(new File(absolutePath));
+	}
+
+	/**
+	 * This constructor receives the xml file containing the model to be solved.
+	 * The model must be described using the SIMmodeldefinition.xsd schema
+	 *
+	 * @param model the xml file containing the model to be solved
+	 */
+	public DispatcherJSIMreplications(File model) {
+		simModelDefinition = model;
+		simModelDefinitionPath = model.getAbsolutePath();
+		threads = Runtime.getRuntime().availableProcessors();
+	}
+
+	/**
+	 * By invoking this method, simulation will generate a random simulation seed
+	 */
+	public void automaticSimulationSeed() {
+		automaticSeed = true;
+	}
+
+	/**
+	 * Specifies the seed used to generate the seeds of all the replications.
+	 * @param seed the simulation seed
+	 */
+	public void setSimulationSeed(long seed) {
+		simulationSeed = seed;
+		automaticSeed = false;
+	}
+
+	/**
+	 * Sets simulation max duration time. When it expires, no more replications are started
+	 * and the running ones are aborted and discarded.
+	 * @param durationMillis maximum time in milliseconds
+	 */
+	public void setSimulationMaxDuration(long durationMillis) {
+		maxDuration = durationMillis;
+	}
+
+	/**
+	 * Sets the number of replications run concurrently.
+	 * @param threads the number of threads
+	 */
+	public void setThreads(int threads) {
+		this.threads = Math.max(threads, 1);
+	}
+
+	/**
+	 * Sets the minimum number of replications to be run, even if the requested
+	 * precision is reached before.
+	 * @param minReplications the minimum number of replications (at least 2)
+	 */
+	public void setMinReplications(int minReplications) {
+		this.minReplications = Math.max(minReplications, DEFAULT_MIN_REPLICATIONS);
+	}
+
+	/**
+	 * Sets the maximum number of replications to be run.
+	 * @param maxReplications the maximum number of replications
+	 */
+	public void setMaxReplications(int maxReplications) {
+		this.maxReplications = Math.max(maxReplications, 1);
+	}
+
+	/**
+	 * Sets the number of samples analyzed by each replication for each measure. The maximum
+	 * number of samples of the model is used if it is smaller.
+	 * @param replicationSamples the number of samples (at least 5000)
+	 */
+	public void setReplicationSamples(int replicationSamples) {
+		this.replicationSamples = Math.max(replicationSamples, MIN_REPLICATION_SAMPLES);
+	}
+
+	public void setTerminalSimulation(boolean isTerminalSimulation) {
+		this.isTerminalSimulation = isTerminalSimulation;
+	}
+
+	public boolean solveModel() throws Exception {
+		// does model file exist??
+		if (!simModelDefinition.exists()) {
+			//the passed file does not exist
+			logger.error("The sim model file " + simModelDefinitionPath + " does not exist...");
+			return false;
+		} else {
+			logger.debug("Sim model definition path: " + simModelDefinitionPath);
+		}
+
+		if (automaticSeed) {
+			// Generate only positive integers (to facilitate replay in the gui)
+			simulationSeed = new MersenneTwister().nextInt();
+			if (simulationSeed < 0) {
+				simulationSeed = -simulationSeed;
+			}
+		}
+		// The model is parsed and validated once. Each replication loads its own copy, that
+		// analyzes a fixed number of samples without statistical stop.
+		SimLoader modelLoader = new SimLoader(simModelDefinitionPath);
+		Document model = modelLoader.getDocument();
+		if (model == null || modelLoader.getSim() == null) {
+			logger.error("The sim model file " + simModelDefinitionPath + " could not be loaded");
+			return false;
+		}
+		int samples = Math.min(replicationSamples, modelLoader.getSim().getSimParameters().getMaxSamples());
+		Element root = model.getDocumentElement();
+		root.setAttribute("maxSamples", Integer.toString(samples));
+		root.setAttribute("disableStatisticStop", "true");
+
+		// Each replication uses a distinct seed drawn from a master generator
+		MersenneTwister seeds = new MersenneTwister(simulationSeed);
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CompletionService<Replication> completion = new ExecutorCompletionService<Replication>(executor);
+		ExecutorService timer = Executors.newSingleThreadExecutor();
+		if (maxDuration > 0) {
+			timer.submit(new Runnable() {
+				public void run() {
+					try {
+						Thread.sleep(maxDuration);
+						timeout = true;
+						abortRunningReplications();
+					} catch (InterruptedException ex) {
+						// Nothing to do.
+					}
+				}
+			});
+		}
+
+		long start = System.currentTimeMillis();
+		Simulation last = null;
+		//completed replications waiting for the previous ones to be merged
+		Map<Integer, Simulation> completed = new HashMap<Integer, Simulation>();
+		int submitted = 0;
+		int replications = 0;
+		try {
+			for (; submitted < Math.min(threads, maxReplications); submitted++) {
+				completion.submit(new Replication(submitted, seeds.nextLong(), (Document) model.cloneNode(true)));
+			}
+			while (replications < submitted) {
+				Replication done = getResult(completion.take());
+				if (done == null || timeout) {
+					break;
+				}
+				completed.put(done.index, done.sim);
+				while (!stopped && completed.containsKey(replications)) {
+					last = completed.remove(replications);
+					addReplication(last);
+					replications++;
+					stopped = replications >= minReplications && isPrecisionReached();
+				}
+				if (stopped) {
+					break;
+				}
+				if (submitted < maxReplications) {
+					completion.submit(new Replication(submitted, seeds.nextLong(), (Document) model.cloneNode(true)));
+					submitted++;
+				}
+			}
+		} finally {
+			// the replications still running are not needed anymore
+			stopped = true;
+			abortRunningReplications();
+			executor.shutdownNow();
+			timer.shutdownNow();
+		}
+
+		long elapsed = (System.currentTimeMillis() - start) / 1000;
+		if (last == null) {
+			logger.error("No replication of model " + simModelDefinitionPath + " was completed");
+			return false;
+		}
+
+		XMLReplicationOutput output = new XMLReplicationOutput(last, statistics);
+		outputFile = output.writeAllMeasures();
+
+		logger.info("Model " + simModelDefinitionPath + " solved by JSIM with " + replications + " replications in "
+				+ Double.toString(elapsed) + " seconds");
+		return true;
+	}
+
+	public boolean solveHandlingExceptions() {
+		try {
+			return solveModel();
+		} catch (Exception ex) {
+			ex.printStackTrace();
+			logger.error(ex.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Waits for the end of a replication.
+	 * @param result the future result of the replication
+	 * @return the completed replication, or null if it was not run
+	 * @throws Exception if the replication could not be loaded or run
+	 */
+	private Replication getResult(Future<Replication> result) throws Exception {
+		try {
+			return result.get();
+		} catch (ExecutionException ex) {
+			if (ex.getCause() instanceof Exception) {
+				throw (Exception) ex.getCause();
+			}
+			throw ex;
+		}
+	}
+
+	/**
+	 * Adds the measures of a completed replication to the merged statistics.
+	 * @param sim the completed replication
+	 */
+	private void addReplication(Simulation sim) {
+		LinkedList<Measure> measures = sim.getNetwork().getMeasures();
+		if (statistics == null) {
+			statistics = new ReplicationStatistics[measures.size()];
+			for (int i = 0; i < statistics.length; i++) {
+				Measure measure = measures.get(i);
+				statistics[i] = new ReplicationStatistics(measure.getAnalyzer().getAlfa(), measure.getAnalyzer().getPrecision());
+			}
+		}
+		for (int i = 0; i < statistics.length; i++) {
+			statistics[i].addReplication(measures.get(i));
+		}
+	}
+
+	/**
+	 * Tells if all the measures have reached the requested precision.
+	 * @return true if all the measures have reached the requested precision
+	 */
+	private boolean isPrecisionReached() {
+		if (statistics == null) {
+			return false;
+		}
+		for (ReplicationStatistics stat : statistics) {
+			if (!stat.getSuccess()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Aborts all the measures of the running replications, so that they terminate.
+	 */
+	private void abortRunningReplications() {
+		synchronized (running) {
+			for (Simulation sim : running) {
+				if (sim.getNetSystem().pause()) {
+					for (Measure measure : sim.getNetwork().getMeasures()) {
+						measure.abortMeasure();
+					}
+					sim.getNetSystem().restartFromPause();
+				}
+			}
+		}
+		logger.debug("All running replications have been aborted");
+	}
+
+	/**
+	 * Returns the merged statistics of the measures, in the same order of the measures
+	 * defined in the model.
+	 * @return the merged statistics, or null if no replication was completed
+	 */
+	public ReplicationStatistics[] getStatistics() {
+		return statistics;
+	}
+
+	/**
+	 * Returns output file handler
+	 * @return output file handler or null if a problem occurred
+	 */
+	public File getOutputFile() {
+		return outputFile;
+	}
+
+	/**
+	 * Loads, initializes and runs a single replication of the model.
+	 */
+	private class Replication implements Callable<Replication> {
+
+		private int index;
+		private long seed;
+		private Document model;
+		private Simulation sim;
+
+		/**
+		 * @param index the position of the replication in the sequence of seeds
+		 * @param seed the seed of the replication
+		 * @param model a copy of the model owned by this replication
+		 */
+		public Replication(int index, long seed, Document model) {
+			this.index = index;
+			this.seed = seed;
+			this.model = model;
+		}
+
+		/* (non-Javadoc)
+		 * @see java.util.concurrent.Callable#call()
+		 */
+		public Replication call() throws Exception {
+			if (timeout || stopped) {
+				return null;
+			}
+			SimLoader simLoader = new SimLoader(model, simModelDefinitionPath);
+			model = null;
+			sim = simLoader.getSim();
+			sim.setTerminalSimulation(isTerminalSimulation);
+			sim.setXmlSimModelDefPath(simModelDefinitionPath);
+			sim.setOutputEnabled(false);
+			sim.setRandomEngineSeed(seed);
+			sim.initialize();
+			synchronized (running) {
+				if (timeout || stopped) {
+					return null;
+				}
+				running.add(sim);
+			}
+			try {
+				sim.run();
+			} finally {
+				synchronized (running) {
+					running.remove(sim);
+				}
+			}
+			return this;
+		}
+
+	}
+
+}
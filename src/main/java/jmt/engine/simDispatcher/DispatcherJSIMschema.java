@@ -24,16 +24,18 @@ import java.util.Vector;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
-import jmt.common.exception.NetException;
 import jmt.engine.QueueNet.NetSystem;
 import jmt.engine.QueueNet.QueueNetwork;
 import jmt.engine.dataAnalysis.Measure;
+import jmt.engine.dataAnalysis.MeasureSnapshot;
 import jmt.engine.dataAnalysis.TempMeasure;
 import jmt.engine.log.JSimLogger;
 import jmt.engine.random.engine.RandomEngine;
 import jmt.engine.simEngine.SimLoader;
 import jmt.engine.simEngine.Simulation;
 
+import org.w3c.dom.Document;
+
 /**
  * Receives the absolute path of a xml file which describes the model using the
  * SIMmodeldefinition.xsd schema.
@@ -49,6 +51,8 @@ public class DispatcherJSIMschema {
 
 	//xml files containing model definition, simmodel definition and sim results
 	File simModelDefinition;
+	//in-memory model definition, used instead of the xml file if not null
+	Document simModelDocument;
 	File simResults;
 
 	//path of the xml files
@@ -79,6 +83,8 @@ public class DispatcherJSIMschema {
 	private Vector<Integer> measuresToAbort = new Vector<Integer>(); // Vector with measures to abort at refresh
 
 	private long maxDuration = -1;
+	//if false the results are not saved to a xml file at the end of the simulation
+	private boolean outputEnabled = true;
 
 	private Simulation sim;
 	boolean isTerminalSimulation;
@@ -109,6 +115,17 @@ public class DispatcherJSIMschema {
 		simModelDefinitionPath = model.getAbsolutePath();
 	}
 
+	/**
+	 * This constructor receives the DOM description of the model to be solved, that
+	 * is already in memory, so that there is no need to save it to a file and parse it again.
+	 * The model must be described using the SIMmodeldefinition.xsd schema
+	 *
+	 * @param model the DOM description of the model to be solved
+	 */
+	public DispatcherJSIMschema(Document model) {
+		simModelDocument = model;
+	}
+
 	/**
 	 * By invoking this method, simulation will generate a random simulation seed
 	 */
@@ -133,10 +150,21 @@ public class DispatcherJSIMschema {
 		maxDuration = durationMillis;
 	}
 
+	/**
+	 * Sets if the results should be saved to a xml file at the end of the simulation.
+	 * If disabled, the results can be read from the measures of the simulation.
+	 * @param outputEnabled true to save the results to a xml file
+	 */
+	public void setOutputEnabled(boolean outputEnabled) {
+		this.outputEnabled = outputEnabled;
+	}
+
 	public boolean solveModel() throws Exception {
 		/*********************SIM DEFINITION MODEL*********************/
 		// does model file exist??
- 		if (!simModelDefinition.exists()) {
+		if (simModelDocument != null) {
+			logger.debug("Sim model definition loaded from memory");
+		} else if (!simModelDefinition.exists()) {
 			//the passed file does not exist
 			logger.error("The sim model file " + simModelDefinitionPath + " does not exist...");
 			return false;
@@ -147,9 +175,15 @@ public class DispatcherJSIMschema {
 		/*********************SIMULATION LOADING AND RUNNING*********************/
 		//now prepare simulation
 		//try {
-		SimLoader simLoader = new SimLoader(simModelDefinitionPath);
+		SimLoader simLoader;
+		if (simModelDocument != null) {
+			simLoader = new SimLoader(simModelDocument, simModelDefinitionPath);
+		} else {
+			simLoader = new SimLoader(simModelDefinitionPath);
+		}
 		sim = simLoader.getSim();
 		sim.setTerminalSimulation(isTerminalSimulation);
+		sim.setOutputEnabled(outputEnabled);
 
 		//sets in the Simulation object the path of the
 		//xml model definition
@@ -204,7 +238,8 @@ public class DispatcherJSIMschema {
 		// Shutdown the simulation timer, if any.
 		es.shutdownNow();
 
-		logger.info("Model " + simModelDefinitionPath + " solved by JSIM in " + Double.toString(elapsed) + " seconds");
+		String modelName = (simModelDocument != null) ? sim.getName() : simModelDefinitionPath;
+		logger.info("Model " + modelName + " solved by JSIM in " + Double.toString(elapsed) + " seconds");
 
 		return true;
 	}
@@ -262,7 +297,8 @@ public class DispatcherJSIMschema {
 	}
 
 	/**
-	 * Pauses the simulation, refreshes temp measures and then restarts simulation
+	 * Refreshes temp measures with the last snapshots published by the simulation,
+	 * without pausing it
 	 */
 	public synchronized void refreshTempMeasures() {
 		//simulation not started yet
@@ -270,51 +306,44 @@ public class DispatcherJSIMschema {
 			return;
 		}
 
-		//pauses the computation
-		if (pauseSim()) {
-			// Aborts measures (if any)
-			while (!measuresToAbort.isEmpty()) {
-				int index = measuresToAbort.remove(0).intValue();
-				tempMeasures[index].abort();
-			}
-
-			//at the first execution, measures must be retrieved
-			if (tempMeasures == null) {
-				if (net == null) {
-					return;
-				} else {
-					//gets the measures defined for this queue network
-					LinkedList<Measure> measures = net.getMeasures();
+		//at the first execution, measures must be retrieved
+		if (tempMeasures == null) {
+			if (net == null) {
+				return;
+			} else {
+				//gets the measures defined for this queue network
+				LinkedList<Measure> measures = net.getMeasures();
 
-					//creates the array of temp measures
-					tempMeasures = new TempMeasure[measures.size()];
+				//creates the array of temp measures
+				tempMeasures = new TempMeasure[measures.size()];
 
-					for (int m = 0; m < measures.size(); m++) {
-						tempMeasures[m] = new TempMeasure(measures.get(m));
-						tempMeasures[m].refreshMeasure();
-					}
-				}
-			} else {
-				//temp measures have already been retrieved
-				//only refresh temp values
-				for (TempMeasure tempMeasure : tempMeasures) {
-					tempMeasure.refreshMeasure();
+				for (int m = 0; m < measures.size(); m++) {
+					tempMeasures[m] = new TempMeasure(measures.get(m));
 				}
 			}
-			// Updates simulation progress
-			try {
-				progress = net.getNetSystem().checkProgress(net);
-			} catch (NetException e) {
-				progress = 0.0;
-			}
-
-			//restart computation
-			restartSim();
+		}
 
-		} else if (simFinished) { // Gets last value for each measure
+		if (simFinished) {
+			// Gets last value for each measure
 			for (TempMeasure tempMeasure : tempMeasures) {
 				tempMeasure.refreshMeasure();
 			}
+			return;
+		}
+
+		// Aborts measures (if any) at the next refresh of the simulation
+		while (!measuresToAbort.isEmpty()) {
+			int index = measuresToAbort.remove(0).intValue();
+			net.abortMeasureAtRefresh(net.getMeasures().get(index));
+		}
+
+		MeasureSnapshot[] snapshots = net.getMeasureSnapshots();
+		if (snapshots != null) {
+			for (int m = 0; m < tempMeasures.length; m++) {
+				tempMeasures[m].refreshMeasure(snapshots[m]);
+			}
+			// Updates simulation progress
+			progress = net.getProgress();
 		}
 	}
 
@@ -380,16 +409,13 @@ public class DispatcherJSIMschema {
 	 * Prints on System.out the temp values of measures that have not finished yet
 	 */
 	public void printTempMeasures() {
-		if (pauseSim()) {
-			if (tempMeasures != null) {
-				for (TempMeasure tempMeasure : tempMeasures) {
-					TempMeasure temp = tempMeasure;
-					if (!temp.isFinished()) {
-						System.out.println(temp.getName() + ": " + Double.toString(temp.getTempMean()) + " " + temp.getNsamples());
-					}
+		if (tempMeasures != null) {
+			for (TempMeasure tempMeasure : tempMeasures) {
+				TempMeasure temp = tempMeasure;
+				if (!temp.isFinished()) {
+					System.out.println(temp.getName() + ": " + Double.toString(temp.getTempMean()) + " " + temp.getNsamples());
 				}
 			}
-			restartSim();
 		}
 	}
 
@@ -0,0 +1,303 @@
+/**
+ * Copyright (C) 2016, Laboratorio di Valutazione delle Prestazioni - Politecnico di Milano
+
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package jmt.engine.simEngine;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p><b>Name:</b> IndexedEventQueue</p>
+ * <p><b>Description:</b>
+ * An implementation of the EventQueue interface based on an indexed 4-ary heap. Each queued SimEvent stores
+ * its current slot in the heap, so that add, pop and remove operations are all performed in log(n) time.
+ * This is useful for models where scheduled events are frequently cancelled (for example processor sharing
+ * servers, preemptive servers and reneging timers), as the HybridEventQueue needs a linear scan to remove
+ * a future event.
+ * <br>
+ * Events are ordered by event time and, for equal event times, by insertion order, so the sequence of
+ * retrieved events is the same one of the HybridEventQueue.
+ * </p>
+ * @version 1.0
+ */
+public class IndexedEventQueue implements EventQueue {
+
+	private static final int DEFAULT_INITIAL_CAPACITY = 111;
+	/** Number of children of each heap node */
+	private static final int ARITY = 4;
+
+	/** Heap of events */
+	private SimEvent[] heap;
+	/** Number of events in the heap */
+	private int size;
+	/** A counter used to order events basing on event time and insertion order */
+	private int order;
+	/** Number of structural modifications, used to detect concurrent modifications in iterators */
+	private int modCount;
+
+	public IndexedEventQueue() {
+		clear();
+	}
+
+	/* (non-Javadoc)
+	 * @see jmt.engine.simEngine.EventQueue#add(jmt.engine.simEngine.SimEvent)
+	 */
+	public boolean add(SimEvent event) {
+		if (order == Integer.MAX_VALUE) {
+			// Need to rebuild order indices because they were finished. Probably this case will never happen
+			// but we are robust to it.
+			rebuildOrderIndices();
+		}
+		if (size == heap.length) {
+			SimEvent[] newHeap = new SimEvent[heap.length * 2];
+			System.arraycopy(heap, 0, newHeap, 0, size);
+			heap = newHeap;
+		}
+		event.internalOrdering = order++;
+		siftUp(size++, event);
+		modCount++;
+		return true;
+	}
+
+	/* (non-Javadoc)
+	 * @see jmt.engine.simEngine.EventQueue#clear()
+	 */
+	public void clear() {
+		if (heap != null) {
+			for (int i = 0; i < size; i++) {
+				heap[i].heapIndex = -1;
+			}
+		}
+		heap = new SimEvent[DEFAULT_INITIAL_CAPACITY];
+		size = 0;
+		order = Integer.MIN_VALUE;
+		modCount++;
+	}
+
+	/* (non-Javadoc)
+	 * @see jmt.engine.simEngine.EventQueue#iterator()
+	 */
+	public Iterator<SimEvent> iterator() {
+		return new Iter();
+	}
+
+	/* (non-Javadoc)
+	 * @see jmt.engine.simEngine.EventQueue#peek()
+	 */
+	public SimEvent peek() {
+		if (size > 0) {
+			return heap[0];
+		} else {
+			return null;
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see jmt.engine.simEngine.EventQueue#pop()
+	 */
+	public SimEvent pop() {
+		if (size > 0) {
+			SimEvent first = heap[0];
+			removeAt(0);
+			return first;
+		} else {
+			return null;
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see jmt.engine.simEngine.EventQueue#remove(jmt.engine.simEngine.SimEvent)
+	 */
+	public boolean remove(SimEvent event) {
+		int index = event.heapIndex;
+		if (index < 0 || index >= size || heap[index] != event) {
+			return false;
+		}
+		removeAt(index);
+		return true;
+	}
+
+	/* (non-Javadoc)
+	 * @see jmt.engine.simEngine.EventQueue#size()
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Removes the event in the given slot of the heap, replacing it with the last event.
+	 * @param index the slot of the event to remove
+	 */
+	private void removeAt(int index) {
+		SimEvent removed = heap[index];
+		removed.heapIndex = -1;
+		size--;
+		SimEvent last = heap[size];
+		heap[size] = null;
+		if (index < size) {
+			siftDown(index, last);
+			if (heap[index] == last) {
+				siftUp(index, last);
+			}
+		}
+		modCount++;
+	}
+
+	/**
+	 * Moves the given event up in the heap, starting from the given slot.
+	 * @param index the starting slot
+	 * @param event the event to place
+	 */
+	private void siftUp(int index, SimEvent event) {
+		while (index > 0) {
+			int parentIndex = (index - 1) / ARITY;
+			SimEvent parent = heap[parentIndex];
+			if (compare(event, parent) >= 0) {
+				break;
+			}
+			heap[index] = parent;
+			parent.heapIndex = index;
+			index = parentIndex;
+		}
+		heap[index] = event;
+		event.heapIndex = index;
+	}
+
+	/**
+	 * Moves the given event down in the heap, starting from the given slot.
+	 * @param index the starting slot
+	 * @param event the event to place
+	 */
+	private void siftDown(int index, SimEvent event) {
+		while (true) {
+			int firstChild = index * ARITY + 1;
+			if (firstChild >= size) {
+				break;
+			}
+			int lastChild = Math.min(firstChild + ARITY, size);
+			int minIndex = firstChild;
+			SimEvent min = heap[firstChild];
+			for (int i = firstChild + 1; i < lastChild; i++) {
+				if (compare(heap[i], min) < 0) {
+					minIndex = i;
+					min = heap[i];
+				}
+			}
+			if (compare(min, event) >= 0) {
+				break;
+			}
+			heap[index] = min;
+			min.heapIndex = index;
+			index = minIndex;
+		}
+		heap[index] = event;
+		event.heapIndex = index;
+	}
+
+	/**
+	 * This method will rebuild the heap with new order indices. As the total number of indices is
+	 * 2^32 this method probably will never be called.
+	 */
+	private void rebuildOrderIndices() {
+		SimEvent[] sorted = new SimEvent[size];
+		int count = 0;
+		while (size > 0) {
+			sorted[count++] = pop();
+		}
+		order = Integer.MIN_VALUE;
+		for (int i = 0; i < count; i++) {
+			sorted[i].internalOrdering = order++;
+			siftUp(size++, sorted[i]);
+		}
+	}
+
+	/**
+	 * Compares two events basing on event time and insertion order.
+	 * @param e1 the first event
+	 * @param e2 the second event
+	 * @return a negative integer, zero, or a positive integer as the first event is
+	 * before, equal to, or after the second one.
+	 */
+	private static int compare(SimEvent e1, SimEvent e2) {
+		if (e1.time > e2.time) {
+			return 1;
+		} else if (e1.time < e2.time) {
+			return -1;
+		} else if (e1.internalOrdering > e2.internalOrdering) {
+			return 1;
+		} else if (e1.internalOrdering < e2.internalOrdering) {
+			return -1;
+		} else {
+			return 0;
+		}
+	}
+
+	/**
+	 * Internal Iterator implementation. Events are returned in no special order. As a removal may
+	 * move not yet visited events in already visited slots, the iterator works on a snapshot of the heap.
+	 */
+	private class Iter implements Iterator<SimEvent> {
+		private SimEvent[] snapshot = new SimEvent[size];
+		private int next = 0;
+		private SimEvent lastReturned = null;
+		private int expectedModCount = modCount;
+
+		private Iter() {
+			System.arraycopy(heap, 0, snapshot, 0, size);
+		}
+
+		/* (non-Javadoc)
+		 * @see java.util.Iterator#hasNext()
+		 */
+		public boolean hasNext() {
+			return next < snapshot.length;
+		}
+
+		/* (non-Javadoc)
+		 * @see java.util.Iterator#next()
+		 */
+		public SimEvent next() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (next >= snapshot.length) {
+				throw new NoSuchElementException();
+			}
+			lastReturned = snapshot[next++];
+			return lastReturned;
+		}
+
+		/* (non-Javadoc)
+		 * @see java.util.Iterator#remove()
+		 */
+		public void remove() {
+			if (lastReturned == null) {
+				throw new IllegalStateException();
+			}
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			IndexedEventQueue.this.remove(lastReturned);
+			lastReturned = null;
+			expectedModCount = modCount;
+		}
+
+	}
+
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright (C) 2016, Laboratorio di Valutazione delle Prestazioni - Politecnico di Milano
+
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package jmt.engine.simEngine;
+
+import java.util.Iterator;
+
+import jmt.framework.data.CircularList;
+
+/**
+ * <p><b>Name:</b> MailboxEventQueue</p>
+ * <p><b>Description:</b>
+ * The deferred event queue of a single SimEntity. Events are kept sorted by event time and, for equal
+ * event times, by insertion order, like in the ListEventQueue. As deferred events are usually generated
+ * at the current simulation time, they are appended to the tail of an unbounded circular list in constant time.
+ * </p>
+ * @version 1.0
+ */
+public class MailboxEventQueue implements EventQueue {
+
+	private static final int DEFAULT_INITIAL_CAPACITY = 4;
+
+	/** Deferred events */
+	private CircularList<SimEvent> events;
+
+	public MailboxEventQueue() {
+		events = new CircularList<SimEvent>(DEFAULT_INITIAL_CAPACITY);
+	}
+
+	/* (non-Javadoc)
+	 * @see jmt.engine.simEngine.EventQueue#add(jmt.engine.simEngine.SimEvent)
+	 */
+	public boolean add(SimEvent event) {
+		// Finds the last event that is not after the new one, starting from the tail
+		int index = events.size();
+		while (index > 0 && events.get(index - 1).eventTime() > event.eventTime()) {
+			index--;
+		}
+		events.add(index, event);
+		return true;
+	}
+
+	/* (non-Javadoc)
+	 * @see jmt.engine.simEngine.EventQueue#clear()
+	 */
+	public void clear() {
+		events.clear();
+	}
+
+	/* (non-Javadoc)
+	 * @see jmt.engine.simEngine.EventQueue#iterator()
+	 */
+	public Iterator<SimEvent> iterator() {
+		return events.iterator();
+	}
+
+	/* (non-Javadoc)
+	 * @see jmt.engine.simEngine.EventQueue#peek()
+	 */
+	public SimEvent peek() {
+		if (events.size() > 0) {
+			return events.getFirst();
+		} else {
+			return null;
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see jmt.engine.simEngine.EventQueue#pop()
+	 */
+	public SimEvent pop() {
+		if (events.size() > 0) {
+			return events.removeFirst();
+		} else {
+			return null;
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see jmt.engine.simEngine.EventQueue#remove(jmt.engine.simEngine.SimEvent)
+	 */
+	public boolean remove(SimEvent event) {
+		return events.remove(event);
+	}
+
+	/* (non-Javadoc)
+	 * @see jmt.engine.simEngine.EventQueue#size()
+	 */
+	public int size() {
+		return events.size();
+	}
+
+}
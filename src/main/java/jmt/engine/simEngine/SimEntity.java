@@ -40,6 +40,7 @@ public abstract class SimEntity {
 	public SimEvent evbuf; // For incoming events
 	protected int state; // Our current state from list below
 	private SimPredicate waitingPred; //the predicate that the SimWaitFor is waiting
+	private EventQueue deferred; // Deferred events for this entity
 	protected SimSystem simSystem;
 
 	//
@@ -54,6 +55,7 @@ public abstract class SimEntity {
 		this.name = name;
 		me = -1;
 		state = RUNNABLE;
+		deferred = new MailboxEventQueue();
 		//this.simSystem = simSystem;
 		// Adding this to SimSystem automatically
 		//simSystem.add(this);
@@ -180,7 +182,15 @@ public abstract class SimEntity {
 	 * @return The count of events
 	 */
 	public final int simWaiting() {
-		return simSystem.waiting(me, SimSystem.SIM_ANY);
+		return deferred.size();
+	}
+
+	/** Tells if there are events waiting for this entity on the deferred queue.
+	 * This is a constant time check, useful to avoid scanning the deferred queue.
+	 * @return true if at least one event is waiting
+	 */
+	public final boolean simHasDeferred() {
+		return deferred.size() > 0;
 	}
 
 	/** Extract the first event waiting for this entity on the deferred
@@ -234,7 +244,7 @@ public abstract class SimEntity {
 	 * @param p The predicate to match
 	 */
 	public final void simGetNext(SimPredicate p) {
-		if (simWaiting(p) > 0) {
+		if (deferred.size() > 0 && simWaiting(p) > 0) {
 			simSelect(p);
 		} else {
 			simWaitFor(p);
@@ -308,6 +318,10 @@ public abstract class SimEntity {
 		evbuf = e;
 	}
 
+	final EventQueue getDeferred() {
+		return deferred;
+	}
+
 	/**
 	 * Changes the state of the entity into FINISHED.
 	 */
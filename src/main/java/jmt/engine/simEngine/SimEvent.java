@@ -18,6 +18,8 @@ public class SimEvent implements Cloneable {
 	private Object data; // any data the event is carrying
 	/** This field should never be set explicitly. it is used by the EventQueue for ordering purposes. */
 	int internalOrdering;
+	/** This field should never be set explicitly. it is used by the IndexedEventQueue to find the event slot. */
+	int heapIndex = -1;
 
 	//
 	// Public library interface
@@ -28,9 +28,10 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.swing.*;
-import javax.xml.parsers.DocumentBuilderFactory;
 
 import com.google.gson.Gson;
 import jmt.common.exception.IncorrectDistributionParameterException;
@@ -44,6 +45,7 @@ import jmt.engine.NetStrategies.RoutingStrategies.LoadDependentRoutingParameter;
 import jmt.engine.NetStrategies.ServiceStrategies.LDParameter;
 import jmt.engine.NodeSections.InputSection;
 import jmt.engine.NodeSections.OutputSection;
+import jmt.engine.NodeSections.PSServer;
 import jmt.engine.NodeSections.ServiceSection;
 import jmt.engine.QueueNet.JobClass;
 import jmt.engine.QueueNet.NetNode;
@@ -56,8 +58,11 @@ import jmt.engine.random.Burst;
 import jmt.engine.random.Distribution;
 import jmt.engine.random.Empirical;
 import jmt.engine.random.Exponential;
+import jmt.engine.random.engine.RandomEngine;
 
 import org.apache.xerces.parsers.DOMParser;
+import org.apache.xerces.util.XMLGrammarPoolImpl;
+import org.apache.xerces.xni.grammars.XMLGrammarPool;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
@@ -89,6 +94,12 @@ public class SimLoader {
 	//used for debug purposes
 	private static final boolean DEBUG = false;
 
+	//compiled xml schemas, shared by all the loaders
+	private static final XMLGrammarPool GRAMMAR_POOL = new XMLGrammarPoolImpl();
+	//classes and constructors resolved while loading models, shared by all the loaders
+	private static final ConcurrentMap<String, Class<?>> CLASS_CACHE = new ConcurrentHashMap<String, Class<?>>();
+	private static final ConcurrentMap<ConstructorKey, Constructor<?>> CONSTRUCTOR_CACHE = new ConcurrentHashMap<ConstructorKey, Constructor<?>>();
+
 	//represents the entire XML document. it is the root
 	//of the document tree, and provides the primary access to the document's data
 	Document document;
@@ -101,6 +112,13 @@ public class SimLoader {
 	//path of the xml file containing the sim model
 	private String simModelPath;
 
+	//name of the random streams of the components being created (node and section,
+	//parameter, job class) and number of streams created with each name
+	private String streamSection = "";
+	private String streamParameter = "";
+	private String streamClass = "";
+	private Map<String, Integer> streamCounts = new HashMap<String, Integer>();
+
 	/**
 	 * Creates a Simulation object, loading all the model definition from the
 	 * passed xml file
@@ -114,6 +132,23 @@ public class SimLoader {
 		load(is);
 	}
 
+	/**
+	 * Creates a Simulation object from a DOM description of the model that is already in
+	 * memory (for example the one created by the XMLWriter of the GUI), so that there is no
+	 * need to write it to a file and to parse it again. The document is not validated
+	 * against the schema.
+	 *
+	 * @param document the DOM description of the model, with the <em>sim</em> element as root
+	 * @param xmlPath the path of the xml model definition, used to save the results
+	 * (may be null)
+	 */
+	public SimLoader(Document document, String xmlPath) throws IOException, LoadException {
+		simModelPath = xmlPath;
+		this.document = document;
+		//creates a Simulation object
+		load(document);
+	}
+
 	private void load(InputStream is) throws LoadException {
 		if (is == null) {
 			throw new LoadException("File not Found");
@@ -122,10 +157,6 @@ public class SimLoader {
 		//create a parser
 		DOMParser parser = new DOMParser();
 
-		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-		factory.setValidating(true);
-		factory.setNamespaceAware(true);
-
 		try {
 			// turn on schema validation ( note need to set both sax and dom validation )
 			parser.setFeature("http://xml.org/sax/features/validation", true);
@@ -137,6 +168,8 @@ public class SimLoader {
 			String externalSchemaLocation = XSDSchemaLoader.loadSchema(XSDSchemaLoader.JSIM_MODEL_DEFINITION);
 			parser.setProperty("http://apache.org/xml/properties/schema/external-noNamespaceSchemaLocation", externalSchemaLocation);
 			//end NEW
+			//the schema is compiled only once and then shared by all the parsers
+			parser.setProperty("http://apache.org/xml/properties/internal/grammar-pool", GRAMMAR_POOL);
 
 			try {
 				//document parsing
@@ -150,376 +183,419 @@ public class SimLoader {
 			if (DEBUG) {
 				System.out.println(" created document");
 			}
-			//gets root
-			Element root = document.getDocumentElement();
-			if (DEBUG) {
-				System.out.println("root = " + root.getAttribute("name"));
+			load(document);
+		} catch (SAXNotRecognizedException e) {
+			e.printStackTrace();
+		} catch (SAXNotSupportedException e) {
+			e.printStackTrace();
+		} catch (SAXException sxe) {
+			// Error generated during parsing)
+			Exception x = sxe;
+			if (sxe.getException() != null) {
+				x = sxe.getException();
 			}
+			x.printStackTrace();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
 
-			//recovers the name of the simulation & creates a getLog with the same
-			//name
-			if (root.getNodeName() == null) {
-				throw new LoadException("Problems loading");
-			} else if (!root.getNodeName().equalsIgnoreCase("sim")) {
-				throw new LoadException("Problems loading");
-			}
+	/**
+	 * Creates the Simulation object from the DOM description of the model.
+	 * @param document the DOM description of the model
+	 * @throws IOException if the simulation cannot be created
+	 * @throws LoadException if the model cannot be loaded
+	 */
+	private void load(Document document) throws IOException, LoadException {
+		//gets root
+		Element root = document.getDocumentElement();
+		if (DEBUG) {
+			System.out.println("root = " + root.getAttribute("name"));
+		}
 
-			//OLD
-			//sim = new Simulation(root.getAttribute("name"), root.getAttribute("debug").equals("true"));
+		//recovers the name of the simulation & creates a getLog with the same
+		//name
+		if (root.getNodeName() == null) {
+			throw new LoadException("Problems loading");
+		} else if (!root.getNodeName().equalsIgnoreCase("sim")) {
+			throw new LoadException("Problems loading");
+		}
 
-			//NEW
-			//@author Stefano Omini
-			//default values
-			long seed = -1;
-			String simName = "";
+		//OLD
+		//sim = new Simulation(root.getAttribute("name"), root.getAttribute("debug").equals("true"));
 
-			if (root.hasAttribute("name")) {
-				simName = root.getAttribute("name");
-			}
+		//NEW
+		//@author Stefano Omini
+		//default values
+		long seed = -1;
+		String simName = "";
 
-			//variable debug is no longer USED
+		if (root.hasAttribute("name")) {
+			simName = root.getAttribute("name");
+		}
 
-			if (root.getAttribute("seed") != "") {
-				seed = Long.parseLong(root.getAttribute("seed"));
-			}
+		//variable debug is no longer USED
 
-			if (simName.equalsIgnoreCase("")) {
-				//NEW
-				//@author Stefano Omini
-				//no name specified: uses current time as name
-				String datePattern = "yyyyMMdd_HHmmss";
-				SimpleDateFormat formatter = new SimpleDateFormat(datePattern);
+		if (root.getAttribute("seed") != "") {
+			seed = Long.parseLong(root.getAttribute("seed"));
+		}
 
-				Date today = new Date();
-				String todayString = formatter.format(today);
+		if (simName.equalsIgnoreCase("")) {
+			//NEW
+			//@author Stefano Omini
+			//no name specified: uses current time as name
+			String datePattern = "yyyyMMdd_HHmmss";
+			SimpleDateFormat formatter = new SimpleDateFormat(datePattern);
 
-				simName = "JSIM_" + todayString;
+			Date today = new Date();
+			String todayString = formatter.format(today);
 
-				//OLD
-				//sim = new Simulation(seed, null, debug);
-				sim = new Simulation(seed, simName);
-				//end NEW
-			} else {
-				//OLD
-				//sim = new Simulation(seed, simName, debug);
-				sim = new Simulation(seed, simName);
-			}
+			simName = "JSIM_" + todayString;
 
-			sim.setXmlSimModelDefPath(simModelPath);
+			//OLD
+			//sim = new Simulation(seed, null, debug);
+			sim = new Simulation(seed, simName);
 			//end NEW
+		} else {
+			//OLD
+			//sim = new Simulation(seed, simName, debug);
+			sim = new Simulation(seed, simName);
+		}
 
-			//-------------- SIM PARAMETERS -------------------//
+		sim.setXmlSimModelDefPath(simModelPath);
+		//end NEW
 
-			//TODO: codice per fissare i sim parameters
+		//-------------- SIM PARAMETERS -------------------//
 
-			// Create a class SimParameter, whose parameters will be shared by all
-			// dynamic data analyzer in order to compute confidence intervals.
-			// For example, number of batches, batch size, ecc..
+		//TODO: codice per fissare i sim parameters
 
-			//this constructor will use default values
-			SimParameters simParam = new SimParameters();
+		// Create a class SimParameter, whose parameters will be shared by all
+		// dynamic data analyzer in order to compute confidence intervals.
+		// For example, number of batches, batch size, ecc..
 
-			//TODO: qui dovrei mettere blocchi tipo if (has attribute("batch")) then set(..) ecc
-			//una volta aggiunti nello schema dell'xml, vanno letti e
-			//inseriti coi rispettivi metodi set
+		//this constructor will use default values
+		SimParameters simParam = new SimParameters();
 
-			// {......}
+		//TODO: qui dovrei mettere blocchi tipo if (has attribute("batch")) then set(..) ecc
+		//una volta aggiunti nello schema dell'xml, vanno letti e
+		//inseriti coi rispettivi metodi set
 
-			//TODO: finita la parte con parsing e set degli attributi, si mette questo metodo
-			//(che per il momento si limita a settare i valori di default)
+		// {......}
 
-			//sets the reference in sim object
-			sim.setSimParameters(simParam);
+		//TODO: finita la parte con parsing e set degli attributi, si mette questo metodo
+		//(che per il momento si limita a settare i valori di default)
 
-			//gets the default value of maxSamples
-			//(max number of samples for each measure)
-			int maxSamples = simParam.getMaxSamples();
-			//gets the default value of minSamples
-			//(min number of samples for each measure)
-			int minSamples = simParam.getMinSamples();
-			//gets the default value of maxSimulatedTime
-			double maxSimulatedTime = simParam.getMaxSimulatedTime();
-			//gets the default value of maxProcessedEvents
-			int maxProcessedEvents = simParam.getMaxProcessedEvents();
-			//gets the default value of disableStatisticStop
-			boolean disableStatisticStop = simParam.isDisableStatisticStop();
+		//sets the reference in sim object
+		sim.setSimParameters(simParam);
 
-			// Gets the timestamp value
-			simParam.setTimestampValue(Long.toString(System.currentTimeMillis()));
+		//gets the default value of maxSamples
+		//(max number of samples for each measure)
+		int maxSamples = simParam.getMaxSamples();
+		//gets the default value of minSamples
+		//(min number of samples for each measure)
+		int minSamples = simParam.getMinSamples();
+		//gets the default value of maxSimulatedTime
+		double maxSimulatedTime = simParam.getMaxSimulatedTime();
+		//gets the default value of maxProcessedEvents
+		int maxProcessedEvents = simParam.getMaxProcessedEvents();
+		//gets the default value of disableStatisticStop
+		boolean disableStatisticStop = simParam.isDisableStatisticStop();
 
-			//-------------- end SIM PARAMETERS -------------------//
+		// Gets the timestamp value
+		simParam.setTimestampValue(Long.toString(System.currentTimeMillis()));
 
-			// Read maxSamples if specified
-			if (root.getAttribute("maxSamples") != "") {
-				maxSamples = Integer.parseInt(root.getAttribute("maxSamples"));
-				simParam.setMaxSamples(maxSamples);
-			}
+		//-------------- end SIM PARAMETERS -------------------//
 
-			// Read minSamples if specified
-			if (root.getAttribute("minSamples") != "") {
-				minSamples = Integer.parseInt(root.getAttribute("minSamples"));
-				simParam.setMinSamples(minSamples);
-			}
+		// Read maxSamples if specified
+		if (root.getAttribute("maxSamples") != "") {
+			maxSamples = Integer.parseInt(root.getAttribute("maxSamples"));
+			simParam.setMaxSamples(maxSamples);
+		}
 
-			// Read maxSimulatedTime if specified
-			if (root.getAttribute("maxSimulated") != "") {
-				maxSimulatedTime = Double.parseDouble(root.getAttribute("maxSimulated"));
-				simParam.setMaxSimulatedTime(maxSimulatedTime);
-			}
+		// Read minSamples if specified
+		if (root.getAttribute("minSamples") != "") {
+			minSamples = Integer.parseInt(root.getAttribute("minSamples"));
+			simParam.setMinSamples(minSamples);
+		}
 
-			// Read maxProcessedEvents if specified
-			if (root.getAttribute("maxEvents") != "") {
-				maxProcessedEvents = Integer.parseInt(root.getAttribute("maxEvents"));
-				simParam.setMaxProcessedEvents(maxProcessedEvents);
-			}
+		// Read maxSimulatedTime if specified
+		if (root.getAttribute("maxSimulated") != "") {
+			maxSimulatedTime = Double.parseDouble(root.getAttribute("maxSimulated"));
+			simParam.setMaxSimulatedTime(maxSimulatedTime);
+		}
 
-			// Disables confidence interval as stopping criteria
-			if (root.hasAttribute("disableStatisticStop")) {
-				disableStatisticStop = Boolean.parseBoolean(root.getAttribute("disableStatisticStop"));
-				simParam.setDisableStatisticStop(disableStatisticStop);
-			}
+		// Read maxProcessedEvents if specified
+		if (root.getAttribute("maxEvents") != "") {
+			maxProcessedEvents = Integer.parseInt(root.getAttribute("maxEvents"));
+			simParam.setMaxProcessedEvents(maxProcessedEvents);
+		}
 
-			// MF08 0.7.4  Michael Fercu (Bertoli Marco) -- re-defines global logger attributes
-			// for the purpose of passing them to the Logger constructor
-			if (root.hasAttribute("logPath")) {
-				String temp_lp = root.getAttribute("logPath");
-				simParam.setLogPath(temp_lp);
-			}
-			if (root.hasAttribute("logDelimiter")) {
-				String temp_ld = root.getAttribute("logDelimiter");
-				simParam.setLogDelimiter(temp_ld);
+		// Disables confidence interval as stopping criteria
+		if (root.hasAttribute("disableStatisticStop")) {
+			disableStatisticStop = Boolean.parseBoolean(root.getAttribute("disableStatisticStop"));
+			simParam.setDisableStatisticStop(disableStatisticStop);
+		}
+
+		// Selects the future event queue implementation
+		if (root.hasAttribute("eventQueue")) {
+			if (root.getAttribute("eventQueue").equalsIgnoreCase("indexed")) {
+				simParam.setEventQueue(SimSystem.INDEXED_EVENT_QUEUE);
+			} else {
+				simParam.setEventQueue(SimSystem.HYBRID_EVENT_QUEUE);
 			}
-			if (root.hasAttribute("logDecimalSeparator")) {
-				String temp_ld = root.getAttribute("logDecimalSeparator");
-				simParam.setLogDecimalSeparator(temp_ld);
+		}
+
+		// Selects how processor sharing servers perform the service of their jobs
+		if (root.hasAttribute("psService")) {
+			if (root.getAttribute("psService").equalsIgnoreCase("virtualTime")) {
+				simParam.setPSService(PSServer.VIRTUAL_TIME_SERVICE);
+			} else {
+				simParam.setPSService(PSServer.EXACT_SERVICE);
 			}
-			if (root.hasAttribute("logReplaceMode")) {
-				String temp_lr = root.getAttribute("logReplaceMode");
-				simParam.setLogReplaceMode(temp_lr);
+		}
+
+		// Selects the random streams used by the components of the model
+		if (root.hasAttribute("randomStreams")) {
+			if (root.getAttribute("randomStreams").equalsIgnoreCase("independent")) {
+				sim.getNetSystem().useRandomStreams(false);
+			} else if (root.getAttribute("randomStreams").equalsIgnoreCase("antithetic")) {
+				sim.getNetSystem().useRandomStreams(true);
 			}
-			//END MF08
+		}
 
-			//FIXME read measure logging attributes here...
+		// Selects the format of verbose measure outputs
+		if (root.hasAttribute("logFormat")) {
+			simParam.setBinaryLog(root.getAttribute("logFormat").equalsIgnoreCase("binary"));
+		}
 
-			//Returns a NodeList of all the Elements with a given tag name in the order in which they
-			//are encountered in a preordering traversal of the Document tree.
-			NodeList nodeList = root.getElementsByTagName("node");
-			NodeList classList = root.getElementsByTagName("userClass");
-			NodeList measureList = root.getElementsByTagName("measure");
-			NodeList connectionList = root.getElementsByTagName("connection");
+		// MF08 0.7.4  Michael Fercu (Bertoli Marco) -- re-defines global logger attributes
+		// for the purpose of passing them to the Logger constructor
+		if (root.hasAttribute("logPath")) {
+			String temp_lp = root.getAttribute("logPath");
+			simParam.setLogPath(temp_lp);
+		}
+		if (root.hasAttribute("logDelimiter")) {
+			String temp_ld = root.getAttribute("logDelimiter");
+			simParam.setLogDelimiter(temp_ld);
+		}
+		if (root.hasAttribute("logDecimalSeparator")) {
+			String temp_ld = root.getAttribute("logDecimalSeparator");
+			simParam.setLogDecimalSeparator(temp_ld);
+		}
+		if (root.hasAttribute("logReplaceMode")) {
+			String temp_lr = root.getAttribute("logReplaceMode");
+			simParam.setLogReplaceMode(temp_lr);
+		}
+		//END MF08
 
-			//class array creation
-			jobClasses = new JobClass[classList.getLength()];
-			for (int i = 0; i < classList.getLength(); i++) {
-				//OLD
-				//jobClasses[i] = new JobClass(((Element) classList.item(i)).getAttribute("name"));
+		//FIXME read measure logging attributes here...
 
-				//NEW
-				//@author Stefano Omini
-				Element currentJobClass = (Element) classList.item(i);
+		//Returns a NodeList of all the Elements with a given tag name in the order in which they
+		//are encountered in a preordering traversal of the Document tree.
+		NodeList nodeList = root.getElementsByTagName("node");
+		NodeList classList = root.getElementsByTagName("userClass");
+		NodeList measureList = root.getElementsByTagName("measure");
+		NodeList connectionList = root.getElementsByTagName("connection");
 
-				//parse class attributes: name, type and priority
-				String currentClassName = currentJobClass.getAttribute("name");
-				String currentClassType = currentJobClass.getAttribute("type");
-				String currentClassPriority = currentJobClass.getAttribute("priority");
-				String referenceNode = currentJobClass.getAttribute("referenceSource");
+		//class array creation
+		jobClasses = new JobClass[classList.getLength()];
+		for (int i = 0; i < classList.getLength(); i++) {
+			//OLD
+			//jobClasses[i] = new JobClass(((Element) classList.item(i)).getAttribute("name"));
 
-				int type, priority;
+			//NEW
+			//@author Stefano Omini
+			Element currentJobClass = (Element) classList.item(i);
 
-				if (currentClassType.equalsIgnoreCase("closed")) {
-					type = JobClass.CLOSED_CLASS;
-				} else {
-					type = JobClass.OPEN_CLASS;
-				}
+			//parse class attributes: name, type and priority
+			String currentClassName = currentJobClass.getAttribute("name");
+			String currentClassType = currentJobClass.getAttribute("type");
+			String currentClassPriority = currentJobClass.getAttribute("priority");
+			String referenceNode = currentJobClass.getAttribute("referenceSource");
 
-				priority = Integer.parseInt(currentClassPriority);
-				if (priority < 0) {
-					//negative priorities not allowed
-					priority = 0;
-				}
+			int type, priority;
 
-				//add job class
-				jobClasses[i] = new JobClass(currentClassName, priority, type, referenceNode);
-				//end NEW
+			if (currentClassType.equalsIgnoreCase("closed")) {
+				type = JobClass.CLOSED_CLASS;
+			} else {
+				type = JobClass.OPEN_CLASS;
+			}
 
-				if (DEBUG) {
-					System.out.println("Class " + jobClasses[i].getName() + " created");
-				}
+			priority = Integer.parseInt(currentClassPriority);
+			if (priority < 0) {
+				//negative priorities not allowed
+				priority = 0;
 			}
-			//inserts all JobClasses in the Simulation object
-			sim.addClasses(jobClasses);
+
+			//add job class
+			jobClasses[i] = new JobClass(currentClassName, priority, type, referenceNode);
+			//end NEW
+
 			if (DEBUG) {
-				System.out.println("classes added\n");
+				System.out.println("Class " + jobClasses[i].getName() + " created");
 			}
+		}
+		//inserts all JobClasses in the Simulation object
+		sim.addClasses(jobClasses);
+		if (DEBUG) {
+			System.out.println("classes added\n");
+		}
 
-			//creates the nodes from xml & adds them to the simulation object
-			for (int i = 0; i < nodeList.getLength(); i++) {
-				Element node = (Element) nodeList.item(i);
+		//creates the nodes from xml & adds them to the simulation object
+		for (int i = 0; i < nodeList.getLength(); i++) {
+			Element node = (Element) nodeList.item(i);
+			if (DEBUG) {
+				System.out.println("start creation of node = " + node.getAttribute("name"));
+			}
+			//gets list of sections
+			NodeList sectionList = node.getElementsByTagName("section");
+			NodeSection[] sections = new NodeSection[3];
+			//creates all sections (max is 3)
+			for (int j = 0; j < sectionList.getLength(); j++) {
 				if (DEBUG) {
-					System.out.println("start creation of node = " + node.getAttribute("name"));
+					System.out.println("    start creation of section = " + ((Element) sectionList.item(j)).getAttribute("className"));
 				}
-				//gets list of sections
-				NodeList sectionList = node.getElementsByTagName("section");
-				NodeSection[] sections = new NodeSection[3];
-				//creates all sections (max is 3)
-				for (int j = 0; j < sectionList.getLength(); j++) {
-					if (DEBUG) {
-						System.out.println("    start creation of section = " + ((Element) sectionList.item(j)).getAttribute("className"));
-					}
-					NodeSection ns = createSection((Element) sectionList.item(j));
-					if (DEBUG) {
-						System.out.println("    finished creation of " + ((Element) sectionList.item(j)).getAttribute("className") + "\n");
-					}
-					if (ns instanceof InputSection) {
-						sections[0] = ns;
-					} else if (ns instanceof ServiceSection) {
-						sections[1] = ns;
-					} else if (ns instanceof OutputSection) {
-						sections[2] = ns;
-					} else {
-						throw new LoadException("trying to cast the wrong Class type");
-					}
-				}
-				//adds node.
-				sim.addNode(node.getAttribute("name"), (InputSection) sections[0], (ServiceSection) sections[1], (OutputSection) sections[2]);
+				streamSection = node.getAttribute("name") + "/" + ((Element) sectionList.item(j)).getAttribute("className");
+				NodeSection ns = createSection((Element) sectionList.item(j));
 				if (DEBUG) {
-					System.out.println("node added\n");
+					System.out.println("    finished creation of " + ((Element) sectionList.item(j)).getAttribute("className") + "\n");
+				}
+				if (ns instanceof InputSection) {
+					sections[0] = ns;
+				} else if (ns instanceof ServiceSection) {
+					sections[1] = ns;
+				} else if (ns instanceof OutputSection) {
+					sections[2] = ns;
+				} else {
+					throw new LoadException("trying to cast the wrong Class type");
 				}
 			}
+			//adds node.
+			sim.addNode(node.getAttribute("name"), (InputSection) sections[0], (ServiceSection) sections[1], (OutputSection) sections[2]);
 			if (DEBUG) {
-				System.out.println("");
+				System.out.println("node added\n");
 			}
+		}
+		if (DEBUG) {
+			System.out.println("");
+		}
 
-			//adds all connections
-			for (int i = 0; i < connectionList.getLength(); i++) {
-				Element e = (Element) connectionList.item(i);
-				sim.addConnection(e.getAttribute("source"), e.getAttribute("target"));
-				if (DEBUG) {
-					System.out.println("added connection = " + e.getAttribute("source") + " to " + e.getAttribute("target"));
-				}
-			}
+		//adds all connections
+		for (int i = 0; i < connectionList.getLength(); i++) {
+			Element e = (Element) connectionList.item(i);
+			sim.addConnection(e.getAttribute("source"), e.getAttribute("target"));
 			if (DEBUG) {
-				System.out.println("");
+				System.out.println("added connection = " + e.getAttribute("source") + " to " + e.getAttribute("target"));
 			}
+		}
+		if (DEBUG) {
+			System.out.println("");
+		}
 
-			//adds all measures
-			for (int i = 0; i < measureList.getLength(); i++) {
-				Element e = (Element) measureList.item(i);
+		//adds all measures
+		for (int i = 0; i < measureList.getLength(); i++) {
+			Element e = (Element) measureList.item(i);
 
-				int measureType = EngineUtils.decodeMeasureType(e.getAttribute("type"));
-				//throughput measure requires an InverseMeasure object!!
-				if (EngineUtils.isInverseMeasure(measureType)) {
-					//throughput measure
-					InverseMeasure invMeasure = new InverseMeasure(e.getAttribute("name"), Double.parseDouble(e.getAttribute("alpha")),
-							Double.parseDouble(e.getAttribute("precision")), maxSamples, e.getAttribute("verbose").equalsIgnoreCase("true"));
+			int measureType = EngineUtils.decodeMeasureType(e.getAttribute("type"));
+			//throughput measure requires an InverseMeasure object!!
+			if (EngineUtils.isInverseMeasure(measureType)) {
+				//throughput measure
+				InverseMeasure invMeasure = new InverseMeasure(e.getAttribute("name"), Double.parseDouble(e.getAttribute("alpha")),
+						Double.parseDouble(e.getAttribute("precision")), maxSamples, e.getAttribute("verbose").equalsIgnoreCase("true"));
 
-					sim.addMeasure(measureType, e.getAttribute("referenceNode"), invMeasure, e.getAttribute("referenceUserClass"),
-							e.getAttribute("nodeType"));
-				} else {
-					//other measures
-					Measure measure = new Measure(e.getAttribute("name"), Double.parseDouble(e.getAttribute("alpha")),
-							Double.parseDouble(e.getAttribute("precision")), maxSamples, e.getAttribute("verbose").equalsIgnoreCase("true"), null);
-
-					sim.addMeasure(measureType, e.getAttribute("referenceNode"), measure, e.getAttribute("referenceUserClass"),
-							e.getAttribute("nodeType"));
-				}
+				sim.addMeasure(measureType, e.getAttribute("referenceNode"), invMeasure, e.getAttribute("referenceUserClass"),
+						e.getAttribute("nodeType"));
+			} else {
+				//other measures
+				Measure measure = new Measure(e.getAttribute("name"), Double.parseDouble(e.getAttribute("alpha")),
+						Double.parseDouble(e.getAttribute("precision")), maxSamples, e.getAttribute("verbose").equalsIgnoreCase("true"), null);
 
-				if (DEBUG) {
-					System.out.println("added measure = " + e.getAttribute("name"));
-				}
+				sim.addMeasure(measureType, e.getAttribute("referenceNode"), measure, e.getAttribute("referenceUserClass"),
+						e.getAttribute("nodeType"));
 			}
-			if (DEBUG) {
-				System.out.println("");
-			}
-
-			//NEW
-			//@author Stefano Omini
-			NodeList regionList = root.getElementsByTagName("blockingRegion");
 
-			// Use external method
-			loadBlockingRegions(root, regionList);
 			if (DEBUG) {
-				System.out.println("");
+				System.out.println("added measure = " + e.getAttribute("name"));
 			}
-			//end NEW
+		}
+		if (DEBUG) {
+			System.out.println("");
+		}
 
-			//Preloading
-
-			NodeList preloadList = root.getElementsByTagName("preload");
-			Element preload = (Element) preloadList.item(0);
-
-			//station names
-			String[] stationNames;
-			//initial populations [station, class]
-			int[][] initialP;
-
-			if (preload != null) {
-				//preload has been defined by user
-				NodeList stations;
-				NodeList initialPops;
-				Element station;
-
-				//gets all station elements
-				stations = preload.getElementsByTagName("stationPopulations");
-				//number of stations to be preloaded
-				int stationsNumber = stations.getLength();
-				int classNumber = jobClasses.length;
-
-				//create the array of station names to be preloaded
-				// (not ALL the stations!!)
-				stationNames = new String[stationsNumber];
-				//create the population matrix
-				initialP = new int[stationsNumber][classNumber];
-
-				//initializes matrix
-				for (int s = 0; s < stationsNumber; s++) {
-					for (int c = 0; c < classNumber; c++) {
-						initialP[s][c] = 0;
-					}
+		//NEW
+		//@author Stefano Omini
+		NodeList regionList = root.getElementsByTagName("blockingRegion");
+
+		// Use external method
+		loadBlockingRegions(root, regionList);
+		if (DEBUG) {
+			System.out.println("");
+		}
+		//end NEW
+
+		//Preloading
+
+		NodeList preloadList = root.getElementsByTagName("preload");
+		Element preload = (Element) preloadList.item(0);
+
+		//station names
+		String[] stationNames;
+		//initial populations [station, class]
+		int[][] initialP;
+
+		if (preload != null) {
+			//preload has been defined by user
+			NodeList stations;
+			NodeList initialPops;
+			Element station;
+
+			//gets all station elements
+			stations = preload.getElementsByTagName("stationPopulations");
+			//number of stations to be preloaded
+			int stationsNumber = stations.getLength();
+			int classNumber = jobClasses.length;
+
+			//create the array of station names to be preloaded
+			// (not ALL the stations!!)
+			stationNames = new String[stationsNumber];
+			//create the population matrix
+			initialP = new int[stationsNumber][classNumber];
+
+			//initializes matrix
+			for (int s = 0; s < stationsNumber; s++) {
+				for (int c = 0; c < classNumber; c++) {
+					initialP[s][c] = 0;
 				}
+			}
 
-				//loop over stations
-				for (int s = 0; s < stationsNumber; s++) {
-					//current station
-					station = (Element) stations.item(s);
+			//loop over stations
+			for (int s = 0; s < stationsNumber; s++) {
+				//current station
+				station = (Element) stations.item(s);
 
-					//set station name
-					stationNames[s] = station.getAttribute("stationName");
+				//set station name
+				stationNames[s] = station.getAttribute("stationName");
 
-					//retrieves the class initial populations
-					initialPops = station.getElementsByTagName("classPopulation");
-					int entries = initialPops.getLength();
+				//retrieves the class initial populations
+				initialPops = station.getElementsByTagName("classPopulation");
+				int entries = initialPops.getLength();
 
-					for (int c = 0; c < entries; c++) {
-						String pop = ((Element) initialPops.item(c)).getAttribute("population");
-						String className = ((Element) initialPops.item(c)).getAttribute("refClass");
+				for (int c = 0; c < entries; c++) {
+					String pop = ((Element) initialPops.item(c)).getAttribute("population");
+					String className = ((Element) initialPops.item(c)).getAttribute("refClass");
 
-						int classPosition = findClassPosition(className);
-						//sets the value in the correct position (using the class ID)
-						initialP[s][classPosition] = Integer.parseInt(pop);
-					}
+					int classPosition = findClassPosition(className);
+					//sets the value in the correct position (using the class ID)
+					initialP[s][classPosition] = Integer.parseInt(pop);
 				}
-
-				//copies the preload info into simulation object
-				sim.setPreloadEnabled(true);
-				sim.setPreload_stationNames(stationNames);
-				sim.setPreload_initialPopulations(initialP);
-			}
-			//end NEW
-		} catch (SAXNotRecognizedException e) {
-			e.printStackTrace();
-		} catch (SAXNotSupportedException e) {
-			e.printStackTrace();
-		} catch (SAXException sxe) {
-			// Error generated during parsing)
-			Exception x = sxe;
-			if (sxe.getException() != null) {
-				x = sxe.getException();
 			}
-			x.printStackTrace();
-		} catch (IOException e) {
-			e.printStackTrace();
+
+			//copies the preload info into simulation object
+			sim.setPreloadEnabled(true);
+			sim.setPreload_stationNames(stationNames);
+			sim.setPreload_initialPopulations(initialP);
 		}
+		//end NEW
 	}
 
 	/**
@@ -531,6 +607,14 @@ public class SimLoader {
 		return sim;
 	}
 
+	/**
+	 * Returns the DOM description of the model loaded by this SimLoader.
+	 * @return the model document, or null if the model could not be parsed
+	 */
+	public Document getDocument() {
+		return document;
+	}
+
 	/**
 	 * Creates a nodeName section from a dom description. Each parameter (or array of parameters)
 	 * is created using the suitable constructor.
@@ -543,7 +627,7 @@ public class SimLoader {
 		NodeList parameterList = section.getElementsByTagName("parameter");
 		try {
 			//gets appropriate Class Object
-			Class<?> c = Class.forName("jmt.engine.NodeSections." + section.getAttribute("className"));
+			Class<?> c = loadClass("jmt.engine.NodeSections." + section.getAttribute("className"));
 			if (DEBUG) {
 				System.out.println("    class found");
 			}
@@ -563,6 +647,7 @@ public class SimLoader {
 					//if (DEBUG) {
 					//	System.out.println("parameterList.item(i): " + parameterList.item(i).toString());
 					//}
+					streamParameter = ((Element) parameterList.item(i)).getAttribute("name");
 					initargs[i] = createParameter((Element) parameterList.item(i));
 					if (initargs[i] != null) {
 						//gets the class of the parameter
@@ -574,10 +659,10 @@ public class SimLoader {
 					} else {
 						if (!((Element) parameterList.item(i)).getAttribute("array").equals("true")) {
 							//the parameter is not an array
-							parameterTypes[i] = Class.forName(((Element) parameterList.item(i)).getAttribute("classPath"));
+							parameterTypes[i] = loadClass(((Element) parameterList.item(i)).getAttribute("classPath"));
 						} else {
 							// array parameter
-							parameterTypes[i] = Array.newInstance(Class.forName(((Element) parameterList.item(i)).getAttribute("classPath")), 0)
+							parameterTypes[i] = Array.newInstance(loadClass(((Element) parameterList.item(i)).getAttribute("classPath")), 0)
 									.getClass();
 						}
 						if (DEBUG) {
@@ -631,7 +716,7 @@ public class SimLoader {
 				}
 				return null;
 			}
-			Class<?> c = Class.forName(classPath);
+			Class<?> c = loadClass(classPath);
 			if (DEBUG) {
 				System.out.println("        parameter class found = " + classPath);
 			}
@@ -707,8 +792,10 @@ public class SimLoader {
 										System.out.println("        creating subParameter " + ((Element) n).getAttribute("name") + " for class "
 												+ classVect.get(j));
 									}
+									streamClass = classVect.get(j);
 									arrayElements[positions[j]] = createSubParameter((Element) n);
 								}
+								streamClass = "";
 								//clears the classes vector
 								classVect.clear();
 							}
@@ -796,7 +883,7 @@ public class SimLoader {
 				}
 				return null;
 			}
-			Class<?> c = Class.forName(subp.getAttribute("classPath"));
+			Class<?> c = loadClass(subp.getAttribute("classPath"));
 			if (DEBUG) {
 				System.out.println("            subparameter class found = " + c.getName());
 			}
@@ -844,7 +931,7 @@ public class SimLoader {
 				}
 				Object o = c.newInstance();
 				if(o instanceof AbstractDistribution){
-					((AbstractDistribution) o).setRandomEngine(sim.getEngine());
+					((AbstractDistribution) o).setRandomEngine(nextRandomEngine());
 				}
 				return o;
 			}
@@ -901,22 +988,22 @@ public class SimLoader {
 					n.setSimSystem(simSystem);
 
 					Burst b = (Burst) o; //any distribution will do?
-					b.setRandomEngine(sim.getNetSystem().getEngine());
+					b.setRandomEngine(nextRandomEngine());
 					b.initialize();
 
 					sim.addDistrNetNode((NetNode) o);
 				}
 				if(o instanceof ForkStrategy){
-					((ForkStrategy)o).setRandomEngine(sim.getEngine());
+					((ForkStrategy)o).setRandomEngine(nextRandomEngine());
 				}
 				if(o instanceof EmpiricalStrategy){
-					((EmpiricalStrategy)o).setRandomEngine(sim.getEngine());
+					((EmpiricalStrategy)o).setRandomEngine(nextRandomEngine());
 				}
 				if(o instanceof LoadDependentRoutingParameter){
-					((LoadDependentRoutingParameter)o).setRandomEngine(sim.getEngine());
+					((LoadDependentRoutingParameter)o).setRandomEngine(nextRandomEngine());
 				}
 				if(o instanceof LDParameter){
-					((LDParameter)o).setRandomEngine(sim.getEngine());
+					((LDParameter)o).setRandomEngine(nextRandomEngine());
 				}
 
 				return o;
@@ -942,12 +1029,57 @@ public class SimLoader {
 	}
 
 	/**
-	 * Gets an appropriate constructor for c given the paramClasses
+	 * Gets the random engine of the next component created with the current stream name.
+	 * @return a dedicated random stream, or the shared engine if random streams are not used
+	 */
+	private RandomEngine nextRandomEngine() {
+		String name = "param/" + streamSection + "/" + streamParameter + "/" + streamClass;
+		Integer count = streamCounts.get(name);
+		int index = (count == null) ? 0 : count.intValue();
+		streamCounts.put(name, Integer.valueOf(index + 1));
+		return sim.getNetSystem().getEngine(name + "/" + index);
+	}
+
+	/**
+	 * Gets the Class object with the given name. Classes are cached, as the same ones
+	 * are used by all the nodes of a model and by all the loaded models.
+	 * @param className the fully qualified name of the class
+	 * @return the Class object
+	 * @throws ClassNotFoundException if the class cannot be found
+	 */
+	private static Class<?> loadClass(String className) throws ClassNotFoundException {
+		Class<?> c = CLASS_CACHE.get(className);
+		if (c == null) {
+			c = Class.forName(className);
+			CLASS_CACHE.put(className, c);
+		}
+		return c;
+	}
+
+	/**
+	 * Gets an appropriate constructor for c given the paramClasses. Found constructors
+	 * are cached.
 	 * @param c
 	 * @param paramClasses
 	 * @return found constructor
 	 */
 	public Constructor<?> getConstructor(Class<?> c, Class<?>[] paramClasses) throws NoSuchMethodException {
+		ConstructorKey key = new ConstructorKey(c, paramClasses);
+		Constructor<?> constr = CONSTRUCTOR_CACHE.get(key);
+		if (constr == null) {
+			constr = findConstructor(c, paramClasses);
+			CONSTRUCTOR_CACHE.put(key, constr);
+		}
+		return constr;
+	}
+
+	/**
+	 * Searches an appropriate constructor for c given the paramClasses
+	 * @param c
+	 * @param paramClasses
+	 * @return found constructor
+	 */
+	private static Constructor<?> findConstructor(Class<?> c, Class<?>[] paramClasses) throws NoSuchMethodException {
 		try {
 			return c.getConstructor(paramClasses);
 		} catch (NoSuchMethodException e) {
@@ -982,6 +1114,37 @@ public class SimLoader {
 		throw new NoSuchMethodException(errorMessage);
 	}
 
+	/**
+	 * Key of the constructor cache: the class to be created and the classes of the parameters.
+	 */
+	private static class ConstructorKey {
+
+		private Class<?> c;
+		private Class<?>[] paramClasses;
+		private int hashCode;
+
+		public ConstructorKey(Class<?> c, Class<?>[] paramClasses) {
+			this.c = c;
+			this.paramClasses = paramClasses.clone();
+			hashCode = 31 * c.hashCode() + Arrays.hashCode(paramClasses);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof ConstructorKey)) {
+				return false;
+			}
+			ConstructorKey other = (ConstructorKey) obj;
+			return c == other.c && Arrays.equals(paramClasses, other.paramClasses);
+		}
+
+	}
+
 	/**
 	 * Finds the position of the specified class
 	 * @param className the name of the class
@@ -14,6 +14,7 @@ import java.util.List;
 import jmt.common.exception.NetException;
 import jmt.engine.QueueNet.NetEvent;
 import jmt.engine.QueueNet.NetSystem;
+import jmt.engine.random.engine.RandomEngine;
 
 /**
  * This is the system class which manages the simulation. All
@@ -24,13 +25,16 @@ public class SimSystem {
 
 	private static final boolean DEBUG = false;
 
+	/** Future event queue based on a binary heap and a circular list (default) */
+	public static final int HYBRID_EVENT_QUEUE = 0;
+	/** Future event queue based on an indexed heap, with log(n) removal of events */
+	public static final int INDEXED_EVENT_QUEUE = 1;
+
 	// Private data members
 	private List<SimEntity> entities; // The current entity list
 
 	private EventQueue future; // The future event queue
 
-	private EventQueue deferred; // The deferred event queue
-
 	private EventQueue timing; // The timing event queue
 
 	private double clock; // Holds the current global simulation time
@@ -64,7 +68,7 @@ public class SimSystem {
 		// future = new SuperEventQueue();
 		future = new HybridEventQueue();
 
-		deferred = new ListEventQueue();
+		// deferred events are kept in the mailbox of each entity (see SimEntity)
 
 		timing = new TimingEventQueue();
 		((TimingEventQueue) timing).setEngine(netSystem.getEngine());
@@ -78,6 +82,36 @@ public class SimSystem {
 		nf.setMinimumFractionDigits(2);
 	}
 
+	/**
+	 * Sets the random engine used by the queue of timing events
+	 * @param engine the random engine
+	 */
+	public void setTimingEngine(RandomEngine engine) {
+		((TimingEventQueue) timing).setEngine(engine);
+	}
+
+	/**
+	 * Sets the implementation of the future event queue. Already scheduled events are
+	 * moved to the new queue, so this method can be called at any time before the
+	 * simulation is started.
+	 * @param type HYBRID_EVENT_QUEUE or INDEXED_EVENT_QUEUE
+	 */
+	public void setFutureEventQueue(int type) {
+		EventQueue queue;
+		switch (type) {
+		case INDEXED_EVENT_QUEUE:
+			queue = new IndexedEventQueue();
+			break;
+		default:
+			queue = new HybridEventQueue();
+			break;
+		}
+		while (future.size() > 0) {
+			queue.add(future.pop());
+		}
+		future = queue;
+	}
+
 	/** Returns the number format used for generating
 	 * times in trace lines
 	 */
@@ -269,7 +303,7 @@ public class SimSystem {
 	synchronized boolean remove(RemoveToken token) {
 		SimEvent e = token.getEvent();
 		if (token.isDeferred()) {
-			return deferred.remove(e);
+			return entities.get(e.getDest()).getDeferred().remove(e);
 		} else {
 			if ((e.getTag() & NetEvent.EVENT_MASK) == NetEvent.EVENT_TIMING) {
 				return timing.remove(e);
@@ -286,12 +320,10 @@ public class SimSystem {
 	synchronized int waiting(int d, SimPredicate p) {
 		SimEvent ev = null;
 		int w = 0;
-		for (Object element : deferred) {
-			ev = (SimEvent) element;
-			if (ev.getDest() == d) {
-				if (p.match(ev)) {
-					w++;
-				}
+		for (Iterator<SimEvent> it = entities.get(d).getDeferred().iterator(); it.hasNext();) {
+			ev = it.next();
+			if (p.match(ev)) {
+				w++;
 			}
 		}
 		return w;
@@ -301,19 +333,18 @@ public class SimSystem {
 		SimEvent ev = null;
 		boolean found = false;
 
-		// retrieve + remove event with dest == src
-		for (Iterator<SimEvent> it = deferred.iterator(); it.hasNext() && !found;) {
+		// retrieve + remove event from the mailbox of src
+		for (Iterator<SimEvent> it = entities.get(src).getDeferred().iterator(); it.hasNext() && !found;) {
 			ev = it.next();
-			if (ev.getDest() == src) {
-				if (p.match(ev)) {
-					deferred.remove(ev);
-					found = true;
-				}
+			if (p.match(ev)) {
+				it.remove();
+				found = true;
 			}
 		}
 
+		// the event was removed from the deferred queue, so it can be handed over without copying it
 		if (found) {
-			entities.get(src).setEvbuf((SimEvent) ev.clone());
+			entities.get(src).setEvbuf(ev);
 		} else {
 			entities.get(src).setEvbuf(null);
 		}
@@ -335,14 +366,14 @@ public class SimSystem {
 		}
 
 		if (found) {
-			entities.get(src).setEvbuf((SimEvent) ev.clone());
+			entities.get(src).setEvbuf(ev);
 		} else {
 			entities.get(src).setEvbuf(null);
 		}
 	}
 
 	RemoveToken putback(SimEvent ev) {
-		deferred.add(ev);
+		entities.get(ev.getDest()).getDeferred().add(ev);
 		return new RemoveToken(ev, true);
 	}
 
@@ -374,9 +405,11 @@ public class SimSystem {
 				if (destEnt.getState() == SimEntity.WAITING) {
 					SimPredicate p = destEnt.getWaitingPred();
 	
+					// Events are handed over to the entity without copying them, as they
+					// were already removed from the future event queue
 					if (p == null) {
 						//the entity was waiting for a generic predicate
-						destEnt.setEvbuf((SimEvent) e.clone());
+						destEnt.setEvbuf(e);
 						destEnt.setState(SimEntity.RUNNABLE);
 						try {
 							destEnt.execute();
@@ -389,7 +422,7 @@ public class SimSystem {
 						//this event matches with such predicate??
 						if (destEnt.getWaitingPred().match(e)) {
 							p = null;
-							destEnt.setEvbuf((SimEvent) e.clone());
+							destEnt.setEvbuf(e);
 							destEnt.setState(SimEntity.RUNNABLE);
 							try {
 								destEnt.execute();
@@ -399,12 +432,12 @@ public class SimSystem {
 							}
 						} else {
 							//the event does not match with the predicate, so it is put in the deferred queue
-							destEnt.simPutback(e);
+							putback(e);
 						}
 					}
 				} else {
 					//if the entity is not WAITING the event is put in the deferred queue
-					deferred.add(e);
+					putback(e);
 				}
 			}
 			break;
@@ -32,6 +32,7 @@ import jmt.engine.NodeSections.Fork;
 import jmt.engine.NodeSections.InputSection;
 import jmt.engine.NodeSections.Join;
 import jmt.engine.NodeSections.Linkage;
+import jmt.engine.NodeSections.LogTunnel;
 import jmt.engine.NodeSections.OutputSection;
 import jmt.engine.NodeSections.PSServer;
 import jmt.engine.NodeSections.Queue;
@@ -139,6 +140,9 @@ public class Simulation {
 
 	private boolean isTerminalSimulation;
 
+	//if false the results are not written to the xml output file at the end of the run
+	private boolean outputEnabled = true;
+
 	//-------------------------CONSTRUCTORS-------------------------------//
 	
 	private NetSystem netSystem;
@@ -291,6 +295,9 @@ public class Simulation {
 		// Sets the max processed events for the system, when reached the simulation is stopped
 		netSystem.setMaxProcessedEvents(simParameters.getMaxProcessedEvents());
 
+		// Sets the future event queue implementation
+		netSystem.getSimSystem().setFutureEventQueue(simParameters.getEventQueue());
+
 		// Resets the job counter
 		//Job.resetCounter();
 
@@ -615,13 +622,19 @@ public class Simulation {
 	public void run() throws NetException, InterruptedException {
 		if (initialized) {
 			//runs the simulation
-			netSystem.start();
+			try {
+				netSystem.start();
+			} finally {
+				closeOutputs();
+			}
 			finished = true;
 
 			//simulation has finished
 			//results are put into a xml file
-			XMLSimulationOutput output = new XMLSimulationOutput(this);
-			outputFile = output.writeAllMeasures();
+			if (outputEnabled) {
+				XMLSimulationOutput output = new XMLSimulationOutput(this);
+				outputFile = output.writeAllMeasures();
+			}
 
 			netSystem.terminate();
 		} else {
@@ -629,6 +642,28 @@ public class Simulation {
 		}
 	}
 
+	/**
+	 * Closes the measure outputs and the logs of this simulation, so that the samples and the
+	 * log lines still pending in background writers are written before the JVM exits.
+	 */
+	private void closeOutputs() {
+		for (Measure measure : network.getMeasures()) {
+			measure.closeOutput();
+		}
+		for (NetNode node : network.getNodes().toArray()) {
+			try {
+				NodeSection section = node.getSection(NodeSection.SERVICE);
+				if (section instanceof LogTunnel) {
+					((LogTunnel) section).closeLogger();
+				}
+			} catch (NetException e) {
+				logger.error(e);
+			} catch (IOException e) {
+				logger.error("Error while writing to the log file", e);
+			}
+		}
+	}
+
 	/**
 	 * Aborts simulation.
 	 */
@@ -738,7 +773,7 @@ public class Simulation {
 	}
 
 	public void setRandomEngineSeed(long seed) {
-		netSystem.getEngine().setNewSeed(seed);
+		netSystem.setSeed(seed);
 	}
 
 	/**
@@ -808,6 +843,19 @@ public class Simulation {
 	public void setTerminalSimulation(boolean isTerminalSimulation) {
 		this.isTerminalSimulation = isTerminalSimulation;
 	}
+
+	public boolean isOutputEnabled() {
+		return outputEnabled;
+	}
+
+	/**
+	 * Sets if the results should be written to the xml output file at the end of the run. This
+	 * is disabled when several replications of the same model are run concurrently.
+	 * @param outputEnabled true to write the xml output file
+	 */
+	public void setOutputEnabled(boolean outputEnabled) {
+		this.outputEnabled = outputEnabled;
+	}
 	
 	public SimSystem getSimSystem(){
 		return netSystem.getSimSystem();
@@ -24,11 +24,13 @@ import java.util.PriorityQueue;
 
 import jmt.engine.NetStrategies.TransitionUtilities.TimingPacket;
 import jmt.engine.random.engine.RandomEngine;
-import jmt.framework.data.CircularList;
+import jmt.framework.data.WeightedList;
 
 /**
  * <p>Title: Timing Event Queue</p>
- * <p>Description: This class implements the timing event queue.</p>
+ * <p>Description: This class implements the timing event queue. Events with the same
+ * time, delay and priority are kept in a weighted list, so that the event to be fired
+ * is selected according to the firing weights in logarithmic time.</p>
  *
  * @author Lulai Zhu
  * Date: 10-09-2016
@@ -39,13 +41,13 @@ public class TimingEventQueue implements EventQueue {
 	private static final int DEFAULT_INITIAL_CAPACITY = 111;
 
 	private TimingEventComparator comparator;
-	private CircularList<SimEvent> current;
+	private WeightedList<SimEvent> current;
 	private PriorityQueue<SimEvent> future;
 	private RandomEngine randomEngine;
 
 	public TimingEventQueue() {
 		comparator = new TimingEventComparator();
-		current = new CircularList<SimEvent>();
+		current = new WeightedList<SimEvent>();
 		future = new PriorityQueue<SimEvent>(DEFAULT_INITIAL_CAPACITY, comparator);
 	}
 
@@ -58,18 +60,18 @@ public class TimingEventQueue implements EventQueue {
 	public boolean add(SimEvent event) {
 		handleCurrent();
 		if (current.size() == 0) {
-			current.add(event);
+			addToCurrent(event);
 			return true;
 		}
 
 		int result = comparator.compare(event, current.getFirst());
 		if (result == 0) {
-			current.add(event);
+			addToCurrent(event);
 		} else if (result > 0) {
 			future.add(event);
 		} else {
 			moveCurrentToFuture();
-			current.add(event);
+			addToCurrent(event);
 		}
 		return true;
 	}
@@ -81,24 +83,9 @@ public class TimingEventQueue implements EventQueue {
 			return null;
 		}
 
-		double totalWeight = 0.0;
-		Iterator<SimEvent> it = current.iterator();
-		SimEvent event = null;
-		TimingPacket packet = null;
-		while (it.hasNext()) {
-			event = it.next();
-			packet = (TimingPacket) event.getData();
-			totalWeight += packet.getFiringWeight();
-		}
-		double summedWeight = 0.0;
-		double randomIndex = randomEngine.nextDouble() * totalWeight;
-		it = current.iterator();
-		while (summedWeight <= randomIndex) {
-			event = it.next();
-			packet = (TimingPacket) event.getData();
-			summedWeight += packet.getFiringWeight();
-		}
-		it.remove();
+		double randomIndex = randomEngine.nextDouble() * current.getTotalWeight();
+		SimEvent event = current.select(randomIndex);
+		current.remove(event);
 		return event;
 	}
 
@@ -137,6 +124,10 @@ public class TimingEventQueue implements EventQueue {
 		return new Iter();
 	}
 
+	private void addToCurrent(SimEvent event) {
+		current.add(event, ((TimingPacket) event.getData()).getFiringWeight());
+	}
+
 	private void moveCurrentToFuture() {
 		while (current.size() > 0) {
 			future.add(current.removeFirst());
@@ -146,9 +137,9 @@ public class TimingEventQueue implements EventQueue {
 	private void handleCurrent() {
 		if (current.size() == 0 && future.size() > 0) {
 			SimEvent first = future.remove();
-			current.add(first);
+			addToCurrent(first);
 			while (future.size() > 0 && comparator.compare(future.peek(), first) == 0) {
-				current.add(future.remove());
+				addToCurrent(future.remove());
 			}
 		}
 	}
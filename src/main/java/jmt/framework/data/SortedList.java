@@ -0,0 +1,431 @@
+/**
+ * Copyright (C) 2016, Laboratorio di Valutazione delle Prestazioni - Politecnico di Milano
+
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+
+package jmt.framework.data;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * <p><b>Name:</b> SortedList</p> 
+ * <p><b>Description:</b> 
+ * A list based on a balanced binary tree (a treap indexed by position) that keeps its elements sorted
+ * by a given comparator. Elements inserted with <tt>add(Object)</tt> are placed after all the elements that
+ * are not greater, so equal elements keep their insertion order.
+ * <br>
+ * SortedList has O(log n) complexity on get, sorted add and remove operations in any position.
+ * Positional add and set operations are supported too, but it is up to the caller to keep the list sorted.
+ * Removal of an object and index lookup use the comparator to find the range of equal elements and fall
+ * back to a linear search if the object is not found there.
+ * </p>
+ * @version 1.0
+ */
+public class SortedList<E> extends AbstractList<E> implements List<E> {
+
+	/** The comparator which defines the order of the elements */
+	private final Comparator<? super E> comparator;
+
+	private Node<E> root;
+
+	/** State of the generator of node priorities */
+	private int seed = 0x2545F491;
+
+	/** Results of the last split operation */
+	private Node<E> splitLeft;
+	private Node<E> splitRight;
+
+	/**
+	 * Builds a new empty SortedList
+	 * @param comparator the comparator which defines the order of the elements
+	 */
+	public SortedList(Comparator<? super E> comparator) {
+		this.comparator = comparator;
+	}
+
+	/**
+	 * @return the comparator which defines the order of the elements
+	 */
+	public Comparator<? super E> getComparator() {
+		return comparator;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.util.AbstractCollection#size()
+	 */
+	@Override
+	public int size() {
+		return size(root);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.util.AbstractList#get(int)
+	 */
+	@Override
+	public E get(int index) {
+		checkIndex(index, size());
+		return node(index).value;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.util.AbstractList#set(int, java.lang.Object)
+	 */
+	@Override
+	public E set(int index, E element) {
+		checkIndex(index, size());
+		Node<E> node = node(index);
+		E old = node.value;
+		node.value = element;
+		return old;
+	}
+
+	/**
+	 * Adds an element after all the elements that are not greater than it.
+	 * @param o the element to add
+	 * @return true
+	 */
+	@Override
+	public boolean add(E o) {
+		add(upperBound(o), o);
+		return true;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.util.AbstractList#add(int, java.lang.Object)
+	 */
+	@Override
+	public void add(int index, E element) {
+		checkIndex(index, size() + 1);
+		split(root, index);
+		Node<E> left = splitLeft;
+		Node<E> right = splitRight;
+		splitLeft = splitRight = null;
+		root = merge(merge(left, new Node<E>(element, nextPriority())), right);
+		modCount++;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.util.AbstractList#remove(int)
+	 */
+	@Override
+	public E remove(int index) {
+		checkIndex(index, size());
+		Node<E> node = node(index);
+		root = remove(root, index);
+		modCount++;
+		return node.value;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.util.AbstractCollection#remove(java.lang.Object)
+	 */
+	@Override
+	public boolean remove(Object o) {
+		int index = indexOf(o);
+		if (index < 0) {
+			return false;
+		}
+		remove(index);
+		return true;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.util.AbstractCollection#contains(java.lang.Object)
+	 */
+	@Override
+	public boolean contains(Object o) {
+		return indexOf(o) >= 0;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.util.AbstractList#indexOf(java.lang.Object)
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public int indexOf(Object o) {
+		if (o == null) {
+			return super.indexOf(o);
+		}
+		E element = (E) o;
+		int to = upperBound(element);
+		for (int i = lowerBound(element); i < to; i++) {
+			if (o.equals(get(i))) {
+				return i;
+			}
+		}
+		return super.indexOf(o);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.util.AbstractList#clear()
+	 */
+	@Override
+	public void clear() {
+		root = null;
+		modCount++;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.util.AbstractList#iterator()
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		return new Itr();
+	}
+
+	/**
+	 * @param o an element
+	 * @return the index of the first element which is not less than the given one
+	 */
+	public int lowerBound(E o) {
+		int index = 0;
+		Node<E> node = root;
+		while (node != null) {
+			if (comparator.compare(node.value, o) < 0) {
+				index += size(node.left) + 1;
+				node = node.right;
+			} else {
+				node = node.left;
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * @param o an element
+	 * @return the index of the first element which is greater than the given one
+	 */
+	public int upperBound(E o) {
+		int index = 0;
+		Node<E> node = root;
+		while (node != null) {
+			if (comparator.compare(o, node.value) < 0) {
+				node = node.left;
+			} else {
+				index += size(node.left) + 1;
+				node = node.right;
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Checks that an index is in the range [0, size)
+	 * @param index the index to check
+	 * @param size the upper bound of the range
+	 */
+	private void checkIndex(int index, int size) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("size: " + size() + ", requested index: " + index);
+		}
+	}
+
+	/**
+	 * @return the priority of a new node, generated with a xorshift generator
+	 */
+	private int nextPriority() {
+		seed ^= seed << 13;
+		seed ^= seed >>> 17;
+		seed ^= seed << 5;
+		return seed;
+	}
+
+	/**
+	 * Finds the node in the given position. Do not perform boundary checks.
+	 * @param index the position of the node
+	 * @return the node
+	 */
+	private Node<E> node(int index) {
+		Node<E> node = root;
+		while (true) {
+			int leftSize = size(node.left);
+			if (index < leftSize) {
+				node = node.left;
+			} else if (index > leftSize) {
+				index -= leftSize + 1;
+				node = node.right;
+			} else {
+				return node;
+			}
+		}
+	}
+
+	/**
+	 * Splits a tree in the trees of its first <tt>index</tt> nodes and of the other nodes,
+	 * which are stored in <tt>splitLeft</tt> and <tt>splitRight</tt>.
+	 * @param node the root of the tree
+	 * @param index the number of nodes of the left tree
+	 */
+	private void split(Node<E> node, int index) {
+		if (node == null) {
+			splitLeft = splitRight = null;
+		} else if (size(node.left) < index) {
+			split(node.right, index - size(node.left) - 1);
+			node.right = splitLeft;
+			node.update();
+			splitLeft = node;
+		} else {
+			split(node.left, index);
+			node.left = splitRight;
+			node.update();
+			splitRight = node;
+		}
+	}
+
+	/**
+	 * Merges two trees, where all the nodes of the left tree precede the nodes of the right tree.
+	 * @param left the root of the left tree
+	 * @param right the root of the right tree
+	 * @return the root of the merged tree
+	 */
+	private Node<E> merge(Node<E> left, Node<E> right) {
+		if (left == null) {
+			return right;
+		} else if (right == null) {
+			return left;
+		} else if (left.priority > right.priority) {
+			left.right = merge(left.right, right);
+			left.update();
+			return left;
+		} else {
+			right.left = merge(left, right.left);
+			right.update();
+			return right;
+		}
+	}
+
+	/**
+	 * Removes the node in the given position from a tree.
+	 * @param node the root of the tree
+	 * @param index the position of the node to remove
+	 * @return the new root of the tree
+	 */
+	private Node<E> remove(Node<E> node, int index) {
+		int leftSize = size(node.left);
+		if (index < leftSize) {
+			node.left = remove(node.left, index);
+		} else if (index > leftSize) {
+			node.right = remove(node.right, index - leftSize - 1);
+		} else {
+			return merge(node.left, node.right);
+		}
+		node.update();
+		return node;
+	}
+
+	private static int size(Node<?> node) {
+		return node != null ? node.size : 0;
+	}
+
+	/**
+	 * A node of the tree, storing the size of its subtree.
+	 */
+	private static class Node<E> {
+		private E value;
+		private final int priority;
+		private int size;
+		private Node<E> left;
+		private Node<E> right;
+
+		private Node(E value, int priority) {
+			this.value = value;
+			this.priority = priority;
+			this.size = 1;
+		}
+
+		private void update() {
+			size = size(left) + size(right) + 1;
+		}
+	}
+
+	/**
+	 * An iterator which visits the tree in order, keeping the path to the next node in a stack.
+	 */
+	private class Itr implements Iterator<E> {
+		private Deque<Node<E>> path = new ArrayDeque<Node<E>>();
+		private int nextIndex;
+		private int lastIndex = -1;
+		private int expectedModCount = modCount;
+
+		private Itr() {
+			seek(0);
+		}
+
+		/**
+		 * Moves the iterator to the given position
+		 * @param index the position of the next node
+		 */
+		private void seek(int index) {
+			nextIndex = index;
+			path.clear();
+			Node<E> node = root;
+			while (node != null) {
+				int leftSize = size(node.left);
+				if (index < leftSize) {
+					path.push(node);
+					node = node.left;
+				} else if (index > leftSize) {
+					index -= leftSize + 1;
+					node = node.right;
+				} else {
+					path.push(node);
+					node = null;
+				}
+			}
+		}
+
+		public boolean hasNext() {
+			return !path.isEmpty();
+		}
+
+		public E next() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (path.isEmpty()) {
+				throw new NoSuchElementException();
+			}
+			Node<E> node = path.pop();
+			for (Node<E> n = node.right; n != null; n = n.left) {
+				path.push(n);
+			}
+			lastIndex = nextIndex++;
+			return node.value;
+		}
+
+		public void remove() {
+			if (lastIndex < 0) {
+				throw new IllegalStateException();
+			}
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			SortedList.this.remove(lastIndex);
+			seek(lastIndex);
+			lastIndex = -1;
+			expectedModCount = modCount;
+		}
+	}
+
+}
@@ -0,0 +1,297 @@
+/**
+ * Copyright (C) 2016, Laboratorio di Valutazione delle Prestazioni - Politecnico di Milano
+
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+
+package jmt.framework.data;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * <p><b>Name:</b> WeightedList</p> 
+ * <p><b>Description:</b> 
+ * A list of weighted elements kept in insertion order, which supports the selection of an element
+ * with probability proportional to its weight. Weights are stored in the leaves of a sum tree whose
+ * internal nodes hold the total weight of their subtree, so that append, removal of any element
+ * and weighted selection have O(log n) complexity. Internal nodes are always recomputed from their
+ * children, so removals do not accumulate rounding errors.
+ * <br>
+ * Elements are compared by identity and each element may be stored only once.
+ * </p>
+ * @version 1.0
+ */
+public class WeightedList<E> implements Iterable<E> {
+
+	private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+	/** Elements stored in slots, null for removed elements */
+	private Object[] elements;
+	/** Sum tree: leaves are in positions capacity...2*capacity-1, the root in position 1 */
+	private double[] tree;
+	private int capacity;
+	/** First slot which may hold an element and first free slot */
+	private int head;
+	private int tail;
+	private int size;
+	private int modCount;
+	private Map<E, Integer> slots;
+
+	/**
+	 * Builds a new empty WeightedList
+	 */
+	public WeightedList() {
+		capacity = DEFAULT_INITIAL_CAPACITY;
+		elements = new Object[capacity];
+		tree = new double[2 * capacity];
+		slots = new IdentityHashMap<E, Integer>();
+	}
+
+	/**
+	 * @return the number of elements in this list
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return the sum of the weights of the elements in this list
+	 */
+	public double getTotalWeight() {
+		return tree[1];
+	}
+
+	/**
+	 * Appends an element to the end of this list
+	 * @param element the element, which must not be in this list
+	 * @param weight the weight of the element, must not be negative
+	 */
+	public void add(E element, double weight) {
+		if (tail == capacity) {
+			resize(size * 2 >= capacity ? capacity * 2 : capacity);
+		}
+		elements[tail] = element;
+		slots.put(element, Integer.valueOf(tail));
+		setWeight(tail, weight);
+		tail++;
+		size++;
+		modCount++;
+	}
+
+	/**
+	 * Removes an element from this list
+	 * @param element the element
+	 * @return true if the element was found in the list
+	 */
+	public boolean remove(Object element) {
+		Integer slot = slots.get(element);
+		if (slot == null) {
+			return false;
+		}
+		removeSlot(slot.intValue());
+		return true;
+	}
+
+	/**
+	 * @return the first element of this list, or null if it is empty
+	 */
+	@SuppressWarnings("unchecked")
+	public E getFirst() {
+		if (size == 0) {
+			return null;
+		}
+		while (elements[head] == null) {
+			head++;
+		}
+		return (E) elements[head];
+	}
+
+	/**
+	 * Removes the first element of this list
+	 * @return the removed element, or null if the list is empty
+	 */
+	public E removeFirst() {
+		E first = getFirst();
+		if (first != null) {
+			removeSlot(head);
+		}
+		return first;
+	}
+
+	/**
+	 * Returns the first element whose cumulative weight, i.e. the sum of its weight and of the weights
+	 * of the elements before it, is greater than the given value. Drawing the value uniformly between 0
+	 * and the total weight selects each element with probability proportional to its weight.
+	 * @param value the value, between 0 and the total weight
+	 * @return the selected element, or the last element with a positive weight if the value is not less
+	 * than the total weight, or the first element if all the weights are zero. Null if the list is empty.
+	 */
+	@SuppressWarnings("unchecked")
+	public E select(double value) {
+		if (size == 0) {
+			return null;
+		}
+		if (!(tree[1] > 0.0)) {
+			return getFirst();
+		}
+		int node = 1;
+		if (value < tree[1]) {
+			while (node < capacity) {
+				int left = 2 * node;
+				if (tree[left] > value) {
+					node = left;
+				} else {
+					value -= tree[left];
+					node = left + 1;
+				}
+			}
+		} else {
+			node = capacity + tail - 1;
+		}
+		// Rounding in the descent may end on an empty leaf: takes the previous element with a positive weight
+		int slot = node - capacity;
+		while (slot > head && !(tree[capacity + slot] > 0.0)) {
+			slot--;
+		}
+		if (elements[slot] == null || !(tree[capacity + slot] > 0.0)) {
+			return getFirst();
+		}
+		return (E) elements[slot];
+	}
+
+	/**
+	 * Removes all the elements of this list
+	 */
+	public void clear() {
+		Arrays.fill(elements, 0, tail, null);
+		Arrays.fill(tree, 0.0);
+		slots.clear();
+		head = 0;
+		tail = 0;
+		size = 0;
+		modCount++;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Iterable#iterator()
+	 */
+	public Iterator<E> iterator() {
+		return new Itr();
+	}
+
+	/**
+	 * Removes the element stored in a slot
+	 * @param slot the slot
+	 */
+	private void removeSlot(int slot) {
+		slots.remove(elements[slot]);
+		elements[slot] = null;
+		setWeight(slot, 0.0);
+		size--;
+		modCount++;
+		if (size == 0) {
+			head = 0;
+			tail = 0;
+		}
+	}
+
+	/**
+	 * Sets the weight of a slot and updates the sums of its ancestors
+	 * @param slot the slot
+	 * @param weight the weight
+	 */
+	private void setWeight(int slot, double weight) {
+		int node = capacity + slot;
+		tree[node] = weight;
+		for (node >>= 1; node > 0; node >>= 1) {
+			tree[node] = tree[2 * node] + tree[2 * node + 1];
+		}
+	}
+
+	/**
+	 * Moves all the elements at the beginning of new arrays with the given capacity and rebuilds the tree
+	 * @param newCapacity the new capacity
+	 */
+	private void resize(int newCapacity) {
+		Object[] oldElements = elements;
+		double[] oldTree = tree;
+		int oldCapacity = capacity;
+		elements = new Object[newCapacity];
+		tree = new double[2 * newCapacity];
+		capacity = newCapacity;
+		int count = 0;
+		for (int i = head; i < tail; i++) {
+			if (oldElements[i] != null) {
+				@SuppressWarnings("unchecked")
+				E element = (E) oldElements[i];
+				elements[count] = element;
+				tree[capacity + count] = oldTree[oldCapacity + i];
+				slots.put(element, Integer.valueOf(count));
+				count++;
+			}
+		}
+		for (int node = capacity - 1; node > 0; node--) {
+			tree[node] = tree[2 * node] + tree[2 * node + 1];
+		}
+		head = 0;
+		tail = count;
+	}
+
+	private class Itr implements Iterator<E> {
+
+		private int next = head;
+		private int last = -1;
+		private int expectedModCount = modCount;
+
+		public boolean hasNext() {
+			while (next < tail && elements[next] == null) {
+				next++;
+			}
+			return next < tail;
+		}
+
+		@SuppressWarnings("unchecked")
+		public E next() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			last = next++;
+			return (E) elements[last];
+		}
+
+		public void remove() {
+			if (last < 0) {
+				throw new IllegalStateException();
+			}
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			removeSlot(last);
+			last = -1;
+			expectedModCount = modCount;
+		}
+
+	}
+
+}
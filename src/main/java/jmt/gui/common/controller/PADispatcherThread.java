@@ -18,7 +18,6 @@
 
 package jmt.gui.common.controller;
 
-import java.io.File;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -27,8 +26,8 @@ import java.util.Vector;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import javax.swing.JOptionPane;
 
+import jmt.engine.dataAnalysis.XMLSimulationOutput;
 import jmt.engine.simDispatcher.DispatcherJSIMschema;
 import jmt.framework.gui.graph.MeasureValue;
 import jmt.gui.common.controller.TimerThread;
@@ -42,7 +41,6 @@ import jmt.gui.common.definitions.StoredResultsModel;
 import jmt.gui.common.definitions.parametric.ParametricAnalysisDefinition;
 import jmt.gui.common.panels.parametric.PAProgressWindow;
 import jmt.gui.common.panels.parametric.PAResultsWindow;
-import jmt.gui.common.xml.XMLReader;
 import jmt.gui.common.xml.XMLResultsReader;
 import jmt.gui.common.xml.XMLWriter;
 
@@ -169,7 +167,6 @@ public class PADispatcherThread extends Thread implements AbortMeasure {
 
 	@Override
 	public void run() {
-		File simulationFile = null;
 		ParametricAnalysisDefinition pad = simd.getParametricAnalysisModel();
 		pad.createValuesSet();
 		int steps = pad.getNumberOfSteps();
@@ -183,16 +180,11 @@ public class PADispatcherThread extends Thread implements AbortMeasure {
 
 		for (currentStep = 0; currentStep < steps; currentStep++) {
 			pad.changeModel(currentStep);
-			try {
-				simulationFile = File.createTempFile("~JModelSimulation-" + currentStep, ".xml");
-				simulationFile.deleteOnExit();
-			} catch (Exception e) {
-				JOptionPane.showMessageDialog(null, "File exception", "Error", JOptionPane.ERROR_MESSAGE);
-			}
-			simulationFile.deleteOnExit();
-			XMLWriter.writeXML(simulationFile, (CommonModel) simd);
+			// The model of each step is kept in memory, so the engine does not need to parse it again
+			Document simulationDocument = XMLWriter.getDocument((CommonModel) simd, "JModelSimulation-" + currentStep);
 
-			DispatcherJSIMschema simulator = (new DispatcherJSIMschema(simulationFile));
+			DispatcherJSIMschema simulator = (new DispatcherJSIMschema(simulationDocument));
+			simulator.setOutputEnabled(false);
 			SimSolver ss = new SimSolver(simulator, currentStep, results_latch);
 			if (simd.getMaximumDuration().doubleValue() > 0) {
 				ss.setTimer(new TimerThread(simulator, simd.getMaximumDuration().doubleValue()));
@@ -295,10 +287,8 @@ public class PADispatcherThread extends Thread implements AbortMeasure {
 				gui.handleException(ex);
 			}
 
-			File output = simulator.getSimulation().getOutputFile();
-			output.deleteOnExit();
-
-			Document doc = XMLReader.loadXML(output.getAbsolutePath());
+			// Results are read directly from the measures of the simulation
+			Document doc = new XMLSimulationOutput(simulator.getSimulation()).createDocument();
 			StoredResultsModel results = new StoredResultsModel();
 			XMLResultsReader.parseXML(doc, results);
 			simulation_results[step] = results;
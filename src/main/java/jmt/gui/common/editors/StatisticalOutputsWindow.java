@@ -32,10 +32,7 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.text.DecimalFormat;
-import java.util.Collections;
 import java.util.Enumeration;
-import java.util.HashMap;
-import java.util.Map;
 
 import javax.swing.AbstractButton;
 import javax.swing.BorderFactory;
@@ -889,18 +886,17 @@ public class StatisticalOutputsWindow extends JMTFrame {
 		CSVLogger logger = new CSVLogger(targetFile, new String[] {CSV_COLUMN_INDEX, CSV_COLUMN_START, CSV_COLUMN_END, CSV_COLUMN_VALUE}, false, 
 				Defaults.get("loggerDelimiter"), Defaults.get("loggerDecimalSeparator"));
 		try {
-			HashMap<String, Number> value = new HashMap<>();
-			Map<String,Number> defaults = Collections.emptyMap();
+			double[] row = new double[4];
 			double[] values = statGraph.getDistribution(type);
 			double[] start = statGraph.getDistributionIntervalsStart();
 			double[] end = statGraph.getDistriburionIntervalsEnd();
 
 			for (int i=0; i<values.length; i++) {
-				value.put(CSV_COLUMN_INDEX, i + 1);
-				value.put(CSV_COLUMN_START, start[i]);
-				value.put(CSV_COLUMN_END, end[i]);
-				value.put(CSV_COLUMN_VALUE, values[i]);
-				logger.log(value, defaults);
+				row[0] = i + 1;
+				row[1] = start[i];
+				row[2] = end[i];
+				row[3] = values[i];
+				logger.log(row);
 			}
 		} finally {
 			logger.close();
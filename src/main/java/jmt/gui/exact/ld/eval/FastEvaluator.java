@@ -20,6 +20,7 @@ package jmt.gui.exact.ld.eval;
 import java.net.URL;
 
 import jmt.common.exception.ExpressionParseException;
+import jmt.engine.math.parser.CompiledExpression;
 import jmt.engine.math.parser.Parser;
 import jmt.gui.common.editors.LDStrategyEditor;
 
@@ -56,7 +57,7 @@ public class FastEvaluator implements Evaluator {
 	 */
 	public double[] evaluate(String expression, double[] x) throws ExpressionParseException {
 		try {
-			Parser p = new Parser(expression, true);
+			CompiledExpression p = new Parser(expression, true).compile();
 			double[] y = new double[x.length];
 			for (int i = 0; i < x.length; i++) {
 				p.setVariable(X, x[i]);
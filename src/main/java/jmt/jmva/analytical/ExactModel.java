@@ -68,6 +68,10 @@ public class ExactModel implements ExactConstants  {
 	//Set by default if user does not enter a max samples value
 	//private int maxSamples = SolverMultiClosedMonteCarlo.DEFAULT_MAX_SAMPLES;
 	private int maxSamples = SolverMultiClosedMonteCarloLogistic.DEFAULT_MAX_SAMPLES;
+	//Number of threads of the exact solvers, 0 if user does not enter a value (uses the number of processors)
+	private int threads = 0;
+	//Accelerates the approximate MVA solvers and warm starts them from the previous what-if iteration
+	private boolean accelerated = false;
 	//Names of the algorithms to be compared
 	private Set<SolverAlgorithm> whatifAlgorithms;
 	private Map<SolverAlgorithm, Double> whatifAlgorithmsTolerance;
@@ -234,6 +238,8 @@ public class ExactModel implements ExactConstants  {
 		algorithmType = e.algorithmType;
 		tolerance = e.tolerance;
 		maxSamples = e.maxSamples;
+		threads = e.threads;
+		accelerated = e.accelerated;
 		whatifAlgorithms = EnumSet.copyOf(e.whatifAlgorithms);
 		whatifAlgorithmsTolerance = new EnumMap<SolverAlgorithm, Double>(e.whatifAlgorithmsTolerance);
 		whatifAlgorithmsMaxSamples = new EnumMap<SolverAlgorithm, Integer>(e.whatifAlgorithmsMaxSamples);
@@ -295,6 +301,39 @@ public class ExactModel implements ExactConstants  {
 		maxSamples = mSamples;
 	}
 
+	/**
+	 * @return the number of threads the exact multiclass solvers may use,
+	 * by default the number of available processors
+	 */
+	public int getThreads() {
+		return (threads > 0) ? threads : Runtime.getRuntime().availableProcessors();
+	}
+
+	/**
+	 * Sets the number of threads the exact multiclass solvers may use
+	 * @param threads the number of threads, or 0 to use the number of available processors
+	 */
+	public void setThreads(int threads) {
+		this.threads = Math.max(threads, 0);
+	}
+
+	/**
+	 * @return true if the fixed point iteration of the approximate MVA solvers is accelerated
+	 * and, in what-if analyses, starts from the solution of the previous iteration
+	 */
+	public boolean isAccelerated() {
+		return accelerated;
+	}
+
+	/**
+	 * Sets whether the fixed point iteration of the approximate MVA solvers is accelerated
+	 * and, in what-if analyses, starts from the solution of the previous iteration
+	 * @param accelerated true to accelerate the approximate MVA solvers
+	 */
+	public void setAccelerated(boolean accelerated) {
+		this.accelerated = accelerated;
+	}
+
 	/**
 	 * @return the set of algorithm to perform whatif on
 	 */
@@ -479,6 +518,34 @@ public class ExactModel implements ExactConstants  {
 		this.algIterations.get(alg)[iteration] = algIterations;
 	}
 
+	/**
+	 * sets the result data of an iteration, copying them from a copy of this model where
+	 * that iteration was solved. This is called when what-if iterations are solved concurrently.
+	 * @param solved the copy of this model holding the results
+	 * @param iteration the iteration to copy
+	 */
+	public void setResults(ExactModel solved, int iteration) {
+		for (SolverAlgorithm alg : solved.queueLen.keySet()) {
+			setResults(alg, solved.algIterations.get(alg)[iteration], extractIteration(solved.queueLen.get(alg), iteration),
+					extractIteration(solved.throughput.get(alg), iteration), extractIteration(solved.resTimes.get(alg), iteration),
+					extractIteration(solved.util.get(alg), iteration), solved.logNormConst.get(alg).doubleValue(), iteration);
+		}
+	}
+
+	/**
+	 * @return for each i,j result[i][j] = array[i][j][iteration]
+	 */
+	private static double[][] extractIteration(double[][][] array, int iteration) {
+		double[][] res = new double[array.length][];
+		for (int i = 0; i < array.length; i++) {
+			res[i] = new double[array[i].length];
+			for (int j = 0; j < array[i].length; j++) {
+				res[i][j] = array[i][j][iteration];
+			}
+		}
+		return res;
+	}
+
 	public void setResultsBooleans(boolean value) {
 		hasResults = value;
 		resultsOK = value;
@@ -1421,6 +1488,12 @@ public class ExactModel implements ExactConstants  {
 		algType_element.setAttribute("name", algorithmType.toString());
 		algType_element.setAttribute("tolerance", Double.toString(tolerance));
 		algType_element.setAttribute("maxSamples", Integer.toString(maxSamples));
+		if (threads > 0) {
+			algType_element.setAttribute("threads", Integer.toString(threads));
+		}
+		if (accelerated) {
+			algType_element.setAttribute("accelerated", Boolean.toString(accelerated));
+		}
 
 		/* compare algorithms box */
 		Element compareAlgs_element = root.createElement("compareAlgs");
@@ -1740,6 +1813,12 @@ public class ExactModel implements ExactConstants  {
 			if (!algType.getAttribute("maxSamples").isEmpty()) {
 				setMaxSamples(Integer.parseInt(algType.getAttribute("maxSamples")));
 			}
+			if (!algType.getAttribute("threads").isEmpty()) {
+				setThreads(Integer.parseInt(algType.getAttribute("threads")));
+			}
+			if (!algType.getAttribute("accelerated").isEmpty()) {
+				setAccelerated(Boolean.parseBoolean(algType.getAttribute("accelerated")));
+			}
 
 			Element compareAlgs = (Element) algParam.getElementsByTagName("compareAlgs").item(0);
 			NodeList whatIfAlgs = compareAlgs.getElementsByTagName("whatIfAlg");
@@ -19,6 +19,12 @@
 package jmt.jmva.analytical;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import jmt.jmva.analytical.solvers.DataStructures.BigRational;
 import jmt.common.exception.InputDataException;
@@ -44,7 +50,11 @@ public class SolverDispatcher {
 	private static final boolean DEBUG = true;
 	private static final boolean PRINTMODEL = false;
 
-	private boolean stopped = false;
+	private volatile boolean stopped = false;
+	/** Number of threads of the exact solvers, overrides the one of the model if greater than 0 */
+	private int threads = 0;
+	/** Accelerates the approximate MVA solvers, overrides the option of the model if true */
+	private boolean accelerated = false;
 
 	private XMLUtils xmlUtils;
 	/** Used to notify when a computation ends */
@@ -93,6 +103,24 @@ public class SolverDispatcher {
 
 	}
 
+	/**
+	 * Sets the number of threads the exact multiclass solvers may use, overriding
+	 * the one stored in the solved models.
+	 * @param threads the number of threads, or 0 to use the one of the model
+	 */
+	public void setThreads(int threads) {
+		this.threads = Math.max(threads, 0);
+	}
+
+	/**
+	 * Sets whether the approximate MVA solvers are accelerated and warm started in
+	 * what-if analyses, overriding the option stored in the solved models.
+	 * @param accelerated true to accelerate the approximate MVA solvers
+	 */
+	public void setAccelerated(boolean accelerated) {
+		this.accelerated = accelerated;
+	}
+
 	/**
 	 * Stops What-if analysis and invalidates results
 	 */
@@ -137,6 +165,22 @@ public class SolverDispatcher {
 	}
 
 	public void finalDispatch(ExactModel model, int iteration) throws InputDataException, SolverException {
+		dispatch(model, iteration);
+
+		// Notify termination of current model solution
+		if (listener != null) {
+			listener.computationTerminated(iteration);
+		}
+	}
+
+	/**
+	 * Solves an iteration of the model without notifying the listener.
+	 * @param model model to be solved
+	 * @param iteration iteration of the what-if analysis, or 0
+	 * @throws InputDataException if some input data are malformed
+	 * @throws SolverException    if something goes wrong during solution
+	 */
+	private void dispatch(ExactModel model, int iteration) throws InputDataException, SolverException {
 		/* disable all change-checking */
 		model.discardChanges();
 		model.setChanged();
@@ -169,11 +213,6 @@ public class SolverDispatcher {
 			}
 			// set boolean to notify results have been computed
 			model.setResultsBooleans(true);
-
-			// Notify termination of current model solution
-			if (listener != null) {
-				listener.computationTerminated(iteration);
-			}
 		} catch (InputDataException e) {
 			throw e;
 		} catch (SolverException e) {
@@ -236,8 +275,8 @@ public class SolverDispatcher {
 						throw new UnsupportedModelException("The selected solver cannot handle load-dependent stations, please choose another.");
 					}
 					solver = new SolverSingleClosedRECAL(pop, stations);
-				} else if (SolverAlgorithm.COMOM.equals(algorithmType)) {
-					// in single-class we run RECAL as COMOM initialization, since it is meant for
+				} else if (SolverAlgorithm.MOM.equals(algorithmType) || SolverAlgorithm.COMOM.equals(algorithmType)) {
+					// in single-class we run RECAL as MOM and COMOM initialization, since they are meant for
 					// models with few stations
 					if (model.isLd()) {
 						throw new UnsupportedModelException("The selected solver cannot handle load-dependent stations, please choose another.");
@@ -247,7 +286,12 @@ public class SolverDispatcher {
 					if (model.isLd()) {
 						throw new UnsupportedModelException("The selected solver cannot handle load-dependent stations, please choose another.");
 					}
-					solver = new SolverSingleClosedAMVA(pop, stations, algorithmType, tolerance);
+					SolverSingleClosedAMVA amvaSolver = new SolverSingleClosedAMVA(pop, stations, algorithmType, tolerance);
+					if (accelerated || model.isAccelerated()) {
+						amvaSolver.setAccelerated(true);
+						amvaSolver.setWarmStart(getWarmStart(model, algorithmType, iteration));
+					}
+					solver = amvaSolver;
 				}
 
 				if (!solver.input(names, types, serviceTimes, visits)) {
@@ -323,7 +367,7 @@ public class SolverDispatcher {
 		double[][][] serviceTimes = model.getServiceTimes();
 		double[][] visits = model.getVisits();
 
-		int nThreads = 1;
+		int nThreads = (threads > 0) ? threads : model.getThreads();
 		double tolerance = model.getTolerance();
 		int maxSamples = model.getMaxSamples();
 
@@ -377,16 +421,17 @@ public class SolverDispatcher {
 							fail("Error initializing RECALMultiSolver", null);
 						}
 						solver = closedSolver;
-					}/* else if (SolverAlgorithm.MOM.equals(algorithmType)) {
+					} else if (SolverAlgorithm.MOM.equals(algorithmType)) {
 						if (model.isLd()) {
 							throw new UnsupportedModelException("The selected solver cannot handle load-dependent stations, please choose another.");
 						}
+						// the residue systems of MoM are solved in parallel on nThreads
 						SolverMultiClosedMoM closedSolver = new SolverMultiClosedMoM(classes, stations, classPop);
 						if (!closedSolver.input(stationTypes, serviceTimes, visits, nThreads)) {
-								fail("Error initializing MoMMultiSolver", null);
+							fail("Error initializing MoMMultiSolver", null);
 						}
 						solver = closedSolver;
-					}*/ else if (SolverAlgorithm.COMOM.equals(algorithmType)) {
+					} else if (SolverAlgorithm.COMOM.equals(algorithmType)) {
 						if (model.isLd()) {
 							throw new UnsupportedModelException("The selected solver cannot handle load-dependent stations, please choose another.");
 						}
@@ -456,6 +501,10 @@ public class SolverDispatcher {
 									SolverAlgorithm.DESOUZA_MUNTZ_LINEARIZER.equals(algorithmType));
 						}
 						closedSolver.setTolerance(tolerance);
+						if (accelerated || model.isAccelerated()) {
+							closedSolver.setAccelerated(true);
+							closedSolver.setWarmStart(getWarmStart(model, algorithmType, iteration));
+						}
 
 						if (!closedSolver.input(stationNames, stationTypes, serviceTimes, visits)) {
 							String algName = algorithmType.toString().replace(" ", "").replace("-", "");
@@ -489,6 +538,9 @@ public class SolverDispatcher {
 		} else if (solver instanceof SolverMultiClosedRECAL) {
 			BigRational G = ((SolverMultiClosedRECAL) solver).qnm.getNormalisingConstant();
 			logNC = G.log() - 5 * Math.log(10) * ((SolverMultiClosedRECAL) solver).qnm.N.sum();
+		} else if (solver instanceof SolverMultiClosedMoM) {
+			BigRational G = ((SolverMultiClosedMoM) solver).qnm.getNormalisingConstant();
+			logNC = G.log() - 6 * Math.log(10) * ((SolverMultiClosedMoM) solver).qnm.N.sum();
 		} else if (solver instanceof SolverMultiClosedCoMoM) {
 			BigRational G = ((SolverMultiClosedCoMoM) solver).qnm.getNormalisingConstant();
 			logNC = G.log() - 5 * Math.log(10) * ((SolverMultiClosedCoMoM) solver).qnm.N.sum();
@@ -508,6 +560,33 @@ public class SolverDispatcher {
 		model.setResults(algorithmType, algIterations, ql, tp, rt, util, logNC, iteration);
 	}
 
+	/**
+	 * Gets the queue lengths computed by an algorithm at the previous iteration of a what-if
+	 * analysis, used as starting point of the approximate MVA solvers.
+	 * @param model model being solved
+	 * @param algorithm the algorithm
+	 * @param iteration current iteration of the what-if analysis
+	 * @return the queue lengths [stations][classes], or null if they were not computed
+	 */
+	private double[][] getWarmStart(ExactModel model, SolverAlgorithm algorithm, int iteration) {
+		if (iteration == 0 || model.getQueueLen() == null) {
+			return null;
+		}
+		int[] algIterations = model.getAlgIterations(algorithm);
+		double[][][] queueLen = model.getQueueLen(algorithm);
+		if (algIterations == null || queueLen == null || algIterations[iteration - 1] == 0) {
+			return null;
+		}
+		double[][] res = new double[queueLen.length][];
+		for (int k = 0; k < queueLen.length; k++) {
+			res[k] = new double[queueLen[k].length];
+			for (int c = 0; c < queueLen[k].length; c++) {
+				res[k][c] = queueLen[k][c][iteration - 1];
+			}
+		}
+		return res;
+	}
+
 	/**
 	 * Map class types from model constants to solver constants
 	 */
@@ -563,6 +642,117 @@ public class SolverDispatcher {
 	}
 
 	// --- What-if Analysis methods --- Bertoli Marco -------------------------------------
+	/**
+	 * Applies the what-if value of an iteration to the model to be solved.
+	 */
+	private interface WhatIfStep {
+		/**
+		 * Changes the model according to the what-if value of an iteration.
+		 * @param model model to be changed
+		 * @param iteration what-if iteration
+		 * @throws InputDataException if the what-if value is not valid
+		 */
+		public void apply(ExactModel model, int iteration) throws InputDataException;
+	}
+
+	/**
+	 * Solves every iteration of a what-if analysis. Iterations are independent, so if more than
+	 * one thread is allowed they are solved concurrently, each one on a copy of the model, and their
+	 * results are copied back in iteration order. Accelerated approximate MVA solvers start from the
+	 * solution of the previous iteration instead, so in that case iterations are solved in order.
+	 * @param model input model
+	 * @param step applies the what-if value of each iteration
+	 */
+	private void solveWhatIf(ExactModel model, WhatIfStep step) throws InputDataException, SolverException {
+		int nThreads = (threads > 0) ? threads : model.getThreads();
+		int iterations = model.getWhatIfValues().length;
+		if (nThreads <= 1 || iterations <= 1 || accelerated || model.isAccelerated()) {
+			for (int i = 0; i < iterations && !stopped; i++) {
+				step.apply(model, i);
+
+				// Checks if stopped
+				if (stopped) {
+					break;
+				}
+
+				// Now solves current model - we cannot interrupt this as it is not designed to
+				// be done.
+				finalDispatch(model, i);
+			}
+			return;
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(Math.min(nThreads, iterations));
+		List<Future<ExactModel>> solutions = new ArrayList<Future<ExactModel>>(iterations);
+		InputDataException stepException = null;
+		try {
+			for (int i = 0; i < iterations && !stopped; i++) {
+				final ExactModel copy = new ExactModel(model);
+				final int iteration = i;
+				try {
+					step.apply(copy, i);
+				} catch (InputDataException e) {
+					// Previous iterations are still solved, as in a sequential analysis
+					stepException = e;
+					break;
+				}
+				solutions.add(pool.submit(new Callable<ExactModel>() {
+					public ExactModel call() throws Exception {
+						if (stopped) {
+							return null;
+						}
+						copy.resetResults();
+						dispatch(copy, iteration);
+						return copy;
+					}
+				}));
+			}
+
+			for (int i = 0; i < solutions.size() && !stopped; i++) {
+				ExactModel solved = getSolution(solutions.get(i));
+				if (solved == null) {
+					break;
+				}
+				model.setResults(solved, i);
+				model.setResultsBooleans(true);
+
+				// Notify termination of current model solution
+				if (listener != null) {
+					listener.computationTerminated(i);
+				}
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		if (stepException != null && !stopped) {
+			throw stepException;
+		}
+	}
+
+	/**
+	 * Waits for the solution of a what-if iteration.
+	 * @param solution the pending solution
+	 * @return the solved copy of the model, or null if the analysis was stopped before solving it
+	 */
+	private ExactModel getSolution(Future<ExactModel> solution) throws InputDataException, SolverException {
+		try {
+			return solution.get();
+		} catch (InterruptedException e) {
+			fail("Interrupted while waiting for what-if results", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof InputDataException) {
+				throw (InputDataException) cause;
+			} else if (cause instanceof SolverException) {
+				throw (SolverException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			fail("Unhandled exception", cause);
+		}
+		return null;
+	}
+
 	/**
 	 * Performs a what-if analysis by changing arrival rates.
 	 * @param model input model
@@ -576,37 +766,30 @@ public class SolverDispatcher {
 			throw new InputDataException("Cannot change arrival rates in a closed model.");
 		}
 		// Values for what-if
-		double[] values = model.getWhatIfValues();
+		final double[] values = model.getWhatIfValues();
 
 		// Backup class data
-		double[] initials = model.getClassData().clone();
+		final double[] initials = model.getClassData().clone();
 
 		// Iterates for what-if executions
-		for (int i = 0; i < model.getWhatIfValues().length && !stopped; i++) {
-			double[] current = initials.clone();
-			// If this is one class only
-			if (model.getWhatIfClass() >= 0) {
-				current[model.getWhatIfClass()] = values[i];
-			}
-			// If this is all open classes
-			else {
-				for (int j = 0; j < current.length; j++) {
-					if (model.getClassTypes()[j] == ExactConstants.CLASS_OPEN) {
-						current[j] = initials[j] * values[i];
+		solveWhatIf(model, new WhatIfStep() {
+			public void apply(ExactModel model, int i) {
+				double[] current = initials.clone();
+				// If this is one class only
+				if (model.getWhatIfClass() >= 0) {
+					current[model.getWhatIfClass()] = values[i];
+				}
+				// If this is all open classes
+				else {
+					for (int j = 0; j < current.length; j++) {
+						if (model.getClassTypes()[j] == ExactConstants.CLASS_OPEN) {
+							current[j] = initials[j] * values[i];
+						}
 					}
 				}
+				model.setClassData(current);
 			}
-			model.setClassData(current);
-
-			// Checks if stopped
-			if (stopped) {
-				break;
-			}
-
-			// Now solves current model - we cannot interrupt this as it is not designed to
-			// be done.
-			finalDispatch(model, i);
-		}
+		});
 		// Resets initial model
 		model.setClassData(initials);
 		// Results are ok if the process was not stopped.
@@ -630,52 +813,47 @@ public class SolverDispatcher {
 		}
 
 		// Values for what-if
-		double[] values = model.getWhatIfValues();
+		final double[] values = model.getWhatIfValues();
 
 		// Backup class data
-		double[] initials = model.getClassData().clone();
+		final double[] initials = model.getClassData().clone();
 
 		// Iterates for what-if executions
-		int i;
-		for (i = 0; i < model.getWhatIfValues().length && !stopped; i++) {
-			double[] current = initials.clone();
-			// If this is one class only
-			if (model.getWhatIfClass() >= 0) {
-				current[model.getWhatIfClass()] = values[i];
-				// Check for not integer values
-				if (Math.abs(current[model.getWhatIfClass()] - Math.rint(current[model.getWhatIfClass()])) > 1e-8) {
-					throw new InputDataException("A fractional population value was assigned to class "
-							+ model.getClassNames()[model.getWhatIfClass()] + " during step " + i);
-				}
-				// Rounds number to avoid truncation problems
-				current[model.getWhatIfClass()] = Math.round(current[model.getWhatIfClass()]);
+		WhatIfStep step = new WhatIfStep() {
+			public void apply(ExactModel model, int i) throws InputDataException {
+				double[] current = initials.clone();
+				// If this is one class only
+				if (model.getWhatIfClass() >= 0) {
+					current[model.getWhatIfClass()] = values[i];
+					// Check for not integer values
+					if (Math.abs(current[model.getWhatIfClass()] - Math.rint(current[model.getWhatIfClass()])) > 1e-8) {
+						throw new InputDataException("A fractional population value was assigned to class "
+								+ model.getClassNames()[model.getWhatIfClass()] + " during step " + i);
+					}
+					// Rounds number to avoid truncation problems
+					current[model.getWhatIfClass()] = Math.round(current[model.getWhatIfClass()]);
 
-			}
-			// If this is all closed classes
-			else {
-				for (int j = 0; j < current.length; j++) {
-					if (model.getClassTypes()[j] == ExactConstants.CLASS_CLOSED) {
-						current[j] = initials[j] * values[i];
-						// Check for not integer values
-						if (Math.abs(current[j] - Math.rint(current[j])) > 1e-8) {
-							throw new InputDataException("A fractional population value was assigned to class " + model.getClassNames()[j]
-									+ " during step " + i);
+				}
+				// If this is all closed classes
+				else {
+					for (int j = 0; j < current.length; j++) {
+						if (model.getClassTypes()[j] == ExactConstants.CLASS_CLOSED) {
+							current[j] = initials[j] * values[i];
+							// Check for not integer values
+							if (Math.abs(current[j] - Math.rint(current[j])) > 1e-8) {
+								throw new InputDataException("A fractional population value was assigned to class " + model.getClassNames()[j]
+										+ " during step " + i);
+							}
+							// Rounds number to avoid truncation problems
+							current[j] = Math.round(current[j]);
 						}
-						// Rounds number to avoid truncation problems
-						current[j] = Math.round(current[j]);
 					}
 				}
+				model.setClassData(current);
 			}
-			model.setClassData(current);
-
-			// Checks if stopped
-			if (stopped) {
-				break;
-			}
-
-			// Now solves current model - we cannot interrupt this as it is not designed to
-			// be done.
-			finalDispatch(model, i);
+		};
+		if (!whatIfCustomersSingleClass(model, step)) {
+			solveWhatIf(model, step);
 		}
 		// Resets initial model
 		model.setClassData(initials);
@@ -683,6 +861,75 @@ public class SolverDispatcher {
 		model.setResultsOK(!stopped);
 	}
 
+	/**
+	 * Performs a what-if analysis on the number of customers of a single class closed model with
+	 * the exact MVA algorithm. As the solution for N customers computes the ones for 1, 2, ... N-1
+	 * customers, the model is solved only once for the greatest population and the results of the
+	 * intermediate populations are reused.
+	 * @param model input model
+	 * @param step applies the what-if population of each iteration
+	 * @return false if the analysis cannot be performed in this way, so nothing was solved
+	 */
+	private boolean whatIfCustomersSingleClass(ExactModel model, WhatIfStep step) throws InputDataException, SolverException {
+		if (model.isMultiClass() || !model.isClosed() || model.isMultipleServers() || model.isWhatifAlgorithms()
+				|| !SolverAlgorithm.EXACT.equals(model.getAlgorithmType())) {
+			return false;
+		}
+		int iterations = model.getWhatIfValues().length;
+		int[] populations = new int[iterations];
+		int maxPopulation = 0;
+		ExactModel copy = new ExactModel(model);
+		for (int i = 0; i < iterations; i++) {
+			try {
+				step.apply(copy, i);
+			} catch (InputDataException e) {
+				// The iterations before the wrong one must be solved as usual
+				return false;
+			}
+			populations[i] = (int) copy.getClassData()[0];
+			if (populations[i] <= 0) {
+				return false;
+			}
+			maxPopulation = Math.max(maxPopulation, populations[i]);
+		}
+
+		int stations = model.getStations();
+		SolverSingleClosedMVA solver = new SolverSingleClosedMVA(maxPopulation, stations);
+		if (!solver.input(model.getStationNames(), mapStationTypes(model.getStationTypes(), false), ArrayUtils.extract13(model.getServiceTimes(), 0),
+				ArrayUtils.extract1(model.getVisits(), 0))) {
+			fail("Error initializing SingleClass solver", null);
+		}
+		solver.solve(true);
+
+		for (int i = 0; i < iterations && !stopped; i++) {
+			step.apply(model, i);
+			/* disable all change-checking */
+			model.discardChanges();
+			model.setChanged();
+
+			double[][] ql = ArrayUtils.makeFilled(stations, 1, -1);
+			ArrayUtils.insert1(ql, solver.getIntermediateQueueLen(populations[i]), 0);
+
+			double[][] tp = ArrayUtils.makeFilled(stations, 1, -1);
+			ArrayUtils.insert1(tp, solver.getIntermediateThroughput(populations[i]), 0);
+
+			double[][] rt = ArrayUtils.makeFilled(stations, 1, -1);
+			ArrayUtils.insert1(rt, solver.getIntermediateResTime(populations[i]), 0);
+
+			double[][] util = ArrayUtils.makeFilled(stations, 1, -1);
+			ArrayUtils.insert1(util, solver.getIntermediateUtilization(populations[i]), 0);
+
+			model.setResults(SolverAlgorithm.EXACT, 0, ql, tp, rt, util, Double.NaN, i);
+			model.setResultsBooleans(true);
+
+			// Notify termination of current model solution
+			if (listener != null) {
+				listener.computationTerminated(i);
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Performs a what-if analysis by changing service demands of a given station.
 	 * @param model input model
@@ -697,45 +944,37 @@ public class SolverDispatcher {
 		}
 
 		// Values for what-if
-		double[] values = model.getWhatIfValues();
+		final double[] values = model.getWhatIfValues();
 
 		// Backup service times data (note: we multiply only service times as it is the
 		// same of multiply service demands)
-		double[][][] initials = ArrayUtils.copy3(model.getServiceTimes());
+		final double[][][] initials = ArrayUtils.copy3(model.getServiceTimes());
 
 		// Saves what-if class and station indices
-		int cl = model.getWhatIfClass();
-		int st = model.getWhatIfStation();
+		final int cl = model.getWhatIfClass();
+		final int st = model.getWhatIfStation();
 
 		// Iterates for what-if executions
-		int i;
-		for (i = 0; i < values.length && !stopped; i++) {
-			double[][][] current = ArrayUtils.copy3(initials);
-			// If this is one class only
-			if (cl >= 0) {
-				if (model.getVisits()[st][cl] > 0) {
-					current[st][cl][0] = values[i] / model.getVisits()[st][cl];
-				} else {
-					current[st][cl][0] = 0.0;
+		solveWhatIf(model, new WhatIfStep() {
+			public void apply(ExactModel model, int i) {
+				double[][][] current = ArrayUtils.copy3(initials);
+				// If this is one class only
+				if (cl >= 0) {
+					if (model.getVisits()[st][cl] > 0) {
+						current[st][cl][0] = values[i] / model.getVisits()[st][cl];
+					} else {
+						current[st][cl][0] = 0.0;
+					}
 				}
-			}
-			// If this is all classes
-			else {
-				for (int j = 0; j < model.getClasses(); j++) {
-					current[st][j][0] = initials[st][j][0] * values[i];
+				// If this is all classes
+				else {
+					for (int j = 0; j < model.getClasses(); j++) {
+						current[st][j][0] = initials[st][j][0] * values[i];
+					}
 				}
+				model.setServiceTimes(current);
 			}
-			model.setServiceTimes(current);
-
-			// Checks if stopped
-			if (stopped) {
-				break;
-			}
-
-			// Now solves current model - we cannot interrupt this as it is not designed to
-			// be done.
-			finalDispatch(model, i);
-		}
+		});
 		// Resets initial model
 		model.setServiceTimes(initials);
 		// Results are ok if the process was not stopped.
@@ -768,43 +1007,37 @@ public class SolverDispatcher {
 		}
 
 		// Values for what-if
-		double[] values = model.getWhatIfValues();
+		final double[] values = model.getWhatIfValues();
 
 		// Backup class data
-		double[] initials = model.getClassData().clone();
+		final double[] initials = model.getClassData().clone();
 
 		// Value for total number of customer
-		double N = initials[class1] + initials[class2];
+		final double N = initials[class1] + initials[class2];
 
 		// Iterates for what-if executions
-		int i;
-		for (i = 0; i < model.getWhatIfValues().length && !stopped; i++) {
-			double[] current = initials.clone();
-			current[class1] = values[i] * N;
-			current[class2] = (1 - values[i]) * N;
-			// Check for not integer values
-			if (Math.abs(current[class1] - Math.rint(current[class1])) > 1e-8) {
-				throw new InputDataException("A fractional population value was assigned to class " + model.getClassNames()[class1]
-						+ " during step " + i);
-			} else if (Math.abs(current[class2] - Math.rint(current[class2])) > 1e-8) {
-				throw new InputDataException("A fractional population value was assigned to class " + model.getClassNames()[class2]
-						+ " during step " + i);
-			}
-			// Rounds number to avoid truncation problems
-			current[class1] = Math.round(current[class1]);
-			current[class2] = Math.round(current[class2]);
-
-			model.setClassData(current);
+		final int firstClass = class1;
+		final int secondClass = class2;
+		solveWhatIf(model, new WhatIfStep() {
+			public void apply(ExactModel model, int i) throws InputDataException {
+				double[] current = initials.clone();
+				current[firstClass] = values[i] * N;
+				current[secondClass] = (1 - values[i]) * N;
+				// Check for not integer values
+				if (Math.abs(current[firstClass] - Math.rint(current[firstClass])) > 1e-8) {
+					throw new InputDataException("A fractional population value was assigned to class " + model.getClassNames()[firstClass]
+							+ " during step " + i);
+				} else if (Math.abs(current[secondClass] - Math.rint(current[secondClass])) > 1e-8) {
+					throw new InputDataException("A fractional population value was assigned to class " + model.getClassNames()[secondClass]
+							+ " during step " + i);
+				}
+				// Rounds number to avoid truncation problems
+				current[firstClass] = Math.round(current[firstClass]);
+				current[secondClass] = Math.round(current[secondClass]);
 
-			// Checks if stopped
-			if (stopped) {
-				break;
+				model.setClassData(current);
 			}
-
-			// Now solves current model - we cannot interrupt this as it is not designed to
-			// be done.
-			finalDispatch(model, i);
-		}
+		});
 		// Resets initial model
 		model.setClassData(initials);
 		// Results are ok if the process was not stopped.
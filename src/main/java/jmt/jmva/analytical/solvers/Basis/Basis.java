@@ -26,6 +26,7 @@ import java.util.Set;
 
 import jmt.jmva.analytical.solvers.DataStructures.BigRational;
 import jmt.jmva.analytical.solvers.DataStructures.EnhancedVector;
+import jmt.jmva.analytical.solvers.DataStructures.LongKeyMap;
 import jmt.jmva.analytical.solvers.DataStructures.PopulationChangeVector;
 import jmt.jmva.analytical.solvers.DataStructures.QNModel;
 import jmt.jmva.analytical.solvers.Exceptions.InternalErrorException;
@@ -49,6 +50,13 @@ public abstract class Basis {
 	 */
 	protected ArrayList<PopulationChangeVector> order;
 
+	/**
+	 * Positions of the vectors in 'order', indexed by the vectors packed into long keys.
+	 * Built when first needed, null if not built yet.
+	 */
+	private LongKeyMap<Integer> positions;
+	private long radix;
+
 	/**
 	 * Variables to store qnm fields for easy access	
 	 **/	
@@ -136,7 +144,53 @@ public abstract class Basis {
 			return;
 		} else { //sort the ordering
 			Collections.sort(order, vector_comparator);
+			positions = null;
+		}
+	}
+
+	/**
+	 * Finds the position of a PopulationChangeVector in the ordering, like order.indexOf(n),
+	 * looking it up by its elements packed into a long key.
+	 * @param n The PopulationChangeVector
+	 * @return The position of n in 'order', -1 if it is not found
+	 */
+	protected int positionOf(PopulationChangeVector n) {
+		if (positions == null) {
+			// Elements of the vectors in the ordering are between 0 and M
+			radix = M + 1;
+			if (R * (Math.log(radix) / Math.log(2)) >= 62) {
+				return order.indexOf(n);
+			}
+			positions = new LongKeyMap<Integer>();
+			for (int i = order.size() - 1; i >= 0; i--) {
+				positions.put(pack(order.get(i)), Integer.valueOf(i));
+			}
+		}
+		long key = pack(n);
+		if (key < 0) {
+			return -1;
+		}
+		Integer position = positions.get(key);
+		return position != null ? position.intValue() : -1;
+	}
+
+	/**
+	 * Packs the elements of a vector into a long key.
+	 * @return The key, or -1 if the elements are not between 0 and M
+	 */
+	private long pack(PopulationChangeVector n) {
+		if (n.size() != R) {
+			return -1;
+		}
+		long key = 0;
+		for (int i = R - 1; i >= 0; i--) {
+			int value = n.get(i);
+			if (value < 0 || value >= radix) {
+				return -1;
+			}
+			key = key * radix + value;
 		}
+		return key;
 	}
 
 	/**
@@ -100,7 +100,7 @@ public class CoMoMBasis extends Basis {
 	 * @throws InternalErrorException
 	 */
 	public int indexOf(PopulationChangeVector n, int m) throws InternalErrorException {
-		int population_position = order.indexOf(n);
+		int population_position = positionOf(n);
 		if (population_position == -1) throw new InternalErrorException("Invalid PopulationChangeVector");
 
 		//order multiplicities 0,1,2,3,...M
@@ -18,7 +18,7 @@
 package jmt.jmva.analytical.solvers.DataStructures;
 
 import java.util.ArrayList;
-import java.util.Stack;
+import java.util.Arrays;
 import javax.naming.OperationNotSupportedException;
 
 import jmt.jmva.analytical.solvers.Exceptions.InternalErrorException;
@@ -39,9 +39,11 @@ public class EnhancedVector extends ArrayList<Integer> implements Comparable<Enh
 
     private static final long serialVersionUID = 1L;
     // This stack holds the "positions" of the elenents that have been altered.
-    private Stack<Integer> positions = new Stack<Integer>();
+    private int[] positions = new int[8];
     // This stack holds the "deltas" of alterations corresponding to each position.
-    private Stack<Integer> deltas = new Stack<Integer>();
+    private int[] deltas = new int[8];
+    // The number of alterations in the stacks.
+    private int alterations = 0;
 
     /**
      * Creates an empty EnhancedVector object.
@@ -157,7 +159,7 @@ public class EnhancedVector extends ArrayList<Integer> implements Comparable<Enh
      * @param i The index of the position (starts from 0)
      * @param delta The delta added
      */
-    private void alterElementAt(int i, Integer delta) {
+    private void alterElementAt(int i, int delta) {
         int prevValue = this.get(i);
         int newValue = prevValue + delta;
         this.set(i, newValue);
@@ -171,8 +173,7 @@ public class EnhancedVector extends ArrayList<Integer> implements Comparable<Enh
         if (s != 0) {
             this.alterElementAt(s - 1, -1);
         }
-        positions.push(s);
-        deltas.push(-1);
+        pushAlteration(s, -1);
     }
 
     /**
@@ -183,8 +184,22 @@ public class EnhancedVector extends ArrayList<Integer> implements Comparable<Enh
         if (k != 0) {
             this.alterElementAt(k - 1, 1);
         }
-        positions.push(k);
-        deltas.push(+1);
+        pushAlteration(k, +1);
+    }
+
+    /**
+     * This method records an alteration in the position and delta stacks.
+     * @param position The index of the position (starts from 1)
+     * @param delta The delta added
+     */
+    private void pushAlteration(int position, int delta) {
+        if (alterations == positions.length) {
+            positions = Arrays.copyOf(positions, alterations * 2);
+            deltas = Arrays.copyOf(deltas, alterations * 2);
+        }
+        positions[alterations] = position;
+        deltas[alterations] = delta;
+        alterations++;
     }
 
     /**
@@ -192,9 +207,10 @@ public class EnhancedVector extends ArrayList<Integer> implements Comparable<Enh
      * no alteration has been made, the method terminates silently.
      */
     public void restore() {
-        if (!positions.empty()) {
-            int lastPos = positions.pop();
-            int lastDelta = deltas.pop();
+        if (alterations > 0) {
+            alterations--;
+            int lastPos = positions[alterations];
+            int lastDelta = deltas[alterations];
             if (lastPos != 0) {
                 this.alterElementAt(lastPos - 1, -lastDelta);
             }
@@ -295,8 +311,20 @@ public class EnhancedVector extends ArrayList<Integer> implements Comparable<Enh
      * @param o The object to which
      * @return
      */
-    public synchronized boolean equalsIgnoreHistory(Object o) {
-        return this.toString().equals(o.toString());
+    public boolean equalsIgnoreHistory(Object o) {
+        if (!(o instanceof EnhancedVector)) {
+            return this.toString().equals(String.valueOf(o));
+        }
+        EnhancedVector v = (EnhancedVector) o;
+        if (v.size() != this.size()) {
+            return false;
+        }
+        for (int i = 0; i < this.size(); i++) {
+            if (this.get(i).intValue() != v.get(i).intValue()) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -0,0 +1,127 @@
+/**
+ * Copyright (C) 2016, Laboratorio di Valutazione delle Prestazioni - Politecnico di Milano
+
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+
+package jmt.jmva.analytical.solvers.DataStructures;
+
+import java.util.Arrays;
+
+/**
+ * A hash map with primitive long keys and open addressing (linear probing), used to
+ * store values indexed by packed vectors without boxing the keys or allocating an
+ * entry object for each mapping. Null values are not allowed.
+ *
+ * @param <V> the type of the values
+ */
+public class LongKeyMap<V> {
+
+	private static final int DEFAULT_INITIAL_CAPACITY = 64;
+
+	private long[] keys;
+	private Object[] values;
+	private int mask;
+	private int size;
+
+	/**
+	 * Creates an empty map.
+	 */
+	public LongKeyMap() {
+		keys = new long[DEFAULT_INITIAL_CAPACITY];
+		values = new Object[DEFAULT_INITIAL_CAPACITY];
+		mask = DEFAULT_INITIAL_CAPACITY - 1;
+	}
+
+	/**
+	 * Returns the value associated with a key.
+	 * @param key The key
+	 * @return The value, or null if the key is not in the map
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(long key) {
+		int i = slot(key);
+		while (values[i] != null) {
+			if (keys[i] == key) {
+				return (V) values[i];
+			}
+			i = (i + 1) & mask;
+		}
+		return null;
+	}
+
+	/**
+	 * Associates a value with a key, replacing any previous value.
+	 * @param key The key
+	 * @param value The value, must not be null
+	 */
+	public void put(long key, V value) {
+		int i = slot(key);
+		while (values[i] != null) {
+			if (keys[i] == key) {
+				values[i] = value;
+				return;
+			}
+			i = (i + 1) & mask;
+		}
+		keys[i] = key;
+		values[i] = value;
+		size++;
+		// Keeps the load factor below one half
+		if (2 * size > mask) {
+			rehash(2 * keys.length);
+		}
+	}
+
+	/**
+	 * @return The number of mappings in the map
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Removes all the mappings.
+	 */
+	public void clear() {
+		Arrays.fill(values, null);
+		size = 0;
+	}
+
+	private int slot(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32)) & mask;
+	}
+
+	private void rehash(int capacity) {
+		long[] oldKeys = keys;
+		Object[] oldValues = values;
+		keys = new long[capacity];
+		values = new Object[capacity];
+		mask = capacity - 1;
+		for (int j = 0; j < oldKeys.length; j++) {
+			if (oldValues[j] != null) {
+				int i = slot(oldKeys[j]);
+				while (values[i] != null) {
+					i = (i + 1) & mask;
+				}
+				keys[i] = oldKeys[j];
+				values[i] = oldValues[j];
+			}
+		}
+	}
+
+}
@@ -0,0 +1,162 @@
+/**
+ * Copyright (C) 2016, Laboratorio di Valutazione delle Prestazioni - Politecnico di Milano
+
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+
+package jmt.jmva.analytical.solvers.DataStructures;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A map indexed by a pair of a MultiplicitiesVector and a PopulationVector, used to
+ * memoise normalising constants. Vectors whose elements are within the bounds given
+ * at construction are packed into a single long key, using a mixed-radix
+ * representation, and stored in a LongKeyMap; the vectors themselves are neither
+ * copied nor kept. Other vectors, or all vectors if the bounds do not fit in a long,
+ * are copied and stored in nested hash maps.
+ *
+ * @param <V> the type of the values
+ */
+public class VectorPairMap<V> {
+
+	/** Maximum value of each element of the multiplicities and of the population vector */
+	private int[] mBounds, pBounds;
+	/** Weight of each element in the packed key, null if keys cannot be packed */
+	private long[] mRadix, pRadix;
+	private LongKeyMap<V> packed;
+	private Map<PopulationVector, Map<MultiplicitiesVector, V>> unpacked;
+
+	/**
+	 * Creates an empty map.
+	 * @param mBounds The maximum value of each element of the multiplicities vectors to be packed
+	 * @param pBounds The maximum value of each element of the population vectors to be packed
+	 */
+	public VectorPairMap(int[] mBounds, int[] pBounds) {
+		this.mBounds = mBounds.clone();
+		this.pBounds = pBounds.clone();
+		long[] radix = new long[mBounds.length + pBounds.length];
+		long weight = 1;
+		boolean fits = true;
+		for (int i = 0; i < radix.length && fits; i++) {
+			int bound = i < mBounds.length ? mBounds[i] : pBounds[i - mBounds.length];
+			radix[i] = weight;
+			if (bound < 0 || weight > Long.MAX_VALUE / (bound + 1L)) {
+				fits = false;
+			} else {
+				weight *= bound + 1L;
+			}
+		}
+		if (fits) {
+			mRadix = new long[mBounds.length];
+			pRadix = new long[pBounds.length];
+			System.arraycopy(radix, 0, mRadix, 0, mRadix.length);
+			System.arraycopy(radix, mRadix.length, pRadix, 0, pRadix.length);
+		}
+		packed = new LongKeyMap<V>();
+		unpacked = new HashMap<PopulationVector, Map<MultiplicitiesVector, V>>();
+	}
+
+	/**
+	 * Packs a pair of vectors into a long key.
+	 * @return The key, or -1 if the vectors cannot be packed
+	 */
+	private long pack(MultiplicitiesVector m, PopulationVector p) {
+		if (mRadix == null || m.size() != mRadix.length || p.size() != pRadix.length) {
+			return -1;
+		}
+		long key = 0;
+		for (int i = 0; i < mRadix.length; i++) {
+			int value = m.get(i);
+			if (value < 0 || value > mBounds[i]) {
+				return -1;
+			}
+			key += value * mRadix[i];
+		}
+		for (int i = 0; i < pRadix.length; i++) {
+			int value = p.get(i);
+			if (value < 0 || value > pBounds[i]) {
+				return -1;
+			}
+			key += value * pRadix[i];
+		}
+		return key;
+	}
+
+	/**
+	 * Returns the value associated with a pair of vectors.
+	 * @param m The MultiplicitiesVector
+	 * @param p The PopulationVector
+	 * @return The value, or null if the pair is not in the map
+	 */
+	public V get(MultiplicitiesVector m, PopulationVector p) {
+		long key = pack(m, p);
+		if (key >= 0) {
+			return packed.get(key);
+		}
+		Map<MultiplicitiesVector, V> step1 = unpacked.get(p);
+		return step1 != null ? step1.get(m) : null;
+	}
+
+	/**
+	 * Associates a value with a pair of vectors. The vectors can be modified afterwards.
+	 * @param m The MultiplicitiesVector
+	 * @param p The PopulationVector
+	 * @param value The value, must not be null
+	 */
+	public void put(MultiplicitiesVector m, PopulationVector p, V value) {
+		long key = pack(m, p);
+		if (key >= 0) {
+			packed.put(key, value);
+			return;
+		}
+		Map<MultiplicitiesVector, V> step1 = unpacked.get(p);
+		if (step1 == null) {
+			step1 = new HashMap<MultiplicitiesVector, V>();
+			unpacked.put(p.copy(), step1);
+		}
+		step1.put(m.copy(), value);
+	}
+
+	/**
+	 * @return The number of mappings in the map
+	 */
+	public int size() {
+		int size = packed.size();
+		for (Map<MultiplicitiesVector, V> step1 : unpacked.values()) {
+			size += step1.size();
+		}
+		return size;
+	}
+
+	/**
+	 * Removes all the mappings.
+	 */
+	public void clear() {
+		packed.clear();
+		unpacked.clear();
+	}
+
+	/**
+	 * Creates an empty map with the same bounds as this one.
+	 * @return The new map
+	 */
+	public VectorPairMap<V> newEmptyMap() {
+		return new VectorPairMap<V>(mBounds, pBounds);
+	}
+
+}
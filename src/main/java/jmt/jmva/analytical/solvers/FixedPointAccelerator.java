@@ -0,0 +1,232 @@
+/**
+ * Copyright (C) 2016, Laboratorio di Valutazione delle Prestazioni - Politecnico di Milano
+
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package jmt.jmva.analytical.solvers;
+
+/**
+ * Accelerates the fixed point iteration x = F(x) of the approximate MVA algorithms with
+ * Anderson mixing: the next iterate is the combination of the last images F(x) whose
+ * residuals F(x) - x best cancel out, in the least squares sense.
+ * <br>
+ * Queue lengths must stay non negative, so whenever the extrapolated iterate is not valid
+ * the plain successive substitution step is taken and the history is discarded.
+ */
+class FixedPointAccelerator {
+
+	/** Default number of previous iterations combined */
+	public static final int DEFAULT_DEPTH = 3;
+
+	private int size;
+	private int depth;
+
+	// differences of the residuals and of the images of the last iterations (circular buffers)
+	private double[][] deltaResiduals;
+	private double[][] deltaImages;
+	// number of differences stored and position of the next one
+	private int count;
+	private int next;
+
+	// residual and image of the previous iteration
+	private double[] lastResidual;
+	private double[] lastImage;
+	private boolean hasLast;
+
+	// flattened current iterate and image
+	private double[] current;
+	private double[] image;
+
+	/**
+	 * Creates a new accelerator
+	 * @param size number of unknowns of the fixed point problem
+	 */
+	public FixedPointAccelerator(int size) {
+		this(size, DEFAULT_DEPTH);
+	}
+
+	/**
+	 * Creates a new accelerator
+	 * @param size number of unknowns of the fixed point problem
+	 * @param depth number of previous iterations combined
+	 */
+	public FixedPointAccelerator(int size, int depth) {
+		this.size = size;
+		this.depth = depth;
+		deltaResiduals = new double[depth][size];
+		deltaImages = new double[depth][size];
+		lastResidual = new double[size];
+		lastImage = new double[size];
+		current = new double[size];
+		image = new double[size];
+	}
+
+	/**
+	 * Discards the history, e.g. before solving a new fixed point problem
+	 */
+	public void reset() {
+		count = 0;
+		next = 0;
+		hasLast = false;
+	}
+
+	/**
+	 * Replaces the image of the current iterate with the next iterate
+	 * @param x the current iterate
+	 * @param fx the image F(x) of the current iterate, overwritten with the next iterate
+	 */
+	public void extrapolate(double[][] x, double[][] fx) {
+		int pos = 0;
+		for (int i = 0; i < x.length; i++) {
+			for (int j = 0; j < x[i].length; j++) {
+				current[pos] = x[i][j];
+				image[pos] = fx[i][j];
+				pos++;
+			}
+		}
+		if (extrapolate()) {
+			pos = 0;
+			for (int i = 0; i < fx.length; i++) {
+				for (int j = 0; j < fx[i].length; j++) {
+					fx[i][j] = image[pos++];
+				}
+			}
+		}
+	}
+
+	/**
+	 * Replaces the image of the current iterate with the next iterate
+	 * @param x the current iterate
+	 * @param fx the image F(x) of the current iterate, overwritten with the next iterate
+	 */
+	public void extrapolate(double[] x, double[] fx) {
+		System.arraycopy(x, 0, current, 0, size);
+		System.arraycopy(fx, 0, image, 0, size);
+		if (extrapolate()) {
+			System.arraycopy(image, 0, fx, 0, size);
+		}
+	}
+
+	/**
+	 * Extrapolates the flattened image in place
+	 * @return true if the image was changed
+	 */
+	private boolean extrapolate() {
+		if (hasLast) {
+			for (int i = 0; i < size; i++) {
+				double residual = image[i] - current[i];
+				deltaResiduals[next][i] = residual - lastResidual[i];
+				deltaImages[next][i] = image[i] - lastImage[i];
+			}
+			next = (next + 1) % depth;
+			count = Math.min(count + 1, depth);
+		}
+		for (int i = 0; i < size; i++) {
+			lastResidual[i] = image[i] - current[i];
+			lastImage[i] = image[i];
+		}
+		hasLast = true;
+		if (count == 0) {
+			return false;
+		}
+
+		// Normal equations of min || residual - deltaResiduals * gamma ||
+		double[][] a = new double[count][count + 1];
+		for (int j = 0; j < count; j++) {
+			for (int l = j; l < count; l++) {
+				double dot = 0;
+				for (int i = 0; i < size; i++) {
+					dot += deltaResiduals[j][i] * deltaResiduals[l][i];
+				}
+				a[j][l] = dot;
+				a[l][j] = dot;
+			}
+			double dot = 0;
+			for (int i = 0; i < size; i++) {
+				dot += deltaResiduals[j][i] * lastResidual[i];
+			}
+			a[j][count] = dot;
+		}
+		double[] gamma = solve(a);
+		if (gamma == null) {
+			count = 0;
+			next = 0;
+			return false;
+		}
+
+		double[] candidate = new double[size];
+		for (int i = 0; i < size; i++) {
+			double value = image[i];
+			for (int j = 0; j < count; j++) {
+				value -= gamma[j] * deltaImages[j][i];
+			}
+			if (value < 0 || Double.isNaN(value) || Double.isInfinite(value)) {
+				count = 0;
+				next = 0;
+				return false;
+			}
+			candidate[i] = value;
+		}
+		System.arraycopy(candidate, 0, image, 0, size);
+		return true;
+	}
+
+	/**
+	 * Solves a small linear system with Gaussian elimination and partial pivoting
+	 * @param a the augmented matrix of the system, destroyed
+	 * @return the solution, or null if the system is singular
+	 */
+	private static double[] solve(double[][] a) {
+		int n = a.length;
+		double scale = 0;
+		for (int i = 0; i < n; i++) {
+			scale = Math.max(scale, Math.abs(a[i][i]));
+		}
+		if (scale == 0) {
+			return null;
+		}
+		for (int col = 0; col < n; col++) {
+			int pivot = col;
+			for (int row = col + 1; row < n; row++) {
+				if (Math.abs(a[row][col]) > Math.abs(a[pivot][col])) {
+					pivot = row;
+				}
+			}
+			if (Math.abs(a[pivot][col]) <= 1e-14 * scale) {
+				return null;
+			}
+			double[] temp = a[col];
+			a[col] = a[pivot];
+			a[pivot] = temp;
+			for (int row = col + 1; row < n; row++) {
+				double factor = a[row][col] / a[col][col];
+				for (int k = col; k <= n; k++) {
+					a[row][k] -= factor * a[col][k];
+				}
+			}
+		}
+		double[] x = new double[n];
+		for (int row = n - 1; row >= 0; row--) {
+			double sum = a[row][n];
+			for (int k = row + 1; k < n; k++) {
+				sum -= a[row][k] * x[k];
+			}
+			x[row] = sum / a[row][row];
+		}
+		return x;
+	}
+
+}
@@ -435,9 +435,4 @@ public class ModularSolver extends ParallelSolver {
         }
         return newA;
     }
-
-    @Override
-    public void shutdown() {
-        pool.shutdown();
-    }
 }
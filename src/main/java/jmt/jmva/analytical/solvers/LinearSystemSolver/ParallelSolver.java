@@ -17,21 +17,27 @@
 
 package jmt.jmva.analytical.solvers.LinearSystemSolver;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * This class extends the Solver one and adds to it all useful fields and
  * methods a parallel solver should support, such as thread management code,
- * shutdown routines, etc.
+ * shutdown routines, etc. Worker threads are taken from a work-stealing pool
+ * which is shared by all the solvers using the same number of threads, so that
+ * they are created only once per JVM.
  *
  * @author Michail Makaronidis, 2010
  */
 public class ParallelSolver extends Solver {
 
+    /**
+     * The shared pools of worker threads, indexed by their parallelism.
+     */
+    private static final Map<Integer, ForkJoinPool> sharedPools = new HashMap<Integer, ForkJoinPool>();
+
     /**
      * The number of threads the ParallelSolver must use.
      */
@@ -42,26 +48,34 @@ public class ParallelSolver extends Solver {
     protected ExecutorService pool;
 
     /**
-     * Initialises the ParallelSolver object and creates the worker threads.
+     * Initialises the ParallelSolver object and attaches it to the shared worker threads.
      * @param nThreads The number of threads the ParallelSolver must use
      */
     public ParallelSolver(int nThreads) {
         this.nThreads = (nThreads <= 1) ? 1 : nThreads;
-        pool = Executors.newFixedThreadPool(this.nThreads); // If no relevant argument is given by the user, nThreads = Runtime.getRuntime().availableProcessors()
+        pool = getSharedPool(this.nThreads); // If no relevant argument is given by the user, nThreads = Runtime.getRuntime().availableProcessors()
     }
 
     /**
-     * Shutsdown the solver, terminating all pools of threads and child processes
-     * if any exist.
+     * Returns the shared work-stealing pool with the given parallelism, creating it if needed.
+     * Its worker threads are daemons and terminate when they stay idle.
+     * @param nThreads The number of worker threads
+     * @return The shared pool
+     */
+    public static synchronized ExecutorService getSharedPool(int nThreads) {
+        ForkJoinPool shared = sharedPools.get(nThreads);
+        if (shared == null) {
+            shared = new ForkJoinPool(nThreads);
+            sharedPools.put(nThreads, shared);
+        }
+        return shared;
+    }
+
+    /**
+     * Shutsdown the solver. The shared worker threads are left to other solvers,
+     * so there is nothing to terminate.
      */
     @Override
     public void shutdown() {
-        pool.shutdown();
-        try {
-            pool.awaitTermination(10, TimeUnit.SECONDS);
-        } catch (InterruptedException ex) {
-            Logger.getLogger(ParallelSolver.class.getName()).log(Level.SEVERE, null, ex);
-            pool.shutdownNow();
-        }
     }
 }
@@ -21,13 +21,11 @@ import jmt.jmva.analytical.solvers.DataStructures.BigRational;
 import jmt.jmva.analytical.solvers.DataStructures.MultiplicitiesVector;
 import jmt.jmva.analytical.solvers.DataStructures.PopulationVector;
 import jmt.jmva.analytical.solvers.DataStructures.QNModel;
+import jmt.jmva.analytical.solvers.DataStructures.VectorPairMap;
 import jmt.jmva.analytical.solvers.Exceptions.InternalErrorException;
 import jmt.jmva.analytical.solvers.Utilities.CanonicalMultiplicitiesVectorCalculator;
 import jmt.jmva.analytical.solvers.Utilities.MiscFunctions;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * This class implements the RECALSolver object, which computes the normalising
  * constant for a network using the RECAL algorithm. A non-recursive approach is
@@ -67,7 +65,7 @@ public class RECALNonRecursiveSolver extends RecursiveSolver {
 		int Ntot = finalp.sum();
 		for (int r = 0; r < qnm.R; r++) {
 			for (int nr = (r == 0) ? 0 : 1; nr <= finalp.get(r); nr++) {
-				Map<PopulationVector, Map<MultiplicitiesVector, BigRational>> curMap = new HashMap<PopulationVector, Map<MultiplicitiesVector, BigRational>>();
+				VectorPairMap<BigRational> curMap = Gmap.newEmptyMap();
 				p.set(r, nr);
 				boolean isPZeroVector = p.isZeroVector(), pContainsMinusOne = p.containsMinusOne();
 				for (MultiplicitiesVector mDelta : mvcalc.findMulVectorsSummingUpTo(Ntot)) {
@@ -21,11 +21,11 @@ import jmt.jmva.analytical.solvers.DataStructures.BigRational;
 import jmt.jmva.analytical.solvers.DataStructures.MultiplicitiesVector;
 import jmt.jmva.analytical.solvers.DataStructures.PopulationVector;
 import jmt.jmva.analytical.solvers.DataStructures.QNModel;
+import jmt.jmva.analytical.solvers.DataStructures.VectorPairMap;
 import jmt.jmva.analytical.solvers.Exceptions.InternalErrorException;
 import jmt.jmva.analytical.solvers.Utilities.MiscFunctions;
 import jmt.jmva.analytical.solvers.Utilities.Timer;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -41,9 +41,9 @@ public class RecursiveSolver extends QNSolver {
 
 	/**
 	 * Here is stored every normalising constant computed. This speeds up the
-	 * computation.
+	 * computation. Vectors are packed into long keys, see VectorPairMap.
 	 */
-	protected Map<PopulationVector, Map<MultiplicitiesVector, BigRational>> Gmap = new HashMap<PopulationVector, Map<MultiplicitiesVector, BigRational>>();
+	protected VectorPairMap<BigRational> Gmap;
 	/**
 	 * The factorials for some numbers are pre-computed for efficiency reasons.
 	 */
@@ -70,7 +70,17 @@ public class RecursiveSolver extends QNSolver {
 	 */
 	private void initialise() throws OperationNotSupportedException {
 		totalTimer = new Timer();
-		Gmap.clear();
+		// Multiplicities grow by at most one for each job removed by the recursions
+		int totalPopulation = qnm.N.sum();
+		int[] mBounds = new int[qnm.M];
+		for (int k = 0; k < qnm.M; k++) {
+			mBounds[k] = qnm.multiplicities.get(k) + totalPopulation + 1;
+		}
+		int[] pBounds = new int[qnm.R];
+		for (int r = 0; r < qnm.R; r++) {
+			pBounds[r] = qnm.N.get(r);
+		}
+		Gmap = new VectorPairMap<BigRational>(mBounds, pBounds);
 		// Necessary for faster computation of initial conditions
 		factorial = MiscFunctions.computeFactorials(qnm.N.max());
 	}
@@ -120,23 +130,16 @@ public class RecursiveSolver extends QNSolver {
 	}
 
 	/**
-	 * Stores at a particular Map<PopulationVector, Map<MultiplicitiesVector, BigRational>>
-	 * data structure a computed normalising constant value for future re-use.
+	 * Stores at a particular VectorPairMap data structure a computed normalising
+	 * constant value for future re-use.
 	 *
 	 * @param m The MultiplicitiesVector
 	 * @param p The PopulationVector
 	 * @param Gval The corresponding normalising constant that has been computed
 	 * @param map The data structure at which the constant will be stored
 	 */
-	protected void storeG(MultiplicitiesVector m, PopulationVector p, BigRational Gval, Map<PopulationVector, Map<MultiplicitiesVector, BigRational>> map) {
-		Map<MultiplicitiesVector, BigRational> step1 = map.get(p);
-		if (step1 == null) {
-			Map<MultiplicitiesVector, BigRational> step2 = new HashMap<MultiplicitiesVector, BigRational>();
-			step2.put(m.copy(), Gval);
-			map.put(p.copy(), step2);
-		} else {
-			step1.put(m.copy(), Gval);
-		}
+	protected void storeG(MultiplicitiesVector m, PopulationVector p, BigRational Gval, VectorPairMap<BigRational> map) {
+		map.put(m, p, Gval);
 	}
 
 	/**
@@ -157,13 +160,7 @@ public class RecursiveSolver extends QNSolver {
 			if (m.isZeroVector()) {
 				return initialConditionFor(p);
 			} else {
-				Map<MultiplicitiesVector, BigRational> step1 = Gmap.get(p);
-				if (step1 != null) {
-					BigRational toReturn = step1.get(m); // We do not care if a null is returned
-					return toReturn;
-				} else {
-					return null;
-				}
+				return Gmap.get(m, p); // We do not care if a null is returned
 			}
 		}
 	}
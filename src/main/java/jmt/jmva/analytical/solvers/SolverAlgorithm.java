@@ -34,7 +34,7 @@ public enum SolverAlgorithm {
 	// EXACT
 	EXACT("MVA", true, true, true),
 	RECAL("RECAL", true, true, false),
-	//MOM("MoM", true, true, false),
+	MOM("MoM", true, true, false),
 	COMOM("CoMoM", true, true, false),
 	//RGF("RGF", true, true, false), /* Looks buggy */
 	//TREE_MVA("Tree MVA", true, true, false), /* Looks buggy */
@@ -13,6 +13,8 @@ public abstract class SolverMultiClosedAMVA extends SolverMulti {
 	protected int MAX_ITERATIONS = Integer.MAX_VALUE;
 	protected int[] clsPopulation;
 	protected int iterations = 0; // algorithm iterations
+	protected boolean accelerated = false; // accelerates the fixed point iteration
+	protected double[][] warmStartQueueLen = null; // queue lengths to start from, [stations][classes]
 
 	public SolverMultiClosedAMVA(int classes, int stations, int[] classPopulation) {
 		super(classes, stations);
@@ -46,6 +48,55 @@ public abstract class SolverMultiClosedAMVA extends SolverMulti {
 		return iterations;
 	}
 
+	/**
+	 * Sets whether the fixed point iteration is accelerated with Anderson mixing
+	 * @param accelerated true to accelerate the iteration, false for plain successive substitution
+	 */
+	public void setAccelerated(boolean accelerated) {
+		this.accelerated = accelerated;
+	}
+
+	/**
+	 * Sets the queue lengths the iteration starts from, e.g. the solution of the previous point
+	 * of a what-if analysis. The queue lengths of each class are rescaled to its population.
+	 * @param queueLen queue lengths [stations][classes], or null to start from a balanced distribution
+	 */
+	public void setWarmStart(double[][] queueLen) {
+		if (queueLen != null && (queueLen.length != stations || queueLen[0].length != classes)) {
+			queueLen = null;
+		}
+		warmStartQueueLen = queueLen;
+	}
+
+	/**
+	 * Computes the queue lengths the iteration starts from. These are the warm start ones
+	 * rescaled to the given populations or, if not available, a balanced distribution of
+	 * the customers of each class among the stations.
+	 * @param clsPopulation population of each class
+	 * @return the initial queue lengths [stations][classes]
+	 */
+	protected double[][] getInitialQueueLengths(int[] clsPopulation) {
+		double[][] initialQueueLen = new double[stations][classes];
+		for (int c = 0; c < classes; c++) {
+			double warmStartPop = 0;
+			if (warmStartQueueLen != null) {
+				for (int k = 0; k < stations; k++) {
+					warmStartPop += warmStartQueueLen[k][c];
+				}
+			}
+			for (int k = 0; k < stations; k++) {
+				if (warmStartPop > 0) {
+					initialQueueLen[k][c] = warmStartQueueLen[k][c]*clsPopulation[c]/warmStartPop;
+				} else if (stations == 0) {
+					initialQueueLen[k][c] = 0;
+				} else {
+					initialQueueLen[k][c] = clsPopulation[c]/(double)stations;
+				}
+			}
+		}
+		return initialQueueLen;
+	}
+
 	/** Returns the number of jobs in the system
 	 *  @return the total number of jobs
 	 */
@@ -79,18 +130,14 @@ public abstract class SolverMultiClosedAMVA extends SolverMulti {
 	public void solveLI() {
 		double[][] scQueueLensWithOneLessCustomer = new double[stations][classes];
 
-		for (int c = 0; c < classes; c++) {
-			for (int k = 0; k < stations; k++) {
-				if (stations == 0) {
-					queueLen[k][c] = 0;
-				} else {
-					queueLen[k][c] = clsPopulation[c]/(double)stations;
-				}
-			}
+		double[][] initialQueueLen = getInitialQueueLengths(clsPopulation);
+		for (int k = 0; k < stations; k++) {
+			System.arraycopy(initialQueueLen[k], 0, queueLen[k], 0, classes);
 		}
 
 		int iterations = 0;
 		double[][] oldQueueLen = new double[stations][classes];
+		FixedPointAccelerator accelerator = accelerated ? new FixedPointAccelerator(stations*classes) : null;
 
 		while (true) {
 			iterations++;
@@ -128,6 +175,9 @@ public abstract class SolverMultiClosedAMVA extends SolverMulti {
 			if (iterations >= MAX_ITERATIONS || maxDiff(oldQueueLen, queueLen) < tolerance) {
 				break;
 			}
+			if (accelerator != null) {
+				accelerator.extrapolate(oldQueueLen, queueLen);
+			}
 		}
 
 		this.iterations = iterations;
@@ -32,8 +32,21 @@ public class SolverMultiClosedAQL extends SolverMultiClosedAMVA {
 			if (pop > 0 && t != 0) {
 				pop--;
 			}
+			double[][] initialQueueLen = null;
+			if (warmStartQueueLen != null) {
+				int[] tClsPopulation = clsPopulation.clone();
+				if (t != 0 && tClsPopulation[t-1] > 0) {
+					tClsPopulation[t-1]--;
+				}
+				initialQueueLen = getInitialQueueLengths(tClsPopulation);
+			}
 			for (int k = 0; k < stations; k++) {
-				if (stations > 0) {
+				if (initialQueueLen != null) {
+					scQueueLens[t][k] = 0;
+					for (int c = 0; c < classes; c++) {
+						scQueueLens[t][k] += initialQueueLen[k][c];
+					}
+				} else if (stations > 0) {
 					scQueueLens[t][k] = pop/(double)stations;
 				}
 				if (t < classes) {
@@ -41,15 +54,29 @@ public class SolverMultiClosedAQL extends SolverMultiClosedAMVA {
 				}
 			}
 		}
+		if (warmStartQueueLen != null) {
+			computeGamma(scQueueLens, totalPopulation);
+		}
 
 		int iterations = 0;
 		double[] scOldQueueLens = new double[stations];
+		FixedPointAccelerator accelerator = null;
+		double[][] previousScQueueLens = null;
+		if (accelerated) {
+			accelerator = new FixedPointAccelerator((classes+1)*stations);
+			previousScQueueLens = new double[classes+1][stations];
+		}
 
 		while (true) {
 			iterations++;
 			for (int k = 0; k < stations; k++) {
 				scOldQueueLens[k] = scQueueLens[0][k];
 			}
+			if (previousScQueueLens != null) {
+				for (int t = 0; t <= classes; t++) {
+					System.arraycopy(scQueueLens[t], 0, previousScQueueLens[t], 0, stations);
+				}
+			}
 
 			for (int t = 0; t < classes+1; t++) {
 				double[] tempClsRespTimes = new double[classes];
@@ -90,24 +117,21 @@ public class SolverMultiClosedAQL extends SolverMultiClosedAMVA {
 			}
 
 			// compute new values of gamma
-			for (int k = 0; k < stations; k++) {
-				for (int c = 0; c < classes; c++) {
-					if (totalPopulation <= 0) {
-						gamma[k][c] = 0;
-					}
-					else {
-						gamma[k][c] = scQueueLens[0][k]/(double)totalPopulation;
-						if (totalPopulation > 1) {
-							gamma[k][c] -= scQueueLens[c+1][k]/((double)(totalPopulation-1));
-						}
-					}
-				}
-			}
+			computeGamma(scQueueLens, totalPopulation);
 
 			// Check convergence criteria
-			if (iterations >= MAX_ITERATIONS || maxDiff(scOldQueueLens, scQueueLens[0]) < tolerance) {
+			boolean converged = maxDiff(scOldQueueLens, scQueueLens[0]) < tolerance;
+			// extrapolated queue lengths must have converged also with one less customer of each class
+			for (int t = 1; converged && previousScQueueLens != null && t <= classes; t++) {
+				converged = maxDiff(previousScQueueLens[t], scQueueLens[t]) < tolerance;
+			}
+			if (iterations >= MAX_ITERATIONS || converged) {
 				break;
 			}
+			if (accelerator != null) {
+				accelerator.extrapolate(previousScQueueLens, scQueueLens);
+				computeGamma(scQueueLens, totalPopulation);
+			}
 		}
 
 		this.iterations = iterations;
@@ -156,6 +180,29 @@ public class SolverMultiClosedAQL extends SolverMultiClosedAMVA {
 		}
 	}
 
+	/**
+	 * Computes the differences gamma between the fraction of customers at each station with the
+	 * whole population and the one with a customer less of each class
+	 * @param scQueueLens queue lengths of each station with the whole population (row 0)
+	 * and with one less customer of each class (row c+1)
+	 * @param totalPopulation the whole population
+	 */
+	private void computeGamma(double[][] scQueueLens, int totalPopulation) {
+		for (int k = 0; k < stations; k++) {
+			for (int c = 0; c < classes; c++) {
+				if (totalPopulation <= 0) {
+					gamma[k][c] = 0;
+				}
+				else {
+					gamma[k][c] = scQueueLens[0][k]/(double)totalPopulation;
+					if (totalPopulation > 1) {
+						gamma[k][c] -= scQueueLens[c+1][k]/((double)(totalPopulation-1));
+					}
+				}
+			}
+		}
+	}
+
 	@Override
 	protected double[][] getQueueLensWithOneLessCustomer() {
 		// TODO Auto-generated method stub
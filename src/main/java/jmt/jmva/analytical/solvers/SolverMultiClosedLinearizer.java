@@ -22,22 +22,11 @@ public class SolverMultiClosedLinearizer extends SolverMultiClosedAMVA {
 		double[][][] custFracDiffs = new double[stations][classes][classes];
 
 		// Step 1: Initialisation
-		for (int k = 0; k < stations; k++) {
-			for (int c = 0; c < classes; c++) {
-				if (stations > 0) {
-					queueLengths[0][k][c] = clsPopulation[c]/(double)stations;
-				}
-				for (int j = 1; j < classes+1; j++) {
-					custFracDiffs[k][c][j-1] = 0;
-					int clsPop = clsPopulation[c];
-					if (c == j-1) {
-						clsPop--;
-					}
-					if (stations > 0) {
-						queueLengths[j][k][c] = clsPop/(double)stations;
-					}
-				}
-			}
+		queueLengths[0] = getInitialQueueLengths(clsPopulation);
+		for (int j = 1; j < classes+1; j++) {
+			int[] newClsPopulation = clsPopulation.clone();
+			newClsPopulation[j-1]--;
+			queueLengths[j] = getInitialQueueLengths(newClsPopulation);
 		}
 
 		int iterations = 1;
@@ -179,9 +168,13 @@ public class SolverMultiClosedLinearizer extends SolverMultiClosedAMVA {
 		private double[][] resTimes = new double[stations][classes];
 		protected double[][][] queueLengths;
 		protected double[] scQueueLengthsWithWholePop = new double[stations];
+		private FixedPointAccelerator accelerator;
 
 		public LinearizerCoreAlgorithm() {
 			queueLengths = new double[classes+1][stations][classes];
+			if (accelerated) {
+				accelerator = new FixedPointAccelerator(stations*classes);
+			}
 		}
 
 		public double[][] getResidenceTimes() {
@@ -203,6 +196,9 @@ public class SolverMultiClosedLinearizer extends SolverMultiClosedAMVA {
 					scQueueLengthsWithWholePop[k] += inputQueueLengths[k][c];
 				}
 			}
+			if (accelerator != null) {
+				accelerator.reset();
+			}
 
 			while (true) {
 				for (int k = 0; k < stations; k++) {
@@ -245,6 +241,15 @@ public class SolverMultiClosedLinearizer extends SolverMultiClosedAMVA {
 				if (maxDiff(oldQueueLengths, queueLengths[0]) < tolerance) {
 					break;
 				}
+				if (accelerator != null) {
+					accelerator.extrapolate(oldQueueLengths, queueLengths[0]);
+					for (int k = 0; k < stations; k++) {
+						scQueueLengthsWithWholePop[k] = 0;
+						for (int c = 0; c < classes; c++) {
+							scQueueLengthsWithWholePop[k] += queueLengths[0][k][c];
+						}
+					}
+				}
 			}
 		}
 
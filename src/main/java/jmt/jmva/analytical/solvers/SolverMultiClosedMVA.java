@@ -19,11 +19,6 @@
 package jmt.jmva.analytical.solvers;
 
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
-
-import static jmt.jmva.analytical.solvers.Util.generatePopulations;
-import static jmt.jmva.analytical.solvers.Util.popHashCode;
 
 /**
  * Solves a multiclass closed model, using MVA algorithm.
@@ -44,15 +39,29 @@ public class SolverMultiClosedMVA extends SolverMulti {
 	//number of states
 	private int memory = 1;
 
-	// all populations required for MVA algorithm
-	private int[][] populations;
+	// strides of the mixed-radix rank of a population within a layer of the lattice.
+	// The stride of the last class is 0, so rank(n - 1c) = rank(n) - strides[c] for every class c
+	private int[] strides;
+
+	// number of load dependent stations
+	private int ldStations;
+
+	// index of each station among the load dependent ones, -1 for the other stations
+	private int[] ldIndex;
 
 	// demands vector
 	private double[][] demand;
 
-	// Map of population vector to queue length vector
-	private Map<Integer, double[][]> Q;
-	// TODO: maybe use array instead of a map
+	// queue lengths, Qk, of the current layer for load independent stations,
+	// indexed by rank * stations + station
+	private double[] queueLayer;
+
+	// proportions of times, pk(j|n), of the current layer for load dependent stations,
+	// indexed by (rank * ldStations + ldIndex) * (totPop + 1) + j
+	private double[] proportionLayer;
+
+	// proportions of times computed for the current population
+	private double[] tempProportions;
 
 	// Maximum population
 	private int maxPop;
@@ -136,7 +145,7 @@ public class SolverMultiClosedMVA extends SolverMulti {
 		}
 
 		//moves in the last position the class with maximum population
-		//TODO: why? (to optimize the memory consumption moving intelligently on the state space)
+		//(to optimize the memory consumption, as the lattice is swept by layers along the last class)
 		population[lastClass] = pop[maxIndex];
 		population[maxIndex] = pop[lastClass];
 
@@ -171,9 +180,8 @@ public class SolverMultiClosedMVA extends SolverMulti {
 		}
 		lastClassPc = new double[stations][totPop+1];
 
-		populations = generatePopulations(population);
 		computeDemands();
-		initialiseQueueMap();
+		initialiseLayer();
 		return true;
 	}
 
@@ -204,14 +212,21 @@ public class SolverMultiClosedMVA extends SolverMulti {
 	 * Solves the model
 	 * <br>
 	 * "input(...)" method must have been called before solving the model!!<br><br>
+	 * The population lattice is swept one layer at a time, where a layer holds all the populations
+	 * with the same number of customers of the last class (the one with maximum population).
+	 * Inside a layer, populations are visited by increasing mixed-radix rank, so a single layer
+	 * is kept in memory and updated in place.
 	 */
 	@Override
 	public void solve() {
 		long startTime = System.currentTimeMillis();
-		for (int i = 1; i < populations.length; i++) {
-			computeResidenceTime(populations[i]);
-			computeThroughput(populations[i]);
-			computeMeanQueueLengths(populations[i]);
+		int[] pop = new int[classes];
+		int rank = 0;
+		while (nextPopulation(pop)) {
+			rank = (rank + 1) % memory;
+			computeResidenceTime(pop, rank);
+			computeThroughput(pop);
+			computeMeanQueueLengths(pop, rank);
 		}
 		computeFinalThroughputAndQueueLen();
 		computeUtilisation();
@@ -224,21 +239,59 @@ public class SolverMultiClosedMVA extends SolverMulti {
 
 
 	/**
-	 * Initialises a map of population to an array of queue lengths, Qk, for load independent stations
-	 * and an array of proportion of times, pk(j|n), for load dependent stations
+	 * Initialises the layer of queue lengths, Qk, for load independent stations
+	 * and of proportion of times, pk(j|n), for load dependent stations
 	 */
-	private void initialiseQueueMap() {
-		Q = new HashMap<>();
-		for (int[] pop : populations) {
-			Q.put(popHashCode(pop, maxPop), new double[stations][totPop+1]);
+	private void initialiseLayer() {
+		strides = new int[classes];
+		int stride = 1;
+		for (int c = 0; c < classes - 1; c++) {
+			strides[c] = stride;
+			stride *= population[c] + 1;
 		}
+
+		ldStations = 0;
+		ldIndex = new int[stations];
+		for (int m = 0; m < stations; m++) {
+			ldIndex[m] = (type[m] == LD) ? ldStations++ : -1;
+		}
+
+		queueLayer = new double[memory * stations];
+		proportionLayer = new double[memory * ldStations * (totPop + 1)];
+		tempProportions = new double[totPop + 1];
 		for (int m = 0; m < stations; m++) {
 			if (type[m] == LD) {
-				Q.get(popHashCode(populations[0], maxPop))[m][0] = 1;
+				proportionLayer[proportionOffset(0, m)] = 1;
 			}
 		}
 	}
 
+	/**
+	 * Moves to the next population of the lattice, incrementing the first classes fastest
+	 * @param pop - population array, updated in place
+	 * @return false if pop was already the final population
+	 */
+	private boolean nextPopulation(int[] pop) {
+		for (int c = 0; c < classes; c++) {
+			if (pop[c] < population[c]) {
+				pop[c]++;
+				return true;
+			}
+			pop[c] = 0;
+		}
+		return false;
+	}
+
+	/**
+	 * Computes the offset of the time proportions of a load dependent station in the layer
+	 * @param rank - rank of the population within the layer
+	 * @param m - load dependent service station
+	 * @return the offset of pk(0|n) in proportionLayer
+	 */
+	private int proportionOffset(int rank, int m) {
+		return (rank * ldStations + ldIndex[m]) * (totPop + 1);
+	}
+
 	/**
 	 * Computes demands for each station and customer class for load independent stations
 	 */
@@ -272,43 +325,41 @@ public class SolverMultiClosedMVA extends SolverMulti {
 	 * Computes the residence time for Load Independent stations
 	 * @param c - customer class
 	 * @param m - service station
-	 * @param pop - population array
+	 * @param rank - rank of the population within the layer
 	 */
-	private void computeResidenceTimeLI(int c, int m, int[] pop) {
-		pop[c]--;
-		residenceTime[m][c] = demand[m][c] * (1.0 + Q.get(popHashCode(pop, maxPop))[m][0]);
-		pop[c]++;
+	private void computeResidenceTimeLI(int c, int m, int rank) {
+		residenceTime[m][c] = demand[m][c] * (1.0 + queueLayer[(rank - strides[c]) * stations + m]);
 	}
 
 	/**
 	 * Computes the residence time for Load Dependent stations
 	 * @param c - customer class
 	 * @param m - service station
-	 * @param pop - population array
+	 * @param rank - rank of the population within the layer
 	 * @param nCust - total number of customers in pop
 	 */
-	private void computeResidenceTimeLD(int c, int m, int[] pop, int nCust) {
+	private void computeResidenceTimeLD(int c, int m, int rank, int nCust) {
 		double residTimeSum;
-		pop[c]--;
+		int offset = proportionOffset(rank - strides[c], m);
 		residTimeSum = 0;
 		for (int i = 1; i <= nCust; i++) {
-			residTimeSum += (i * servTime[m][c][i]) * Q.get(popHashCode(pop, maxPop))[m][i-1];
+			residTimeSum += (i * servTime[m][c][i]) * proportionLayer[offset + i-1];
 		}
 		residenceTime[m][c] = visits[m][c] * residTimeSum;
-		pop[c]++;
 	}
 
 	/**
 	 * Computes the residence times for all stations and classes
 	 * @param pop - population array
+	 * @param rank - rank of pop within the layer
 	 */
-	private void computeResidenceTime(int[] pop) {
+	private void computeResidenceTime(int[] pop, int rank) {
 		int nCust = numberOfCustomers(pop);
 		for (int c = 0; c < classes; c++) {
 			for (int m = 0; m < stations; m++) {
 				if (pop[c] > 0) {
-					if (type[m] == LI) computeResidenceTimeLI(c, m, pop);
-					else if (type[m] == LD) computeResidenceTimeLD(c, m, pop, nCust);
+					if (type[m] == LI) computeResidenceTimeLI(c, m, rank);
+					else if (type[m] == LD) computeResidenceTimeLD(c, m, rank, nCust);
 					else residenceTime[m][c] = demand[m][c];
 				}
 				else residenceTime[m][c] = 0;
@@ -341,53 +392,54 @@ public class SolverMultiClosedMVA extends SolverMulti {
 	 * given there are nCust customers in total. (Load Dependent stations)
 	 * @param m - service station
 	 * @param pop - population array
+	 * @param rank - rank of pop within the layer
 	 * @param nCust - total number of customers
 	 */
-	private void computeTimeProportions(int m, int[] pop, int nCust) {
+	private void computeTimeProportions(int m, int[] pop, int rank, int nCust) {
 		double pSum = 0;
 		double cSum;
-		double[] tempQ = new double[totPop+1];
 		for (int i = 1; i <= nCust; i++) {
 			cSum = 0;
 			for (int c = 0; c < classes; c++) {
 				if (pop[c] > 0) {
-					pop[c]--;
-					cSum += (clsThroughput[c] * servTime[m][c][i]) * Q.get(popHashCode(pop, maxPop))[m][i-1];
-					pop[c]++;
+					cSum += (clsThroughput[c] * servTime[m][c][i]) * proportionLayer[proportionOffset(rank - strides[c], m) + i-1];
 				}
 			}
-			tempQ[i] = cSum;
+			tempProportions[i] = cSum;
 			pSum += cSum;
 		}
-		tempQ[0] = 1 - pSum;
+		tempProportions[0] = 1 - pSum;
+		// The layer still holds the proportions of pop with one less customer of the last class
+		int offset = proportionOffset(rank, m);
 		if (Arrays.equals(population, pop)) {
-			lastClassPc[m] = Q.get(popHashCode(pop, maxPop))[m];
+			System.arraycopy(proportionLayer, offset, lastClassPc[m], 0, totPop + 1);
 		}
-		Q.get(popHashCode(pop, maxPop))[m] = tempQ;
+		System.arraycopy(tempProportions, 0, proportionLayer, offset, nCust + 1);
 	}
 
 	/**
 	 * Computes mean queue length of a station. (Load Independent Stations)
 	 * @param m - service station
-	 * @param pop - population array
+	 * @param rank - rank of the population within the layer
 	 */
-	private void computeMeanQueueLength(int m, int[] pop) {
+	private void computeMeanQueueLength(int m, int rank) {
 		double queueLengthSum = 0;
 		for (int c = 0; c < classes; c++) {
 			queueLengthSum += clsThroughput[c] * residenceTime[m][c];
 		}
-		Q.get(popHashCode(pop, maxPop))[m][0] = queueLengthSum;
+		queueLayer[rank * stations + m] = queueLengthSum;
 	}
 
 	/**
 	 * Computes mean queue length of each station
 	 * @param pop - population array
+	 * @param rank - rank of pop within the layer
 	 */
-	private void computeMeanQueueLengths(int[] pop) {
+	private void computeMeanQueueLengths(int[] pop, int rank) {
 		int nCust = numberOfCustomers(pop);
 		for (int m = 0; m < stations; m++) {
-			if (type[m] == LD) computeTimeProportions(m, pop, nCust);
-			else computeMeanQueueLength(m, pop);
+			if (type[m] == LD) computeTimeProportions(m, pop, rank, nCust);
+			else computeMeanQueueLength(m, rank);
 		}
 	}
 
@@ -416,18 +468,18 @@ public class SolverMultiClosedMVA extends SolverMulti {
 
 	private void computeUtilisation() {
 		int c;
+		// rank of the final population within the last layer
+		int finalRank = memory - 1;
 		for (c = 0; c < classes-1; c++) {
-			population[c]--;
 			for (int m = 0; m < stations; m++) {
 				utilization[m][c] = throughput[m][c] * servTime[m][c][0]; // Umc=Xmc*Smc
 				if (type[m] == LD) {
+					int offset = proportionOffset(finalRank - strides[c], m);
 					for (int n = 1; n <= totPop; n++) {
-						utilization[m][c] += demand[m][c] * clsThroughput[c] * Q.get(popHashCode(population,maxPop))[m][n-1];
+						utilization[m][c] += demand[m][c] * clsThroughput[c] * proportionLayer[offset + n-1];
 					}
-					population[c]++;
 				}
 			}
-			population[c]++;
 		}
 		for (int m = 0; m < stations; m++) {
 			utilization[m][c] = throughput[m][c] * servTime[m][c][0]; // Umc=Xmc*Smc
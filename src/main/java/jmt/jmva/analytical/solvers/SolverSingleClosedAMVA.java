@@ -65,6 +65,18 @@ public class SolverSingleClosedAMVA extends Solver {
 		solver.setMaxIterations(maxIterations);
 	}
 
+	public void setAccelerated(boolean accelerated) {
+		solver.setAccelerated(accelerated);
+	}
+
+	/**
+	 * Sets the queue lengths the iteration starts from
+	 * @param queueLen queue lengths [stations][1], or null to start from a balanced distribution
+	 */
+	public void setWarmStart(double[][] queueLen) {
+		solver.setWarmStart(queueLen);
+	}
+
 	public boolean hasSufficientProcessingCapacity() {
 		// closed class: no saturation problem
 		return true;
@@ -506,7 +506,12 @@ public class SolverSingleClosedMVA extends Solver {
 				sum += interm_residenceTime[n][k];
 			}//end loop through stations
 
-			interm_totThroughput[n] = n / sum;
+			if (sum == 0) {
+				//D = 0 --> v = 0
+				interm_totThroughput[n] = 0;
+			} else {
+				interm_totThroughput[n] = n / sum;
+			}
 
 			interm_totUser[n] = 0;
 
@@ -2210,6 +2215,46 @@ public class SolverSingleClosedMVA extends Solver {
 		}
 	}
 
+	/**
+	 * Returns the queue lengths of an intermediate population.
+	 * "solve(true)" must have been called before.
+	 * @param n the population, from 0 to the number of customers
+	 * @return the queue length of each service center
+	 */
+	public double[] getIntermediateQueueLen(int n) {
+		return interm_queueLen[n];
+	}
+
+	/**
+	 * Returns the residence times of an intermediate population.
+	 * "solve(true)" must have been called before.
+	 * @param n the population, from 0 to the number of customers
+	 * @return the residence time of each service center
+	 */
+	public double[] getIntermediateResTime(int n) {
+		return interm_residenceTime[n];
+	}
+
+	/**
+	 * Returns the throughputs of an intermediate population.
+	 * "solve(true)" must have been called before.
+	 * @param n the population, from 0 to the number of customers
+	 * @return the throughput of each service center
+	 */
+	public double[] getIntermediateThroughput(int n) {
+		return interm_throughput[n];
+	}
+
+	/**
+	 * Returns the utilizations of an intermediate population.
+	 * "solve(true)" must have been called before.
+	 * @param n the population, from 0 to the number of customers
+	 * @return the utilization of each service center
+	 */
+	public double[] getIntermediateUtilization(int n) {
+		return interm_utilization[n];
+	}
+
 	/** generates a string with all the calculated indices.
 	 * @return the string
 	 */
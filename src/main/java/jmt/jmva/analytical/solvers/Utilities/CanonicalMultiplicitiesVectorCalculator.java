@@ -53,6 +53,10 @@ public class CanonicalMultiplicitiesVectorCalculator {
      * Stores the position in storedVectors of the last vector of a specific level.
      */
     private Map<Integer, Integer> vecsOfLevelEndAt;
+    /**
+     * Pascal's triangle, grown when needed by vectoint(..).
+     */
+    private long[][] binomials = new long[0][];
 
     /**
      * Creates and initialises a CanonicalMultiplicitiesVectorCalculator object.
@@ -156,11 +160,43 @@ public class CanonicalMultiplicitiesVectorCalculator {
     }
 
     /**
-     * Returns the index of a vector in the canonical ordering.
+     * Returns the index of a vector in the canonical ordering. The index is
+     * computed by counting the vectors which precede the given one, so the
+     * canonical ordering is not searched.
      * @param v The vector
      * @return The corresponding canonical index
      */
     public int vectoint(MultiplicitiesVector v) {
+        int sum = 0;
+        boolean nonNegative = v.size() == qnm.M;
+        for (int i = 0; i < v.size(); i++) {
+            int el = v.get(i);
+            nonNegative &= el >= 0;
+            sum += el;
+        }
+        if (nonNegative && qnm.M > 0) {
+            // Vectors with a lower sum come first
+            long index = binomial(sum - 1 + qnm.M, qnm.M);
+            // Then, among vectors with the same sum, the ones with a greater leftmost element
+            int remaining = sum;
+            for (int i = 0; i < qnm.M - 1; i++) {
+                int el = v.get(i);
+                for (int x = el + 1; x <= remaining; x++) {
+                    index += binomial(remaining - x + qnm.M - i - 2, qnm.M - i - 2);
+                }
+                remaining -= el;
+            }
+            return (int) index;
+        }
+        return vectointBySearch(v);
+    }
+
+    /**
+     * Returns the index of a vector in the canonical ordering by searching it.
+     * @param v The vector
+     * @return The corresponding canonical index
+     */
+    private int vectointBySearch(MultiplicitiesVector v) {
         int sum = v.sum();
         List<MultiplicitiesVector> s = findMulVectorsSummingUpTo(sum);
         int padding = 0;
@@ -171,4 +207,27 @@ public class CanonicalMultiplicitiesVectorCalculator {
         }
         return padding + s.indexOf(v);
     }
+
+    /**
+     * Returns the binomial coefficient C(n, k), or 0 if n < k or n < 0.
+     */
+    private long binomial(int n, int k) {
+        if (n < 0 || k < 0 || k > n) {
+            return 0;
+        }
+        if (n >= binomials.length) {
+            long[][] table = new long[n + 1][];
+            System.arraycopy(binomials, 0, table, 0, binomials.length);
+            for (int i = binomials.length; i <= n; i++) {
+                table[i] = new long[i + 1];
+                table[i][0] = 1;
+                table[i][i] = 1;
+                for (int j = 1; j < i; j++) {
+                    table[i][j] = table[i - 1][j - 1] + table[i - 1][j];
+                }
+            }
+            binomials = table;
+        }
+        return binomials[n][k];
+    }
 }
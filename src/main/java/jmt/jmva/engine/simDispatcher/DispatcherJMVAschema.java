@@ -26,10 +26,10 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 
-import jmt.common.exception.NetException;
 import jmt.engine.QueueNet.NetSystem;
 import jmt.engine.QueueNet.QueueNetwork;
 import jmt.engine.dataAnalysis.Measure;
+import jmt.engine.dataAnalysis.MeasureSnapshot;
 import jmt.engine.dataAnalysis.TempMeasure;
 import jmt.engine.log.JSimLogger;
 import jmt.engine.simDispatcher.ModelTransformer;
@@ -90,10 +90,10 @@ public class DispatcherJMVAschema {
 
 	private static JSimLogger logger = JSimLogger.getLogger(JSimLogger.STD_LOGGER);
 
-	//used to compute the progress of the simulation
-	private boolean simStarted = false;
-	private boolean simFinished = false;
-	private QueueNetwork net;
+	//used to compute the progress of the simulation (read by polling threads)
+	private volatile boolean simStarted = false;
+	private volatile boolean simFinished = false;
+	private volatile QueueNetwork net;
 
 	// Used to tell if transformer input and output must be validated
 	private boolean validate = true;
@@ -152,7 +152,20 @@ public class DispatcherJMVAschema {
 		this.deleteIntermediateFiles = deleteIntermediateFiles;
 	}
 
+	/**
+	 * Solves model using the XSLT transformation.
+	 * @return true if model was solved correctly, false otherwise.
+	 */
 	public boolean solveModel() {
+		try {
+			return solveModelXSLT();
+		} finally {
+			//a failed solution is finished too, so that polling threads stop waiting
+			simFinished = true;
+		}
+	}
+
+	private boolean solveModelXSLT() {
 
 		boolean transfSuccess = false;
 
@@ -224,8 +237,8 @@ public class DispatcherJMVAschema {
 				}
 			}
 
-			simStarted = true;
 			net = sim.getNetwork();
+			simStarted = true;
 
 			long start, stop;
 			double elapsed;
@@ -445,6 +458,15 @@ public class DispatcherJMVAschema {
 	 * @return true if model was solved correctly, false otherwise.
 	 */
 	public boolean solveModelNewTransform() {
+		try {
+			return solveModelJava();
+		} finally {
+			//a failed solution is finished too, so that polling threads stop waiting
+			simFinished = true;
+		}
+	}
+
+	private boolean solveModelJava() {
 		boolean transfSuccess = false;
 		//get file name: same directory of model file, with the same name preceded by "sim_"
 		String modelDefinitionParent = modelDefinition.getParent();
@@ -493,8 +515,8 @@ public class DispatcherJMVAschema {
 				}
 			}
 
-			simStarted = true;
 			net = sim.getNetwork();
+			simStarted = true;
 
 			long start, stop;
 			double elapsed;
@@ -638,33 +660,21 @@ public class DispatcherJMVAschema {
 	 * total number of required confidence intervals)
 	 */
 	public double checkSimProgress() {
-		if (!simStarted) {
-			//not started yet
-			return 0.0;
-		}
 		if (simFinished) {
-			//already finished
+			//already finished (or failed)
 			return 1.0;
 		}
-		try {
-			//compute progress
-
-			if (pauseSim()) {
-				double progress = net.getNetSystem().checkProgress(net);
-				restartSim();
-				return progress;
-			} else {
-				return 0.0;
-			}
-
-		} catch (NetException e) {
+		if (!simStarted || net == null) {
+			//not started yet
 			return 0.0;
 		}
-
+		//progress published by the simulation with the last snapshots
+		return net.getProgress();
 	}
 
 	/**
-	 * Pauses the simulation, refreshes temp measures and then restarts simulation
+	 * Refreshes temp measures with the last snapshots published by the simulation,
+	 * without pausing it
 	 */
 	public void refreshTempMeasures() {
 
@@ -673,36 +683,28 @@ public class DispatcherJMVAschema {
 			return;
 		}
 
-		//pauses the computation
-		if (pauseSim()) {
-
-			//at the first execution, measures must be retrieved
-			if (tempMeasures == null) {
-				if (net == null) {
-					return;
-				} else {
-					//gets the measures defined for this queue network
-					LinkedList<Measure> measures = net.getMeasures();
+		//at the first execution, measures must be retrieved
+		if (tempMeasures == null) {
+			if (net == null) {
+				return;
+			} else {
+				//gets the measures defined for this queue network
+				LinkedList<Measure> measures = net.getMeasures();
 
-					//creates the array of temp measures
-					tempMeasures = new TempMeasure[measures.size()];
+				//creates the array of temp measures
+				tempMeasures = new TempMeasure[measures.size()];
 
-					for (int m = 0; m < measures.size(); m++) {
-						tempMeasures[m] = new TempMeasure((Measure) measures.get(m));
-						tempMeasures[m].refreshMeasure();
-					}
-				}
-			} else {
-				//temp measures have already been retrieved
-				//only refresh temp values
-				for (TempMeasure tempMeasure : tempMeasures) {
-					tempMeasure.refreshMeasure();
+				for (int m = 0; m < measures.size(); m++) {
+					tempMeasures[m] = new TempMeasure((Measure) measures.get(m));
 				}
 			}
+		}
 
-			//restart computation
-			restartSim();
-
+		MeasureSnapshot[] snapshots = net.getMeasureSnapshots();
+		if (snapshots != null) {
+			for (int m = 0; m < tempMeasures.length; m++) {
+				tempMeasures[m].refreshMeasure(snapshots[m]);
+			}
 		}
 		return;
 	}
@@ -716,14 +718,14 @@ public class DispatcherJMVAschema {
 	}
 
 	public boolean abortAllMeasures() {
-		if (!simStarted) {
-			return false;
-		}
-
 		if (simFinished) {
 			return true;
 		}
 
+		if (!simStarted) {
+			return false;
+		}
+
 		if (pauseSim()) {
 			refreshTempMeasures();
 
@@ -761,17 +763,14 @@ public class DispatcherJMVAschema {
 	 */
 	public void printTempMeasures() {
 
-		if (pauseSim()) {
-			if (tempMeasures != null) {
-				for (TempMeasure temp : tempMeasures) {
-					if (temp.isFinished()) {
-						continue;
-					} else {
-						System.out.println(temp.getName() + ": " + Double.toString(temp.getTempMean()) + " " + temp.getNsamples());
-					}
+		if (tempMeasures != null) {
+			for (TempMeasure temp : tempMeasures) {
+				if (temp.isFinished()) {
+					continue;
+				} else {
+					System.out.println(temp.getName() + ": " + Double.toString(temp.getTempMean()) + " " + temp.getNsamples());
 				}
 			}
-			restartSim();
 		}
 		return;
 
@@ -783,7 +782,7 @@ public class DispatcherJMVAschema {
 	 * simulation not started or already finished)
 	 */
 	private boolean pauseSim() {
-		return net.getNetSystem().pause();
+		return net != null && net.getNetSystem().pause();
 	}
 
 	/**
@@ -792,7 +791,7 @@ public class DispatcherJMVAschema {
 	 * simulation not started or already finished)
 	 */
 	private boolean restartSim() {
-		return net.getNetSystem().restartFromPause();
+		return net != null && net.getNetSystem().restartFromPause();
 	}
 
 	private boolean copyFile(File input, File output_file) {
@@ -0,0 +1,135 @@
+package jmt.engine.NetStrategies.TransitionUtilities;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+public class EnablingIndexTest {
+
+	private static final int CLASSES = 3;
+
+	@Test
+	public void sameDegreesAsFullEvaluation() {
+		checkRandomNet(new Random(1), 20, 40, 10000);
+	}
+
+	@Test
+	public void sameDegreesOnWiderNet() {
+		checkRandomNet(new Random(2), 60, 120, 500);
+	}
+
+	/**
+	 * Compares the incremental evaluation with the full one on a large GSPN, printing
+	 * the time taken by both. It takes several seconds, so it is not run with the tests.
+	 */
+	@Ignore("benchmark")
+	@Test
+	public void largeNetBenchmark() {
+		long[] times = checkRandomNet(new Random(2), 200, 500, 2000);
+		System.out.println("Enabling degrees of 500 modes on 200 places, 2000 changes: full "
+				+ times[0] / 1000000 + " ms, incremental " + times[1] / 1000000 + " ms");
+	}
+
+	private long[] checkRandomNet(Random random, int places, int modes, int changes) {
+		String[] placeNames = new String[places];
+		for (int i = 0; i < places; i++) {
+			placeNames[i] = "Place " + i;
+		}
+		TransitionMatrix[] enablingConditions = new TransitionMatrix[modes];
+		TransitionMatrix[] inhibitingConditions = new TransitionMatrix[modes];
+		for (int i = 0; i < modes; i++) {
+			enablingConditions[i] = randomCondition(random, placeNames, 3);
+			inhibitingConditions[i] = randomCondition(random, placeNames, random.nextInt(2));
+		}
+		TransitionMatrix storageSituation = new TransitionMatrix(CLASSES);
+		for (String placeName : placeNames) {
+			storageSituation.setVector(new TransitionVector(placeName, CLASSES));
+		}
+
+		EnablingIndex index = new EnablingIndex(enablingConditions, inhibitingConditions, CLASSES);
+		int[] fullDegrees = new int[modes];
+		int[] indexDegrees = new int[modes];
+		long fullTime = 0;
+		long indexTime = 0;
+		for (int n = 0; n < changes; n++) {
+			TransitionVector storageVector = new TransitionVector(placeNames[random.nextInt(places)], CLASSES);
+			for (int j = 0; j < CLASSES; j++) {
+				storageVector.setEntry(j, random.nextInt(6));
+			}
+
+			long start = System.nanoTime();
+			for (int j = 0; j < CLASSES; j++) {
+				storageSituation.setEntry(storageVector.getKey(), j, storageVector.getEntry(j));
+			}
+			for (int i = 0; i < modes; i++) {
+				fullDegrees[i] = computeEnablingDegree(enablingConditions[i], inhibitingConditions[i], storageSituation);
+			}
+			fullTime += System.nanoTime() - start;
+
+			start = System.nanoTime();
+			index.update(storageVector);
+			for (int i = 0; i < modes; i++) {
+				if (index.isPending(i)) {
+					indexDegrees[i] = index.computeEnablingDegree(i);
+				}
+			}
+			indexTime += System.nanoTime() - start;
+
+			assertArrayEquals(fullDegrees, indexDegrees);
+		}
+		return new long[] { fullTime, indexTime };
+	}
+
+	private TransitionMatrix randomCondition(Random random, String[] placeNames, int maxPlaces) {
+		TransitionVector[] vectors = new TransitionVector[placeNames.length];
+		for (int i = 0; i < placeNames.length; i++) {
+			vectors[i] = new TransitionVector(placeNames[i], CLASSES);
+		}
+		int count = random.nextInt(maxPlaces + 1);
+		for (int i = 0; i < count; i++) {
+			vectors[random.nextInt(placeNames.length)].setEntry(random.nextInt(CLASSES), 1 + random.nextInt(3));
+		}
+		return new TransitionMatrix(vectors);
+	}
+
+	/**
+	 * Evaluates all the conditions of a mode, as done before the index was introduced.
+	 */
+	private int computeEnablingDegree(TransitionMatrix enabling, TransitionMatrix inhibiting, TransitionMatrix storageSituation) {
+		int enablingDegree = -1;
+		OUTER_LOOP:
+		for (String nodeName : enabling.keySet()) {
+			if (enabling.getTotal(nodeName) > 0) {
+				for (int j = 0; j < CLASSES; j++) {
+					int availableJobNumber = storageSituation.getEntry(nodeName, j);
+					int requiredJobNumber = enabling.getEntry(nodeName, j);
+					if (requiredJobNumber > 0) {
+						if (enablingDegree < 0) {
+							enablingDegree = availableJobNumber / requiredJobNumber;
+						} else {
+							enablingDegree = Math.min(enablingDegree, availableJobNumber / requiredJobNumber);
+						}
+						if (enablingDegree == 0) {
+							break OUTER_LOOP;
+						}
+					}
+				}
+			}
+			if (inhibiting.getTotal(nodeName) > 0) {
+				for (int j = 0; j < CLASSES; j++) {
+					int availableJobNumber = storageSituation.getEntry(nodeName, j);
+					int requiredJobNumber = inhibiting.getEntry(nodeName, j);
+					if (requiredJobNumber > 0 && availableJobNumber >= requiredJobNumber) {
+						enablingDegree = 0;
+						break OUTER_LOOP;
+					}
+				}
+			}
+		}
+		return enablingDegree;
+	}
+
+}
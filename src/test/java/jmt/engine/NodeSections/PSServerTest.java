@@ -0,0 +1,53 @@
+package jmt.engine.NodeSections;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import jmt.commandline.Jmt;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+public class PSServerTest {
+
+	private static final Pattern MEAN_VALUE = Pattern.compile("meanValue=\"([^\"]+)\"");
+
+	@Test
+	public void virtualTimeServiceMatchesExactService() throws Exception {
+		List<Double> exact = solve(null);
+		List<Double> virtualTime = solve("virtualTime");
+		assertFalse(exact.isEmpty());
+		assertEquals(exact.size(), virtualTime.size());
+		for (int i = 0; i < exact.size(); i++) {
+			assertEquals(exact.get(i), virtualTime.get(i), Math.abs(exact.get(i)) * 1e-6);
+		}
+	}
+
+	private List<Double> solve(String psService) throws Exception {
+		File input = File.createTempFile("ps-01", ".xml");
+		File result = File.createTempFile("ps-01-result", ".xml");
+		String model = FileUtils.readFileToString(new File(getClass().getResource("/jmt/engine/ps-01-input.xml").toURI()), "utf-8");
+		if (psService != null) {
+			model = model.replaceFirst("<sim ", "<sim psService=\"" + psService + "\" ");
+		}
+		FileUtils.writeStringToFile(input, model, "utf-8");
+
+		String[] args = { "", "", "-seed", "1" };
+		Map<String, String> options = Jmt.parseParameters(args, 2);
+		assertTrue("Solver was not able to solve file!", Jmt.sim(input, result, options));
+
+		List<Double> values = new ArrayList<Double>();
+		Matcher matcher = MEAN_VALUE.matcher(FileUtils.readFileToString(result, "utf-8"));
+		while (matcher.find()) {
+			values.add(Double.valueOf(matcher.group(1)));
+		}
+		return values;
+	}
+
+}
@@ -0,0 +1,105 @@
+package jmt.engine.dataAnalysis;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class NewDynamicDataAnalyzerTest {
+
+	/**
+	 * Applies the MSER-5 rule on every call, as before its result was cached.
+	 */
+	private static class UncachedAnalyzer extends NewDynamicDataAnalyzer {
+
+		public UncachedAnalyzer(double alpha, double precision, int maxData) {
+			super(alpha, precision, maxData);
+		}
+
+		@Override
+		protected boolean deleteTransient() {
+			mserBatches = -1;
+			return super.deleteTransient();
+		}
+
+	}
+
+	private static final int SERIES_LENGTH = 400000;
+
+	private static void assertSameAnalysis(String series, double[] samples, double[] weights, double precision, int maxData) {
+		NewDynamicDataAnalyzer expected = new UncachedAnalyzer(0.01, precision, maxData);
+		NewDynamicDataAnalyzer actual = new NewDynamicDataAnalyzer(0.01, precision, maxData);
+		for (int i = 0; i < samples.length; i++) {
+			boolean expectedEnd = expected.addSample(samples[i], weights[i]);
+			assertEquals(series + " sample " + i, expectedEnd, actual.addSample(samples[i], weights[i]));
+			if (expectedEnd) {
+				break;
+			}
+		}
+		assertEquals(series, expected.getSuccess(), actual.getSuccess());
+		assertEquals(series, expected.getSamples(), actual.getSamples());
+		assertEquals(series, expected.getDiscarded(), actual.getDiscarded());
+		assertEquals(series, expected.getMean(), actual.getMean(), 0.0);
+		assertEquals(series, expected.getConfInt(), actual.getConfInt(), 0.0);
+	}
+
+	private static double[] unitWeights() {
+		double[] weights = new double[SERIES_LENGTH];
+		for (int i = 0; i < SERIES_LENGTH; i++) {
+			weights[i] = 1.0;
+		}
+		return weights;
+	}
+
+	@Test
+	public void stationarySeries() {
+		Random random = new Random(1);
+		double[] samples = new double[SERIES_LENGTH];
+		for (int i = 0; i < SERIES_LENGTH; i++) {
+			samples[i] = random.nextDouble();
+		}
+		assertSameAnalysis("uniform", samples, unitWeights(), 0.03, 1000000);
+	}
+
+	/**
+	 * Autocorrelated series whose initial bias decreases linearly to zero, so that the
+	 * transient cannot be deleted for thousands of samples.
+	 */
+	private static double[] rampSeries(long seed, double phi, double bias, int rampLength) {
+		Random random = new Random(seed);
+		double[] samples = new double[SERIES_LENGTH];
+		double x = 0.0;
+		for (int i = 0; i < SERIES_LENGTH; i++) {
+			x = phi * x + random.nextGaussian();
+			samples[i] = 10.0 + x + ((i < rampLength) ? bias * (1.0 - i / (double) rampLength) : 0.0);
+		}
+		return samples;
+	}
+
+	@Test
+	public void longTransient() {
+		assertSameAnalysis("short ramp", rampSeries(2, 0.9, 5.0, 50000), unitWeights(), 0.03, 1000000);
+		assertSameAnalysis("long ramp", rampSeries(2, 0.9, 2.0, 100000), unitWeights(), 0.03, 1000000);
+		assertSameAnalysis("long ramp, maxData reached", rampSeries(2, 0.9, 2.0, 100000), unitWeights(), 0.001, 30000);
+
+		Random random = new Random(4);
+		double[] weights = new double[SERIES_LENGTH];
+		for (int i = 0; i < SERIES_LENGTH; i++) {
+			weights[i] = 0.5 + random.nextDouble();
+		}
+		assertSameAnalysis("weighted ramp", rampSeries(5, 0.5, 1.0, 100000), weights, 0.03, 1000000);
+	}
+
+	@Test
+	public void sparseSeriesWithTrend() {
+		Random random = new Random(3);
+		double[] samples = new double[SERIES_LENGTH];
+		for (int i = 0; i < SERIES_LENGTH; i++) {
+			// Mostly null samples with a rising level in the first part
+			samples[i] = (random.nextDouble() < 0.1) ? random.nextDouble() + Math.min(i, 100000) / 20000.0 : 0.0;
+		}
+		assertSameAnalysis("sparse with trend", samples, unitWeights(), 0.03, 1000000);
+	}
+
+}
@@ -0,0 +1,42 @@
+package jmt.engine.dataAnalysis;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class ReplicationStatisticsTest {
+
+	@Test
+	public void confidenceInterval() {
+		ReplicationStatistics stat = new ReplicationStatistics(0.05, 0.1);
+		double[] means = { 9.0, 10.0, 11.0, 10.0 };
+		for (double mean : means) {
+			stat.addReplication(mean, true, 100, 10);
+		}
+		assertEquals(4, stat.getReplications());
+		assertEquals(400, stat.getAnalyzedSamples());
+		assertEquals(40, stat.getDiscardedSamples());
+		assertEquals(10.0, stat.getMean(), 1e-12);
+		assertEquals(2.0 / 3.0, stat.getVariance(), 1e-12);
+		// t(0.975, 3) = 3.182
+		double confInt = 3.182 * Math.sqrt(2.0 / 3.0 / 4.0);
+		assertEquals(confInt, stat.getConfInt(), 1e-3);
+		assertEquals(10.0 - confInt, stat.getLowerLimit(), 1e-3);
+		assertEquals(10.0 + confInt, stat.getUpperLimit(), 1e-3);
+		assertFalse(stat.getSuccess());
+
+		for (int i = 0; i < 20; i++) {
+			stat.addReplication(10.0, true, 100, 10);
+		}
+		assertTrue(stat.getSuccess());
+	}
+
+	@Test
+	public void singleReplication() {
+		ReplicationStatistics stat = new ReplicationStatistics(0.05, 0.1);
+		stat.addReplication(5.0, true, 100, 10);
+		assertFalse(stat.getSuccess());
+		assertEquals(Double.POSITIVE_INFINITY, stat.getConfInt(), 0.0);
+	}
+
+}
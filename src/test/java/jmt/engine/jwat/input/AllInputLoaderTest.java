@@ -0,0 +1,99 @@
+package jmt.engine.jwat.input;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import jmt.engine.jwat.Observation;
+
+import org.junit.Test;
+
+public class AllInputLoaderTest {
+
+	private static final String CONTENT = "1.5 [a] 2\n" + "bad line\r\n" + "2 [b] 3\r" + "3 [c] 4 5\n" + "\n" + "4 [a] 5\r\n" + "5 [!] 6\n" + "6 [d] 7";
+
+	@Test
+	public void chunksGiveSameResults() throws Exception {
+		File file = createFile(CONTENT);
+		try {
+			assertEquals(8, Loader.calcNumOfObs(file.getAbsolutePath()));
+			for (int chunkSize : new int[] { 1, 7, 1024 }) {
+				VariableMapping[] map = new VariableMapping[] { null, new StringMapping(), null };
+				AllInputLoader loader = new AllInputLoader(createParameter(), file.getAbsolutePath(), map, new NullProgress());
+				loader.setChunkSize(chunkSize);
+				assertNotNull(loader.construct());
+				assertEquals(8, loader.totalRaw);
+				assertEquals(4, loader.countObs);
+
+				double[][] expected = { { 1.5, 0, 2 }, { 2, 1, 3 }, { 4, 0, 5 }, { 6, 2, 7 } };
+				assertEquals(expected.length, loader.valori.size());
+				for (int i = 0; i < expected.length; i++) {
+					Observation o = loader.valori.get(i);
+					assertEquals(i + 1, o.getID());
+					for (int j = 0; j < expected[i].length; j++) {
+						assertEquals(expected[i][j], o.getIndex(j), 0.0);
+					}
+				}
+			}
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void emptyFile() throws Exception {
+		File file = createFile("");
+		try {
+			assertEquals(0, Loader.calcNumOfObs(file.getAbsolutePath()));
+			VariableMapping[] map = new VariableMapping[] { null, new StringMapping(), null };
+			AllInputLoader loader = new AllInputLoader(createParameter(), file.getAbsolutePath(), map, new NullProgress());
+			assertNull(loader.construct());
+			assertEquals(0, loader.totalRaw);
+		} finally {
+			file.delete();
+		}
+	}
+
+	private static Parameter createParameter() {
+		boolean[] sel = { true, true, true };
+		int[] type = { Parameter.NUMBER, Parameter.STRING, Parameter.NUMBER };
+		String[] exp = { "\\d+([.]\\d+)?", "\\w+", "\\d+" };
+		String[] tokens = { null, "[]", null };
+		String[] names = { "time", "user", "size" };
+		return new Parameter(sel, type, exp, tokens, names, Parameter.ALL_INPUT, null, new int[] { 0 }, null, null);
+	}
+
+	private static File createFile(String content) throws IOException {
+		File file = File.createTempFile("jwat", ".log");
+		OutputStream out = new FileOutputStream(file);
+		try {
+			out.write(content.getBytes("US-ASCII"));
+		} finally {
+			out.close();
+		}
+		return file;
+	}
+
+	private static class NullProgress implements ProgressShow {
+		public void eventUpdate(int value, String txt) {
+		}
+
+		public boolean isCanceled() {
+			return false;
+		}
+
+		public void closeView() {
+		}
+
+		public void initShow(int maxValue) {
+		}
+
+		public int getStep() {
+			return 1;
+		}
+	}
+
+}
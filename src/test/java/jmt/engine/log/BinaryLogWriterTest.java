@@ -0,0 +1,67 @@
+package jmt.engine.log;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class BinaryLogWriterTest {
+
+	private static final String[] COLUMNS = { "TIMESTAMP", "SAMPLE", "WEIGHT" };
+
+	@Test
+	public void readsWrittenRows() throws IOException {
+		File file = File.createTempFile("jmt", BinaryLogWriter.EXTENSION);
+		file.deleteOnExit();
+		// A small ring buffer forces wrapping and waiting for the background thread
+		BinaryLogWriter writer = new BinaryLogWriter(file, COLUMNS, 7);
+		double[] row = new double[COLUMNS.length];
+		Random random = new Random(1);
+		for (int i = 0; i < 100000; i++) {
+			row[0] = i;
+			row[1] = random.nextDouble();
+			row[2] = 1.0;
+			writer.write(row);
+		}
+		writer.close();
+
+		BinaryLogReader reader = new BinaryLogReader(file);
+		assertArrayEquals(COLUMNS, reader.getColumns());
+		random = new Random(1);
+		int count = 0;
+		while (reader.readRow(row)) {
+			assertEquals(count, row[0], 0.0);
+			assertEquals(random.nextDouble(), row[1], 0.0);
+			assertEquals(1.0, row[2], 0.0);
+			count++;
+		}
+		reader.close();
+		assertEquals(100000, count);
+	}
+
+	@Test
+	public void exportsCSV() throws IOException {
+		File file = File.createTempFile("jmt", BinaryLogWriter.EXTENSION);
+		File csv = File.createTempFile("jmt", ".csv");
+		file.deleteOnExit();
+		csv.deleteOnExit();
+		BinaryLogWriter writer = new BinaryLogWriter(file, COLUMNS);
+		writer.write(new double[] { 0.5, 2.0, 1.0 });
+		writer.write(new double[] { 1.25, 0.125, 1.0 });
+		writer.close();
+
+		assertEquals(2, BinaryLogReader.exportCSV(file, csv, ";", ","));
+		BufferedReader reader = new BufferedReader(new FileReader(csv));
+		assertEquals("TIMESTAMP;SAMPLE;WEIGHT", reader.readLine());
+		assertEquals("0,5;2;1", reader.readLine());
+		assertEquals("1,25;0,125;1", reader.readLine());
+		assertNull(reader.readLine());
+		reader.close();
+	}
+
+}
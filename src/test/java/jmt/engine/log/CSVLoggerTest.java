@@ -0,0 +1,42 @@
+package jmt.engine.log;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+
+import org.junit.Test;
+
+public class CSVLoggerTest {
+
+	private static final String[] COLUMNS = { "NAME", "TIME", "CLASS", "VALUE" };
+
+	@Test
+	public void writesStringAndEmptyCells() throws IOException {
+		File file = File.createTempFile("jmt", ".csv");
+		file.deleteOnExit();
+		CSVLogger logger = JSimLoggerFactory.getCSVLogger(file, COLUMNS, new String[] { "NAME", "CLASS" }, false, ";", ",");
+		double[] row = new double[COLUMNS.length];
+		row[0] = logger.getStringIndex("Logger 0");
+		row[1] = 0.5;
+		row[2] = logger.getStringIndex("Class0");
+		row[3] = Double.NaN;
+		logger.log(row);
+		// The logger copies the row, so the array can be reused
+		row[1] = 1.25;
+		row[2] = logger.getStringIndex("Class1");
+		row[3] = 3.0;
+		logger.log(row);
+		logger.close();
+
+		BufferedReader reader = new BufferedReader(new FileReader(file));
+		assertEquals("NAME;TIME;CLASS;VALUE", reader.readLine());
+		assertEquals("Logger 0;0,5;Class0;", reader.readLine());
+		assertEquals("Logger 0;1,25;Class1;3", reader.readLine());
+		assertNull(reader.readLine());
+		reader.close();
+	}
+
+}
@@ -0,0 +1,72 @@
+package jmt.engine.math;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class QuantileSketchTest {
+
+	@Test
+	public void exactBelowSize() {
+		QuantileSketch sketch = new QuantileSketch(128);
+		double[] values = new double[100];
+		Random random = new Random(1);
+		for (int i = 0; i < values.length; i++) {
+			values[i] = random.nextDouble();
+			sketch.add(values[i]);
+		}
+		Arrays.sort(values);
+		for (int i = 1; i < 10; i++) {
+			double prob = i / 10.0;
+			assertEquals(values[(int) (values.length * prob)], sketch.getQuantile(prob), 0.0);
+		}
+		assertEquals(values[0], sketch.getQuantile(0.0), 0.0);
+		assertEquals(values[values.length - 1], sketch.getQuantile(1.0), 0.0);
+		assertEquals(0.5, sketch.getProbability(values[49]), 0.0);
+	}
+
+	@Test
+	public void rankErrorWithinBound() {
+		int k = 256;
+		int n = 1000000;
+		QuantileSketch sketch = new QuantileSketch(k);
+		double[] values = new double[n];
+		Random random = new Random(1);
+		for (int i = 0; i < n; i++) {
+			values[i] = -Math.log(random.nextDouble());
+			sketch.add(values[i]);
+		}
+		Arrays.sort(values);
+		assertEquals(n, sketch.getCount());
+
+		double bound = n * (Math.log(n / (double) k) / Math.log(2) + 1) / k;
+		for (int i = 1; i < 100; i++) {
+			double prob = i / 100.0;
+			double estimate = sketch.getQuantile(prob);
+			int lower = lowerBound(values, estimate);
+			int upper = lowerBound(values, Math.nextUp(estimate));
+			int rank = (int) (n * prob);
+			int error = rank < lower ? lower - rank : (rank >= upper ? rank - upper + 1 : 0);
+			assertTrue("rank error " + error + " at " + prob, error <= bound);
+			assertEquals(prob, sketch.getProbability(values[rank]), bound / n);
+		}
+	}
+
+	private static int lowerBound(double[] values, double value) {
+		int low = 0;
+		int high = values.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (values[mid] < value) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+}
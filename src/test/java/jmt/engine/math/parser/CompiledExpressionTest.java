@@ -0,0 +1,52 @@
+package jmt.engine.math.parser;
+
+import static org.junit.Assert.*;
+
+import jmt.engine.random.engine.MersenneTwister;
+
+import org.junit.Test;
+
+public class CompiledExpressionTest {
+
+	private static final String[] EXPRESSIONS = { "n", "2n+1", "-n^2^0.5", "3*(n-1)/(n+2)%7", "sin(n)+cos(2*pi*n)-exp(-n/10)",
+			"log(n+1)*ln(n+1)/log2(n+2)", "abs(-n)*sqrt(n)+gamma(n/3+1)", "erf(n/10)-erfc(n/10)+tanh(n)", "1/(1+e^(0-n))", "2^3*4-5",
+			"n*m-m", "rand(n)+rand(rand(2))*n" };
+
+	@Test
+	public void sameValuesAsTree() {
+		for (String expression : EXPRESSIONS) {
+			Parser tree = new Parser(expression);
+			Parser compiled = new Parser(expression);
+			tree.setEngine(new MersenneTwister(7));
+			compiled.setEngine(new MersenneTwister(7));
+			CompiledExpression program = compiled.compile();
+			for (int n = 0; n < 50; n++) {
+				tree.setVariable("n", n);
+				program.setVariable("n", n);
+				if (n % 2 == 0) {
+					tree.setVariable("m", n * 0.5);
+					program.setVariable("m", n * 0.5);
+				}
+				assertEquals(expression, Double.doubleToLongBits(tree.getValue()), Double.doubleToLongBits(program.getValue()));
+			}
+		}
+	}
+
+	@Test
+	public void variableIndexes() {
+		CompiledExpression program = new Parser("n*x+n").compile();
+		int n = program.getVariableIndex("n");
+		assertTrue(n >= 0);
+		assertEquals(-1, program.getVariableIndex("y"));
+		program.setVariable(n, 3);
+		program.setVariable("x", 2);
+		assertEquals(9.0, program.getValue(), 0.0);
+	}
+
+	@Test(expected = EvaluationException.class)
+	public void uninitializedVariable() {
+		CompiledExpression program = new Parser("n+1", true).compile();
+		program.getValue();
+	}
+
+}
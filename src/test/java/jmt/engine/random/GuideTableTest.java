@@ -0,0 +1,85 @@
+package jmt.engine.random;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import jmt.engine.random.engine.MersenneTwister;
+
+import org.junit.Test;
+
+public class GuideTableTest {
+
+	/**
+	 * Finds the first value whose cumulative probability covers the random number, like
+	 * the linear scans previously used by the distributions.
+	 */
+	private static int linearSearch(double[] probabilities, double rand) {
+		double sum = 0.0;
+		for (int i = 0; i < probabilities.length; i++) {
+			sum += probabilities[i];
+			if (sum >= rand) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Test
+	public void sameValuesAsLinearSearch() {
+		Random random = new Random(1);
+		for (int test = 0; test < 1000; test++) {
+			int n = 1 + random.nextInt(200);
+			double[] probabilities = new double[n];
+			double total = 0.0;
+			for (int i = 0; i < n; i++) {
+				// Includes zero probabilities and very unbalanced values
+				int kind = random.nextInt(4);
+				probabilities[i] = kind == 0 ? 0.0 : (kind == 1 ? random.nextDouble() * 1e-6 : random.nextDouble());
+				total += probabilities[i];
+			}
+			if (total <= 0.0) {
+				probabilities[0] = total = 1.0;
+			}
+			// Some vectors sum up to less than one, like the rows of an absorbing phase-type
+			double scale = test % 3 == 0 ? 0.9 : 1.0;
+			for (int i = 0; i < n; i++) {
+				probabilities[i] = probabilities[i] / total * scale;
+			}
+			if (test % 10 == 0) {
+				probabilities[random.nextInt(n)] = -1e-17;
+			}
+
+			GuideTable table = new GuideTable(probabilities);
+			for (int k = 0; k < 1000; k++) {
+				double rand = random.nextDouble();
+				assertEquals(linearSearch(probabilities, rand), table.search(rand));
+			}
+			double[] cumulative = table.getCumulative();
+			for (int i = 0; i < n; i++) {
+				assertEquals(linearSearch(probabilities, cumulative[i]), table.search(cumulative[i]));
+			}
+			assertEquals(linearSearch(probabilities, 0.0), table.search(0.0));
+			assertEquals(linearSearch(probabilities, 1.0), table.search(1.0));
+		}
+	}
+
+	@Test
+	public void empiricalFrequencies() throws Exception {
+		double[] pdf = new double[] { 0.1, 0.0, 0.25, 0.05, 0.6 };
+		Empirical distribution = new Empirical();
+		distribution.setRandomEngine(new MersenneTwister(1));
+		EmpiricalPar parameter = new EmpiricalPar(pdf);
+		int samples = 200000;
+		int[] counts = new int[pdf.length];
+		for (int i = 0; i < samples; i++) {
+			counts[(int) distribution.nextRand(parameter)]++;
+		}
+		for (int i = 0; i < pdf.length; i++) {
+			double expected = pdf[i] * samples;
+			// Five standard deviations of a binomial count
+			assertEquals(expected, counts[i], 5 * Math.sqrt(expected * (1 - pdf[i])) + 1e-9);
+		}
+	}
+
+}
@@ -0,0 +1,65 @@
+package jmt.engine.random.engine;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class RandomStreamFactoryTest {
+
+	@Test
+	public void sameNameSameSequence() {
+		RandomStreamFactory first = new RandomStreamFactory(23000L, false);
+		RandomStreamFactory second = new RandomStreamFactory(23000L, false);
+		// streams created in a different order must not change
+		second.getStream("Queue 2/Timing");
+		RandomStream a = first.getStream("Queue 1/Timing");
+		RandomStream b = second.getStream("Queue 1/Timing");
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(a.nextDouble(), b.nextDouble(), 0.0);
+		}
+		assertSame(a, first.getStream("Queue 1/Timing"));
+	}
+
+	@Test
+	public void differentNamesDifferentSequences() {
+		RandomStreamFactory factory = new RandomStreamFactory(23000L, false);
+		RandomStream a = factory.getStream("Queue 1/Timing");
+		RandomStream b = factory.getStream("Queue 2/Timing");
+		int equal = 0;
+		for (int i = 0; i < 1000; i++) {
+			if (a.nextDouble() == b.nextDouble()) {
+				equal++;
+			}
+		}
+		assertEquals(0, equal);
+	}
+
+	@Test
+	public void antitheticComplements() {
+		RandomStream plain = new RandomStreamFactory(42L, false).getStream("Source 1");
+		RandomStream antithetic = new RandomStreamFactory(42L, true).getStream("Source 1");
+		assertTrue(antithetic.isAntithetic());
+		for (int i = 0; i < 1000; i++) {
+			double u = plain.nextDouble();
+			double v = antithetic.nextDouble();
+			assertTrue(v > 0.0 && v < 1.0);
+			assertEquals(1.0, u + v, 1e-9);
+		}
+	}
+
+	@Test
+	public void reseedRestartsStreams() {
+		RandomStreamFactory factory = new RandomStreamFactory(7L, false);
+		RandomStream stream = factory.getStream("Router");
+		double[] values = new double[100];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = stream.nextDouble();
+		}
+		factory.setSeed(7L);
+		for (int i = 0; i < values.length; i++) {
+			assertEquals(values[i], stream.nextDouble(), 0.0);
+		}
+		assertEquals(7L, factory.getSeed());
+	}
+
+}
@@ -0,0 +1,34 @@
+package jmt.engine.simDispatcher;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.Map;
+
+import jmt.commandline.Jmt;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+public class DispatcherJSIMreplicationsTest {
+
+	@Test
+	public void sameResultsWithAnyNumberOfThreads() throws Exception {
+		String single = solve("1");
+		String parallel = solve("3");
+		assertTrue(single.contains("replications=\""));
+		assertEquals(single, parallel);
+	}
+
+	private String solve(String threads) throws Exception {
+		File input = File.createTempFile("fcfs-01", ".xml");
+		File result = File.createTempFile("fcfs-01-result", ".xml");
+		FileUtils.copyFile(new File(getClass().getResource("/jmt/engine/fcfs-01-input.xml").toURI()), input);
+
+		String[] args = { "", "", "-replications", "6", "-samples", "20000", "-threads", threads, "-seed", "1" };
+		Map<String, String> options = Jmt.parseParameters(args, 2);
+		assertTrue("Solver was not able to solve file!", Jmt.sim(input, result, options));
+		return FileUtils.readFileToString(result, "utf-8");
+	}
+
+}
@@ -0,0 +1,82 @@
+package jmt.engine.simEngine;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class IndexedEventQueueTest {
+
+	@Test
+	public void sameOrderAsHybridQueue() {
+		Random random = new Random(1);
+		EventQueue hybrid = new HybridEventQueue();
+		EventQueue indexed = new IndexedEventQueue();
+		List<SimEvent[]> scheduled = new ArrayList<SimEvent[]>();
+		double clock = 0.0;
+
+		for (int i = 0; i < 100000; i++) {
+			int op = random.nextInt(10);
+			if (op < 5) {
+				// Uses few distinct times to test ordering of simultaneous events
+				double time = clock + random.nextInt(20) * 0.5;
+				SimEvent e1 = new SimEvent(SimEvent.SEND, time, 0, 1, i, null);
+				SimEvent e2 = new SimEvent(SimEvent.SEND, time, 0, 1, i, null);
+				hybrid.add(e1);
+				indexed.add(e2);
+				scheduled.add(new SimEvent[] { e1, e2 });
+			} else if (op < 8) {
+				SimEvent e1 = hybrid.pop();
+				SimEvent e2 = indexed.pop();
+				if (e1 == null) {
+					assertNull(e2);
+				} else {
+					assertEquals(e1.getTag(), e2.getTag());
+					assertEquals(e1.eventTime(), e2.eventTime(), 0.0);
+					clock = e1.eventTime();
+				}
+			} else if (scheduled.size() > 0) {
+				SimEvent[] pair = scheduled.remove(random.nextInt(scheduled.size()));
+				assertEquals(hybrid.remove(pair[0]), indexed.remove(pair[1]));
+			}
+			assertEquals(hybrid.size(), indexed.size());
+		}
+
+		while (hybrid.size() > 0) {
+			assertEquals(hybrid.pop().getTag(), indexed.pop().getTag());
+		}
+		assertNull(indexed.pop());
+	}
+
+	@Test
+	public void iteratorRemove() {
+		EventQueue queue = new IndexedEventQueue();
+		for (int i = 0; i < 100; i++) {
+			queue.add(new SimEvent(SimEvent.SEND, 100 - i, 0, 1, i, null));
+		}
+
+		int visited = 0;
+		for (Iterator<SimEvent> it = queue.iterator(); it.hasNext();) {
+			SimEvent event = it.next();
+			visited++;
+			if (event.getTag() % 2 == 0) {
+				it.remove();
+			}
+		}
+		assertEquals(100, visited);
+		assertEquals(50, queue.size());
+
+		double last = Double.NEGATIVE_INFINITY;
+		while (queue.size() > 0) {
+			SimEvent event = queue.pop();
+			assertTrue(event.getTag() % 2 == 1);
+			assertTrue(event.eventTime() >= last);
+			last = event.eventTime();
+		}
+	}
+
+}
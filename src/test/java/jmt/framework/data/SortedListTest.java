@@ -0,0 +1,95 @@
+package jmt.framework.data;
+
+import static org.junit.Assert.*;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class SortedListTest {
+
+	private static final Comparator<int[]> BY_KEY = new Comparator<int[]>() {
+		public int compare(int[] o1, int[] o2) {
+			return o1[0] < o2[0] ? -1 : (o1[0] > o2[0] ? 1 : 0);
+		}
+	};
+
+	/**
+	 * Inserts an element before the first greater one, like size-based queue put strategies do.
+	 */
+	private static void insert(List<int[]> list, int[] element) {
+		ListIterator<int[]> it = list.listIterator();
+		while (it.hasNext()) {
+			if (it.next()[0] > element[0]) {
+				it.previous();
+				break;
+			}
+		}
+		it.add(element);
+	}
+
+	@Test
+	public void sameOrderAsLinearInsertion() {
+		Random random = new Random(1);
+		List<int[]> expected = new LinkedList<int[]>();
+		SortedList<int[]> sorted = new SortedList<int[]>(BY_KEY);
+
+		for (int i = 0; i < 20000; i++) {
+			int op = random.nextInt(10);
+			if (op < 5) {
+				// Uses few distinct keys to test insertion order of equal elements
+				int[] element = new int[] { random.nextInt(50), i };
+				insert(expected, element);
+				sorted.add(element);
+			} else if (op < 7 && expected.size() > 0) {
+				assertSame(expected.remove(0), sorted.remove(0));
+			} else if (op < 8 && expected.size() > 0) {
+				assertSame(expected.remove(expected.size() - 1), sorted.remove(sorted.size() - 1));
+			} else if (expected.size() > 0) {
+				int[] element = expected.remove(random.nextInt(expected.size()));
+				assertTrue(sorted.remove(element));
+				assertFalse(sorted.contains(element));
+			}
+			assertEquals(expected.size(), sorted.size());
+		}
+
+		Iterator<int[]> it = sorted.iterator();
+		for (int i = 0; i < expected.size(); i++) {
+			assertSame(expected.get(i), sorted.get(i));
+			assertSame(expected.get(i), it.next());
+		}
+		assertFalse(it.hasNext());
+	}
+
+	@Test
+	public void iteratorRemove() {
+		SortedList<int[]> sorted = new SortedList<int[]>(BY_KEY);
+		for (int i = 0; i < 100; i++) {
+			sorted.add(new int[] { 100 - i, i });
+		}
+
+		int visited = 0;
+		for (Iterator<int[]> it = sorted.iterator(); it.hasNext();) {
+			int[] element = it.next();
+			visited++;
+			if (element[1] % 2 == 0) {
+				it.remove();
+			}
+		}
+		assertEquals(100, visited);
+		assertEquals(50, sorted.size());
+
+		int last = Integer.MIN_VALUE;
+		for (int[] element : sorted) {
+			assertTrue(element[1] % 2 == 1);
+			assertTrue(element[0] >= last);
+			last = element[0];
+		}
+	}
+
+}
@@ -0,0 +1,83 @@
+package jmt.framework.data;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class WeightedListTest {
+
+	@Test
+	public void sameSelectionAsLinearScan() {
+		Random random = new Random(1);
+		WeightedList<Integer> list = new WeightedList<Integer>();
+		List<Integer> reference = new ArrayList<Integer>();
+		List<Double> weights = new ArrayList<Double>();
+
+		for (int i = 0; i < 100000; i++) {
+			int op = random.nextInt(10);
+			if (op < 5 || reference.isEmpty()) {
+				// Integer weights make sums exact, zero weights are allowed
+				Integer element = new Integer(i);
+				double weight = random.nextInt(4);
+				list.add(element, weight);
+				reference.add(element);
+				weights.add(weight);
+			} else if (op < 7) {
+				double total = 0.0;
+				for (double weight : weights) {
+					total += weight;
+				}
+				assertEquals(total, list.getTotalWeight(), 0.0);
+				if (total > 0.0) {
+					double value = random.nextDouble() * total;
+					double summed = 0.0;
+					int index = -1;
+					while (summed <= value) {
+						summed += weights.get(++index);
+					}
+					assertSame(reference.get(index), list.select(value));
+				}
+			} else if (op < 8) {
+				assertSame(reference.get(0), list.removeFirst());
+				reference.remove(0);
+				weights.remove(0);
+			} else {
+				int index = random.nextInt(reference.size());
+				assertTrue(list.remove(reference.get(index)));
+				reference.remove(index);
+				weights.remove(index);
+			}
+			assertEquals(reference.size(), list.size());
+		}
+
+		Iterator<Integer> it = list.iterator();
+		for (Integer element : reference) {
+			assertSame(element, it.next());
+		}
+		assertFalse(it.hasNext());
+	}
+
+	@Test
+	public void iteratorRemove() {
+		WeightedList<Integer> list = new WeightedList<Integer>();
+		for (int i = 0; i < 100; i++) {
+			list.add(new Integer(i), 1.0);
+		}
+		for (Iterator<Integer> it = list.iterator(); it.hasNext();) {
+			if (it.next().intValue() % 2 == 0) {
+				it.remove();
+			}
+		}
+		assertEquals(50, list.size());
+		assertEquals(50.0, list.getTotalWeight(), 0.0);
+		assertEquals(1, list.getFirst().intValue());
+		assertEquals(99, list.select(49.5).intValue());
+		assertFalse(list.remove(new Integer(1)));
+	}
+
+}
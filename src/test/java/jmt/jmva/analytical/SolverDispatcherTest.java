@@ -0,0 +1,128 @@
+package jmt.jmva.analytical;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.Arrays;
+
+import jmt.framework.xml.XMLUtils;
+import jmt.jmva.analytical.solvers.SolverAlgorithm;
+
+import org.junit.Test;
+
+public class SolverDispatcherTest {
+
+	private ExactModel load(String resource) throws Exception {
+		ExactModel model = new ExactModel();
+		File file = new File(getClass().getResource("/jmt/jmva/" + resource).toURI());
+		assertTrue(model.loadDocument(new XMLUtils().loadXML(file)));
+		return model;
+	}
+
+	private static void solve(ExactModel model, int threads) throws Exception {
+		SolverDispatcher dispatcher = new SolverDispatcher();
+		dispatcher.setThreads(threads);
+		dispatcher.solve(model);
+		assertTrue(model.areResultsOK());
+	}
+
+	private static void assertSameResults(ExactModel expected, ExactModel actual) {
+		assertEquals(expected.getQueueLen().keySet(), actual.getQueueLen().keySet());
+		for (SolverAlgorithm alg : expected.getQueueLen().keySet()) {
+			assertTrue(alg.toString(), Arrays.deepEquals(expected.getQueueLen(alg), actual.getQueueLen(alg)));
+			assertTrue(alg.toString(), Arrays.deepEquals(expected.getThroughput(alg), actual.getThroughput(alg)));
+			assertTrue(alg.toString(), Arrays.deepEquals(expected.getResTimes(alg), actual.getResTimes(alg)));
+			assertTrue(alg.toString(), Arrays.deepEquals(expected.getUtilization(alg), actual.getUtilization(alg)));
+			assertEquals(expected.getLogNormConst().get(alg), actual.getLogNormConst().get(alg));
+		}
+	}
+
+	@Test
+	public void parallelWhatIfGivesSequentialResults() throws Exception {
+		for (String resource : new String[] { "whatif_popmixInputData.xml", "whatif_servtimeInputData.xml", "basicInputData.xml" }) {
+			ExactModel sequential = load(resource);
+			solve(sequential, 1);
+			ExactModel parallel = load(resource);
+			solve(parallel, 4);
+			assertSameResults(sequential, parallel);
+		}
+	}
+
+	@Test
+	public void parallelMoMGivesSequentialResults() throws Exception {
+		ExactModel sequential = load("randomModel_closed_mom-input.xml");
+		assertEquals(SolverAlgorithm.MOM, sequential.getAlgorithmType());
+		solve(sequential, 1);
+		ExactModel parallel = load("randomModel_closed_mom-input.xml");
+		solve(parallel, 4);
+		assertSameResults(sequential, parallel);
+
+		ExactModel recal = load("randomModel_closed_mom-input.xml");
+		recal.setAlgorithmType(SolverAlgorithm.RECAL);
+		solve(recal, 1);
+		double[][] expected = recal.getQueueLen(SolverAlgorithm.RECAL)[0];
+		double[][] actual = parallel.getQueueLen(SolverAlgorithm.MOM)[0];
+		for (int k = 0; k < expected.length; k++) {
+			for (int c = 0; c < expected[k].length; c++) {
+				assertEquals(expected[k][c], actual[k][c], 1e-6 * expected[k][c]);
+			}
+		}
+	}
+
+	@Test
+	public void customersWhatIfReusesIntermediatePopulations() throws Exception {
+		double[] values = new double[] { 1, 5, 2, 10, 20 };
+
+		// Compares a single MVA algorithm, so every population is solved separately
+		ExactModel separate = load("basicInputData.xml");
+		separate.clearWhatifAlgorithms();
+		separate.setWhatifAlgorithm(SolverAlgorithm.EXACT, true);
+		separate.setWhatIfValues(values);
+		solve(separate, 1);
+
+		ExactModel reused = load("basicInputData.xml");
+		reused.clearWhatifAlgorithms();
+		reused.setWhatIfValues(values);
+		solve(reused, 1);
+
+		assertSameResults(separate, reused);
+		assertEquals(1.0, reused.getClassData()[0], 0.0);
+	}
+
+	@Test
+	public void acceleratedWhatIfConvergesToSameResults() throws Exception {
+		SolverAlgorithm[] algorithms = new SolverAlgorithm[] { SolverAlgorithm.CHOW, SolverAlgorithm.BARD_SCHWEITZER,
+				SolverAlgorithm.AQL, SolverAlgorithm.LINEARIZER };
+		for (SolverAlgorithm alg : algorithms) {
+			ExactModel plain = load("whatif_popmixInputData.xml");
+			plain.clearWhatifAlgorithms();
+			plain.setAlgorithmType(alg);
+			solve(plain, 1);
+
+			ExactModel accelerated = load("whatif_popmixInputData.xml");
+			accelerated.clearWhatifAlgorithms();
+			accelerated.setAlgorithmType(alg);
+			accelerated.setAccelerated(true);
+			solve(accelerated, 4);
+
+			double[][][] expected = plain.getQueueLen(alg);
+			double[][][] actual = accelerated.getQueueLen(alg);
+			for (int k = 0; k < expected.length; k++) {
+				for (int c = 0; c < expected[k].length; c++) {
+					for (int i = 0; i < expected[k][c].length; i++) {
+						assertEquals(alg.toString(), expected[k][c][i], actual[k][c][i], 1e-5 * expected[k][c][i]);
+					}
+				}
+			}
+
+			int plainIterations = 0;
+			int acceleratedIterations = 0;
+			for (int i = 0; i < plain.getWhatIfValues().length; i++) {
+				plainIterations += plain.getAlgIterations(alg)[i];
+				acceleratedIterations += accelerated.getAlgIterations(alg)[i];
+			}
+			assertTrue(alg + ": " + acceleratedIterations + " >= " + plainIterations, acceleratedIterations <= plainIterations);
+		}
+	}
+
+}
@@ -0,0 +1,53 @@
+package jmt.jmva.analytical.solvers.DataStructures;
+
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class VectorPairMapTest {
+
+	@Test
+	public void longKeyMapMatchesHashMap() {
+		Random random = new Random(1);
+		LongKeyMap<Long> map = new LongKeyMap<Long>();
+		Map<Long, Long> reference = new HashMap<Long, Long>();
+		for (int i = 0; i < 100000; i++) {
+			long key = random.nextInt(20000) - 10000L;
+			if (random.nextBoolean()) {
+				map.put(key, Long.valueOf(i));
+				reference.put(key, Long.valueOf(i));
+			}
+			assertEquals(reference.get(key), map.get(key));
+		}
+		assertEquals(reference.size(), map.size());
+		map.clear();
+		assertEquals(0, map.size());
+		assertNull(map.get(0));
+	}
+
+	@Test
+	public void packedAndFallbackKeys() {
+		VectorPairMap<String> map = new VectorPairMap<String>(new int[] { 3, 3 }, new int[] { 2 });
+		MultiplicitiesVector m = new MultiplicitiesVector(new Integer[] { 1, 2 });
+		PopulationVector p = new PopulationVector(new int[] { 2 });
+		// Out of bounds, so stored in the fallback map
+		MultiplicitiesVector big = new MultiplicitiesVector(new Integer[] { 5, 0 });
+
+		map.put(m, p, "packed");
+		map.put(big, p, "fallback");
+		assertEquals("packed", map.get(new MultiplicitiesVector(new Integer[] { 1, 2 }), new PopulationVector(new int[] { 2 })));
+		assertEquals("fallback", map.get(new MultiplicitiesVector(new Integer[] { 5, 0 }), p));
+		assertNull(map.get(new MultiplicitiesVector(new Integer[] { 2, 1 }), p));
+		assertEquals(2, map.size());
+
+		// Stored keys must not change when the vectors are altered afterwards
+		big.plusOne(1);
+		assertNull(map.get(big, p));
+		assertEquals(0, map.newEmptyMap().size());
+	}
+
+}
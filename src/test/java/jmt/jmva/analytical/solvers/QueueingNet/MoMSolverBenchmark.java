@@ -0,0 +1,62 @@
+package jmt.jmva.analytical.solvers.QueueingNet;
+
+import jmt.jmva.analytical.solvers.DataStructures.BigRational;
+import jmt.jmva.analytical.solvers.DataStructures.QNModel;
+
+/**
+ * Measures the speedup of the parallel MoM solver over the sequential one on
+ * models with growing populations. It is not run as a unit test.
+ * Usage: MoMSolverBenchmark [threads] [population...]
+ */
+public class MoMSolverBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		int nThreads = (args.length > 0) ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+		int[] populations = { 20, 40, 60, 80 };
+		if (args.length > 1) {
+			populations = new int[args.length - 1];
+			for (int i = 1; i < args.length; i++) {
+				populations[i - 1] = Integer.parseInt(args[i]);
+			}
+		}
+
+		// Warms up the JIT compiler and the shared pool
+		solve(10, 1);
+		solve(10, nThreads);
+
+		System.out.println("Population,1 thread (ms)," + nThreads + " threads (ms),Speedup");
+		for (int population : populations) {
+			long start = System.nanoTime();
+			BigRational sequential = solve(population, 1);
+			double sequentialTime = (System.nanoTime() - start) / 1e6;
+			start = System.nanoTime();
+			BigRational parallel = solve(population, nThreads);
+			double parallelTime = (System.nanoTime() - start) / 1e6;
+			if (!sequential.equals(parallel)) {
+				throw new IllegalStateException("Different normalising constants for population " + population);
+			}
+			System.out.printf("%d,%.1f,%.1f,%.2f%n", population, sequentialTime, parallelTime, sequentialTime / parallelTime);
+		}
+	}
+
+	private static BigRational solve(int population, int nThreads) throws Exception {
+		int R = 2, M = 4;
+		Integer[] N = new Integer[R];
+		double[] Z = new double[R];
+		Integer[] multiplicities = new Integer[M];
+		double[][] D = new double[M][R];
+		for (int r = 0; r < R; r++) {
+			N[r] = population;
+		}
+		for (int k = 0; k < M; k++) {
+			multiplicities[k] = 1;
+			for (int r = 0; r < R; r++) {
+				D[k][r] = 10 * (k + 1) + (k + 2) * (r + 1) * (r + 1);
+			}
+		}
+		QNModel qnm = new QNModel(R, M, new int[M], N, Z, multiplicities, D);
+		new MoMSolver(qnm, nThreads).computeNormalisingConstant();
+		return qnm.getNormalisingConstant();
+	}
+
+}
@@ -0,0 +1,57 @@
+package jmt.jmva.analytical.solvers.QueueingNet;
+
+import static org.junit.Assert.*;
+
+import jmt.jmva.analytical.solvers.DataStructures.BigRational;
+import jmt.jmva.analytical.solvers.DataStructures.QNModel;
+
+import org.junit.Test;
+
+public class MoMSolverTest {
+
+	private static QNModel createModel(int population) throws Exception {
+		int R = 2, M = 4;
+		Integer[] N = new Integer[R];
+		double[] Z = new double[R];
+		Integer[] multiplicities = new Integer[M];
+		double[][] D = new double[M][R];
+		// No think times, as the modular solver needs integer normalising constants
+		for (int r = 0; r < R; r++) {
+			N[r] = population;
+		}
+		for (int k = 0; k < M; k++) {
+			multiplicities[k] = 1;
+			for (int r = 0; r < R; r++) {
+				D[k][r] = 10 * (k + 1) + (k + 2) * (r + 1) * (r + 1);
+			}
+		}
+		return new QNModel(R, M, new int[M], N, Z, multiplicities, D);
+	}
+
+	private static BigRational solve(int population, int nThreads) throws Exception {
+		QNModel qnm = createModel(population);
+		new MoMSolver(qnm, nThreads).computeNormalisingConstant();
+		return qnm.getNormalisingConstant();
+	}
+
+	@Test
+	public void sameNormalisingConstantAsConvolution() throws Exception {
+		QNModel qnm = createModel(5);
+		new ConvolutionSolver(qnm).computeNormalisingConstant();
+		assertTrue(qnm.getNormalisingConstant().isPositive());
+		assertEquals(qnm.getNormalisingConstant(), solve(5, 1));
+		assertEquals(qnm.getNormalisingConstant(), solve(5, 2));
+	}
+
+	@Test
+	public void parallelSolverGivesSameNormalisingConstant() throws Exception {
+		int nThreads = Math.max(Runtime.getRuntime().availableProcessors(), 2);
+		BigRational sequential = solve(30, 1);
+		assertTrue(sequential.isPositive());
+		BigRational parallel = solve(30, nThreads);
+		assertEquals(sequential, parallel);
+		// The shared pool is reused by a second parallel solution
+		assertEquals(sequential, solve(30, nThreads));
+	}
+
+}
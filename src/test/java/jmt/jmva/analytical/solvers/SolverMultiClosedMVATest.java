@@ -0,0 +1,74 @@
+package jmt.jmva.analytical.solvers;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class SolverMultiClosedMVATest {
+
+	private static final int[] POPULATION = { 4, 2, 3 };
+
+	private static final double[][] DEMANDS = { { 0.2, 0.4, 0.3 }, { 0.5, 0.1, 0.2 }, { 0.3, 0.3, 0.6 } };
+
+	/**
+	 * Solves a three class model where the load dependent stations have constant service times
+	 * @param ldStations - true to declare the queueing stations as load dependent
+	 * @return the solved model
+	 */
+	private SolverMultiClosedMVA solve(boolean ldStations) {
+		int stations = DEMANDS.length;
+		int classes = POPULATION.length;
+		int totPop = 0;
+		for (int pop : POPULATION) {
+			totPop += pop;
+		}
+
+		String[] names = new String[stations];
+		int[] types = new int[stations];
+		double[][][] servTime = new double[stations][classes][];
+		double[][] visits = new double[stations][classes];
+		for (int m = 0; m < stations; m++) {
+			names[m] = "Station " + m;
+			types[m] = (m == stations - 1) ? Solver.DELAY : (ldStations ? Solver.LD : Solver.LI);
+			for (int c = 0; c < classes; c++) {
+				servTime[m][c] = new double[(types[m] == Solver.LD) ? totPop : 1];
+				Arrays.fill(servTime[m][c], DEMANDS[m][c]);
+				visits[m][c] = 1;
+			}
+		}
+
+		SolverMultiClosedMVA solver = new SolverMultiClosedMVA(classes, stations);
+		assertTrue(solver.input(names, types, servTime, visits, POPULATION));
+		solver.solve();
+		return solver;
+	}
+
+	@Test
+	public void loadDependentWithConstantRatesMatchesLoadIndependent() {
+		SolverMultiClosedMVA li = solve(false);
+		SolverMultiClosedMVA ld = solve(true);
+		for (int m = 0; m < DEMANDS.length; m++) {
+			for (int c = 0; c < POPULATION.length; c++) {
+				assertEquals(li.getThroughput()[m][c], ld.getThroughput()[m][c], 1e-10);
+				assertEquals(li.getQueueLen()[m][c], ld.getQueueLen()[m][c], 1e-10);
+				assertEquals(li.getResTime()[m][c], ld.getResTime()[m][c], 1e-10);
+				assertEquals(li.getUtilization()[m][c], ld.getUtilization()[m][c], 1e-10);
+			}
+		}
+	}
+
+	@Test
+	public void populationIsConserved() {
+		SolverMultiClosedMVA solver = solve(false);
+		for (int c = 0; c < POPULATION.length; c++) {
+			double customers = 0;
+			for (int m = 0; m < DEMANDS.length; m++) {
+				customers += solver.getQueueLen()[m][c];
+			}
+			assertEquals(POPULATION[c], customers, 1e-10);
+		}
+	}
+
+}
@@ -0,0 +1,39 @@
+package jmt.jmva.analytical.solvers.Utilities;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import jmt.jmva.analytical.solvers.DataStructures.MultiplicitiesVector;
+import jmt.jmva.analytical.solvers.DataStructures.QNModel;
+
+import org.junit.Test;
+
+public class CanonicalMultiplicitiesVectorCalculatorTest {
+
+	@Test
+	public void vectointMatchesCanonicalOrdering() throws Exception {
+		for (int M = 1; M <= 4; M++) {
+			int R = 5;
+			Integer[] N = new Integer[R];
+			double[] Z = new double[R];
+			int[] T = new int[M];
+			Integer[] multiplicities = new Integer[M];
+			double[][] D = new double[M][R];
+			for (int r = 0; r < R; r++) {
+				N[r] = 1;
+			}
+			for (int k = 0; k < M; k++) {
+				multiplicities[k] = 1;
+			}
+			QNModel qnm = new QNModel(R, M, T, N, Z, multiplicities, D);
+			CanonicalMultiplicitiesVectorCalculator calculator = new CanonicalMultiplicitiesVectorCalculator(qnm);
+			List<MultiplicitiesVector> ordering = calculator.findMulVectorsSummingUpTo(R);
+			for (int i = 0; i < ordering.size(); i++) {
+				assertEquals(i, calculator.vectoint(ordering.get(i).copy()));
+				assertEquals(ordering.get(i), calculator.inttovec(i));
+			}
+		}
+	}
+
+}